@@ -0,0 +1,242 @@
+package FBLAQuiz;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+/**
+ * <h1>Animator Class</h1>
+ *
+ * The Animator class runs every animation in the program from a single Swing
+ * Timer, so that each frame moves all of the running animations at once, on the
+ * event dispatch thread. The repaints they ask for in a frame are then painted
+ * together, instead of each animation waking up and painting on its own schedule.
+ * The timer only runs while there is an animation to move, so nothing is done
+ * between animations.
+ *
+ * Animations are given the time since they started, rather than being counted in
+ * frames, so they take the same time even if frames are late on a slow machine.
+ *
+ * In reduced motion, which is turned on for slow machines with the
+ * {@code fblaquiz.reducedMotion} system property or the {@code --reduced-motion}
+ * argument, animations jump straight to their last frame and looping animations
+ * don't run at all.
+ *
+ * @author Varun Unnithan
+ *
+ */
+public class Animator {
+
+	/** The time between frames, in milliseconds */
+	public static final int FRAME_DELAY = 16;
+	/** The time given to an animation to have it jump to its last frame */
+	public static final long END = Long.MAX_VALUE;
+
+	/** The timer that moves the animations, which only runs while there are some */
+	private static final Timer CLOCK = new Timer(FRAME_DELAY, new ActionListener() {
+		public void actionPerformed(ActionEvent e) {
+			tick();
+		}
+	});
+
+	/** The running animations */
+	private static final List<Running> RUNNING = new ArrayList<Running>();
+
+	/** Whether animations jump straight to their last frame */
+	private static volatile boolean reducedMotion = Boolean.getBoolean("fblaquiz.reducedMotion");
+
+
+	//---------------Methods------------------
+	/**
+	 * Plays an animation until it finishes, or jumps it to its last frame in reduced motion.
+	 * Can be called from any thread.
+	 * @param animation The animation to play
+	 */
+	public static void play(Animation animation) {
+		start(animation, false);
+	}
+
+
+	/**
+	 * Plays an animation that never finishes on its own, until it is stopped. In reduced
+	 * motion, the animation isn't played. Can be called from any thread.
+	 * @param animation The animation to loop
+	 */
+	public static void loop(Animation animation) {
+		start(animation, true);
+	}
+
+
+	/**
+	 * Stops an animation where it is, if it is running. Can be called from any thread.
+	 * @param animation The animation to stop
+	 */
+	public static void stop(final Animation animation) {
+
+		runOnEDT(new Runnable() {
+			public void run() {
+				for (int i = 0; i < RUNNING.size(); i++) {
+					if (RUNNING.get(i).animation == animation) {
+						RUNNING.remove(i);
+						return;
+					}
+				}
+			}
+		});
+	}
+
+
+	/**
+	 * Checks whether animations jump straight to their last frame
+	 * @return {@code true} if motion is reduced
+	 */
+	public static boolean isReducedMotion() {
+		return reducedMotion;
+	}
+
+
+	/**
+	 * Turns reduced motion on or off. Turning it on jumps every running animation to its
+	 * last frame, and stops the looping ones.
+	 * @param reduced Whether animations should jump straight to their last frame
+	 */
+	public static void setReducedMotion(boolean reduced) {
+
+		reducedMotion = reduced;
+		if (reduced) {
+			runOnEDT(new Runnable() {
+				public void run() {
+					for (Running running : new ArrayList<Running>(RUNNING)) {
+						if (!running.looping) {
+							running.animation.step(END);
+						}
+					}
+					RUNNING.clear();
+					CLOCK.stop();
+				}
+			});
+		}
+	}
+
+
+	/**
+	 * Starts an animation on the event dispatch thread
+	 * @param animation The animation to start
+	 * @param looping Whether the animation never finishes on its own
+	 */
+	private static void start(final Animation animation, final boolean looping) {
+
+		runOnEDT(new Runnable() {
+			public void run() {
+
+				if (reducedMotion) {
+					if (!looping) {
+						animation.step(END);
+					}
+					return;
+				}
+
+				//the first frame is drawn right away, and the rest on the clock
+				Running running = new Running(animation, looping);
+				if (animation.step(0)) {
+					RUNNING.add(running);
+					if (!CLOCK.isRunning()) {
+						CLOCK.start();
+					}
+				}
+			}
+		});
+	}
+
+
+	/**
+	 * Moves every running animation by a frame, removing the ones that finish
+	 */
+	private static void tick() {
+
+		long now = System.nanoTime();
+
+		//animations may start or stop others while they are moved, so a copy is moved instead
+		Running[] frame = RUNNING.toArray(new Running[RUNNING.size()]);
+		for (Running running : frame) {
+			if (!running.animation.step((now - running.startTime) / 1000000L)) {
+				RUNNING.remove(running);
+			}
+		}
+
+		if (RUNNING.isEmpty()) {
+			CLOCK.stop();
+		}
+	}
+
+
+	/**
+	 * Runs a task on the event dispatch thread, right away if it is already on it
+	 * @param task The task to run
+	 */
+	private static void runOnEDT(Runnable task) {
+
+		if (SwingUtilities.isEventDispatchThread()) {
+			task.run();
+		}
+		else {
+			SwingUtilities.invokeLater(task);
+		}
+	}
+
+
+	//-----------Inner Classes--------------
+	/**
+	 * <h1>Animation Interface</h1>
+	 *
+	 * An animation, which is moved once a frame on the event dispatch thread.
+	 *
+	 * @author Varun Unnithan
+	 *
+	 */
+	public interface Animation {
+
+		/**
+		 * Moves the animation to where it should be at a given time
+		 * @param elapsed The time since the animation started, in milliseconds, or
+		 * {@link Animator#END} to jump straight to its last frame
+		 * @return {@code true} if the animation has more frames to come
+		 */
+		boolean step(long elapsed);
+	}
+
+
+	/**
+	 * <h1>Running Class</h1>
+	 *
+	 * The Running class holds an animation that is being played, and when it started.
+	 *
+	 * @author Varun Unnithan
+	 *
+	 */
+	private static class Running {
+
+		/** The animation being played */
+		private final Animation animation;
+		/** Whether the animation never finishes on its own */
+		private final boolean looping;
+		/** The time the animation started, from System.nanoTime() */
+		private final long startTime;
+
+
+		/**
+		 * Creates a running animation that starts now
+		 * @param animation The animation being played
+		 * @param looping Whether the animation never finishes on its own
+		 */
+		private Running(Animation animation, boolean looping) {
+			this.animation = animation;
+			this.looping = looping;
+			startTime = System.nanoTime();
+		}
+	}
+}
@@ -0,0 +1,372 @@
+package FBLAQuiz;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.swing.JLabel;
+import javax.swing.JProgressBar;
+import javax.swing.SwingWorker;
+
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.multipdf.PDFMergerUtility;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.ParseException;
+
+/**
+ * <h1>Batch Exporter Class</h1>
+ *
+ * The Batch Exporter class exports many score reports to PDFs in the background,
+ * so that the window keeps responding while it runs. The reports are either chosen
+ * by their position in the report store, or by the range of dates they were taken in.
+ *
+ * Each report is made into its own PDF on a small, fixed pool of threads. The PDFs
+ * are either each saved to the Score Reports folder, or joined in order into a
+ * single PDF. The progress bar and label given to the exporter are updated as each
+ * report finishes.
+ *
+ * @author Varun Unnithan
+ *
+ */
+public class BatchExporter extends SwingWorker<Integer, Integer> {
+
+	/** The folder where the PDFs are saved */
+	public static final String OUTPUT_FOLDER = "./Score Reports/";
+	/** The most threads used to create PDFs at once */
+	public static final int MAX_THREADS = 4;
+	/** The most bytes of the joined PDF kept in memory before using temporary files */
+	private static final long MERGE_MEMORY = 50L * 1024 * 1024;
+
+
+	//-----------Instance Variables-----------
+	/** The store to read the reports from */
+	private final ReportStore store;
+	/** The positions of the reports to export, where 0 is the newest, or null to export by date */
+	private final int[] indices;
+	/** The number of reports in the store that the positions are counted from */
+	private final int reportCount;
+	/** The earliest time a report can be taken to be exported, if exporting by date */
+	private final Date from;
+	/** The latest time a report can be taken to be exported, if exporting by date */
+	private final Date to;
+	/** The name of the single PDF to join the reports into, or null to save a PDF for each report */
+	private final String mergedName;
+	/** The progress bar to update as reports are exported */
+	private final JProgressBar progressBar;
+	/** The label to show the exporter's status on */
+	private final JLabel statusLabel;
+	/** The number of reports to export, once they have been found */
+	private int total;
+
+
+	//-----------Constructors-------------
+	/**
+	 * Creates an exporter for the reports at the given positions in a store
+	 * @param store The store to read the reports from
+	 * @param indices The positions of the reports to export, where 0 is the newest
+	 * @param reportCount The number of reports the store had when the positions were found, such as
+	 * the size of a list of the reports, since reports saved after that are newer than every position
+	 * @param mergedName The name of a single PDF to join the reports into, or null to save a PDF for each
+	 * @param progressBar The progress bar to update as reports are exported
+	 * @param statusLabel The label to show the exporter's status on
+	 */
+	public BatchExporter(ReportStore store, int[] indices, int reportCount, String mergedName, JProgressBar progressBar,
+			JLabel statusLabel) {
+		this(store, indices, reportCount, null, null, mergedName, progressBar, statusLabel);
+	}
+
+
+	/**
+	 * Creates an exporter for every report in a store taken within a range of dates
+	 * @param store The store to read the reports from
+	 * @param from The earliest time a report can be taken to be exported
+	 * @param to The latest time a report can be taken to be exported
+	 * @param mergedName The name of a single PDF to join the reports into, or null to save a PDF for each
+	 * @param progressBar The progress bar to update as reports are exported
+	 * @param statusLabel The label to show the exporter's status on
+	 */
+	public BatchExporter(ReportStore store, Date from, Date to, String mergedName, JProgressBar progressBar, JLabel statusLabel) {
+		this(store, null, store.size(), from, to, mergedName, progressBar, statusLabel);
+	}
+
+
+	/**
+	 * Creates an exporter
+	 * @param store The store to read the reports from
+	 * @param indices The positions of the reports to export, or null to export by date
+	 * @param reportCount The number of reports the store had when the positions were found
+	 * @param from The earliest time a report can be taken, if exporting by date
+	 * @param to The latest time a report can be taken, if exporting by date
+	 * @param mergedName The name of a single PDF to join the reports into, or null to save a PDF for each
+	 * @param progressBar The progress bar to update as reports are exported
+	 * @param statusLabel The label to show the exporter's status on
+	 */
+	private BatchExporter(ReportStore store, int[] indices, int reportCount, Date from, Date to, String mergedName,
+			JProgressBar progressBar, JLabel statusLabel) {
+
+		this.store = store;
+		this.indices = indices;
+		this.reportCount = reportCount;
+		this.from = from;
+		this.to = to;
+		this.mergedName = mergedName;
+		this.progressBar = progressBar;
+		this.statusLabel = statusLabel;
+	}
+
+
+	//---------------Methods------------------
+	/**
+	 * Finds the reports, then exports them on the pool of threads
+	 * @return The number of reports exported
+	 * @throws Exception On error while reading the reports or writing the PDFs
+	 */
+	@Override
+	protected Integer doInBackground() throws Exception {
+
+		List<Integer> reports = findReports();
+		total = reports.size();
+		publish(0);
+		if (total == 0) {
+			return 0;
+		}
+
+		Files.createDirectories(Paths.get(OUTPUT_FOLDER));
+		byte[][] mergedParts = new byte[total][];
+
+		ExecutorService pool = Executors.newFixedThreadPool(Math.min(MAX_THREADS,
+				Math.max(1, Runtime.getRuntime().availableProcessors())));
+		try {
+			//create each report's PDF on the pool
+			CompletionService<Integer> completion = new ExecutorCompletionService<Integer>(pool);
+			for (int i = 0; i < total; i++) {
+				completion.submit(new ExportTask(reports.get(i), i, mergedParts));
+			}
+
+			//update the progress as each report finishes, stopping if the export is cancelled
+			for (int done = 1; done <= total; done++) {
+				completion.take().get();
+				if (isCancelled()) {
+					return done;
+				}
+				setProgress(done * 100 / total);
+				publish(done);
+			}
+		}
+		catch (ExecutionException e) {
+			//report the task's own error instead of the wrapper around it
+			if (e.getCause() instanceof Exception) {
+				throw (Exception) e.getCause();
+			}
+			throw e;
+		}
+		finally {
+			pool.shutdownNow();
+		}
+
+		//join the PDFs in order into a single PDF
+		if (mergedName != null) {
+			PDFMergerUtility merger = new PDFMergerUtility();
+			for (byte[] part : mergedParts) {
+				merger.addSource(new ByteArrayInputStream(part));
+			}
+			merger.setDestinationFileName(OUTPUT_FOLDER + mergedName + ".pdf");
+			merger.mergeDocuments(MemoryUsageSetting.setupMixed(MERGE_MEMORY));
+		}
+		return total;
+	}
+
+
+	/**
+	 * Finds the reports to export in the store. Only their positions are kept, so each
+	 * report is read by the thread exporting it and no more are held in memory at once.
+	 * The positions are counted from the oldest report, so they stay the same while
+	 * reports are saved in the background.
+	 * @return The positions of the reports, where 0 is the oldest
+	 * @throws IOException On error while reading the store
+	 */
+	private List<Integer> findReports() throws IOException {
+
+		List<Integer> reports = new ArrayList<Integer>();
+
+		//use each chosen report
+		if (indices != null) {
+			for (int index : indices) {
+				reports.add(reportCount - 1 - index);
+			}
+			return reports;
+		}
+
+		//otherwise scan the summaries a page at a time, only reading the reports within the dates
+		SimpleDateFormat shortenedFormat = new SimpleDateFormat("dd/MM/yyyy HH:mm:ss");
+		for (int first = 0; first < reportCount && !isCancelled(); first += ReportListModel.PAGE_SIZE) {
+
+			//reports saved since the exporter was created are skipped, so the pages don't move
+			List<ReportSummary> page;
+			int count;
+			synchronized (store) {
+				count = store.size();
+				page = store.readSummaries(first + count - reportCount, Math.min(ReportListModel.PAGE_SIZE, reportCount - first));
+			}
+			for (ReportSummary summary : page) {
+				try {
+					Date taken = shortenedFormat.parse(summary.getShortenedDate());
+					if (!taken.before(from) && !taken.after(to)) {
+						reports.add(count - 1 - summary.getIndex());
+					}
+				}
+				catch (java.text.ParseException | NullPointerException e) {
+					//skip a damaged report, whose summary has no date, or any other report without a readable date
+				}
+			}
+		}
+		return reports;
+	}
+
+
+	/**
+	 * Shows how many reports have been exported
+	 * @param chunks The numbers of reports done, of which only the latest is shown
+	 */
+	@Override
+	protected void process(List<Integer> chunks) {
+
+		int done = chunks.get(chunks.size() - 1);
+		progressBar.setMaximum(Math.max(1, total));
+		progressBar.setValue(done);
+		statusLabel.setText("Exported " + done + " of " + total + " reports");
+	}
+
+
+	/**
+	 * Shows the result of the export once it has finished
+	 */
+	@Override
+	protected void done() {
+
+		if (isCancelled()) {
+			statusLabel.setText("The export was cancelled");
+			return;
+		}
+
+		try {
+			int exported = get();
+			if (exported == 0) {
+				statusLabel.setText("There are no reports to export");
+			}
+			else if (mergedName != null) {
+				statusLabel.setText("Exported " + exported + " reports to \"" + mergedName + ".pdf\"");
+			}
+			else {
+				statusLabel.setText("Exported " + exported + " reports to the Score Reports folder");
+			}
+		}
+		catch (InterruptedException | ExecutionException e) {
+			e.printStackTrace();
+			Throwable cause = e.getCause() == null ? e : e.getCause();
+			statusLabel.setText("The export failed: " + cause.getMessage());
+		}
+	}
+
+
+	/**
+	 * Creates the file name for a report's own PDF, from the time it was taken and its
+	 * position in the export
+	 * @param report The JSONObject of the report
+	 * @param position The report's position in the export, which keeps the names of reports
+	 * taken in the same second from overwriting each other
+	 * @return The file name, without its extension
+	 */
+	private static String fileName(JSONObject report, int position) {
+
+		String shortenedDate = (String) report.get("shortened date");
+		if (shortenedDate == null) {
+			return "Score Report " + (position + 1);
+		}
+		//replaces the characters that can't be in file names
+		return "Score Report " + shortenedDate.replace("/", "-").replace(":", ".") + " (" + (position + 1) + ")";
+	}
+
+
+	//-----------Inner Classes--------------
+	/**
+	 * <h1>Export Task Class</h1>
+	 *
+	 * Creates the PDF for a single report on one of the exporter's threads. Each
+	 * task creates its own PDF document, so no PDFBox objects are shared between threads.
+	 *
+	 * @author Varun Unnithan
+	 *
+	 */
+	private class ExportTask implements Callable<Integer> {
+
+		/** The position of the report to export in the store, where 0 is the oldest */
+		private final int index;
+		/** The report's position in the export */
+		private final int position;
+		/** The array to store the PDF's bytes in, if the PDFs are being joined */
+		private final byte[][] mergedParts;
+
+
+		/**
+		 * Creates a task to export a report
+		 * @param index The position of the report to export in the store, where 0 is the oldest
+		 * @param position The report's position in the export
+		 * @param mergedParts The array to store the PDF's bytes in, if the PDFs are being joined
+		 */
+		private ExportTask(int index, int position, byte[][] mergedParts) {
+			this.index = index;
+			this.position = position;
+			this.mergedParts = mergedParts;
+		}
+
+
+		/**
+		 * Reads the report and creates its PDF, then saves it or stores its bytes for joining
+		 * @return The report's position in the export
+		 * @throws IOException On error while reading the report, or creating or saving the PDF
+		 * @throws ParseException On error while parsing the report
+		 */
+		@Override
+		public Integer call() throws IOException, ParseException {
+
+			if (isCancelled()) {
+				return position;
+			}
+
+			//the store numbers its reports newest first, which changes as reports are saved
+			JSONObject report;
+			synchronized (store) {
+				report = store.read(store.size() - 1 - index);
+			}
+			PDDocument reportPDF = new ScoreReport(report).createPDFDocument();
+			try {
+				if (mergedName != null) {
+					ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+					reportPDF.save(bytes);
+					mergedParts[position] = bytes.toByteArray();
+				}
+				else {
+					reportPDF.save(OUTPUT_FOLDER + fileName(report, position) + ".pdf");
+				}
+			}
+			finally {
+				reportPDF.close();
+			}
+			return position;
+		}
+	}
+}
@@ -5,12 +5,9 @@ import java.awt.Dimension;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.Rectangle;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
 
 import javax.swing.JButton;
 import javax.swing.JComponent;
-import javax.swing.Timer;
 import javax.swing.plaf.basic.BasicScrollBarUI;
 
 /**
@@ -86,26 +83,18 @@ public class CustomScrollUI extends BasicScrollBarUI {
      */
     public void fadeIn() {
     	
-    	//fire an event to change the alpha
-		Timer fadeTimer = new Timer(35, new ActionListener() {
+    	//raise the alpha by 50 every 35 milliseconds
+		Animator.play(new Animator.Animation() {
 
 			@Override
-			public void actionPerformed(ActionEvent e) {
-				
-				//increase the alpha value
-				alpha += 50;
-				
-				//stop the Timer when the alpha equals 1
-				if (alpha >= 255) {
-					alpha = 255;
-					scrollbar.repaint();
-					((Timer)(e.getSource())).stop();
-				}
+			public boolean step(long elapsed) {
 				
+				//stop the animation when the scrollbar is fully opaque
+				alpha = (int) Math.min(255, Math.min(elapsed, 1000) / 35 * 50);
 				scrollbar.repaint();
+				return alpha < 255;
 			}
 			
 		});
-		fadeTimer.start();
     }
 }
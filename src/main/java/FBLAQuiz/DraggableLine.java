@@ -5,8 +5,6 @@ import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.Point;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseMotionAdapter;
@@ -14,7 +12,6 @@ import java.awt.geom.Line2D;
 import java.util.ArrayList;
 
 import javax.swing.JComponent;
-import javax.swing.Timer;
 
 
 /**
@@ -29,6 +26,9 @@ import javax.swing.Timer;
 @SuppressWarnings("serial")
 public class DraggableLine extends JComponent{
 
+	/** The time it takes a dropped line to retract back to its pivot, in milliseconds */
+	private static final long RETRACT_TIME = 60;
+
 
 	//------------Instance Variables------------
 	/** The Point representation of the line's pivot point */
@@ -189,6 +189,17 @@ public class DraggableLine extends JComponent{
 	}
 	
 	
+	/**
+	 * Snaps the line's detached end to a destination point, as if it had been dragged there
+	 * @param destination The destination Point to snap to
+	 */
+	public void snapTo(Point destination) {
+		draggedPoint = destination;
+		hasSnapped = true;
+		repaint();
+	}
+	
+	
 	/**
 	 * Method to set the line's color
 	 * @param color The color of the line
@@ -288,30 +299,29 @@ public class DraggableLine extends JComponent{
 			//if the line isn't snapped to a point, return it to the start
 			if (!hasSnapped) {
 				
-				//calculate the step for the line retraction animation
-				final int dx = (int)((fixedPoint.getX() - draggedPoint.getX())/15);
-				final int dy = (int)((fixedPoint.getY() - draggedPoint.getY())/15);
+				//the distance the line has to retract
 				final Point initialPoint = draggedPoint;
+				final double dx = fixedPoint.getX() - initialPoint.getX();
+				final double dy = fixedPoint.getY() - initialPoint.getY();
 				
-				//every 1 millisecond, retract the line by one step
-				Timer timer = new Timer(1, new ActionListener() {
+				//retract the line back to its start over a few frames
+				Animator.play(new Animator.Animation() {
 					
-					public void actionPerformed(ActionEvent e) {
-						
-						setDraggedPoint(new Point((int)(draggedPoint.getX() + dx), (int)(draggedPoint.getY() + dy)));
+					public boolean step(long elapsed) {
 						
-						//if the line is finished retracting, end the timer
-						if ((int)(initialPoint.getX() + (15 * dx)) == draggedPoint.getX()) {
-							((Timer)(e.getSource())).stop();
+						//if the line is finished retracting, end the animation
+						if (elapsed >= RETRACT_TIME) {
 							setDraggedPoint(fixedPoint);
+							return false;
 						}
+						
+						double progress = (double) elapsed / RETRACT_TIME;
+						setDraggedPoint(new Point((int)(initialPoint.getX() + dx * progress), (int)(initialPoint.getY() + dy * progress)));
+						return true;
 					}
 		
 				});
 				
-				timer.setInitialDelay(0);
-				timer.start();
-				
 			}
 			
 		}
@@ -7,10 +7,6 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.io.FileNotFoundException;
-import java.io.FileReader;
-import java.io.IOException;
-import java.util.Random;
 
 import javax.swing.ImageIcon;
 import javax.swing.JFrame;
@@ -26,10 +22,6 @@ import javax.swing.border.TitledBorder;
 import javax.swing.event.CaretEvent;
 import javax.swing.event.CaretListener;
 
-import org.json.simple.JSONArray;
-import org.json.simple.JSONObject;
-import org.json.simple.parser.ParseException;
-
 /**
  * <h1>Fill-In-The-Blank Question Class</h1>
  * 
@@ -43,18 +35,10 @@ public class FillInBlank extends MouseAdapter implements ActionListener, CaretLi
 		
 	//----------------Instance variables----------------
 	//Question variables
-	/** The fill-in-the-blank question as a JSONObject */
-	private JSONObject questionObject;
+	/** The question being asked, which holds the user's answer */
+	private QuizQuestion model;
 	/** The text of the question */
 	private String question;
-	/** The question's correct answer */
-	private String answer;
-	/** The user's answer to the question */
-	private String userAnswer;
-	/** Whether this question has been flagged for review or not */
-	boolean flagged;
-	/** The question number of this question in the quiz */
-	private int quizQuestionNumber;
 		
 	//Components and scene objects
 	/** A container for components to represent a question */
@@ -71,36 +55,16 @@ public class FillInBlank extends MouseAdapter implements ActionListener, CaretLi
 	
 	//------------------Constructors------------------
 	/**
-	* Default constructor for creating a random question
-	* @throws IOException On input error
-	* @throws ParseException On error while parsing the database
-	* @throws FileNotFoundException On failure to find database file path
+	* Constructor for creating the view of a fill-in-the-blank question in a quiz
+	* @param model The fill-in-the-blank question to ask
 	*/
-	public FillInBlank() throws IOException, ParseException, FileNotFoundException{
-		
-		//read and store an array of all multiple choice questions
-		JSONObject database;
-		try {
-			database = (JSONObject)(QuizMenu.PARSER.parse(new FileReader("./JSONfiles/testQuestions.json")));
-		} 
-		catch (IOException | ParseException e) {
-			//Use backup database if exception occurs
-			database = (JSONObject)(QuizMenu.PARSER.parse(new FileReader("./JSONfiles/backup/testQuestions.json")));
-		}
-		JSONArray fillInArray = (JSONArray) database.get("Fill-in Blank");
+	public FillInBlank(QuizQuestion model) {
 		
-		//picks random question from multiple choice questions
-		questionObject = (JSONObject) fillInArray.get(new Random().nextInt(fillInArray.size()));
-		question = (String) questionObject.get("question");
-		answer = (String) questionObject.get("answer");
-		flagged = false;
-		
-		userAnswer = "";
-
+		this.model = model;
+		question = model.getQuestion();
 	}
 	
 	
-	
 	//------------------Methods------------------
 	public String getQuestion() {
 		return question;
@@ -108,7 +72,7 @@ public class FillInBlank extends MouseAdapter implements ActionListener, CaretLi
 	
 	
 	public boolean isFlagged() {
-		return flagged;
+		return model.isFlagged();
 	}
 	
 	
@@ -117,12 +81,21 @@ public class FillInBlank extends MouseAdapter implements ActionListener, CaretLi
 	 * @return The answer as a String
 	 */
 	public String getAnswer() {
-		return answer;
+		return model.getAnswers().get(0);
 	}
 	
 	
 	public int getQuizQuestionNumber() {
-		return quizQuestionNumber;
+		return model.getQuizNumber();
+	}
+	
+	
+	/**
+	 * Gets the ID of this question in the database
+	 * @return The question's ID
+	 */
+	public String getQuestionId() {
+		return model.getQuestionId();
 	}
 	
 	
@@ -131,17 +104,17 @@ public class FillInBlank extends MouseAdapter implements ActionListener, CaretLi
 	 * @return The user's answer as a String
 	 */
 	public String getUserAnswer() {
-		return userAnswer;
+		return model.getUserAnswerText();
 	}
 	
 	
 	public boolean isAnswered() {
-		return !userAnswer.equals("");
+		return model.isAnswered();
 	}
 	
 
 	public boolean isCorrect() {
-		return userAnswer.toLowerCase().trim().equals(answer.toLowerCase());
+		return model.isCorrect();
 	}
 	
 	
@@ -187,9 +160,9 @@ public class FillInBlank extends MouseAdapter implements ActionListener, CaretLi
 		//sets up icon for flagTool button
 		flagTool = new JToggleButton();
 		
-		flagTool.setIcon(new ImageIcon("./Icons/Flag Icon Unselected.png"));
-		flagTool.setSelectedIcon(new ImageIcon("./Icons/Flag Icon Selected.png"));
-		flagTool.setRolloverIcon(new ImageIcon("./Icons/Flag Icon Rollover.png"));
+		flagTool.setIcon(IconCache.get("Flag Icon Unselected.png"));
+		flagTool.setSelectedIcon(IconCache.get("Flag Icon Selected.png"));
+		flagTool.setRolloverIcon(IconCache.get("Flag Icon Rollover.png"));
 		flagTool.setOpaque(false);
 		flagTool.setContentAreaFilled(false);
 		flagTool.setBorderPainted(false);
@@ -200,9 +173,8 @@ public class FillInBlank extends MouseAdapter implements ActionListener, CaretLi
 		
 		
 		//create a JLabel to display the question
-		quizQuestionNumber = questionNumber;
 		JLabel questionText = new JLabel();
-		questionText.setText("<html>" + quizQuestionNumber + ") " + question + "</html>");	//html tags for text wrapping
+		questionText.setText("<html>" + questionNumber + ") " + question + "</html>");	//html tags for text wrapping
 		questionText.setFont(new Font("Trebuchet MS", Font.BOLD, 35));
 		questionText.setForeground(Color.lightGray);
 	
@@ -216,7 +188,7 @@ public class FillInBlank extends MouseAdapter implements ActionListener, CaretLi
 		userInput = new JTextField();
 		userInput.setOpaque(false);
 		String title;
-		if (isInt(answer)) {					//to place respective title on answer textbox
+		if (isInt(getAnswer())) {					//to place respective title on answer textbox
 			title = "Enter a number";
 		}										
 		else {
@@ -297,6 +269,10 @@ public class FillInBlank extends MouseAdapter implements ActionListener, CaretLi
 		panelLayout.putConstraint(SpringLayout.WEST, userPanel, 0, SpringLayout.WEST, fillInBlankPanel);
 		panelLayout.putConstraint(SpringLayout.SOUTH, userPanel, 0, SpringLayout.SOUTH, fillInBlankPanel);
 		
+		//show any answer already given, since the panel may be created again after it was released
+		flagTool.setSelected(model.isFlagged());
+		userInput.setText(model.getUserAnswerText());
+		
 		return fillInBlankPanel;
 	}
 	
@@ -308,14 +284,9 @@ public class FillInBlank extends MouseAdapter implements ActionListener, CaretLi
 	 */
 	public void actionPerformed(ActionEvent e) {
 		
-		//sets boolean variable flagged when the flagTool button is clicked
+		//flags the question when the flagTool button is clicked
 		if (e.getSource() == flagTool) {
-			if(flagTool.isSelected()) {
-				flagged = true;
-			}
-			else {
-				flagged = false;
-			}
+			model.setFlagged(flagTool.isSelected());
 		}
 		
 	}
@@ -343,7 +314,7 @@ public class FillInBlank extends MouseAdapter implements ActionListener, CaretLi
 					catch (IndexOutOfBoundsException e) {}
 					
 					//issues the warning of invalid input
-					if (isInt(answer)) {
+					if (isInt(getAnswer())) {
 						inputWarning.setText("Please enter a valid number");
 					}
 					else {
@@ -353,7 +324,7 @@ public class FillInBlank extends MouseAdapter implements ActionListener, CaretLi
 			};
 			
 			//checks if the last character is a valid input for the question
-			if (isInt(answer)) {
+			if (isInt(getAnswer())) {
 				
 				//if the last character isn't a number
 				if (!(Character.isDigit(lastChar))) {
@@ -377,7 +348,7 @@ public class FillInBlank extends MouseAdapter implements ActionListener, CaretLi
 			}
 		}
 		
-		userAnswer = userInput.getText(); 		//updates the userAnswer variable
+		model.submitAnswer(userInput.getText()); 		//updates the user's answer
 	}
 	
 	
@@ -0,0 +1,199 @@
+package FBLAQuiz;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+
+/**
+ * <h1>Icon Cache Class</h1>
+ *
+ * The Icon Cache class loads each of the program's icons only once and shares
+ * the same ImageIcon with every component that uses it. Icons are read from the
+ * Icons folder on the classpath first, so that they can be packaged within the
+ * program's jar, and otherwise from the Icons folder next to the program.
+ *
+ * Since the icons are shared, they must not be changed by the components using them.
+ *
+ * @author Varun Unnithan
+ *
+ */
+public class IconCache {
+
+	/** The folder of the icons on the classpath */
+	public static final String RESOURCE_FOLDER = "/Icons/";
+	/** The folder of the icons on disk, used if they aren't on the classpath */
+	public static final String FILE_FOLDER = "./Icons/";
+
+	/** Every icon that has been loaded, by its file name */
+	private static final ConcurrentHashMap<String, ImageIcon> ICONS = new ConcurrentHashMap<String, ImageIcon>();
+
+
+	//-----------Constructors-------------
+	/**
+	 * The class only has static methods, so it isn't meant to be created
+	 */
+	private IconCache() {}
+
+
+	//---------------Methods------------------
+	/**
+	 * Gets the shared icon with the given file name, loading it if it hasn't been yet
+	 * @param name The file name of the icon within the Icons folder, such as "Next Button.png"
+	 * @return The shared ImageIcon. If the icon can't be found, this is an empty icon.
+	 */
+	public static ImageIcon get(String name) {
+
+		ImageIcon icon = ICONS.get(name);
+		if (icon == null) {
+			//if two threads load the same icon at once, both use whichever was stored first
+			ImageIcon loadedIcon = load(name);
+			icon = ICONS.putIfAbsent(name, loadedIcon);
+			if (icon == null) {
+				icon = loadedIcon;
+			}
+		}
+		return icon;
+	}
+
+
+	/**
+	 * Reads and decodes an icon, from the classpath if it is there, and otherwise from disk
+	 * @param name The file name of the icon
+	 * @return The decoded ImageIcon
+	 */
+	private static ImageIcon load(String name) {
+
+		try {
+			BufferedImage image = null;
+
+			URL resource = IconCache.class.getResource(RESOURCE_FOLDER + name);
+			if (resource != null) {
+				image = ImageIO.read(resource);
+			}
+			else if (Files.exists(Paths.get(FILE_FOLDER + name))) {
+				image = ImageIO.read(Paths.get(FILE_FOLDER + name).toFile());
+			}
+
+			if (image != null) {
+				return new ImageIcon(image, name);
+			}
+		}
+		catch (IOException e) {
+			e.printStackTrace();
+		}
+
+		//use an empty icon so a missing file looks like it did before, instead of crashing
+		System.err.println("Could not load icon " + name);
+		return new ImageIcon();
+	}
+
+
+	/**
+	 * Starts loading every icon in the Icons folder in the background, using a thread
+	 * for each processor, so that the icons are already decoded when screens first
+	 * show them. Icons asked for before they are preloaded are just loaded right away.
+	 */
+	public static void preloadAll() {
+
+		List<String> names = listIcons();
+		if (names.isEmpty()) {
+			return;
+		}
+
+		//the threads are daemons so they never stop the program from closing
+		int threads = Math.min(names.size(), Runtime.getRuntime().availableProcessors());
+		ExecutorService preloader = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "Icon preloader");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+
+		for (String name : names) {
+			preloader.execute(new Runnable() {
+				@Override
+				public void run() {
+					get(name);
+				}
+			});
+		}
+		preloader.shutdown();
+	}
+
+
+	/**
+	 * Lists the file names of every PNG in the Icons folder, on the classpath if it is
+	 * there, and otherwise on disk
+	 * @return The file names of the icons, or an empty List if the folder can't be read
+	 */
+	private static List<String> listIcons() {
+
+		List<String> names = new ArrayList<String>();
+		try {
+			URL folder = IconCache.class.getResource(RESOURCE_FOLDER);
+			if (folder == null) {
+				listFolder(Paths.get(FILE_FOLDER), names);
+			}
+			else if (folder.getProtocol().equals("jar")) {
+
+				//open the jar as a file system to list the folder within it
+				URI jar = folder.toURI();
+				FileSystem jarFileSystem;
+				try {
+					jarFileSystem = FileSystems.getFileSystem(jar);
+				}
+				catch (FileSystemNotFoundException e) {
+					jarFileSystem = FileSystems.newFileSystem(jar, Collections.<String, Object>emptyMap());
+				}
+				listFolder(jarFileSystem.getPath(RESOURCE_FOLDER), names);
+			}
+			else {
+				listFolder(Paths.get(folder.toURI()), names);
+			}
+		}
+		catch (IOException | URISyntaxException | RuntimeException e) {
+			e.printStackTrace();
+		}
+		return names;
+	}
+
+
+	/**
+	 * Adds the file names of the PNGs in a folder to a List
+	 * @param folder The folder to list
+	 * @param names The List to add the names to
+	 * @throws IOException On error while listing the folder
+	 */
+	private static void listFolder(Path folder, List<String> names) throws IOException {
+
+		if (!Files.isDirectory(folder)) {
+			return;
+		}
+		try (DirectoryStream<Path> icons = Files.newDirectoryStream(folder, "*.png")) {
+			for (Path icon : icons) {
+				names.add(icon.getFileName().toString());
+			}
+		}
+	}
+}
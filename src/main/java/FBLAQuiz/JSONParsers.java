@@ -0,0 +1,88 @@
+package FBLAQuiz;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.MalformedInputException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+/**
+ * <h1>JSON Parsers Class</h1>
+ *
+ * The JSON Parsers class parses JSON text safely from any thread. A json-simple
+ * JSONParser keeps the state of the text it is parsing, so a single parser can't
+ * be shared between threads. Instead, each thread is given its own parser the
+ * first time it parses something, and keeps reusing it after that.
+ *
+ * A parse that stops partway through and is picked up again later, like the
+ * streaming done by {@link ReportReader}, needs a parser of its own instead.
+ *
+ * Files are read as UTF-8, which is how {@link JournaledFiles} writes them. A file
+ * that isn't valid UTF-8 was written by an older version of the program in the
+ * Windows character set, so it is read in that one instead.
+ *
+ * @author Varun Unnithan
+ *
+ */
+public class JSONParsers {
+
+	/** The character set of files written by older versions of the program */
+	public static final Charset LEGACY_CHARSET = Charset.forName("windows-1252");
+
+	/** The parser of each thread */
+	private static final ThreadLocal<JSONParser> PARSERS = new ThreadLocal<JSONParser>() {
+		@Override
+		protected JSONParser initialValue() {
+			return new JSONParser();
+		}
+	};
+
+
+	//---------------Methods------------------
+	/**
+	 * Parses JSON text
+	 * @param in The JSON text to parse
+	 * @return The parsed value, such as a JSONObject or JSONArray
+	 * @throws IOException On error while reading the text
+	 * @throws ParseException On error while parsing the text
+	 */
+	public static Object parse(Reader in) throws IOException, ParseException {
+		return PARSERS.get().parse(in);
+	}
+
+
+	/**
+	 * Parses a String of JSON text
+	 * @param json The JSON text to parse
+	 * @return The parsed value, such as a JSONObject or JSONArray
+	 * @throws ParseException On error while parsing the text
+	 */
+	public static Object parse(String json) throws ParseException {
+		return PARSERS.get().parse(json);
+	}
+
+
+	/**
+	 * Reads and parses a JSON file
+	 * @param path The path of the file
+	 * @return The parsed value, such as a JSONObject or JSONArray
+	 * @throws IOException On error while reading the file
+	 * @throws ParseException On error while parsing the file
+	 */
+	public static Object parseFile(String path) throws IOException, ParseException {
+
+		try (Reader in = Files.newBufferedReader(Paths.get(path), StandardCharsets.UTF_8)) {
+			return parse(in);
+		}
+		catch (MalformedInputException e) {
+			try (Reader in = Files.newBufferedReader(Paths.get(path), LEGACY_CHARSET)) {
+				return parse(in);
+			}
+		}
+	}
+}
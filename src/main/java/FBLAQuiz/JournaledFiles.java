@@ -0,0 +1,204 @@
+package FBLAQuiz;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * <h1>Journaled Files Class</h1>
+ *
+ * The Journaled Files class replaces the databases' files without ever leaving
+ * a half-written file in their place. New contents are written to a temporary
+ * file and forced to disk, then renamed over the old file in one atomic move.
+ *
+ * Before the move, a line describing it is written to a journal. If the program
+ * stops partway through, {@link #recover()} finishes every move whose temporary
+ * file was completely written, and discards the rest, so the database is always
+ * either fully the old version or fully the new one.
+ *
+ * @author Varun Unnithan
+ *
+ */
+public class JournaledFiles {
+
+	/** The path of the journal of unfinished writes */
+	public static final String JOURNAL_PATH = "./JSONfiles/journal.log";
+
+	/** The lock held while writing so that only one file is replaced at a time */
+	private static final Object LOCK = new Object();
+
+
+	//-----------Constructors-------------
+	/**
+	 * The class only has static methods, so it isn't meant to be created
+	 */
+	private JournaledFiles() {}
+
+
+	//---------------Methods------------------
+	/**
+	 * Atomically replaces a file's contents with the given text
+	 * @param target The path of the file to replace, which doesn't need to exist yet
+	 * @param contents The new text of the file, written in UTF-8
+	 * @throws IOException On error while writing the file or journal
+	 */
+	public static void write(Path target, String contents) throws IOException {
+		write(target, contents.getBytes(StandardCharsets.UTF_8));
+	}
+
+
+	/**
+	 * Atomically replaces a file's contents with the given bytes
+	 * @param target The path of the file to replace, which doesn't need to exist yet
+	 * @param contents The new bytes of the file
+	 * @throws IOException On error while writing the file or journal
+	 */
+	public static void write(Path target, byte[] contents) throws IOException {
+
+		synchronized (LOCK) {
+
+			Path temp = tempPath(target);
+			Path journal = Paths.get(JOURNAL_PATH);
+
+			//write the new contents to the temporary file and force them to disk
+			try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+					StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+
+				ByteBuffer buffer = ByteBuffer.wrap(contents);
+				while (buffer.hasRemaining()) {
+					channel.write(buffer);
+				}
+				channel.force(true);
+			}
+
+			//record the move, with the temporary file's length and checksum, before making it
+			CRC32 checksum = new CRC32();
+			checksum.update(contents);
+			String entry = target.toString() + "\t" + contents.length + "\t" + checksum.getValue() + "\n";
+			try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.CREATE,
+					StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+
+				channel.write(ByteBuffer.wrap(entry.getBytes(StandardCharsets.UTF_8)));
+				channel.force(true);
+			}
+
+			//replace the file, then clear the journal since the move is finished
+			move(temp, target);
+			Files.deleteIfExists(journal);
+		}
+	}
+
+
+	/**
+	 * Finishes or discards any writes that were interrupted, using the journal. This
+	 * should be called when the program starts, before any database is read.
+	 */
+	public static void recover() {
+
+		synchronized (LOCK) {
+
+			Path journal = Paths.get(JOURNAL_PATH);
+			if (!Files.exists(journal)) {
+				return;
+			}
+
+			try {
+				List<String> entries = Files.readAllLines(journal, StandardCharsets.UTF_8);
+				for (String entry : entries) {
+
+					//skip an entry that was only partly written, since its move never happened
+					String[] parts = entry.split("\t");
+					if (parts.length != 3) {
+						continue;
+					}
+
+					Path target = Paths.get(parts[0]);
+					Path temp = tempPath(target);
+					if (!Files.exists(temp)) {
+						continue;
+					}
+
+					//finish the move only if the temporary file was fully written
+					try {
+						if (isComplete(temp, Long.parseLong(parts[1]), Long.parseLong(parts[2]))) {
+							move(temp, target);
+						}
+						else {
+							Files.delete(temp);
+						}
+					}
+					catch (NumberFormatException e) {
+						Files.delete(temp);
+					}
+				}
+				Files.delete(journal);
+			}
+			catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+
+	/**
+	 * Checks whether a temporary file has the length and checksum recorded in the journal
+	 * @param temp The temporary file
+	 * @param length The length the file should have, in bytes
+	 * @param checksum The CRC-32 checksum the file should have
+	 * @return Whether the file matches
+	 * @throws IOException On error while reading the file
+	 */
+	private static boolean isComplete(Path temp, long length, long checksum) throws IOException {
+
+		if (Files.size(temp) != length) {
+			return false;
+		}
+		CRC32 crc = new CRC32();
+		crc.update(Files.readAllBytes(temp));
+		return crc.getValue() == checksum;
+	}
+
+
+	/**
+	 * Gets the path of the temporary file used while replacing a file
+	 * @param target The file being replaced
+	 * @return The path of its temporary file, in the same directory
+	 */
+	private static Path tempPath(Path target) {
+		return target.resolveSibling(target.getFileName() + ".tmp");
+	}
+
+
+	/**
+	 * Moves a file over another atomically, then forces the directory to disk so that
+	 * the move itself is saved
+	 * @param source The file to move
+	 * @param target The file to replace
+	 * @throws IOException On error while moving the file
+	 */
+	private static void move(Path source, Path target) throws IOException {
+
+		try {
+			Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		}
+		catch (AtomicMoveNotSupportedException e) {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+
+		//some systems, such as Windows, can't open a directory to force it, which is fine to skip
+		Path directory = target.toAbsolutePath().getParent();
+		try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+			channel.force(true);
+		}
+		catch (IOException e) {}
+	}
+}
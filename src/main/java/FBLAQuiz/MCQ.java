@@ -7,12 +7,7 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.io.FileNotFoundException;
-import java.io.FileReader;
-import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Random;
 
 import javax.swing.ButtonGroup;
 import javax.swing.ImageIcon;
@@ -23,10 +18,6 @@ import javax.swing.JRadioButton;
 import javax.swing.JToggleButton;
 import javax.swing.SpringLayout;
 
-import org.json.simple.JSONArray;
-import org.json.simple.JSONObject;
-import org.json.simple.parser.ParseException;
-
 /**
  * <h1>Multiple Choice Question Class</h1>
  * 
@@ -40,20 +31,12 @@ public class MCQ extends MouseAdapter implements ActionListener, Question{
 	
 	//----------------Instance variables----------------
 	//Question variables
-	/** The multiple choice question as a JSONObject */
-	private JSONObject questionObject;
+	/** The question being asked, which holds the user's answer */
+	private QuizQuestion model;
 	/** The text of the question */
 	private String question;
-	/** The question's correct answer */
-	private String answer;
-	/** The user's answer to the question */
-	private String userAnswer;
-	/** A List of all the question's answer choices */
+	/** A List of all the question's answer choices, in the order they are shown */
 	private ArrayList<String> choices;
-	/** Whether this question has been flagged for review or not */
-	private boolean flagged;
-	/** The question number of this question in the quiz */
-	private int quizQuestionNumber;
 	
 	//Buttons and scene objects
 	/** A container for components to represent a question */
@@ -76,44 +59,16 @@ public class MCQ extends MouseAdapter implements ActionListener, Question{
 	
 	//-----------------------Constructor--------------
 	/**
-	* Default constructor for creating a multiple choice question, pulled from
-	* the database
+	* Constructor for creating the view of a multiple choice question in a quiz
 	* 
-	* @throws IOException On input error
-	* @throws ParseException On error while parsing the database
-	* @throws FileNotFoundException On failure to find database file path
+	* @param model The multiple choice question to ask
 	*/
-	public MCQ() throws FileNotFoundException, IOException, ParseException {
-		
-		//parse the database and save it to a JSONObject
-		JSONObject database;
-		try {
-			database = (JSONObject)(QuizMenu.PARSER.parse(new FileReader("./JSONfiles/testQuestions.json")));
-		} 
-		catch (IOException | ParseException e) {
-			//Use backup database if exception occurs
-			database = (JSONObject)(QuizMenu.PARSER.parse(new FileReader("./JSONfiles/backup/testQuestions.json")));
-		}
-		//get the array for all multiple choice questions from the database
-		JSONArray mcqArray = (JSONArray) database.get("mcq");
-		
-		//picks random question from multiple choice questions
-		questionObject = (JSONObject) mcqArray.get(new Random().nextInt(mcqArray.size()));
+	public MCQ(QuizQuestion model) {
 		
 		//initializes variables using this question
-		question = (String) questionObject.get("question");
-		answer = (String) questionObject.get("answer");
-		
-		//converts JSONArray of choices to an ArrayList
-		choices = new ArrayList<String>();
-		JSONArray choicesJSON = (JSONArray) questionObject.get("choices");
-		for (int i = 0; i < choicesJSON.size(); i++) {
-			choices.add((String) choicesJSON.get(i));
-		}
-		Collections.shuffle(choices); //shuffles answer choices
-		
-		userAnswer = "";
-		flagged = false;
+		this.model = model;
+		question = model.getQuestion();
+		choices = new ArrayList<String>(model.getChoices());
 		
 	}
 	
@@ -126,12 +81,21 @@ public class MCQ extends MouseAdapter implements ActionListener, Question{
 	
 	
 	public boolean isFlagged() {
-		return flagged;
+		return model.isFlagged();
 	}
 	
 	
 	public int getQuizQuestionNumber() {
-		return quizQuestionNumber;
+		return model.getQuizNumber();
+	}
+	
+	
+	/**
+	 * Gets the ID of this question in the database
+	 * @return The question's ID
+	 */
+	public String getQuestionId() {
+		return model.getQuestionId();
 	}
 	
 	
@@ -149,7 +113,7 @@ public class MCQ extends MouseAdapter implements ActionListener, Question{
 	 * @return The answer as a String
 	 */
 	public String getAnswer() {
-		return answer;
+		return model.getAnswers().get(0);
 	}
 	
 	
@@ -158,7 +122,7 @@ public class MCQ extends MouseAdapter implements ActionListener, Question{
 	 * @return The user answer as a String
 	 */
 	public String getUserAnswer() {
-		return userAnswer;
+		return model.getUserAnswerText();
 	}
 	
 	
@@ -171,22 +135,22 @@ public class MCQ extends MouseAdapter implements ActionListener, Question{
 		for (JRadioButton multipleChoice : choiceButtons) {
 					
 			if (multipleChoice.isSelected()) {
-				userAnswer = multipleChoice.getText();
+				model.submitAnswer(multipleChoice.getText());
 				return;
 			}
 		}
-		userAnswer = "";
+		model.submitAnswer("");
 
 	}
 	
 	
 	public boolean isAnswered() {
-		return !userAnswer.equals("");
+		return model.isAnswered();
 	}
 	
 	
 	public boolean isCorrect() {
-		return userAnswer.equals(answer);
+		return model.isCorrect();
 	}
 	
 	
@@ -215,9 +179,9 @@ public class MCQ extends MouseAdapter implements ActionListener, Question{
 		eliminateTool = new JToggleButton();
 		
 		//sets up icon for flagTool button
-		flagTool.setIcon(new ImageIcon("./Icons/Flag Icon Unselected.png"));
-		flagTool.setSelectedIcon(new ImageIcon("./Icons/Flag Icon Selected.png"));
-		flagTool.setRolloverIcon(new ImageIcon("./Icons/Flag Icon Rollover.png"));
+		flagTool.setIcon(IconCache.get("Flag Icon Unselected.png"));
+		flagTool.setSelectedIcon(IconCache.get("Flag Icon Selected.png"));
+		flagTool.setRolloverIcon(IconCache.get("Flag Icon Rollover.png"));
 		flagTool.setOpaque(false);
 		flagTool.setContentAreaFilled(false);
 		flagTool.setBorderPainted(false);
@@ -227,9 +191,9 @@ public class MCQ extends MouseAdapter implements ActionListener, Question{
 		flagTool.addMouseListener(this);
 		
 		//sets up icon for selectTool button
-		selectTool.setIcon(new ImageIcon("./Icons/Select Icon Unselected.png"));
-		selectTool.setSelectedIcon(new ImageIcon("./Icons/Select Icon Selected.png"));
-		selectTool.setRolloverIcon(new ImageIcon("./Icons/Select Icon Rollover.png"));
+		selectTool.setIcon(IconCache.get("Select Icon Unselected.png"));
+		selectTool.setSelectedIcon(IconCache.get("Select Icon Selected.png"));
+		selectTool.setRolloverIcon(IconCache.get("Select Icon Rollover.png"));
 		selectTool.setOpaque(false);
 		selectTool.setContentAreaFilled(false);
 		selectTool.setBorderPainted(false);
@@ -240,9 +204,9 @@ public class MCQ extends MouseAdapter implements ActionListener, Question{
 		selectTool.addMouseListener(this);
 		
 		//sets up icon for eliminateTool button
-		eliminateTool.setIcon(new ImageIcon("./Icons/Eliminate Icon Unselected.png"));
-		eliminateTool.setSelectedIcon(new ImageIcon("./Icons/Eliminate Icon Selected.png"));
-		eliminateTool.setRolloverIcon(new ImageIcon("./Icons/Eliminate Icon Rollover.png"));
+		eliminateTool.setIcon(IconCache.get("Eliminate Icon Unselected.png"));
+		eliminateTool.setSelectedIcon(IconCache.get("Eliminate Icon Selected.png"));
+		eliminateTool.setRolloverIcon(IconCache.get("Eliminate Icon Rollover.png"));
 		eliminateTool.setOpaque(false);
 		eliminateTool.setContentAreaFilled(false);
 		eliminateTool.setBorderPainted(false);
@@ -275,11 +239,11 @@ public class MCQ extends MouseAdapter implements ActionListener, Question{
 			choiceButtons[i].setForeground(new Color(35,35,35));
 			choiceButtons[i].setVerticalTextPosition(JRadioButton.CENTER);
 			//sets up the button
-			choiceButtons[i].setIcon(new ImageIcon("./Icons/RadioButton Icon Unselected.png"));
-			choiceButtons[i].setSelectedIcon(new ImageIcon("./Icons/RadioButton Icon Selected.png"));
-			choiceButtons[i].setDisabledIcon(new ImageIcon("./Icons/RadioButton Icon Disabled.png"));
-			choiceButtons[i].setDisabledSelectedIcon(new ImageIcon("./Icons/RadioButton Icon Disabled.png"));
-			choiceButtons[i].setRolloverIcon((new ImageIcon("./Icons/RadioButton Icon Rollover.png")));
+			choiceButtons[i].setIcon(IconCache.get("RadioButton Icon Unselected.png"));
+			choiceButtons[i].setSelectedIcon(IconCache.get("RadioButton Icon Selected.png"));
+			choiceButtons[i].setDisabledIcon(IconCache.get("RadioButton Icon Disabled.png"));
+			choiceButtons[i].setDisabledSelectedIcon(IconCache.get("RadioButton Icon Disabled.png"));
+			choiceButtons[i].setRolloverIcon((IconCache.get("RadioButton Icon Rollover.png")));
 			choiceButtons[i].setFocusable(false);
 			choiceButtons[i].setContentAreaFilled(false);
 			choiceButtons[i].setBorderPainted(false);
@@ -290,9 +254,8 @@ public class MCQ extends MouseAdapter implements ActionListener, Question{
 		}
 		
 		//create a JLabel to display the question
-		quizQuestionNumber = questionNumber;
 		JLabel questionText = new JLabel();
-		questionText.setText("<html>" + quizQuestionNumber + ") " + question + "</html>");	//html tags for text wrapping
+		questionText.setText("<html>" + questionNumber + ") " + question + "</html>");	//html tags for text wrapping
 		questionText.setFont(new Font("Trebuchet MS", Font.BOLD, 35));
 		questionText.setForeground(Color.lightGray);
 	
@@ -374,6 +337,11 @@ public class MCQ extends MouseAdapter implements ActionListener, Question{
 		panelLayout.putConstraint(SpringLayout.WEST, userPanel, 0, SpringLayout.WEST, mcqPanel);
 		panelLayout.putConstraint(SpringLayout.SOUTH, userPanel, 0, SpringLayout.SOUTH, mcqPanel);
 		
+		//show any answer already given, since the panel may be created again after it was released
+		flagTool.setSelected(model.isFlagged());
+		for (JRadioButton multipleChoice : choiceButtons) {
+			multipleChoice.setSelected(!model.getUserAnswerText().isEmpty() && multipleChoice.getText().equals(model.getUserAnswerText()));
+		}
 		
 		return mcqPanel;
 	}
@@ -387,30 +355,25 @@ public class MCQ extends MouseAdapter implements ActionListener, Question{
 	@Override
 	public void actionPerformed(ActionEvent e) {
 		
-		//sets boolean variable flagged when the flagTool button is clicked
+		//flags the question when the flagTool button is clicked
 		if (e.getSource() == flagTool) {
-			if(flagTool.isSelected()) {
-				flagged = true;
-			}
-			else {
-				flagged = false;
-			}
+			model.setFlagged(flagTool.isSelected());
 		}
 		
 		//changes the rollover icon of the choices when the eliminateTool is selected
 		if (e.getSource() == eliminateTool) {
-			choiceA.setRolloverIcon(new ImageIcon("./Icons/RadioButton Icon Rollover Disabled.png"));
-			choiceB.setRolloverIcon(new ImageIcon("./Icons/RadioButton Icon Rollover Disabled.png"));
-			choiceC.setRolloverIcon(new ImageIcon("./Icons/RadioButton Icon Rollover Disabled.png"));
-			choiceD.setRolloverIcon(new ImageIcon("./Icons/RadioButton Icon Rollover Disabled.png"));
+			choiceA.setRolloverIcon(IconCache.get("RadioButton Icon Rollover Disabled.png"));
+			choiceB.setRolloverIcon(IconCache.get("RadioButton Icon Rollover Disabled.png"));
+			choiceC.setRolloverIcon(IconCache.get("RadioButton Icon Rollover Disabled.png"));
+			choiceD.setRolloverIcon(IconCache.get("RadioButton Icon Rollover Disabled.png"));
 		}
 		
 		//changes back the rollover icon of the choices when the selectTool is selected
 		if (e.getSource() == selectTool) {
-			choiceA.setRolloverIcon(new ImageIcon("./Icons/RadioButton Icon Rollover.png"));
-			choiceB.setRolloverIcon(new ImageIcon("./Icons/RadioButton Icon Rollover.png"));
-			choiceC.setRolloverIcon(new ImageIcon("./Icons/RadioButton Icon Rollover.png"));
-			choiceD.setRolloverIcon(new ImageIcon("./Icons/RadioButton Icon Rollover.png"));
+			choiceA.setRolloverIcon(IconCache.get("RadioButton Icon Rollover.png"));
+			choiceB.setRolloverIcon(IconCache.get("RadioButton Icon Rollover.png"));
+			choiceC.setRolloverIcon(IconCache.get("RadioButton Icon Rollover.png"));
+			choiceD.setRolloverIcon(IconCache.get("RadioButton Icon Rollover.png"));
 		}
 		
 		updateUserInput();
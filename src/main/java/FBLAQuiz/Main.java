@@ -2,6 +2,9 @@ package FBLAQuiz;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
 
 import org.json.simple.parser.ParseException;
 
@@ -13,7 +16,69 @@ import org.json.simple.parser.ParseException;
 public class Main {
 
 	public static void main(String[] args) throws FileNotFoundException, IOException, ParseException {
-		new QuizMenu();
+		
+		//finish or discard any database writes that were interrupted last time
+		JournaledFiles.recover();
+		
+		//compact the score report log instead of starting the program
+		if (args.length > 0 && args[0].equals("--compact")) {
+			int dropped = ReportStore.getStore().compact();
+			System.out.println("Compacted the score report log, dropping " + dropped + " damaged report(s)");
+			return;
+		}
+		
+		//write the score reports to a compact binary archive instead of starting the program
+		if (args.length > 0 && args[0].equals("--export-archive")) {
+			Path archive = Paths.get(args.length > 1 ? args[1] : ReportArchive.ARCHIVE_PATH);
+			int exported = ReportArchive.export(ReportStore.getStore(), archive);
+			System.out.println("Archived " + exported + " score report(s) to " + archive);
+			return;
+		}
+		
+		//add the score reports from a binary archive to the log instead of starting the program
+		if (args.length > 0 && args[0].equals("--import-archive")) {
+			Path archive = Paths.get(args.length > 1 ? args[1] : ReportArchive.ARCHIVE_PATH);
+			int imported = ReportArchive.importInto(archive, ReportStore.getStore());
+			System.out.println("Added " + imported + " score report(s) from " + archive);
+			return;
+		}
+		
+		//serve quizzes over HTTP instead of starting the program's window
+		if (args.length > 0 && args[0].equals("--server")) {
+			int port = args.length > 1 ? Integer.parseInt(args[1]) : QuizServer.DEFAULT_PORT;
+			QuizServer server = new QuizServer(port, QuestionBank.getBank());
+			server.start();
+			System.out.println("Serving quizzes on port " + server.getPort());
+			return;
+		}
+		
+		//skip the animations, for slow machines
+		if (Arrays.asList(args).contains("--reduced-motion")) {
+			Animator.setReducedMotion(true);
+		}
+		
+		//let the number of questions in each quiz be chosen, which can't be fewer than the default
+		int quizLength = QuizSession.DEFAULT_LENGTH;
+		int lengthArg = Arrays.asList(args).indexOf("--quiz-length");
+		if (lengthArg >= 0 && lengthArg + 1 < args.length) {
+			try {
+				quizLength = Integer.parseInt(args[lengthArg + 1]);
+			}
+			catch (NumberFormatException e) {
+				System.err.println("The quiz length \"" + args[lengthArg + 1] + "\" isn't a number, so "
+						+ QuizSession.DEFAULT_LENGTH + " questions will be asked");
+			}
+			if (quizLength < QuizSession.DEFAULT_LENGTH) {
+				System.err.println("Quizzes can't have fewer than " + QuizSession.DEFAULT_LENGTH + " questions, so "
+						+ QuizSession.DEFAULT_LENGTH + " will be asked");
+				quizLength = QuizSession.DEFAULT_LENGTH;
+			}
+		}
+		
+		//start decoding the icons in the background while the window is created
+		IconCache.preloadAll();
+		
+		new QuizMenu(quizLength);
 	}
 
 }
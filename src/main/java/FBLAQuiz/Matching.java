@@ -11,14 +11,11 @@ import java.awt.event.ComponentAdapter;
 import java.awt.event.ComponentEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.io.FileNotFoundException;
-import java.io.FileReader;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.Random;
+import java.util.List;
 
 import javax.swing.BorderFactory;
 import javax.swing.ImageIcon;
@@ -31,10 +28,6 @@ import javax.swing.SwingConstants;
 import javax.swing.SwingUtilities;
 import javax.swing.border.Border;
 
-import org.json.simple.JSONArray;
-import org.json.simple.JSONObject;
-import org.json.simple.parser.ParseException;
-
 /**
  * <h1>Matching Question Class</h1>
  * 
@@ -48,8 +41,8 @@ public class Matching extends MouseAdapter implements ActionListener, Question{
 		
 	//----------------Instance variables----------------
 	//Question variables
-	/** The true or false question as a JSONObject */
-	private JSONObject questionObject;
+	/** The question being asked, which holds the user's answer */
+	private QuizQuestion model;
 	/** The text of the question */
 	private String question;
 	/** The first group of matching choices */
@@ -57,14 +50,6 @@ public class Matching extends MouseAdapter implements ActionListener, Question{
 	/** The second group of matching choices, with the correct matches having corresponding indices to groupA. 
 	 * Must have the same size as groupA */
 	private ArrayList<String> groupB;
-	/** The user's answer to the question, with the chosen matches having corresponding indices to groupA. 
-	 * Must have the same size as groupA
-	 * All unanswered choices are set as null. */
-	private ArrayList<String> userAnswerGroupB;
-	/** Whether this question has been flagged for review or not */
-	private boolean flagged;
-	/** The question number of this question in the quiz */
-	private int quizQuestionNumber;
 		
 	//Components and scene objects
 	/** A container for components to represent a question */
@@ -72,7 +57,11 @@ public class Matching extends MouseAdapter implements ActionListener, Question{
 	/** A draggable line to match together items */
 	private DraggableLine line1, line2, line3;
 	/** Whether or not to check for the mouse's position to update the DraggableLine objects */
-	private boolean checkMouse;
+	private volatile boolean checkMouse;
+	/** The task that checks the mouse's position while checkMouse is enabled */
+	private Runnable getMouseNearLine;
+	/** The Thread running the mouse checking task, or null if it hasn't been started */
+	private Thread mouseDetector;
 	/** The button to flag the question for review */
 	private JToggleButton flagTool;
 	/** The JLabel description of the toolbar's tools */
@@ -90,44 +79,17 @@ public class Matching extends MouseAdapter implements ActionListener, Question{
 	
 	//---------------Constructors-----------------
 	/**
-	* Default constructor for creating a random question
-	* @throws IOException On input error
-	* @throws ParseException On error while parsing the database
-	* @throws FileNotFoundException On failure to find database file path
+	* Constructor for creating the view of a matching question in a quiz
+	* @param model The matching question to ask
 	*/
-	public Matching() throws IOException, ParseException, FileNotFoundException{
-		
-		//read and store an array of all multiple choice questions
-		JSONObject database;
-		try {
-			database = (JSONObject)(QuizMenu.PARSER.parse(new FileReader("./JSONfiles/testQuestions.json")));
-		} 
-		catch (IOException | ParseException e) {
-			//Use backup database if exception occurs
-			database = (JSONObject)(QuizMenu.PARSER.parse(new FileReader("./JSONfiles/backup/testQuestions.json")));
-		}
-		JSONArray fillInArray = (JSONArray) database.get("Matching");
-		
-		//picks random question from multiple choice questions
-		questionObject = (JSONObject) fillInArray.get(new Random().nextInt(fillInArray.size()));
-		question = (String) questionObject.get("question");
+	public Matching(QuizQuestion model) {
 		
-		//converts JSONArray of groupA to an ArrayList
-		groupA = new ArrayList<String>();
-		JSONArray JSONgroupA = (JSONArray) questionObject.get("groupA");
-		for (int i = 0; i < JSONgroupA.size(); i++) {
-			groupA.add((String) JSONgroupA.get(i));
-		}
-		
-		//converts JSONArray of groupB to an ArrayList
-		groupB = new ArrayList<String>();
-		JSONArray JSONgroupB = (JSONArray) questionObject.get("groupB");
-		for (int i = 0; i < JSONgroupB.size(); i++) {
-			groupB.add((String) JSONgroupB.get(i));
-		}
+		this.model = model;
+		question = model.getQuestion();
 		
-		userAnswerGroupB = new ArrayList<String>();
-		flagged = false;
+		//copies both groups of items to ArrayLists
+		groupA = new ArrayList<String>(model.getData().getGroupA());
+		groupB = new ArrayList<String>(model.getData().getGroupB());
 	
 	}
 	
@@ -140,12 +102,21 @@ public class Matching extends MouseAdapter implements ActionListener, Question{
 	
 	
 	public boolean isFlagged() {
-		return flagged;
+		return model.isFlagged();
 	}
 	
 
 	public int getQuizQuestionNumber() {
-		return quizQuestionNumber;
+		return model.getQuizNumber();
+	}
+	
+	
+	/**
+	 * Gets the ID of this question in the database
+	 * @return The question's ID
+	 */
+	public String getQuestionId() {
+		return model.getQuestionId();
 	}
 	
 	
@@ -172,10 +143,28 @@ public class Matching extends MouseAdapter implements ActionListener, Question{
 	 * @return An ArrayList of strings, with the indices corresponding to the items of groupA
 	 */
 	public ArrayList<String> getUserAnswer() {
-		updateUserInput();
-		return userAnswerGroupB;
+		return new ArrayList<String>(model.getUserAnswer());
 	}
 	
+	/**
+	 * Starts checking the mouse position to update the DraggableLines, if the panel has been
+	 * created and it isn't already being checked
+	 */
+	public void startMouseChecking() {
+		
+		if (getMouseNearLine == null) {
+			return;
+		}
+		checkMouse = true;
+		
+		//a Thread that was just stopped may still be running, and will keep going instead
+		if (mouseDetector == null || !mouseDetector.isAlive()) {
+			mouseDetector = new Thread(getMouseNearLine);
+			mouseDetector.start();
+		}
+	}
+	
+	
 	/**
 	 * Stops the checking of the mouse position to update the DraggableLines
 	 */
@@ -185,8 +174,8 @@ public class Matching extends MouseAdapter implements ActionListener, Question{
 	
 	
 	/**
-	 * Updates the userAnswerGroupB ArrayList, based off of the user input. Called every time the 
-	 * user input is updated.
+	 * Submits the user's matches as the question's answer, based off of the user input. Called every 
+	 * time a DraggableLine is released.
 	 */	
 	private void updateUserInput() {
 		
@@ -210,38 +199,27 @@ public class Matching extends MouseAdapter implements ActionListener, Question{
 			//if the DraggableLine is snapped, add the text to the ArrayList, else set that position to null
 			if (connectingLines.get(i).isSnapped()) {
 				
-				//gets the text of the DraggableLine's connected JLabel
-				String thisAnswer = groupBItems.get(destinations.indexOf((connectingLines.get(i).getDraggedPoint()))).getText();
-				//remove the HTML tags from the String
-				userInput.add(thisAnswer.substring(24, thisAnswer.length() - 13));
+				//gets the groupB item shown in the DraggableLine's connected JLabel
+				userInput.add(model.getChoices().get(destinations.indexOf(connectingLines.get(i).getDraggedPoint())));
 			}
 			else {
 				userInput.add(null);
 			}
 		}
 
-		//update the userAnswerGroupB list
-		userAnswerGroupB = userInput;
+		//update the question's answer
+		model.submitAnswer(userInput);
 
 	}
 	
 	
 	public boolean isAnswered() {
-		updateUserInput();
-		
-		//checks if all the items in the user answer array is null
-		for (int i = 0; i < userAnswerGroupB.size(); i++) {
-			if (userAnswerGroupB.get(i) != null) {
-				return true;
-			}
-		}
-		return false;
+		return model.isAnswered();
 	}
 	
 
 	public boolean isCorrect() {
-		updateUserInput();
-		return userAnswerGroupB.equals(groupB);
+		return model.isCorrect();
 	}
 
 	
@@ -268,9 +246,9 @@ public class Matching extends MouseAdapter implements ActionListener, Question{
 		//sets up icon for flagTool button
 		flagTool = new JToggleButton();
 		
-		flagTool.setIcon(new ImageIcon("./Icons/Flag Icon Unselected.png"));
-		flagTool.setSelectedIcon(new ImageIcon("./Icons/Flag Icon Selected.png"));
-		flagTool.setRolloverIcon(new ImageIcon("./Icons/Flag Icon Rollover.png"));
+		flagTool.setIcon(IconCache.get("Flag Icon Unselected.png"));
+		flagTool.setSelectedIcon(IconCache.get("Flag Icon Selected.png"));
+		flagTool.setRolloverIcon(IconCache.get("Flag Icon Rollover.png"));
 		flagTool.setOpaque(false);
 		flagTool.setContentAreaFilled(false);
 		flagTool.setBorderPainted(false);
@@ -281,9 +259,8 @@ public class Matching extends MouseAdapter implements ActionListener, Question{
 		
 		
 		//create a JLabel to display the question
-		quizQuestionNumber = questionNumber;
 		JLabel questionText = new JLabel();
-		questionText.setText("<html>" + quizQuestionNumber + ") " + question + "</html>");	//html tags for text wrapping
+		questionText.setText("<html>" + questionNumber + ") " + question + "</html>");	//html tags for text wrapping
 		questionText.setFont(new Font("Trebuchet MS", Font.BOLD, 35));
 		questionText.setForeground(Color.lightGray);
 	
@@ -315,13 +292,9 @@ public class Matching extends MouseAdapter implements ActionListener, Question{
 			groupAItems.get(i).setBorder(boxBorder);
 		}
 		
-		//shuffled the groupB order
-		ArrayList<String> shuffledGroupB = new ArrayList<String>(groupB);
-		Collections.shuffle(shuffledGroupB);
-		
-		//sets up groupB Jlabels
+		//sets up groupB Jlabels, in the order the question shuffled them in
 		for (int i = 0; i < groupBItems.size(); i++) {
-			groupBItems.get(i).setText("<html><div align=center>" + shuffledGroupB.get(i) + "</div></html>");
+			groupBItems.get(i).setText("<html><div align=center>" + model.getChoices().get(i) + "</div></html>");
 			groupBItems.get(i).setFont(new Font("Trebuchet MS", Font.PLAIN, 18));
 			groupBItems.get(i).setHorizontalAlignment(SwingConstants.CENTER);
 			groupBItems.get(i).setBackground(new Color(25,25,25));
@@ -340,6 +313,11 @@ public class Matching extends MouseAdapter implements ActionListener, Question{
 		connectingLines.add(line2);
 		connectingLines.add(line3);
 		
+		//submits the user's matches whenever a line is dropped
+		for (DraggableLine line : connectingLines) {
+			line.addMouseListener(this);
+		}
+		
 		//sets up the connecting DraggableLine objects
 		final Runnable setUpLines = new Runnable() {
 			
@@ -351,6 +329,11 @@ public class Matching extends MouseAdapter implements ActionListener, Question{
 					e.printStackTrace();
 				}
 				
+				//the destinations are found again each time, instead of being added to the old ones
+				for (DraggableLine line : connectingLines) {
+					line.setDestinations(new ArrayList<Point>());
+				}
+				
 				for (int a = 0; a < groupAItems.size(); a++) {
 					//gets the location of the middle right of the groupA boxes
 					Point pivot = groupAItems.get(a).getLocation();
@@ -372,7 +355,16 @@ public class Matching extends MouseAdapter implements ActionListener, Question{
 					}
 				}
 				
-				
+				//snap the lines to any matches already made, since the panel may be created again after it was released
+				List<String> userAnswer = model.getUserAnswer();
+				for (int a = 0; a < connectingLines.size() && a < userAnswer.size(); a++) {
+					int b = model.getChoices().indexOf(userAnswer.get(a));
+					if (b >= 0) {
+						Point destination = groupBItems.get(b).getLocation();
+						destination.translate(0, 30);
+						connectingLines.get(a).snapTo(destination);
+					}
+				}
 			}
 		};
 		
@@ -396,7 +388,7 @@ public class Matching extends MouseAdapter implements ActionListener, Question{
 		JLabel dotA3 = new JLabel();
 		JLabel[] linePivotDots = {dotA1, dotA2, dotA3};
 		for (int i = 0; i < linePivotDots.length; i++) {
-			linePivotDots[i].setIcon(new ImageIcon("./Icons/Line Pivot Dot.png"));
+			linePivotDots[i].setIcon(IconCache.get("Line Pivot Dot.png"));
 			linePivotDots[i].setOpaque(false);
 			linePivotDots[i].setBorder(null);
 		}
@@ -407,7 +399,7 @@ public class Matching extends MouseAdapter implements ActionListener, Question{
 		JLabel dotB3 = new JLabel();
 		JLabel[] lineDestinationDots = {dotB1, dotB2, dotB3};
 		for (int i = 0; i < lineDestinationDots.length; i++) {
-			lineDestinationDots[i].setIcon(new ImageIcon("./Icons/Line Destination Dot.png"));
+			lineDestinationDots[i].setIcon(IconCache.get("Line Destination Dot.png"));
 			lineDestinationDots[i].setOpaque(false);
 			lineDestinationDots[i].setBorder(null);
 		}
@@ -532,8 +524,12 @@ public class Matching extends MouseAdapter implements ActionListener, Question{
 	
 		
 		
+		//show whether the question was flagged, since the panel may be created again after it was released
+		flagTool.setSelected(model.isFlagged());
+		
+		
 		//Runnable object to constantly check which DraggableLine is to be clicked
-		Runnable getMouseNearLine = new Runnable() {
+		getMouseNearLine = new Runnable() {
 			public void run() {
 				
 				try {
@@ -542,8 +538,6 @@ public class Matching extends MouseAdapter implements ActionListener, Question{
 				catch (InterruptedException e) {
 					e.printStackTrace();
 				}
-				
-				checkMouse = true;
 					   
 				//while the checkMouse is enabled, check for which line the mouse is near
 			    while (checkMouse) {
@@ -575,8 +569,7 @@ public class Matching extends MouseAdapter implements ActionListener, Question{
 		};
 			    
 		//create a new Thread to run the mouse detection
-		Thread mouseDetector = new Thread(getMouseNearLine);
-		mouseDetector.start();
+		startMouseChecking();
 		
 		
 		return matchingPanel;
@@ -591,14 +584,9 @@ public class Matching extends MouseAdapter implements ActionListener, Question{
 	 */
 	public void actionPerformed(ActionEvent e) {
 		
-		//sets boolean variable flagged when the flagTool button is clicked
+		//flags the question when the flagTool button is clicked
 		if (e.getSource() == flagTool) {
-			if(flagTool.isSelected()) {
-				flagged = true;
-			}
-			else {
-				flagged = false;
-			}
+			model.setFlagged(flagTool.isSelected());
 		}
 		
 	}
@@ -627,6 +615,18 @@ public class Matching extends MouseAdapter implements ActionListener, Question{
 			toolBarHelp.setText("");
 		}
 	}
+	
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public void mouseReleased(MouseEvent e) {
+		
+		//once a line is dropped, it has snapped to its new match or back to its pivot
+		if (e.getSource() instanceof DraggableLine) {
+			updateUserInput();
+		}
+	}
 
 	
 	
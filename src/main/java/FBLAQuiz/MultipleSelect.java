@@ -7,12 +7,7 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.io.FileNotFoundException;
-import java.io.FileReader;
-import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Random;
 
 import javax.swing.ButtonGroup;
 import javax.swing.ImageIcon;
@@ -23,10 +18,6 @@ import javax.swing.JPanel;
 import javax.swing.JToggleButton;
 import javax.swing.SpringLayout;
 
-import org.json.simple.JSONArray;
-import org.json.simple.JSONObject;
-import org.json.simple.parser.ParseException;
-
 /**
  * <h1>Multiple Select Question Class</h1>
  * 
@@ -40,20 +31,12 @@ public class MultipleSelect extends MouseAdapter implements ActionListener, Ques
 	
 	//----------------Instance variables----------------
 	//Question variables
-	/** The multiple select question as a JSONObject */
-	private JSONObject questionObject;
+	/** The question being asked, which holds the user's answer */
+	private QuizQuestion model;
 	/** The text of the question */
 	private String question;
 	/** The List of all the question's answer choices */
 	private ArrayList<String> choices; 
-	/** The List of all correct answer choices */
-	private ArrayList<String> answer;
-	/** The List of the user's answers to the question */
-	private ArrayList<String> userAnswer;
-	/** Whether this question has been flagged for review or not */
-	private boolean flagged;
-	/** The question number of this question in the quiz */
-	private int quizQuestionNumber;
 	
 	//Buttons and scene objects
 	/** A container for components to represent a question */
@@ -74,46 +57,16 @@ public class MultipleSelect extends MouseAdapter implements ActionListener, Ques
 	
 	//------------------Constructors------------------
 	/**
-	* Default constructor for creating a random question
-	* @throws IOException On input error
-	* @throws ParseException On error while parsing the database
-	* @throws FileNotFoundException On failure to find database file path
+	* Constructor for creating the view of a multiple select question in a quiz
+	* @param model The multiple select question to ask
 	*/
-	public MultipleSelect() throws IOException, ParseException, FileNotFoundException{
-		
-		//read and store an array of all multiple select questions
-		JSONObject database;
-		try {
-			database = (JSONObject)(QuizMenu.PARSER.parse(new FileReader("./JSONfiles/testQuestions.json")));
-		} 
-		catch (IOException | ParseException e) {
-			//Use backup database if exception occurs
-			database = (JSONObject)(QuizMenu.PARSER.parse(new FileReader("./JSONfiles/backup/testQuestions.json")));
-		}
-		JSONArray multipleSelectArray = (JSONArray) database.get("Multiple Select");
+	public MultipleSelect(QuizQuestion model) {
 		
-		//picks random question from multiple select questions
-		questionObject = (JSONObject) multipleSelectArray.get(new Random().nextInt(multipleSelectArray.size()));
-		question = (String) questionObject.get("question");
+		this.model = model;
+		question = model.getQuestion();
 		
-		//converts JSONArray of choices to an ArrayList
-		choices = new ArrayList<String>();
-		JSONArray choicesJSON = (JSONArray) questionObject.get("choices");
-		for (int i = 0; i < choicesJSON.size(); i++) {
-			choices.add((String) choicesJSON.get(i));
-		}
-		Collections.shuffle(choices); //shuffles answer choices
-		
-		//converts JSONArray of answers to an ArrayList
-		answer = new ArrayList<String>();
-		JSONArray answersJSON = (JSONArray) questionObject.get("answer");
-		for (int i = 0; i < answersJSON.size(); i++) {
-			answer.add((String) answersJSON.get(i));
-		}
-		
-		flagged = false;
-		userAnswer = new ArrayList<String>();
-	
+		//copies the choices to an ArrayList, in the order the question shuffled them in
+		choices = new ArrayList<String>(model.getChoices());
 	}
 	
 	
@@ -132,7 +85,7 @@ public class MultipleSelect extends MouseAdapter implements ActionListener, Ques
 	 * @return Boolean of if a question is flagged
 	 */
 	public boolean isFlagged() {
-		return flagged;
+		return model.isFlagged();
 	}
 	
 	
@@ -141,7 +94,16 @@ public class MultipleSelect extends MouseAdapter implements ActionListener, Ques
 	 * @return The question number of this question in the quiz
 	 */
 	public int getQuizQuestionNumber() {
-		return quizQuestionNumber;
+		return model.getQuizNumber();
+	}
+	
+	
+	/**
+	 * Gets the ID of this question in the database
+	 * @return The question's ID
+	 */
+	public String getQuestionId() {
+		return model.getQuestionId();
 	}
 	
 	
@@ -159,7 +121,7 @@ public class MultipleSelect extends MouseAdapter implements ActionListener, Ques
 	 * @return An ArrayList of String objects, each being a correct answer
 	 */
 	public ArrayList<String> getAnswer() {
-		return answer;
+		return new ArrayList<String>(model.getAnswers());
 	}
 	
 	
@@ -168,7 +130,7 @@ public class MultipleSelect extends MouseAdapter implements ActionListener, Ques
 	 * @return The user's answer as an ArrayList of Strings
 	 */
 	public ArrayList<String> getUserAnswer() {
-		return userAnswer;
+		return new ArrayList<String>(model.getUserAnswer());
 	}
 	
 	
@@ -177,18 +139,16 @@ public class MultipleSelect extends MouseAdapter implements ActionListener, Ques
 	 */	
 	private void updateUserInput() {
 		
-		//checks which multiple select button was clicked and records the user's input appropriately
-		userAnswer.clear();
+		//records every multiple select button that is selected as part of the user's answer
+		ArrayList<String> userAnswer = new ArrayList<String>();
 		for (JCheckBox multipleSelect : choiceButtons) {
 					
 			if (multipleSelect.isSelected()) {
 				userAnswer.add(multipleSelect.getText());
 			}
-			else {
-				userAnswer.remove(multipleSelect.getText());
-			}
 			
 		}
+		model.submitAnswer(userAnswer);
 
 	}
 	
@@ -198,7 +158,7 @@ public class MultipleSelect extends MouseAdapter implements ActionListener, Ques
 	 * @return Boolean value of whether user has answered the question or not
 	 */
 	public boolean isAnswered() {
-		return (userAnswer.size() != 0);
+		return model.isAnswered();
 	}
 	
 	
@@ -208,7 +168,7 @@ public class MultipleSelect extends MouseAdapter implements ActionListener, Ques
 	 */
 	public boolean isCorrect() {
 		
-		return userAnswer.containsAll(answer) && answer.containsAll(userAnswer);
+		return model.isCorrect();
 	}
 	
 	
@@ -243,9 +203,9 @@ public class MultipleSelect extends MouseAdapter implements ActionListener, Ques
 		eliminateTool = new JToggleButton();
 		
 		//sets up icon for flagTool button
-		flagTool.setIcon(new ImageIcon("./Icons/Flag Icon Unselected.png"));
-		flagTool.setSelectedIcon(new ImageIcon("./Icons/Flag Icon Selected.png"));
-		flagTool.setRolloverIcon(new ImageIcon("./Icons/Flag Icon Rollover.png"));
+		flagTool.setIcon(IconCache.get("Flag Icon Unselected.png"));
+		flagTool.setSelectedIcon(IconCache.get("Flag Icon Selected.png"));
+		flagTool.setRolloverIcon(IconCache.get("Flag Icon Rollover.png"));
 		flagTool.setOpaque(false);
 		flagTool.setContentAreaFilled(false);
 		flagTool.setBorderPainted(false);
@@ -255,9 +215,9 @@ public class MultipleSelect extends MouseAdapter implements ActionListener, Ques
 		flagTool.addMouseListener(this);
 		
 		//sets up icon for selectTool button
-		selectTool.setIcon(new ImageIcon("./Icons/Select Icon Unselected.png"));
-		selectTool.setSelectedIcon(new ImageIcon("./Icons/Select Icon Selected.png"));
-		selectTool.setRolloverIcon(new ImageIcon("./Icons/Select Icon Rollover.png"));
+		selectTool.setIcon(IconCache.get("Select Icon Unselected.png"));
+		selectTool.setSelectedIcon(IconCache.get("Select Icon Selected.png"));
+		selectTool.setRolloverIcon(IconCache.get("Select Icon Rollover.png"));
 		selectTool.setOpaque(false);
 		selectTool.setContentAreaFilled(false);
 		selectTool.setBorderPainted(false);
@@ -268,9 +228,9 @@ public class MultipleSelect extends MouseAdapter implements ActionListener, Ques
 		selectTool.addMouseListener(this);
 		
 		//sets up icon for eliminateTool button
-		eliminateTool.setIcon(new ImageIcon("./Icons/Eliminate Icon Unselected.png"));
-		eliminateTool.setSelectedIcon(new ImageIcon("./Icons/Eliminate Icon Selected.png"));
-		eliminateTool.setRolloverIcon(new ImageIcon("./Icons/Eliminate Icon Rollover.png"));
+		eliminateTool.setIcon(IconCache.get("Eliminate Icon Unselected.png"));
+		eliminateTool.setSelectedIcon(IconCache.get("Eliminate Icon Selected.png"));
+		eliminateTool.setRolloverIcon(IconCache.get("Eliminate Icon Rollover.png"));
 		eliminateTool.setOpaque(false);
 		eliminateTool.setContentAreaFilled(false);
 		eliminateTool.setBorderPainted(false);
@@ -302,11 +262,11 @@ public class MultipleSelect extends MouseAdapter implements ActionListener, Ques
 			choiceButtons[i].setForeground(new Color(35,35,35));
 			choiceButtons[i].setVerticalTextPosition(JCheckBox.CENTER);
 			//sets up the button
-			choiceButtons[i].setIcon(new ImageIcon("./Icons/CheckBox Icon Unselected.png"));
-			choiceButtons[i].setSelectedIcon(new ImageIcon("./Icons/CheckBox Icon Selected.png"));
-			choiceButtons[i].setDisabledIcon(new ImageIcon("./Icons/CheckBox Icon Disabled.png"));
-			choiceButtons[i].setDisabledSelectedIcon(new ImageIcon("./Icons/CheckBox Icon Disabled.png"));
-			choiceButtons[i].setRolloverIcon((new ImageIcon("./Icons/CheckBox Icon Rollover.png")));
+			choiceButtons[i].setIcon(IconCache.get("CheckBox Icon Unselected.png"));
+			choiceButtons[i].setSelectedIcon(IconCache.get("CheckBox Icon Selected.png"));
+			choiceButtons[i].setDisabledIcon(IconCache.get("CheckBox Icon Disabled.png"));
+			choiceButtons[i].setDisabledSelectedIcon(IconCache.get("CheckBox Icon Disabled.png"));
+			choiceButtons[i].setRolloverIcon((IconCache.get("CheckBox Icon Rollover.png")));
 			choiceButtons[i].setFocusable(false);
 			choiceButtons[i].setContentAreaFilled(false);
 			choiceButtons[i].setBorderPainted(false);
@@ -316,9 +276,8 @@ public class MultipleSelect extends MouseAdapter implements ActionListener, Ques
 		}
 		
 		//create a JLabel to display the question
-		quizQuestionNumber = questionNumber;
 		JLabel questionText = new JLabel();
-		questionText.setText("<html>" + quizQuestionNumber + ") " + question + "</html>");	//html tags for text wrapping
+		questionText.setText("<html>" + questionNumber + ") " + question + "</html>");	//html tags for text wrapping
 		questionText.setFont(new Font("Trebuchet MS", Font.BOLD, 35));
 		questionText.setForeground(Color.lightGray);
 		
@@ -401,6 +360,11 @@ public class MultipleSelect extends MouseAdapter implements ActionListener, Ques
 		panelLayout.putConstraint(SpringLayout.WEST, userPanel, 0, SpringLayout.WEST, multipleSelectPanel);
 		panelLayout.putConstraint(SpringLayout.SOUTH, userPanel, 0, SpringLayout.SOUTH, multipleSelectPanel);
 		
+		//show any answer already given, since the panel may be created again after it was released
+		flagTool.setSelected(model.isFlagged());
+		for (JCheckBox multipleSelect : choiceButtons) {
+			multipleSelect.setSelected(model.getUserAnswer().contains(multipleSelect.getText()));
+		}
 		
 		return multipleSelectPanel;
 	}
@@ -412,27 +376,22 @@ public class MultipleSelect extends MouseAdapter implements ActionListener, Ques
 	 */
 	public void actionPerformed(ActionEvent e) {
 		
-		//sets boolean variable flagged when the flagTool button is clicked
+		//flags the question when the flagTool button is clicked
 		if (e.getSource() == flagTool) {
-			if(flagTool.isSelected()) {
-				flagged = true;
-			}
-			else {
-				flagged = false;
-			}
+			model.setFlagged(flagTool.isSelected());
 		}
 		
 		//changes the rollover icon of the choices when the eliminateTool is selected
 		if (e.getSource() == eliminateTool) {
 			for (JCheckBox checkbox: choiceButtons) {
-				checkbox.setRolloverIcon(new ImageIcon("./Icons/CheckBox Icon Rollover Disabled.png"));
+				checkbox.setRolloverIcon(IconCache.get("CheckBox Icon Rollover Disabled.png"));
 			}
 		}
 		
 		//changes back the rollover icon of the choices when the selectTool is selected
 		if (e.getSource() == selectTool) {
 			for (JCheckBox checkbox: choiceButtons) {
-				checkbox.setRolloverIcon(new ImageIcon("./Icons/CheckBox Icon Rollover.png"));
+				checkbox.setRolloverIcon(IconCache.get("CheckBox Icon Rollover.png"));
 			}
 		}
 		
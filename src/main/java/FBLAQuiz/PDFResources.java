@@ -0,0 +1,139 @@
+package FBLAQuiz;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+
+import org.apache.fontbox.ttf.TTFParser;
+import org.apache.fontbox.ttf.TrueTypeFont;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+
+/**
+ * <h1>PDF Resources Class</h1>
+ *
+ * The PDF Resources class hands out the fonts and images used while writing a
+ * single PDF document, so that each one is only added to the document once,
+ * no matter how many times it is used.
+ *
+ * Each font file is only read once for the whole program, and its bytes are
+ * shared between every document that is exported. The font is then parsed from
+ * memory once per document, since PDFBox closes a parsed font after embedding
+ * the subset of it used by a document. Fonts are read from the Fonts folder on
+ * the classpath first, and otherwise from the src/Fonts folder.
+ *
+ * @author Varun Unnithan
+ *
+ */
+public class PDFResources {
+
+	/** The file name of the regular font */
+	public static final String REGULAR_FONT = "TREBUC.TTF";
+	/** The file name of the bold font */
+	public static final String BOLD_FONT = "TREBUCBD.TTF";
+	/** The file name of the font used for the quiz's date */
+	public static final String DATE_FONT = "MavenPro-Regular.ttf";
+
+	/** The folder of the fonts on the classpath */
+	public static final String RESOURCE_FOLDER = "/Fonts/";
+	/** The folder of the fonts on disk, used if they aren't on the classpath */
+	public static final String FILE_FOLDER = "./src/Fonts/";
+
+	/** The bytes of every font file that has been read, by its file name */
+	private static final HashMap<String, byte[]> FONT_FILES = new HashMap<String, byte[]>();
+
+
+	//-----------Instance Variables-----------
+	/** The document the fonts and images are added to */
+	private final PDDocument document;
+	/** The fonts added to the document, by their file name */
+	private final HashMap<String, PDFont> fonts;
+	/** The images added to the document, by their icon's file name */
+	private final HashMap<String, PDImageXObject> images;
+
+
+	//-----------Constructors-------------
+	/**
+	 * Creates the resources for a single document
+	 * @param document The document to add the fonts and images to
+	 */
+	public PDFResources(PDDocument document) {
+		this.document = document;
+		fonts = new HashMap<String, PDFont>();
+		images = new HashMap<String, PDImageXObject>();
+	}
+
+
+	//---------------Methods------------------
+	/**
+	 * Gets a font for the document, adding it the first time it is used. Only the
+	 * characters used in the document are embedded, once the document is saved.
+	 * @param fileName The file name of the font, such as {@link #REGULAR_FONT}
+	 * @return The font to write with
+	 * @throws IOException On error while reading or parsing the font file
+	 */
+	public PDFont getFont(String fileName) throws IOException {
+
+		PDFont font = fonts.get(fileName);
+		if (font == null) {
+			TrueTypeFont trueTypeFont = new TTFParser().parse(new ByteArrayInputStream(getFontFile(fileName)));
+			font = PDType0Font.load(document, trueTypeFont, true);
+			fonts.put(fileName, font);
+		}
+		return font;
+	}
+
+
+	/**
+	 * Gets an image of an icon for the document, adding it the first time it is used
+	 * @param iconName The file name of the icon within the Icons folder
+	 * @return The image to draw
+	 * @throws IOException On error while adding the image
+	 */
+	public PDImageXObject getImage(String iconName) throws IOException {
+
+		PDImageXObject image = images.get(iconName);
+		if (image == null) {
+
+			//the icon is already decoded by the IconCache
+			BufferedImage icon = (BufferedImage) IconCache.get(iconName).getImage();
+			if (icon == null) {
+				throw new IOException("Could not load icon " + iconName);
+			}
+			image = LosslessFactory.createFromImage(document, icon);
+			images.put(iconName, image);
+		}
+		return image;
+	}
+
+
+	/**
+	 * Gets the bytes of a font file, reading it the first time it is used
+	 * @param fileName The file name of the font
+	 * @return The bytes of the font file, shared by every document
+	 * @throws IOException On error while reading the font file
+	 */
+	static synchronized byte[] getFontFile(String fileName) throws IOException {
+
+		byte[] fontFile = FONT_FILES.get(fileName);
+		if (fontFile == null) {
+
+			//read the font from the classpath if it is there, and otherwise from disk
+			InputStream fontStream = PDFResources.class.getResourceAsStream(RESOURCE_FOLDER + fileName);
+			if (fontStream == null) {
+				fontStream = new FileInputStream(FILE_FOLDER + fileName);
+			}
+			try (InputStream in = fontStream) {
+				fontFile = in.readAllBytes();
+			}
+			FONT_FILES.put(fileName, fontFile);
+		}
+		return fontFile;
+	}
+}
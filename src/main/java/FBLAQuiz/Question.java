@@ -30,6 +30,12 @@ public interface Question {
 	 */
 	int getQuizQuestionNumber();
 	
+	/**
+	 * Gets this question's ID in the database, which stays the same between quizzes
+	 * @return The ID of this question
+	 */
+	String getQuestionId();
+	
 	/**
 	 * Checks to see if a question is answered
 	 * @return {@code true} if a question is answered
@@ -0,0 +1,196 @@
+package FBLAQuiz;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Random;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.ParseException;
+
+/**
+ * <h1>Question Bank Class</h1>
+ *
+ * The Question Bank class loads the question database once and keeps it in
+ * memory, indexed by question type, so that each question object does not
+ * have to parse the database on its own.
+ *
+ * The database is only parsed again once the file's modification time or size
+ * has changed, such as after the password has been changed.
+ *
+ * @author Varun Unnithan
+ *
+ */
+public class QuestionBank {
+
+	/** The path of the question database */
+	public static final String DATABASE_PATH = "./JSONfiles/testQuestions.json";
+	/** The path of the backup question database, used if the main one can't be read */
+	public static final String BACKUP_PATH = "./JSONfiles/backup/testQuestions.json";
+
+	/** The question bank shared by the whole program */
+	private static QuestionBank sharedBank;
+
+
+	//-----------Instance Variables-----------
+	/** The questions of each type, in the order of the database */
+	private EnumMap<QuestionType, List<QuestionData>> questions;
+	/** The administrative password stored within the database */
+	private String password;
+	/** The modification time of the database file when it was last loaded, in milliseconds */
+	private long loadedModifiedTime;
+	/** The size of the database file when it was last loaded, in bytes */
+	private long loadedSize;
+	/** The random number generator used to pick questions */
+	private final Random random;
+
+
+	//-----------Constructors-------------
+	/**
+	 * Creates an empty question bank, which is filled on its first reload
+	 */
+	private QuestionBank() {
+		questions = new EnumMap<QuestionType, List<QuestionData>>(QuestionType.class);
+		loadedModifiedTime = -1;
+		loadedSize = -1;
+		random = new Random();
+	}
+
+
+	//---------------Methods------------------
+	/**
+	 * Gets the question bank shared by the program, reloading it first if the
+	 * database file has changed since it was last read
+	 * @return The shared QuestionBank
+	 * @throws IOException On input error while reading both databases
+	 * @throws ParseException On error while parsing both databases
+	 * @throws FileNotFoundException On failure to find both database file paths
+	 */
+	public static synchronized QuestionBank getBank() throws FileNotFoundException, IOException, ParseException {
+
+		if (sharedBank == null) {
+			sharedBank = new QuestionBank();
+		}
+		sharedBank.reloadIfModified();
+		return sharedBank;
+	}
+
+
+	/**
+	 * Reloads the database if the file's modification time or size is different
+	 * from when it was last loaded
+	 * @throws IOException On input error while reading both databases
+	 * @throws ParseException On error while parsing both databases
+	 */
+	private synchronized void reloadIfModified() throws IOException, ParseException {
+
+		Path databasePath = Paths.get(DATABASE_PATH);
+		long modifiedTime = -1, size = -1;
+		try {
+			modifiedTime = Files.getLastModifiedTime(databasePath).toMillis();
+			size = Files.size(databasePath);
+		}
+		catch (IOException e) {
+			//if the file can't be read, load from the backup (only once, unless it reappears)
+		}
+
+		if (modifiedTime == loadedModifiedTime && size == loadedSize && !questions.isEmpty()) {
+			return;
+		}
+
+		//parse the database, using the backup if an exception occurs
+		JSONObject database;
+		try {
+			database = (JSONObject)(JSONParsers.parseFile(DATABASE_PATH));
+		}
+		catch (IOException | ParseException e) {
+			database = (JSONObject)(JSONParsers.parseFile(BACKUP_PATH));
+		}
+
+		//index all of the questions by their type
+		EnumMap<QuestionType, List<QuestionData>> loadedQuestions = new EnumMap<QuestionType, List<QuestionData>>(QuestionType.class);
+		for (QuestionType type : QuestionType.values()) {
+
+			JSONArray typeArray = (JSONArray) database.get(type.getDatabaseKey());
+			ArrayList<QuestionData> typeQuestions = new ArrayList<QuestionData>();
+
+			if (typeArray != null) {
+				for (int i = 0; i < typeArray.size(); i++) {
+					typeQuestions.add(new QuestionData(type, (JSONObject) typeArray.get(i), i));
+				}
+			}
+			loadedQuestions.put(type, Collections.unmodifiableList(typeQuestions));
+		}
+
+		questions = loadedQuestions;
+		password = (String) database.get("password");
+		loadedModifiedTime = modifiedTime;
+		loadedSize = size;
+	}
+
+
+	/**
+	 * Gets all questions of a given type
+	 * @param type The type of questions to get
+	 * @return An unmodifiable List of the questions, in the order of the database
+	 */
+	public synchronized List<QuestionData> getQuestions(QuestionType type) {
+		return questions.get(type);
+	}
+
+
+	/**
+	 * Picks a random question of the given type
+	 * @param type The type of question to pick
+	 * @return A random question of that type
+	 */
+	public synchronized QuestionData getRandomQuestion(QuestionType type) {
+
+		List<QuestionData> typeQuestions = questions.get(type);
+		return typeQuestions.get(random.nextInt(typeQuestions.size()));
+	}
+
+
+	/**
+	 * Gets the administrative password stored in the database
+	 * @return The password as a String
+	 */
+	public synchronized String getPassword() {
+		return password;
+	}
+
+
+	/**
+	 * Changes the administrative password, atomically rewriting the database with it
+	 * @param newPassword The new password
+	 * @throws IOException On error while reading or writing the database
+	 * @throws ParseException On error while parsing both databases
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized void setPassword(String newPassword) throws IOException, ParseException {
+
+		//read the database, using the backup if an exception occurs
+		JSONObject database;
+		try {
+			database = (JSONObject)(JSONParsers.parseFile(DATABASE_PATH));
+		}
+		catch (IOException | ParseException e) {
+			database = (JSONObject)(JSONParsers.parseFile(BACKUP_PATH));
+		}
+
+		//update the password and replace the database without truncating it in place
+		database.put("password", newPassword);
+		JournaledFiles.write(Paths.get(DATABASE_PATH), database.toJSONString());
+		password = newPassword;
+
+		//make sure the next reload doesn't skip the new file
+		loadedModifiedTime = -1;
+	}
+}
@@ -0,0 +1,680 @@
+package FBLAQuiz;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.font.FontRenderContext;
+import java.awt.font.LineBreakMeasurer;
+import java.awt.font.TextAttribute;
+import java.awt.font.TextLayout;
+import java.text.AttributedString;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.swing.JComponent;
+import javax.swing.JViewport;
+import javax.swing.Scrollable;
+import javax.swing.SwingConstants;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+
+/**
+ * <h1>Question Card List Class</h1>
+ *
+ * The Question Card List class shows questions and their answers as a scrolling list
+ * of cards, each as tall as its text needs. Only the cards that are scrolled to are
+ * ever laid out or drawn, so the list stays fast no matter how many questions it has.
+ *
+ * Until a card is scrolled to, its height is guessed from the length of its text.
+ * The heights are kept in a tree of running totals, so the card at any point of the
+ * list, and where any card starts, can be found without adding up every card above
+ * it, and a guess can be corrected once the card is laid out. The card at the top of
+ * the view is kept in place while guesses are corrected, so the list doesn't jump.
+ * The lines of the most recently shown cards are kept, so scrolling back over them
+ * only draws them again.
+ *
+ * @author Varun Unnithan
+ *
+ */
+@SuppressWarnings("serial")
+public class QuestionCardList extends JComponent implements Scrollable {
+
+	/** The most cards whose laid out lines are kept */
+	public static final int MAX_CACHED_CARDS = 200;
+	/** The space above a card's question and below its answers */
+	private static final int CARD_PADDING = 20;
+	/** The space between a card's question and its answers */
+	private static final int SECTION_GAP = 20;
+	/** The width cards are guessed to have before the list has been given a size */
+	private static final int DEFAULT_WIDTH = 880;
+
+	/** The font of a card's question */
+	private static final Font QUESTION_FONT = new Font("Trebuchet MS", Font.BOLD, 25);
+	/** The font of a card's choices and answers */
+	private static final Font ANSWER_FONT = new Font("Trebuchet MS", Font.PLAIN, 18);
+	/** The color of a card's question */
+	private static final Color QUESTION_COLOR = new Color(25,25,25);
+	/** The color of a card's choices and answers */
+	private static final Color ANSWER_COLOR = Color.LIGHT_GRAY;
+
+
+	//-----------Instance Variables-----------
+	/** The questions shown, one card each */
+	private List<QuestionData> questions = Collections.emptyList();
+	/** The height of each card, which is a guess until the card has been laid out */
+	private int[] heights = new int[0];
+	/** Whether each card's height comes from laying it out at the current width */
+	private boolean[] measured = new boolean[0];
+	/** A tree of running totals of the heights, where each entry holds the heights of a stretch of cards ending at it */
+	private int[] heightTree = new int[1];
+	/** The height of every card together */
+	private int totalHeight;
+	/** The width the cards were laid out for */
+	private int layoutWidth;
+	/** The laid out cards, by their position in the list, in order of least recently used */
+	private final LinkedHashMap<Integer, Card> cards;
+	/** How the text is measured, which is the same for every card so they are the same on any screen */
+	private final FontRenderContext fontContext = new FontRenderContext(null, true, true);
+	/** Whether cards are being measured, so moving the view while measuring doesn't measure again */
+	private boolean measuring;
+	/** Measures the newly visible cards each time the view is scrolled or resized */
+	private final ChangeListener viewListener;
+
+
+	//-----------Constructors-------------
+	/**
+	 * Creates an empty list of question cards
+	 */
+	public QuestionCardList() {
+
+		setOpaque(false);
+
+		//drop the least recently used card once there are too many
+		cards = new LinkedHashMap<Integer, Card>(MAX_CACHED_CARDS + 1, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Integer, Card> eldest) {
+				return size() > MAX_CACHED_CARDS;
+			}
+		};
+
+		viewListener = new ChangeListener() {
+			@Override
+			public void stateChanged(ChangeEvent e) {
+				measureVisibleCards();
+			}
+		};
+	}
+
+
+	//---------------Methods------------------
+	/**
+	 * Shows a new list of questions, scrolled back to the top
+	 * @param questions The questions, which may be of different types
+	 */
+	public void setQuestions(List<QuestionData> questions) {
+
+		this.questions = questions;
+		cards.clear();
+		heights = new int[questions.size()];
+		measured = new boolean[questions.size()];
+		int width = getWidth() > 0 ? getWidth() : DEFAULT_WIDTH;
+		for (int i = 0; i < heights.length; i++) {
+			heights[i] = estimateHeight(questions.get(i), width);
+		}
+		buildHeightTree();
+
+		if (getParent() instanceof JViewport) {
+			((JViewport) getParent()).setViewPosition(new Point(0, 0));
+		}
+		revalidate();
+		repaint();
+	}
+
+
+	/**
+	 * Gets the number of cards in the list
+	 * @return The number of questions shown
+	 */
+	public int getCardCount() {
+		return questions.size();
+	}
+
+
+	/**
+	 * Starts measuring cards as they are scrolled to once the list is put in a scroll pane
+	 */
+	@Override
+	public void addNotify() {
+		super.addNotify();
+		if (getParent() instanceof JViewport) {
+			((JViewport) getParent()).addChangeListener(viewListener);
+		}
+	}
+
+
+	/**
+	 * Stops measuring cards as they are scrolled to once the list is taken out of its scroll pane
+	 */
+	@Override
+	public void removeNotify() {
+		if (getParent() instanceof JViewport) {
+			((JViewport) getParent()).removeChangeListener(viewListener);
+		}
+		super.removeNotify();
+	}
+
+
+	//-----------Card Heights--------------
+	/**
+	 * Builds the tree of running totals from the heights of every card
+	 */
+	private void buildHeightTree() {
+
+		//each entry starts as its own card's height, then is added to the entry covering it
+		heightTree = new int[heights.length + 1];
+		totalHeight = 0;
+		for (int i = 1; i < heightTree.length; i++) {
+			heightTree[i] += heights[i - 1];
+			totalHeight += heights[i - 1];
+			int parent = i + (i & -i);
+			if (parent < heightTree.length) {
+				heightTree[parent] += heightTree[i];
+			}
+		}
+	}
+
+
+	/**
+	 * Changes the height of a card, moving every card below it
+	 * @param card The position of the card
+	 * @param height The card's new height
+	 */
+	private void setHeight(int card, int height) {
+
+		int change = height - heights[card];
+		heights[card] = height;
+		totalHeight += change;
+		for (int i = card + 1; i < heightTree.length; i += i & -i) {
+			heightTree[i] += change;
+		}
+	}
+
+
+	/**
+	 * Finds where a card starts
+	 * @param card The position of the card
+	 * @return The y-coordinate of the top of the card, which is the height of the cards above it
+	 */
+	public int getCardY(int card) {
+
+		int y = 0;
+		for (int i = card; i > 0; i -= i & -i) {
+			y += heightTree[i];
+		}
+		return y;
+	}
+
+
+	/**
+	 * Finds the card at a point of the list
+	 * @param y The y-coordinate of the point
+	 * @return The position of the card, which is the last card if the point is below every card, or -1 if there are none
+	 */
+	public int cardAt(int y) {
+
+		if (heights.length == 0) {
+			return -1;
+		}
+
+		//walk down the tree, skipping each stretch of cards that ends above the point
+		int card = 0;
+		int step = Integer.highestOneBit(heights.length);
+		for (; step > 0; step >>= 1) {
+			int next = card + step;
+			if (next < heightTree.length && heightTree[next] <= y) {
+				card = next;
+				y -= heightTree[next];
+			}
+		}
+		return Math.min(card, heights.length - 1);
+	}
+
+
+	/**
+	 * Guesses the height of a card from the length of its text, for cards that haven't been laid out
+	 * @param question The card's question
+	 * @param width The width of the list
+	 * @return The guessed height
+	 */
+	private static int estimateHeight(QuestionData question, int width) {
+
+		int height = 2 * CARD_PADDING + SECTION_GAP + estimateLines(question.getQuestion(), QUESTION_FONT, width - 150)
+				* lineHeight(QUESTION_FONT);
+
+		if (hasColumns(question.getType())) {
+			int columnWidth = width / 2 - 40;
+			int leftLines = 1;
+			for (String item : getLeftItems(question)) {
+				leftLines += estimateLines(item, ANSWER_FONT, columnWidth);
+			}
+			int rightLines = 1;
+			for (String item : getRightItems(question)) {
+				rightLines += estimateLines(item, ANSWER_FONT, columnWidth);
+			}
+			height += Math.max(leftLines, rightLines) * lineHeight(ANSWER_FONT);
+		}
+		else {
+			height += estimateLines("Correct Answer: " + question.getAnswer(), ANSWER_FONT, width - 80) * lineHeight(ANSWER_FONT);
+		}
+		return height;
+	}
+
+
+	/**
+	 * Guesses the number of lines a paragraph wraps to, assuming each letter is about half as wide as the font is tall
+	 * @param text The paragraph
+	 * @param font The font of the paragraph
+	 * @param width The width the paragraph wraps at
+	 * @return The guessed number of lines
+	 */
+	private static int estimateLines(String text, Font font, int width) {
+		int perLine = Math.max(1, (int) (width / (font.getSize2D() * 0.5f)));
+		return Math.max(1, (text.length() + perLine - 1) / perLine);
+	}
+
+
+	/**
+	 * Guesses the height of a line of text in a font
+	 * @param font The font
+	 * @return The guessed height of a line
+	 */
+	private static int lineHeight(Font font) {
+		return Math.round(font.getSize2D() * 1.25f);
+	}
+
+
+	/**
+	 * Lays out the cards that are in view, correcting their guessed heights. If the card at the
+	 * top of the view changes height, the view is moved so the same part of it stays at the top.
+	 */
+	public void measureVisibleCards() {
+
+		if (measuring || heights.length == 0 || getWidth() <= 0) {
+			return;
+		}
+		measuring = true;
+		try {
+			checkWidth();
+
+			//measuring cards can bring more cards into view, so this stops once none change
+			boolean resized = false;
+			boolean changed = true;
+			while (changed) {
+
+				changed = false;
+				Rectangle view = getVisibleRect();
+				int top = cardAt(view.y);
+				int topOffset = view.y - getCardY(top);
+				int topHeight = heights[top];
+
+				int y = getCardY(top);
+				for (int card = top; card < heights.length && y < view.y + view.height; card++) {
+					changed |= measure(card);
+					y += heights[card];
+				}
+
+				//keep the same fraction of the top card above the view
+				if (heights[top] != topHeight && topOffset > 0 && getParent() instanceof JViewport) {
+					int newOffset = (int) ((long) topOffset * heights[top] / topHeight);
+					setSize(getWidth(), totalHeight);
+					((JViewport) getParent()).setViewPosition(new Point(view.x, getCardY(top) + newOffset));
+				}
+				resized |= changed;
+			}
+
+			if (resized) {
+				revalidate();
+				repaint();
+			}
+		}
+		finally {
+			measuring = false;
+		}
+	}
+
+
+	/**
+	 * Makes sure the cards are laid out for the current width, keeping their old heights as guesses
+	 */
+	private void checkWidth() {
+
+		if (getWidth() != layoutWidth) {
+			layoutWidth = getWidth();
+			cards.clear();
+			for (int i = 0; i < measured.length; i++) {
+				measured[i] = false;
+			}
+		}
+	}
+
+
+	/**
+	 * Lays out a card if it hasn't been, and corrects its height if it was a guess
+	 * @param card The position of the card
+	 * @return {@code true} if the card's height changed
+	 */
+	private boolean measure(int card) {
+
+		Card laidOut = getCard(card);
+		measured[card] = true;
+		if (laidOut.height != heights[card]) {
+			setHeight(card, laidOut.height);
+			return true;
+		}
+		return false;
+	}
+
+
+	//-----------Card Layout--------------
+	/**
+	 * Gets the laid out lines of a card, laying it out if it isn't in the cache
+	 * @param card The position of the card
+	 * @return The laid out card
+	 */
+	private Card getCard(int card) {
+
+		Card laidOut = cards.get(card);
+		if (laidOut == null) {
+			laidOut = layOut(questions.get(card), layoutWidth > 0 ? layoutWidth : DEFAULT_WIDTH);
+			cards.put(card, laidOut);
+		}
+		return laidOut;
+	}
+
+
+	/**
+	 * Checks whether a type of question shows its choices and answers side by side, rather than a single answer
+	 * @param type The type of question
+	 * @return {@code true} if the card has two columns
+	 */
+	private static boolean hasColumns(QuestionType type) {
+		return type == QuestionType.MCQ || type == QuestionType.MULTIPLE_SELECT || type == QuestionType.MATCHING;
+	}
+
+
+	/**
+	 * Gets the items listed in the left column of a card with two columns
+	 * @param question The card's question
+	 * @return The choices, or the first group of a matching question
+	 */
+	private static List<String> getLeftItems(QuestionData question) {
+		return question.getType() == QuestionType.MATCHING ? question.getGroupA() : question.getChoices();
+	}
+
+
+	/**
+	 * Gets the items listed in the right column of a card with two columns
+	 * @param question The card's question
+	 * @return The correct answers, which for a matching question is the second group in its correct order
+	 */
+	private static List<String> getRightItems(QuestionData question) {
+		if (question.getType() == QuestionType.MCQ) {
+			return Collections.singletonList(question.getAnswer());
+		}
+		return question.getAnswers();
+	}
+
+
+	/**
+	 * Lays out the lines of a card
+	 * @param question The card's question
+	 * @param width The width of the list
+	 * @return The laid out card
+	 */
+	private Card layOut(QuestionData question, int width) {
+
+		Card card = new Card();
+		float y = addParagraph(card, styled(question.getQuestion(), null, QUESTION_FONT), 25, width - 125, CARD_PADDING,
+				false, QUESTION_COLOR);
+		y += SECTION_GAP;
+
+		if (hasColumns(question.getType())) {
+
+			//display different titles if the question type is matching
+			boolean matching = question.getType() == QuestionType.MATCHING;
+
+			//the choices are on the left half, and the answers are on the right half
+			float leftY = addParagraph(card, styled("", matching ? "Group A:" : "Choices:", ANSWER_FONT), 40, width / 2,
+					y, false, ANSWER_COLOR);
+			for (String item : getLeftItems(question)) {
+				leftY = addParagraph(card, styled(item, null, ANSWER_FONT), 40, width / 2, leftY, false, ANSWER_COLOR);
+			}
+
+			float rightY = addParagraph(card, styled("", matching ? "Group B:" : "Correct Answer:", ANSWER_FONT),
+					width / 2 + 30, width - 40, y, false, ANSWER_COLOR);
+			for (String item : getRightItems(question)) {
+				rightY = addParagraph(card, styled(item, null, ANSWER_FONT), width / 2 + 30, width - 40, rightY, false,
+						ANSWER_COLOR);
+			}
+			y = Math.max(leftY, rightY);
+		}
+		else {
+			y = addParagraph(card, styled(" " + question.getAnswer(), "Correct Answer:", ANSWER_FONT), 40, width - 40, y,
+					true, ANSWER_COLOR);
+		}
+
+		card.height = (int) Math.ceil(y) + CARD_PADDING;
+		return card;
+	}
+
+
+	/**
+	 * Creates text in a font, which can start with a title that is bold and underlined
+	 * @param text The text
+	 * @param title The title to put before the text, or null for none
+	 * @param font The font of the text
+	 * @return The styled text
+	 */
+	private static AttributedString styled(String text, String title, Font font) {
+
+		String full = (title == null ? "" : title) + (text == null ? "" : text);
+		//a paragraph can't be laid out without any letters
+		if (full.isEmpty()) {
+			full = " ";
+		}
+
+		AttributedString styled = new AttributedString(full);
+		styled.addAttribute(TextAttribute.FONT, font);
+		if (title != null && !title.isEmpty()) {
+			styled.addAttribute(TextAttribute.FONT, font.deriveFont(Font.BOLD), 0, title.length());
+			styled.addAttribute(TextAttribute.UNDERLINE, TextAttribute.UNDERLINE_ON, 0, title.length());
+		}
+		return styled;
+	}
+
+
+	/**
+	 * Wraps a paragraph to fit between two x-coordinates and adds its lines to a card
+	 * @param card The card to add the lines to
+	 * @param text The paragraph
+	 * @param left The x-coordinate of the left edge of the lines
+	 * @param right The x-coordinate of the right edge of the lines
+	 * @param y The y-coordinate of the top of the paragraph
+	 * @param centered Whether each line is centered, rather than starting at the left edge
+	 * @param color The color of the paragraph
+	 * @return The y-coordinate of the bottom of the paragraph
+	 */
+	private float addParagraph(Card card, AttributedString text, float left, float right, float y, boolean centered,
+			Color color) {
+
+		float wrapWidth = Math.max(1, right - left);
+		LineBreakMeasurer measurer = new LineBreakMeasurer(text.getIterator(), fontContext);
+		int end = text.getIterator().getEndIndex();
+		while (measurer.getPosition() < end) {
+
+			TextLayout line = measurer.nextLayout(wrapWidth);
+			y += line.getAscent();
+			float x = centered ? left + (wrapWidth - line.getAdvance()) / 2 : left;
+			card.lines.add(new Line(line, x, y, color));
+			y += line.getDescent() + line.getLeading();
+		}
+		return y;
+	}
+
+
+	//-----------Painting--------------
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void paintComponent(Graphics g) {
+
+		if (heights.length == 0) {
+			return;
+		}
+		checkWidth();
+
+		Graphics2D g2 = (Graphics2D) g;
+		//turns on anti-aliasing for the text, matching how it was measured
+		g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+		g2.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+
+		//only the cards in the area being painted are drawn, and any that were never shown are measured first
+		Rectangle clip = g.getClipBounds() != null ? g.getClipBounds() : new Rectangle(0, 0, getWidth(), getHeight());
+		boolean resized = false;
+		int card = cardAt(clip.y);
+		int y = getCardY(card);
+		for (; card < heights.length && y < clip.y + clip.height; card++) {
+			resized |= measure(card);
+			for (Line line : getCard(card).lines) {
+				g2.setColor(line.color);
+				line.layout.draw(g2, line.x, y + line.y);
+			}
+			y += heights[card];
+		}
+
+		if (resized) {
+			revalidate();
+		}
+	}
+
+
+	//-----------Scrolling--------------
+	/**
+	 * Gets the size of the list, which fills the width of its scroll pane
+	 * @return The preferred size, as tall as every card together
+	 */
+	@Override
+	public Dimension getPreferredSize() {
+		return new Dimension(100, totalHeight);
+	}
+
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Dimension getPreferredScrollableViewportSize() {
+		return getPreferredSize();
+	}
+
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+		return 16;
+	}
+
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+		return orientation == SwingConstants.VERTICAL ? visibleRect.height : visibleRect.width;
+	}
+
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean getScrollableTracksViewportWidth() {
+		return true;
+	}
+
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean getScrollableTracksViewportHeight() {
+		return false;
+	}
+
+
+	//-----------Inner Classes--------------
+	/**
+	 * <h1>Card Class</h1>
+	 *
+	 * The Card class holds the laid out lines of a question's card, so it can be
+	 * drawn again without wrapping its text again.
+	 *
+	 * @author Varun Unnithan
+	 *
+	 */
+	private static class Card {
+
+		/** The lines of the card, in the order they are drawn */
+		private final ArrayList<Line> lines = new ArrayList<Line>();
+		/** The height of the card */
+		private int height;
+	}
+
+
+	/**
+	 * <h1>Line Class</h1>
+	 *
+	 * The Line class holds a single laid out line of a card's text, along with where
+	 * in the card it goes.
+	 *
+	 * @author Varun Unnithan
+	 *
+	 */
+	private static class Line {
+
+		/** The laid out text of the line */
+		private final TextLayout layout;
+		/** The x-coordinate of the start of the line */
+		private final float x;
+		/** The y-coordinate of the line's baseline, from the top of the card */
+		private final float y;
+		/** The color of the line */
+		private final Color color;
+
+
+		/**
+		 * Creates a line of a card
+		 * @param layout The laid out text of the line
+		 * @param x The x-coordinate of the start of the line
+		 * @param y The y-coordinate of the line's baseline, from the top of the card
+		 * @param color The color of the line
+		 */
+		private Line(TextLayout layout, float x, float y, Color color) {
+			this.layout = layout;
+			this.x = x;
+			this.y = y;
+			this.color = color;
+		}
+	}
+}
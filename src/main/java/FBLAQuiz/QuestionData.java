@@ -0,0 +1,174 @@
+package FBLAQuiz;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+/**
+ * <h1>Question Data Class</h1>
+ *
+ * The QuestionData class is an immutable record of a single question from the
+ * question database. It holds only the question's content, and not any of a
+ * user's answers, so that a single instance can be shared between every quiz
+ * that asks it.
+ *
+ * @author Varun Unnithan
+ *
+ */
+public final class QuestionData {
+
+	//-----------Instance Variables-----------
+	/** The type of this question */
+	private final QuestionType type;
+	/** The question's number within its type's array in the database */
+	private final int number;
+	/** The text of the question */
+	private final String question;
+	/** The correct answer(s) to the question. Single answer types have one element */
+	private final List<String> answers;
+	/** The answer choices of a multiple choice or multiple select question, and empty otherwise */
+	private final List<String> choices;
+	/** The first group of a matching question's items, and empty otherwise */
+	private final List<String> groupA;
+	/** The second group of a matching question's items, with the correct matches having
+	 * corresponding indices to groupA. Empty if not a matching question */
+	private final List<String> groupB;
+
+
+	//-----------Constructors-------------
+	/**
+	 * Creates a QuestionData object from a question's JSONObject in the database
+	 * @param type The type of question, based on which array of the database it was in
+	 * @param questionObject The question's JSONObject
+	 * @param index The question's index within its array, used if the question has no number
+	 */
+	QuestionData(QuestionType type, JSONObject questionObject, int index) {
+
+		this.type = type;
+		number = questionObject.get("number") == null ? index + 1 : (int) (long) questionObject.get("number");
+		question = (String) questionObject.get("question");
+
+		//matching questions store their answer as the order of groupB, and the rest under "answer"
+		if (type == QuestionType.MATCHING) {
+			answers = toList(questionObject.get("groupB"));
+		}
+		else {
+			answers = toList(questionObject.get("answer"));
+		}
+
+		choices = toList(questionObject.get("choices"));
+		groupA = toList(questionObject.get("groupA"));
+		groupB = toList(questionObject.get("groupB"));
+	}
+
+
+	//---------------Methods------------------
+	/**
+	 * Converts a value from the database to an unmodifiable List of Strings
+	 * @param value A JSONArray of Strings, a single String, or null
+	 * @return An unmodifiable List of the value's Strings
+	 */
+	private static List<String> toList(Object value) {
+
+		if (value == null) {
+			return Collections.emptyList();
+		}
+		if (value instanceof String) {
+			return Collections.singletonList((String) value);
+		}
+
+		//copies each String in the JSONArray
+		JSONArray array = (JSONArray) value;
+		ArrayList<String> list = new ArrayList<String>(array.size());
+		for (int i = 0; i < array.size(); i++) {
+			list.add((String) array.get(i));
+		}
+		return Collections.unmodifiableList(list);
+	}
+
+
+	/**
+	 * Gets the type of this question
+	 * @return The question's type
+	 */
+	public QuestionType getType() {
+		return type;
+	}
+
+
+	/**
+	 * Gets the question's number within its type in the database
+	 * @return The question's database number
+	 */
+	public int getNumber() {
+		return number;
+	}
+
+
+	/**
+	 * Gets the question's ID, made of its type's key and its number, such as "mcq#4".
+	 * The ID stays the same between quizzes, so it can stand in for the question's text.
+	 * @return The question's ID
+	 */
+	public String getId() {
+		return type.getDatabaseKey() + "#" + number;
+	}
+
+
+	/**
+	 * Gets the question String
+	 * @return The question as a String
+	 */
+	public String getQuestion() {
+		return question;
+	}
+
+
+	/**
+	 * Gets the correct answer of a question with a single answer
+	 * @return The answer as a String, or an empty String if there is none
+	 */
+	public String getAnswer() {
+		return answers.isEmpty() ? "" : answers.get(0);
+	}
+
+
+	/**
+	 * Gets all parts of the correct answer. For a matching question, this is the
+	 * correct order of groupB.
+	 * @return An unmodifiable List of the correct answers
+	 */
+	public List<String> getAnswers() {
+		return answers;
+	}
+
+
+	/**
+	 * Gets the answer choices of a multiple choice or multiple select question
+	 * @return An unmodifiable List of the choices, in the order of the database
+	 */
+	public List<String> getChoices() {
+		return choices;
+	}
+
+
+	/**
+	 * Gets the first group of items of a matching question
+	 * @return An unmodifiable List of the groupA items
+	 */
+	public List<String> getGroupA() {
+		return groupA;
+	}
+
+
+	/**
+	 * Gets the second group of items of a matching question, in their correct order
+	 * @return An unmodifiable List of the groupB items
+	 */
+	public List<String> getGroupB() {
+		return groupB;
+	}
+}
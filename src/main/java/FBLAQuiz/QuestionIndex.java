@@ -0,0 +1,476 @@
+package FBLAQuiz;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+
+import org.json.simple.parser.ParseException;
+
+/**
+ * <h1>Question Index Class</h1>
+ *
+ * The Question Index class finds the questions in the question bank that contain
+ * a search's words, as they are typed. Every word of each question's text, choices,
+ * answers, and matching groups is listed once in a sorted array of terms, along with
+ * the questions it appears in, so a search only looks at the questions that have its
+ * words rather than reading every question.
+ *
+ * Each word of a search matches terms that are the same as it, terms that start with
+ * it, and terms that are one typo away from it, such as a letter left out, added,
+ * changed, or two letters swapped. Typos are found through every way of deleting one
+ * letter from each term, which are listed when the index is built, so two words are
+ * a typo apart exactly when they share one of those deletions or one is a deletion
+ * of the other. Questions must match every word of a search, and are ranked by how
+ * closely they match, then by their order in the bank.
+ *
+ * @author Varun Unnithan
+ *
+ */
+public class QuestionIndex {
+
+	/** The shortest word of a search that matches the terms starting with it */
+	public static final int MIN_PREFIX_LENGTH = 2;
+	/** The shortest word of a search or term that is matched with one typo */
+	public static final int MIN_FUZZY_LENGTH = 4;
+	/** The score of a word that is the same as a term */
+	private static final int EXACT_SCORE = 3;
+	/** The score of a word that starts a term */
+	private static final int PREFIX_SCORE = 2;
+	/** The score of a word that is a typo away from a term */
+	private static final int FUZZY_SCORE = 1;
+
+	/** The index of the question bank shared by the program */
+	private static QuestionIndex sharedIndex;
+
+
+	//-----------Instance Variables-----------
+	/** The bank's lists of questions of each type that the index was built from, or null if it wasn't built from the bank */
+	private final EnumMap<QuestionType, List<QuestionData>> sources;
+	/** Every indexed question, in the order they are ranked when they match equally well */
+	private final QuestionData[] questions;
+	/** Every word in the questions, in sorted order */
+	private final String[] terms;
+	/** The positions of the questions each term appears in, in increasing order, by the term's position */
+	private final int[][] postings;
+	/** The position of each term by the term itself */
+	private final HashMap<String, Integer> termPositions;
+	/** The positions of the terms that turn into a String when one of their letters is deleted, by that String */
+	private final HashMap<String, int[]> deletions;
+
+
+	//-----------Constructors-------------
+	/**
+	 * Creates an index of a list of questions
+	 * @param questions The questions, in the order they are ranked when they match equally well
+	 */
+	public QuestionIndex(List<QuestionData> questions) {
+		this(questions, null);
+	}
+
+
+	/**
+	 * Creates an index of a list of questions, which were taken from the bank's lists of questions
+	 * @param questions The questions, in the order they are ranked when they match equally well
+	 * @param sources The bank's lists that the questions were taken from, or null if they weren't
+	 */
+	private QuestionIndex(List<QuestionData> questions, EnumMap<QuestionType, List<QuestionData>> sources) {
+
+		this.sources = sources;
+		this.questions = questions.toArray(new QuestionData[0]);
+
+		//list the questions each word appears in, which are added in order so each list stays sorted
+		HashMap<String, ArrayList<Integer>> termQuestions = new HashMap<String, ArrayList<Integer>>();
+		ArrayList<String> words = new ArrayList<String>();
+		for (int q = 0; q < this.questions.length; q++) {
+
+			words.clear();
+			QuestionData question = this.questions[q];
+			tokenize(question.getQuestion(), words);
+			for (List<String> texts : Arrays.asList(question.getChoices(), question.getAnswers(),
+					question.getGroupA(), question.getGroupB())) {
+				for (String text : texts) {
+					tokenize(text, words);
+				}
+			}
+
+			for (String word : words) {
+				ArrayList<Integer> list = termQuestions.get(word);
+				if (list == null) {
+					list = new ArrayList<Integer>();
+					termQuestions.put(word, list);
+				}
+				if (list.isEmpty() || list.get(list.size() - 1) != q) {
+					list.add(q);
+				}
+			}
+		}
+
+		terms = termQuestions.keySet().toArray(new String[0]);
+		Arrays.sort(terms);
+		postings = new int[terms.length][];
+		termPositions = new HashMap<String, Integer>(terms.length * 2);
+		HashMap<String, ArrayList<Integer>> termDeletions = new HashMap<String, ArrayList<Integer>>();
+		for (int t = 0; t < terms.length; t++) {
+
+			ArrayList<Integer> list = termQuestions.get(terms[t]);
+			postings[t] = new int[list.size()];
+			for (int i = 0; i < postings[t].length; i++) {
+				postings[t][i] = list.get(i);
+			}
+			termPositions.put(terms[t], t);
+
+			//list each way of deleting one letter, which is only done once for a doubled letter
+			if (terms[t].length() >= MIN_FUZZY_LENGTH) {
+				for (int i = 0; i < terms[t].length(); i++) {
+					if (i > 0 && terms[t].charAt(i) == terms[t].charAt(i - 1)) {
+						continue;
+					}
+					String deletion = terms[t].substring(0, i) + terms[t].substring(i + 1);
+					ArrayList<Integer> deletionTerms = termDeletions.get(deletion);
+					if (deletionTerms == null) {
+						deletionTerms = new ArrayList<Integer>(1);
+						termDeletions.put(deletion, deletionTerms);
+					}
+					deletionTerms.add(t);
+				}
+			}
+		}
+
+		deletions = new HashMap<String, int[]>(termDeletions.size() * 2);
+		for (String deletion : termDeletions.keySet()) {
+			ArrayList<Integer> list = termDeletions.get(deletion);
+			int[] positions = new int[list.size()];
+			for (int i = 0; i < positions.length; i++) {
+				positions[i] = list.get(i);
+			}
+			deletions.put(deletion, positions);
+		}
+	}
+
+
+	//---------------Methods------------------
+	/**
+	 * Gets the index of the question bank shared by the program, which is built again if the
+	 * bank has loaded a changed database since the index was built. Building the index of a
+	 * large bank takes a while, so this should be called off the event dispatch thread.
+	 * @return The shared QuestionIndex
+	 * @throws IOException On error while reading the database
+	 * @throws ParseException On error while parsing the database
+	 */
+	public static QuestionIndex getIndex() throws IOException, ParseException {
+
+		QuestionIndex index = getReadyIndex();
+		if (index != null) {
+			return index;
+		}
+
+		//the bank replaces each type's list when it loads the database, so the lists tell if it changed
+		QuestionBank bank = QuestionBank.getBank();
+		EnumMap<QuestionType, List<QuestionData>> sources = new EnumMap<QuestionType, List<QuestionData>>(QuestionType.class);
+		ArrayList<QuestionData> questions = new ArrayList<QuestionData>();
+		for (QuestionType type : QuestionType.values()) {
+			List<QuestionData> typeQuestions = bank.getQuestions(type);
+			sources.put(type, typeQuestions);
+			questions.addAll(typeQuestions);
+		}
+
+		//the index is built without holding the lock, so checking whether it is ready never waits for it
+		index = new QuestionIndex(questions, sources);
+		synchronized (QuestionIndex.class) {
+			sharedIndex = index;
+		}
+		return index;
+	}
+
+
+	/**
+	 * Gets the index of the question bank shared by the program, only if it has already been
+	 * built from the database the bank has now
+	 * @return The shared QuestionIndex, or null if it needs to be built
+	 * @throws IOException On error while reading the database
+	 * @throws ParseException On error while parsing the database
+	 */
+	public static QuestionIndex getReadyIndex() throws IOException, ParseException {
+
+		QuestionBank bank = QuestionBank.getBank();
+		synchronized (QuestionIndex.class) {
+			return sharedIndex != null && sharedIndex.isIndexOf(bank) ? sharedIndex : null;
+		}
+	}
+
+
+	/**
+	 * Checks whether the index was built from the questions the bank has now
+	 * @param bank The question bank
+	 * @return {@code true} if each of the bank's lists of questions is the one the index was built from
+	 */
+	private boolean isIndexOf(QuestionBank bank) {
+
+		if (sources == null) {
+			return false;
+		}
+		for (QuestionType type : QuestionType.values()) {
+			if (bank.getQuestions(type) != sources.get(type)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+
+	/**
+	 * Splits text into its words, which are its runs of letters and digits, in lower case
+	 * @param text The text, which may be null
+	 * @param words The list to add the words to
+	 */
+	private static void tokenize(String text, List<String> words) {
+
+		if (text == null) {
+			return;
+		}
+
+		int start = -1;
+		for (int i = 0; i <= text.length(); i++) {
+			boolean wordCharacter = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+			if (wordCharacter && start < 0) {
+				start = i;
+			}
+			else if (!wordCharacter && start >= 0) {
+				words.add(text.substring(start, i).toLowerCase());
+				start = -1;
+			}
+		}
+	}
+
+
+	/**
+	 * Gets the number of questions in the index
+	 * @return The number of questions
+	 */
+	public int size() {
+		return questions.length;
+	}
+
+
+	/**
+	 * Gets the number of different words in the questions
+	 * @return The number of terms
+	 */
+	public int getTermCount() {
+		return terms.length;
+	}
+
+
+	/**
+	 * Finds the questions that match every word of a search, with the best matches first
+	 * @param query The search, which is split into words the same way as the questions
+	 * @return An unmodifiable List of the matching questions, which is empty if the search has no words
+	 */
+	public List<QuestionData> search(String query) {
+
+		ArrayList<String> words = new ArrayList<String>();
+		tokenize(query, words);
+		if (words.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		//each question's total score, and the number of words it has matched so far
+		int[] scores = new int[questions.length];
+		int[] matched = new int[questions.length];
+		//the best score of each question for the current word, which is only valid if its stamp is the word's
+		int[] wordScores = new int[questions.length];
+		int[] stamps = new int[questions.length];
+		int[] candidates = new int[0];
+		int candidateCount = 0;
+
+		for (int w = 0; w < words.size(); w++) {
+
+			String word = words.get(w);
+			int stamp = w + 1;
+
+			//score each question the word matches through any of its terms
+			HashMap<Integer, Integer> termScores = findTerms(word);
+			for (Integer t : termScores.keySet()) {
+				int score = termScores.get(t);
+				for (int q : postings[t]) {
+
+					//only questions that matched every word before can still match the search
+					if (matched[q] != w) {
+						continue;
+					}
+					if (stamps[q] != stamp) {
+						stamps[q] = stamp;
+						wordScores[q] = score;
+						if (w == 0) {
+							if (candidateCount == candidates.length) {
+								candidates = Arrays.copyOf(candidates, Math.max(16, candidateCount * 2));
+							}
+							candidates[candidateCount++] = q;
+						}
+					}
+					else {
+						wordScores[q] = Math.max(wordScores[q], score);
+					}
+				}
+			}
+
+			//add the word's score to the questions that still match
+			int remaining = 0;
+			for (int i = 0; i < candidateCount; i++) {
+				int q = candidates[i];
+				if (stamps[q] == stamp) {
+					matched[q]++;
+					scores[q] += wordScores[q];
+					candidates[remaining++] = q;
+				}
+			}
+			candidateCount = remaining;
+			if (candidateCount == 0) {
+				break;
+			}
+		}
+
+		//rank the matches by score, then by the order of the questions, with both packed into one number to sort
+		long[] order = new long[candidateCount];
+		for (int i = 0; i < candidateCount; i++) {
+			int q = candidates[i];
+			order[i] = ((long) -scores[q] << 32) | q;
+		}
+		Arrays.sort(order);
+
+		ArrayList<QuestionData> results = new ArrayList<QuestionData>(candidateCount);
+		for (long entry : order) {
+			results.add(questions[(int) entry]);
+		}
+		return Collections.unmodifiableList(results);
+	}
+
+
+	/**
+	 * Finds the terms a word of a search matches, along with how closely each matches
+	 * @param word The word, in lower case
+	 * @return The score of each matching term, by the term's position
+	 */
+	private HashMap<Integer, Integer> findTerms(String word) {
+
+		HashMap<Integer, Integer> termScores = new HashMap<Integer, Integer>();
+
+		//the terms starting with the word are next to each other, starting with the word itself
+		int first = findFirstTerm(word);
+		if (word.length() < MIN_PREFIX_LENGTH) {
+			if (first < terms.length && terms[first].equals(word)) {
+				termScores.put(first, EXACT_SCORE);
+			}
+		}
+		else {
+			for (int t = first; t < terms.length && terms[t].startsWith(word); t++) {
+				termScores.put(t, terms[t].length() == word.length() ? EXACT_SCORE : PREFIX_SCORE);
+			}
+		}
+
+		if (word.length() < MIN_FUZZY_LENGTH) {
+			return termScores;
+		}
+
+		//terms missing a letter of the word
+		ArrayList<Integer> typos = new ArrayList<Integer>();
+		for (int i = 0; i < word.length(); i++) {
+			if (i > 0 && word.charAt(i) == word.charAt(i - 1)) {
+				continue;
+			}
+			String deletion = word.substring(0, i) + word.substring(i + 1);
+			Integer t = termPositions.get(deletion);
+			if (t != null && deletion.length() >= MIN_FUZZY_LENGTH) {
+				typos.add(t);
+			}
+
+			//terms with a different or swapped letter share a deletion with the word
+			int[] shared = deletions.get(deletion);
+			if (shared != null) {
+				for (int s : shared) {
+					typos.add(s);
+				}
+			}
+		}
+
+		//terms with an extra letter
+		int[] longer = deletions.get(word);
+		if (longer != null) {
+			for (int s : longer) {
+				typos.add(s);
+			}
+		}
+
+		//sharing a deletion can also mean a letter was deleted from one end and added at the other
+		for (int t : typos) {
+			if (!termScores.containsKey(t) && isOneTypoApart(word, terms[t])) {
+				termScores.put(t, FUZZY_SCORE);
+			}
+		}
+		return termScores;
+	}
+
+
+	/**
+	 * Finds the position of the first term that is at or after a word in sorted order
+	 * @param word The word
+	 * @return The position, which is the number of terms if every term is before the word
+	 */
+	private int findFirstTerm(String word) {
+
+		int low = 0;
+		int high = terms.length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (terms[middle].compareTo(word) < 0) {
+				low = middle + 1;
+			}
+			else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+
+	/**
+	 * Checks whether two words are at most one typo apart, where a typo is a letter
+	 * that was deleted, added, or changed, or two letters next to each other that were swapped
+	 * @param a The first word
+	 * @param b The second word
+	 * @return {@code true} if the words are the same or one typo apart
+	 */
+	static boolean isOneTypoApart(String a, String b) {
+
+		if (a.length() > b.length()) {
+			String longer = a;
+			a = b;
+			b = longer;
+		}
+		if (b.length() - a.length() > 1) {
+			return false;
+		}
+
+		//skip the letters both words start with
+		int start = 0;
+		while (start < a.length() && a.charAt(start) == b.charAt(start)) {
+			start++;
+		}
+		if (start == a.length()) {
+			return true;
+		}
+
+		if (a.length() < b.length()) {
+			return a.regionMatches(start, b, start + 1, a.length() - start);
+		}
+		if (a.regionMatches(start + 1, b, start + 1, a.length() - start - 1)) {
+			return true;
+		}
+		return start + 1 < a.length() && a.charAt(start) == b.charAt(start + 1) && a.charAt(start + 1) == b.charAt(start)
+				&& a.regionMatches(start + 2, b, start + 2, a.length() - start - 2);
+	}
+}
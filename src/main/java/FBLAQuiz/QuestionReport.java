@@ -1,6 +1,10 @@
 package FBLAQuiz;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.List;
 
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
@@ -27,122 +31,67 @@ public class QuestionReport implements Comparable<QuestionReport>{
 	private boolean isCorrect;
 	/** The question itself */
 	private String question;
+	/** The ID of the question in the database, or null if the report was saved before questions had IDs */
+	private String questionId;
 	/** The correct answer to the question in a String format. If multiple parts are 
 	 * needed for a correct answer, each is stored as an element in the ArrayList */
 	private ArrayList<String> correctAnswer;
 	/** The user's answer to the question in a String format. If multiple parts are 
 	 * needed to represent the answer, each is stored as an element in the ArrayList */
 	private ArrayList<String> userAnswer;
+	/** The time the user spent on the question, in milliseconds, or 0 if it wasn't timed */
+	private long timeSpent;
 
 	
 	
 	//-----------Constructors-------------		
 	/**
-	 * Creates a Question Report object for a multiple choice question
-	 * @param mcq The multiple choice question for which to generate a report
+	 * Creates a Question Report object for a question that was asked in a quiz
+	 * @param quizQuestion The question for which to generate a report
 	 */
-	public QuestionReport(MCQ mcq) {
+	public QuestionReport(QuizQuestion quizQuestion) {
 		
 		//gets the question's information and saves it
-		questionNumber = mcq.getQuizQuestionNumber();
-		isCorrect = mcq.isCorrect();
-		question = mcq.getQuestion();
+		questionNumber = quizQuestion.getQuizNumber();
+		isCorrect = quizQuestion.isCorrect();
+		question = quizQuestion.getQuestion();
+		questionId = quizQuestion.getQuestionId();
+		timeSpent = quizQuestion.getTimeSpent();
 		
+		List<String> answer = quizQuestion.getUserAnswer();
 		correctAnswer = new ArrayList<String>();
-		correctAnswer.add(mcq.getAnswer());
 		userAnswer = new ArrayList<String>();
-		userAnswer.add(mcq.getUserAnswer());
-	}
-	
-	
-	/**
-	 * Creates a Question Report object for a fill-in-the-blank question
-	 * @param fillInBlank The fill-in-the-blank question for which to generate a report
-	 */
-	public QuestionReport(FillInBlank fillInBlank) {
 		
-		//gets the question's information and saves it
-		questionNumber = fillInBlank.getQuizQuestionNumber();
-		isCorrect = fillInBlank.isCorrect();
-		question = fillInBlank.getQuestion();
+		switch (quizQuestion.getType()) {
 		
-		correctAnswer = new ArrayList<String>();
-		correctAnswer.add(fillInBlank.getAnswer());
-		userAnswer = new ArrayList<String>();
-		userAnswer.add(fillInBlank.getUserAnswer());
-	}
-	
-	
-	/**
-	 * Creates a Question Report object for a matching question
-	 * @param matching The matching question for which to generate a report
-	 */
-	public QuestionReport(Matching matching) {
-		
-		//gets the question's information and saves it
-		questionNumber = matching.getQuizQuestionNumber();
-		isCorrect = matching.isCorrect();
-		question = matching.getQuestion();
-		
-		correctAnswer = new ArrayList<String>();
-		userAnswer = new ArrayList<String>();
-
-		//for each matching pair, add a string to the ArrayList representing the two boxes that were to be matched
-		for (int i = 0; i < matching.getGroupA().size(); i++) {
+			//for each matching pair, add a string representing the two boxes that were to be matched
+			case MATCHING:
+				List<String> groupA = quizQuestion.getData().getGroupA();
+				for (int i = 0; i < groupA.size(); i++) {
+					
+					String match = i < answer.size() ? answer.get(i) : null;
+					userAnswer.add(groupA.get(i) + " : " + (match == null ? "No answer" : match));
+					correctAnswer.add(groupA.get(i) + " : " + quizQuestion.getAnswers().get(i));
+				}
+				break;
 			
-			if (matching.isAnswered())
-				userAnswer.add(matching.getGroupA().get(i) + " : " + matching.getUserAnswer().get(i));
-			else 
-				userAnswer.add(matching.getGroupA().get(i) + " : No answer");
+			//if there is no user answer, reflect such
+			case MULTIPLE_SELECT:
+				correctAnswer.addAll(quizQuestion.getAnswers());
+				userAnswer.addAll(answer);
+				if (userAnswer.isEmpty()) {
+					userAnswer.add("");
+				}
+				break;
 			
-			correctAnswer.add(matching.getGroupA().get(i) + " : " + matching.getGroupB().get(i));
-		}
-		
-	}
-	
-					
-	/**
-	 * Creates a Question Report object for a multiple select question
-	 * @param multipleSelect The multiple select question for which to generate a report
-	 */
-	public QuestionReport(MultipleSelect multipleSelect) {
-		
-		//gets the question's information and saves it
-		questionNumber = multipleSelect.getQuizQuestionNumber();
-		isCorrect = multipleSelect.isCorrect();
-		question = multipleSelect.getQuestion();
-		
-		correctAnswer = multipleSelect.getAnswer();
-		
-		//if there is no user answer, reflect such
-		if ((multipleSelect.getUserAnswer() == null) || (multipleSelect.getUserAnswer().isEmpty())) {
-			userAnswer = new ArrayList<String>();
-			userAnswer.add("");
-		}
-		else {
-			userAnswer = multipleSelect.getUserAnswer();
+			default:
+				correctAnswer.add(quizQuestion.getAnswers().get(0));
+				userAnswer.add(quizQuestion.getUserAnswerText());
+				break;
 		}
 	}
 	
 	
-	/**
-	 * Creates a Question Report object for a true or false question
-	 * @param trueOrFalse The true or false question for which to generate a report
-	 */
-	public QuestionReport(TrueOrFalse trueOrFalse) {
-		
-		//gets the question's information and saves it
-		questionNumber = trueOrFalse.getQuizQuestionNumber();
-		isCorrect = trueOrFalse.isCorrect();
-		question = trueOrFalse.getQuestion();
-		
-		correctAnswer = new ArrayList<String>();
-		correctAnswer.add(trueOrFalse.getAnswer());
-		userAnswer = new ArrayList<String>();
-		userAnswer.add(trueOrFalse.getUserAnswer());
-	}
-	
-	
 	/**
 	 * Creates a Question Report object based off of a JSONObject that was stored in a database.
 	 * This method is typically implemented within the ScoreReport class.
@@ -152,8 +101,13 @@ public class QuestionReport implements Comparable<QuestionReport>{
 		
 		questionNumber = (int) (long) DBquestionReport.get("number");
 		question = (String) DBquestionReport.get("question");
+		questionId = (String) DBquestionReport.get("id");
 		isCorrect = ((String) DBquestionReport.get("correct")).equals("true") ? true : false;
 		
+		//reports saved before questions were timed don't have a time
+		Number time = (Number) DBquestionReport.get("time spent");
+		timeSpent = time == null ? 0 : time.longValue();
+		
 		correctAnswer = new ArrayList<String>();
 		userAnswer = new ArrayList<String>();
 		
@@ -169,6 +123,26 @@ public class QuestionReport implements Comparable<QuestionReport>{
 	}
 
 
+	/**
+	 * Creates a Question Report object by reading it from a binary report archive
+	 * @param in The stream of the archive, positioned at the start of this question report
+	 * @param strings The archive's table of strings, which the report's text refers to
+	 * @param version The version of the archive, since archives before version 3 wrote the
+	 * question number as a single byte, and didn't have the time spent on the question
+	 * @throws IOException On error while reading the archive
+	 */
+	public QuestionReport(DataInputStream in, ReportArchive.StringTable strings, int version) throws IOException {
+		
+		questionNumber = version < 3 ? in.readUnsignedByte() : in.readUnsignedShort();
+		timeSpent = version < 3 ? 0 : in.readInt() & 0xFFFFFFFFL;
+		isCorrect = in.readBoolean();
+		questionId = strings.readString(in);
+		question = strings.readString(in);
+		correctAnswer = readStrings(in, strings);
+		userAnswer = readStrings(in, strings);
+	}
+
+
 	//---------------Methods------------------
 	/**
 	 * Gets the question's number within the quiz
@@ -179,6 +153,24 @@ public class QuestionReport implements Comparable<QuestionReport>{
 	}
 
 
+	/**
+	 * Gets the ID of the question in the database
+	 * @return the question's ID, or null if the report was saved before questions had IDs
+	 */
+	public String getQuestionId() {
+		return questionId;
+	}
+
+
+	/**
+	 * Gets the time the user spent on the question, over every time it was shown
+	 * @return the time spent in milliseconds, or 0 if the question wasn't timed
+	 */
+	public long getTimeSpent() {
+		return timeSpent;
+	}
+
+
 	/**
 	 * Indicates if the user responded correctly or not
 	 * @return whether the user was correct or not
@@ -242,6 +234,9 @@ public class QuestionReport implements Comparable<QuestionReport>{
 		JSONObject questionDetails = new JSONObject();
 		questionDetails.put("number", questionNumber);
 		questionDetails.put("question", question);
+		if (questionId != null) {
+			questionDetails.put("id", questionId);
+		}
 		
 		//converts the answer ArrayList to a JSONArray to be stored
 		JSONArray answerArray = new JSONArray();
@@ -258,9 +253,67 @@ public class QuestionReport implements Comparable<QuestionReport>{
 		questionDetails.put("user answer", userAnswerArray);
 		
 		questionDetails.put("correct", "" + isCorrect);
+		if (timeSpent > 0) {
+			questionDetails.put("time spent", timeSpent);
+		}
 		
 		return questionDetails;
 		
 	}
 	
+	
+	/**
+	 * Writes this question report to a binary report archive. The question and answers are only
+	 * written as references to the archive's table of strings, so text that is repeated between
+	 * reports, like the question itself, is only stored once.
+	 * @param out The stream of the archive
+	 * @param strings The archive's table of strings, which the text is added to
+	 * @throws IOException On error while writing the archive
+	 */
+	public void write(DataOutputStream out, ReportArchive.StringTable strings) throws IOException {
+		
+		out.writeShort(questionNumber);
+		out.writeInt((int) Math.min(timeSpent, 0xFFFFFFFFL));
+		out.writeBoolean(isCorrect);
+		strings.writeString(out, questionId);
+		strings.writeString(out, question);
+		writeStrings(out, strings, correctAnswer);
+		writeStrings(out, strings, userAnswer);
+	}
+	
+	
+	/**
+	 * Writes a list of strings to a binary report archive, as its size followed by each string's reference
+	 * @param out The stream of the archive
+	 * @param strings The archive's table of strings
+	 * @param list The strings to write
+	 * @throws IOException On error while writing the archive
+	 */
+	private static void writeStrings(DataOutputStream out, ReportArchive.StringTable strings, 
+			ArrayList<String> list) throws IOException {
+		
+		out.writeByte(list.size());
+		for (String string : list) {
+			strings.writeString(out, string);
+		}
+	}
+	
+	
+	/**
+	 * Reads a list of strings written by {@link #writeStrings} from a binary report archive
+	 * @param in The stream of the archive
+	 * @param strings The archive's table of strings
+	 * @return The strings that were read
+	 * @throws IOException On error while reading the archive
+	 */
+	private static ArrayList<String> readStrings(DataInputStream in, ReportArchive.StringTable strings) throws IOException {
+		
+		int size = in.readUnsignedByte();
+		ArrayList<String> list = new ArrayList<String>(size);
+		for (int i = 0; i < size; i++) {
+			list.add(strings.readString(in));
+		}
+		return list;
+	}
+	
 }
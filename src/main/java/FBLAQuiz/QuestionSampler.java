@@ -0,0 +1,456 @@
+package FBLAQuiz;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.ParseException;
+
+/**
+ * <h1>Question Sampler Class</h1>
+ *
+ * The Question Sampler class picks the questions for a student's quizzes without
+ * repeating a question until every question of its type has been asked. Each type
+ * has its own cursor through a shuffled order of its questions, so drawing a question
+ * only moves the cursor forward. Once a type's order runs out, it is shuffled again
+ * for the next cycle.
+ *
+ * Questions can be given weights, such as higher weights for questions that are
+ * often missed. A question's weight doesn't change how often it is asked within a
+ * cycle, since every question is still asked once, but questions with higher weights
+ * tend to come earlier in each cycle.
+ *
+ * The position of each cursor can be saved, so a student keeps going through the same
+ * cycle across sessions. Questions added to or removed from the database are added to
+ * or dropped from the current cycle. A sampler given a seeded Random always picks the
+ * same questions, for reproducible tests. The student's ability, which
+ * {@link QuestionStats} uses to weigh questions for them, is saved along with the cursors.
+ *
+ * @author Varun Unnithan
+ *
+ */
+public class QuestionSampler {
+
+	/** The path of the sampler state of the program's own student */
+	public static final String SAMPLER_PATH = "./JSONfiles/sampler.json";
+
+	/** The sampler shared by the program's window */
+	private static QuestionSampler sharedSampler;
+
+
+	//-----------Instance Variables-----------
+	/** The cursor of each question type */
+	private final EnumMap<QuestionType, Cursor> cursors;
+	/** The random number generator used to shuffle the questions */
+	private final Random random;
+	/** The weigher of the questions, or null if every question has the same weight */
+	private Weigher weigher;
+	/** The path the sampler's state is saved to after each quiz is picked, or null to not save it */
+	private final Path statePath;
+	/** The saved state of each type, used to create each cursor the first time its type is drawn from */
+	private final JSONObject savedState;
+	/** The student's ability, on the same scale as the questions' difficulties in {@link QuestionStats} */
+	private double ability;
+
+
+	//-----------Constructors-------------
+	/**
+	 * Creates a sampler that starts a new cycle of every type, and isn't saved
+	 * @param random The random number generator used to shuffle the questions
+	 */
+	public QuestionSampler(Random random) {
+		this(random, null, new JSONObject());
+	}
+
+
+	/**
+	 * Creates a sampler that picks up from a saved state
+	 * @param random The random number generator used to shuffle the questions
+	 * @param statePath The path the sampler's state is saved to after each quiz is picked, or null to not save it
+	 * @param savedState The saved state, as written by {@link #toJSON()}
+	 */
+	public QuestionSampler(Random random, Path statePath, JSONObject savedState) {
+		cursors = new EnumMap<QuestionType, Cursor>(QuestionType.class);
+		this.random = random;
+		this.statePath = statePath;
+		this.savedState = savedState;
+
+		Object savedAbility = savedState.get("ability");
+		if (savedAbility instanceof Number) {
+			ability = ((Number) savedAbility).doubleValue();
+		}
+	}
+
+
+	//---------------Methods------------------
+	/**
+	 * Gets the sampler of the program's own student, loading its saved state the first time
+	 * @return The shared QuestionSampler
+	 */
+	public static synchronized QuestionSampler getSampler() {
+
+		if (sharedSampler == null) {
+			sharedSampler = load(Paths.get(SAMPLER_PATH), new Random());
+		}
+		return sharedSampler;
+	}
+
+
+	/**
+	 * Loads a sampler from its saved state. If the state doesn't exist or can't be read,
+	 * the sampler starts a new cycle of every type instead.
+	 * @param statePath The path of the saved state, which the sampler is saved back to
+	 * @param random The random number generator used to shuffle the questions
+	 * @return The sampler
+	 */
+	public static QuestionSampler load(Path statePath, Random random) {
+
+		JSONObject state = new JSONObject();
+		if (Files.exists(statePath)) {
+			try {
+				state = (JSONObject) JSONParsers.parseFile(statePath.toString());
+			}
+			catch (IOException | ParseException | ClassCastException e) {
+				e.printStackTrace();
+			}
+		}
+		return new QuestionSampler(random, statePath, state);
+	}
+
+
+	/**
+	 * Sets the weigher of the questions, which is used from the next cycle of each type on
+	 * @param weigher The weigher, or null for every question to have the same weight
+	 */
+	public synchronized void setWeigher(Weigher weigher) {
+		this.weigher = weigher;
+	}
+
+
+	/**
+	 * Gets the student's ability, which starts at 0 for a new student
+	 * @return The ability
+	 */
+	public synchronized double getAbility() {
+		return ability;
+	}
+
+
+	/**
+	 * Sets the student's ability, which is saved with the rest of the sampler's state
+	 * @param ability The ability
+	 */
+	public synchronized void setAbility(double ability) {
+		this.ability = ability;
+	}
+
+
+	/**
+	 * Picks the questions for a quiz, then saves the sampler's state. A quiz of at least the
+	 * default length has at least one question of each type, and no question is picked twice.
+	 * @param bank The question bank to pick from
+	 * @param length The number of questions to pick, which is cut down to the number of questions in the bank
+	 * @return The picked questions, in a random order
+	 */
+	public synchronized List<QuestionData> pick(QuestionBank bank, int length) {
+
+		//count the questions of each type that can still be picked for this quiz
+		EnumMap<QuestionType, Integer> available = new EnumMap<QuestionType, Integer>(QuestionType.class);
+		int total = 0;
+		for (QuestionType type : QuestionType.values()) {
+			available.put(type, bank.getQuestions(type).size());
+			total += bank.getQuestions(type).size();
+		}
+		length = Math.min(length, total);
+
+		List<QuestionData> picked = new ArrayList<QuestionData>(length);
+		Set<String> pickedIds = new HashSet<String>();
+
+		//start with a question of each type, if there's room
+		if (length >= QuizSession.DEFAULT_LENGTH) {
+			for (QuestionType type : QuestionType.values()) {
+				if (available.get(type) > 0) {
+					picked.add(draw(bank, type, pickedIds));
+					available.put(type, available.get(type) - 1);
+					total--;
+				}
+			}
+		}
+
+		//fill the rest with types chosen in proportion to how many of their questions are left
+		while (picked.size() < length) {
+			int choice = random.nextInt(total);
+			for (QuestionType type : QuestionType.values()) {
+				choice -= available.get(type);
+				if (choice < 0) {
+					picked.add(draw(bank, type, pickedIds));
+					available.put(type, available.get(type) - 1);
+					total--;
+					break;
+				}
+			}
+		}
+
+		Collections.shuffle(picked, random);
+		save();
+		return picked;
+	}
+
+
+	/**
+	 * Draws the next question of a type that hasn't already been picked for the quiz
+	 * @param bank The question bank to draw from
+	 * @param type The type of question to draw
+	 * @param pickedIds The IDs of the questions already picked for the quiz, which the drawn question is added to
+	 * @return The drawn question
+	 */
+	private QuestionData draw(QuestionBank bank, QuestionType type, Set<String> pickedIds) {
+
+		//only a cycle that starts partway through a quiz can reach a question already picked
+		QuestionData question;
+		do {
+			question = next(bank, type);
+		} while (!pickedIds.add(question.getId()));
+		return question;
+	}
+
+
+	/**
+	 * Draws the next question of a type, starting a new cycle if the current one has run out
+	 * @param bank The question bank to draw from
+	 * @param type The type of question to draw, which must have at least one question
+	 * @return The drawn question
+	 */
+	public synchronized QuestionData next(QuestionBank bank, QuestionType type) {
+
+		List<QuestionData> questions = bank.getQuestions(type);
+		Cursor cursor = cursors.get(type);
+
+		//the bank replaces its lists when the database is reloaded, so the cursor is brought up to date
+		if (cursor == null) {
+			cursor = new Cursor(questions, readIds(type, "seen"), readIds(type, "upcoming"));
+			cursors.put(type, cursor);
+		}
+		else if (cursor.source != questions) {
+			cursor = new Cursor(questions, cursor.getIds(0, cursor.position), cursor.getIds(cursor.position, cursor.order.length));
+			cursors.put(type, cursor);
+		}
+
+		if (cursor.position == cursor.order.length) {
+			cursor.order = shuffle(new ArrayList<QuestionData>(questions));
+			cursor.position = 0;
+		}
+		return cursor.order[cursor.position++];
+	}
+
+
+	/**
+	 * Shuffles questions in a random order, where questions with higher weights tend to come first
+	 * @param questions The questions to shuffle
+	 * @return The shuffled questions
+	 */
+	private QuestionData[] shuffle(List<QuestionData> questions) {
+
+		if (weigher == null) {
+			Collections.shuffle(questions, random);
+			return questions.toArray(new QuestionData[questions.size()]);
+		}
+
+		//give each question a random key that tends to be smaller the higher its weight, then sort by the keys
+		final HashMap<QuestionData, Double> keys = new HashMap<QuestionData, Double>();
+		for (QuestionData question : questions) {
+			double weight = weigher.weigh(question);
+			keys.put(question, weight > 0 ? -Math.log(1 - random.nextDouble()) / weight : Double.POSITIVE_INFINITY);
+		}
+		QuestionData[] order = questions.toArray(new QuestionData[questions.size()]);
+		Arrays.sort(order, new Comparator<QuestionData>() {
+			public int compare(QuestionData q1, QuestionData q2) {
+				return Double.compare(keys.get(q1), keys.get(q2));
+			}
+		});
+		return order;
+	}
+
+
+	/**
+	 * Reads a list of question IDs from the saved state of a type
+	 * @param type The question type
+	 * @param key The key of the list in the type's state
+	 * @return The IDs, or an empty List if there aren't any
+	 */
+	private List<String> readIds(QuestionType type, String key) {
+
+		List<String> ids = new ArrayList<String>();
+		try {
+			JSONObject typeState = (JSONObject) savedState.get(type.getDatabaseKey());
+			if (typeState != null && typeState.get(key) != null) {
+				for (Object id : (JSONArray) typeState.get(key)) {
+					ids.add((String) id);
+				}
+			}
+		}
+		catch (ClassCastException e) {
+			//a damaged state just starts a new cycle
+		}
+		return ids;
+	}
+
+
+	/**
+	 * Creates a JSONObject of the sampler's state, with the questions already drawn and
+	 * still to come in each type's current cycle, and the student's ability
+	 * @return The sampler's state
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized JSONObject toJSON() {
+
+		JSONObject state = new JSONObject();
+		state.putAll(savedState);
+		state.put("ability", ability);
+		for (QuestionType type : cursors.keySet()) {
+
+			Cursor cursor = cursors.get(type);
+			JSONArray seen = new JSONArray();
+			seen.addAll(cursor.getIds(0, cursor.position));
+			JSONArray upcoming = new JSONArray();
+			upcoming.addAll(cursor.getIds(cursor.position, cursor.order.length));
+
+			JSONObject typeState = new JSONObject();
+			typeState.put("seen", seen);
+			typeState.put("upcoming", upcoming);
+			state.put(type.getDatabaseKey(), typeState);
+		}
+		return state;
+	}
+
+
+	/**
+	 * Saves the sampler's state, if it has a path. A failed save is only printed, since
+	 * the worst that can happen is that some questions are asked again.
+	 */
+	public synchronized void save() {
+
+		if (statePath == null) {
+			return;
+		}
+		try {
+			if (statePath.getParent() != null) {
+				Files.createDirectories(statePath.getParent());
+			}
+			JournaledFiles.write(statePath, toJSON().toJSONString());
+		}
+		catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+
+	//-----------Inner Classes--------------
+	/**
+	 * <h1>Weigher Interface</h1>
+	 *
+	 * Gives questions weights, where questions with higher weights tend to be asked
+	 * earlier in each cycle.
+	 *
+	 * @author Varun Unnithan
+	 *
+	 */
+	public interface Weigher {
+
+		/**
+		 * Weighs a question
+		 * @param question The question to weigh
+		 * @return The question's weight, where 1 is normal and 0 or less puts it at the end of the cycle
+		 */
+		double weigh(QuestionData question);
+	}
+
+
+	/**
+	 * <h1>Cursor Class</h1>
+	 *
+	 * The Cursor class holds the order of a question type's current cycle, and how far
+	 * through it the sampler is.
+	 *
+	 * @author Varun Unnithan
+	 *
+	 */
+	private class Cursor {
+
+		/** The bank's List of the type's questions that the order was made from */
+		private final List<QuestionData> source;
+		/** The order of the questions in the current cycle */
+		private QuestionData[] order;
+		/** The position of the next question to draw in the order */
+		private int position;
+
+
+		/**
+		 * Creates a cursor partway through a cycle, keeping only the questions that are still in the bank.
+		 * Questions that are in neither list are new to the cycle, and are shuffled into the end of it.
+		 * @param source The bank's List of the type's questions
+		 * @param seenIds The IDs of the questions already drawn in the cycle
+		 * @param upcomingIds The IDs of the questions still to come in the cycle, in order
+		 */
+		private Cursor(List<QuestionData> source, List<String> seenIds, List<String> upcomingIds) {
+
+			this.source = source;
+			HashMap<String, QuestionData> byId = new HashMap<String, QuestionData>();
+			for (QuestionData question : source) {
+				byId.put(question.getId(), question);
+			}
+
+			List<QuestionData> ordered = new ArrayList<QuestionData>(source.size());
+			for (String id : seenIds) {
+				if (byId.containsKey(id)) {
+					ordered.add(byId.remove(id));
+				}
+			}
+			position = ordered.size();
+			for (String id : upcomingIds) {
+				if (byId.containsKey(id)) {
+					ordered.add(byId.remove(id));
+				}
+			}
+
+			//the rest haven't been part of the cycle yet, and keep the bank's order before being shuffled
+			List<QuestionData> added = new ArrayList<QuestionData>();
+			for (QuestionData question : source) {
+				if (byId.containsKey(question.getId())) {
+					added.add(question);
+				}
+			}
+			ordered.addAll(Arrays.asList(shuffle(added)));
+			order = ordered.toArray(new QuestionData[ordered.size()]);
+		}
+
+
+		/**
+		 * Gets the IDs of part of the order
+		 * @param from The position of the first question, inclusive
+		 * @param to The position of the last question, exclusive
+		 * @return The IDs of the questions, in order
+		 */
+		private List<String> getIds(int from, int to) {
+
+			List<String> ids = new ArrayList<String>(to - from);
+			for (int i = from; i < to; i++) {
+				ids.add(order[i].getId());
+			}
+			return ids;
+		}
+	}
+}
@@ -0,0 +1,313 @@
+package FBLAQuiz;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+/**
+ * <h1>Question Stats Class</h1>
+ *
+ * The Question Stats class keeps how often each question in the database has been
+ * answered, how often it was answered correctly, and how long students spend on it.
+ * The stats are a {@link ReportCache}, so they are updated as each score report is
+ * added to the report store, without reading every report again.
+ *
+ * The stats are used to give quizzes that fit a student. Each question's difficulty
+ * comes from how often it is missed, and each student has an ability on the same
+ * scale, which moves up or down after each quiz depending on how they did on the
+ * questions they were asked. Questions near the difficulty a student is likely to
+ * answer correctly most of the time are then asked earlier in each cycle.
+ *
+ * @author Varun Unnithan
+ *
+ */
+public class QuestionStats extends ReportCache {
+
+	/** The path of the question stats file */
+	public static final String STATS_PATH = "./JSONfiles/questionStats.json";
+
+	/** The chance of answering correctly that questions are picked to give a student */
+	public static final double TARGET_CHANCE = 0.7;
+	/** How far a student's ability moves after each question, depending on how surprising its result was */
+	private static final double ABILITY_STEP = 0.3;
+	/** The highest, and the negative of the lowest, ability a student can have */
+	private static final double MAX_ABILITY = 4;
+	/** The weight of the questions furthest from a student's target, so they are still asked */
+	private static final double MIN_WEIGHT = 0.05;
+
+	/** The stats shared by the program, once they have been loaded */
+	private static volatile QuestionStats sharedStats;
+
+
+	//-----------Instance Variables-----------
+	/** The stats of each question by its ID, as attempts, correct attempts, timed attempts, and total time in milliseconds */
+	private final HashMap<String, long[]> questions;
+
+
+	//-----------Constructors-------------
+	/**
+	 * Creates empty stats that don't cover any reports
+	 * @param statsPath The path the stats are saved to, or null to not save them
+	 */
+	public QuestionStats(Path statsPath) {
+		super(statsPath);
+		questions = new HashMap<String, long[]>();
+	}
+
+
+	//---------------Methods------------------
+	/**
+	 * Gets the stats shared by the program, loading them and catching up on the report store the first time
+	 * @return The shared QuestionStats
+	 * @throws IOException On error while reading the report store
+	 */
+	public static synchronized QuestionStats getStats() throws IOException {
+
+		if (sharedStats == null) {
+			QuestionStats stats = load(Paths.get(STATS_PATH));
+			stats.catchUp(ReportStore.getStore());
+			sharedStats = stats;
+		}
+		return sharedStats;
+	}
+
+
+	/**
+	 * Gets the stats shared by the program only if they have already been loaded, so the
+	 * window never waits for them to catch up on the report store
+	 * @return The shared QuestionStats, or null if they haven't been loaded yet
+	 */
+	public static QuestionStats getLoadedStats() {
+		return sharedStats;
+	}
+
+
+	/**
+	 * Loads the stats from their file. If the file doesn't exist or can't be read, the stats
+	 * start out empty, and are rebuilt from the report store once they are caught up.
+	 * @param statsPath The path of the stats file, which the stats are saved back to
+	 * @return The stats
+	 */
+	public static QuestionStats load(Path statsPath) {
+
+		QuestionStats stats = new QuestionStats(statsPath);
+		stats.loadSaved();
+		return stats;
+	}
+
+
+	/**
+	 * Reads the stats from the JSONObject written by {@link #toJSON()}
+	 * @param saved The saved stats
+	 */
+	@Override
+	protected void read(JSONObject saved) {
+
+		JSONObject savedQuestions = (JSONObject) saved.get("questions");
+		for (Object id : savedQuestions.keySet()) {
+
+			JSONArray savedCounts = (JSONArray) savedQuestions.get(id);
+			long[] counts = new long[4];
+			for (int i = 0; i < counts.length; i++) {
+				counts[i] = ((Number) savedCounts.get(i)).longValue();
+			}
+			questions.put((String) id, counts);
+		}
+	}
+
+
+	/**
+	 * Empties the stats, so they can be rebuilt from every report
+	 */
+	@Override
+	protected void clear() {
+		questions.clear();
+	}
+
+
+	/**
+	 * Adds the answers in a score report to the stats of their questions
+	 * @param report The JSONObject of the score report
+	 */
+	@Override
+	protected void record(JSONObject report) {
+
+		JSONArray reportQuestions = (JSONArray) report.get("questions");
+		if (reportQuestions == null) {
+			return;
+		}
+
+		for (Object entry : reportQuestions) {
+
+			//reports saved before questions had IDs can't be matched to a question
+			JSONObject question = (JSONObject) entry;
+			String id = (String) question.get("id");
+			if (id == null) {
+				continue;
+			}
+
+			long[] counts = questions.get(id);
+			if (counts == null) {
+				counts = new long[4];
+				questions.put(id, counts);
+			}
+			counts[0]++;
+			if ("true".equals(question.get("correct"))) {
+				counts[1]++;
+			}
+			Number time = (Number) question.get("time spent");
+			if (time != null && time.longValue() > 0) {
+				counts[2]++;
+				counts[3] += time.longValue();
+			}
+		}
+	}
+
+
+	/**
+	 * Gets the number of times a question has been answered
+	 * @param id The question's ID
+	 * @return The number of attempts
+	 */
+	public synchronized long getAttempts(String id) {
+		long[] counts = questions.get(id);
+		return counts == null ? 0 : counts[0];
+	}
+
+
+	/**
+	 * Gets how often a question has been answered correctly
+	 * @param id The question's ID
+	 * @return The fraction of attempts that were correct, or NaN if it hasn't been answered
+	 */
+	public synchronized double getCorrectRate(String id) {
+		long[] counts = questions.get(id);
+		return counts == null || counts[0] == 0 ? Double.NaN : (double) counts[1] / counts[0];
+	}
+
+
+	/**
+	 * Gets the average time students spend on a question
+	 * @param id The question's ID
+	 * @return The mean time in milliseconds, or NaN if it hasn't been timed
+	 */
+	public synchronized double getMeanTime(String id) {
+		long[] counts = questions.get(id);
+		return counts == null || counts[2] == 0 ? Double.NaN : (double) counts[3] / counts[2];
+	}
+
+
+	/**
+	 * Gets a question's difficulty, which is the log of its odds of being missed. A question
+	 * missed as often as it is answered correctly has a difficulty of 0, and each question
+	 * starts as if it had been answered once correctly and once not, so that a few answers
+	 * don't make it seem much easier or harder than it is.
+	 * @param id The question's ID
+	 * @return The question's difficulty
+	 */
+	public synchronized double getDifficulty(String id) {
+
+		long[] counts = questions.get(id);
+		if (counts == null) {
+			return 0;
+		}
+		return Math.log((counts[0] - counts[1] + 1.0) / (counts[1] + 1.0));
+	}
+
+
+	/**
+	 * Gets the chance of a student answering a question correctly
+	 * @param ability The student's ability
+	 * @param id The question's ID
+	 * @return The chance, between 0 and 1
+	 */
+	public double getChance(double ability, String id) {
+		return 1 / (1 + Math.exp(getDifficulty(id) - ability));
+	}
+
+
+	/**
+	 * Finds a student's new ability after a quiz, moving it up for each question they answered
+	 * correctly and down for each they missed, by more the more surprising the result was
+	 * @param ability The student's ability before the quiz
+	 * @param report The quiz's score report
+	 * @return The student's new ability
+	 */
+	public double updateAbility(double ability, ScoreReport report) {
+
+		for (QuestionReport question : report.getQuestionReports()) {
+			if (question.getQuestionId() != null) {
+				double chance = getChance(ability, question.getQuestionId());
+				ability += ABILITY_STEP * ((question.isCorrect() ? 1 : 0) - chance);
+			}
+		}
+		return Math.max(-MAX_ABILITY, Math.min(MAX_ABILITY, ability));
+	}
+
+
+	/**
+	 * Moves a student's ability after a quiz, then saves it with their sampler
+	 * @param sampler The student's question sampler, which holds their ability
+	 * @param report The quiz's score report
+	 */
+	public void updateAbility(QuestionSampler sampler, ScoreReport report) {
+		sampler.setAbility(updateAbility(sampler.getAbility(), report));
+		sampler.save();
+	}
+
+
+	/**
+	 * Creates a weigher that gives the highest weights to the questions a student has about
+	 * the {@link #TARGET_CHANCE} of answering correctly, and lower weights the further a
+	 * question's difficulty is from that
+	 * @param ability The student's ability
+	 * @return The weigher
+	 */
+	public QuestionSampler.Weigher weigherFor(double ability) {
+
+		final double target = ability - Math.log(TARGET_CHANCE / (1 - TARGET_CHANCE));
+		return new QuestionSampler.Weigher() {
+			public double weigh(QuestionData question) {
+				double distance = getDifficulty(question.getId()) - target;
+				return MIN_WEIGHT + Math.exp(-distance * distance / 2);
+			}
+		};
+	}
+
+
+	/**
+	 * Has a student's sampler give them questions that fit their ability
+	 * @param sampler The student's question sampler, which holds their ability
+	 */
+	public void target(QuestionSampler sampler) {
+		sampler.setWeigher(weigherFor(sampler.getAbility()));
+	}
+
+
+	/**
+	 * Creates a JSONObject of the stats, with the number of reports they cover
+	 * @return The JSONObject of the stats
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public synchronized JSONObject toJSON() {
+
+		JSONObject savedQuestions = new JSONObject();
+		for (String id : questions.keySet()) {
+			JSONArray savedCounts = new JSONArray();
+			for (long count : questions.get(id)) {
+				savedCounts.add(count);
+			}
+			savedQuestions.put(id, savedCounts);
+		}
+
+		JSONObject stats = new JSONObject();
+		stats.put("reports", getReportCount());
+		stats.put("questions", savedQuestions);
+		return stats;
+	}
+}
@@ -0,0 +1,63 @@
+package FBLAQuiz;
+
+/**
+ * <h1>Question Type Enum</h1>
+ *
+ * The QuestionType enum represents each of the five question types in the
+ * question database, along with the key under which each type's questions
+ * are stored in the testQuestions.json file.
+ *
+ * @author Varun Unnithan
+ *
+ */
+public enum QuestionType {
+
+	/** Multiple choice questions */
+	MCQ("mcq"),
+	/** Multiple select questions */
+	MULTIPLE_SELECT("Multiple Select"),
+	/** True or false questions */
+	TRUE_OR_FALSE("True or False"),
+	/** Fill-in-the-blank questions */
+	FILL_IN_BLANK("Fill-in Blank"),
+	/** Matching questions */
+	MATCHING("Matching");
+
+
+	/** The key of this question type's array within the question database */
+	private final String databaseKey;
+
+
+	/**
+	 * Creates a QuestionType with the given database key
+	 * @param databaseKey The key of this type's array in the question database
+	 */
+	private QuestionType(String databaseKey) {
+		this.databaseKey = databaseKey;
+	}
+
+
+	/**
+	 * Gets the key under which this type's questions are stored in the database
+	 * @return The database key as a String
+	 */
+	public String getDatabaseKey() {
+		return databaseKey;
+	}
+
+
+	/**
+	 * Gets the QuestionType whose questions are stored under the given database key
+	 * @param databaseKey The key of a question array in the database
+	 * @return The matching QuestionType, or {@code null} if no type uses that key
+	 */
+	public static QuestionType fromDatabaseKey(String databaseKey) {
+
+		for (QuestionType type : values()) {
+			if (type.databaseKey.equals(databaseKey)) {
+				return type;
+			}
+		}
+		return null;
+	}
+}
@@ -20,8 +20,9 @@ import java.awt.geom.RoundRectangle2D;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
 
 import javax.swing.ImageIcon;
 import javax.swing.JButton;
@@ -31,6 +32,8 @@ import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JProgressBar;
 import javax.swing.SpringLayout;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
 import javax.swing.Timer;
 import javax.swing.border.LineBorder;
 import javax.swing.plaf.basic.BasicProgressBarUI;
@@ -43,8 +46,12 @@ import org.json.simple.parser.ParseException;
 /**
  * <h1>Quiz Class</h1>
  * 
- * The Quiz class creates a JPanel which contains each of the five question types
- * and provides a user interface to answer them.
+ * The Quiz class creates a JPanel which shows a quiz's questions one at a time
+ * and provides a user interface to answer them. A quiz can have any number of
+ * questions, so each question's panel is only created once the user first moves
+ * to it, or just before, while the program is idle. Once a question is answered and
+ * the user has moved a few questions away from it, its panel is released, and is
+ * created again from the question's answer if the user comes back to it.
  * 
  * @author Varun Unnithan
  * 
@@ -52,10 +59,23 @@ import org.json.simple.parser.ParseException;
 @SuppressWarnings("serial")
 public class Quiz extends JPanel implements ActionListener{
 	
+	/** The most flagged or unanswered questions listed by name when confirming a submission */
+	private static final int MAX_LISTED_QUESTIONS = 10;
+	/** How many questions away from the current one an answered question's panel is kept */
+	private static final int KEPT_DISTANCE = 2;
+	/** Whether every panel is kept once created, set with the {@code fblaquiz.keepPanels} system property */
+	private static final boolean KEEP_PANELS = Boolean.getBoolean("fblaquiz.keepPanels");
+	
 	
 	//-------------Instance Variables-----------
-	/** An ArrayList of all the question objects in this quiz */
-	private ArrayList<Question> questions;
+	/** The quiz being taken, which holds its questions, answers, and time */
+	private QuizSession session;
+	/** The question object showing each of the quiz's questions, or null for questions without a panel */
+	private Question[] questions;
+	/** The panel of each of the quiz's questions, or null if it hasn't been created or was released */
+	private JPanel[] cards;
+	/** The JFrame this Quiz is being displayed on */
+	private JFrame frame;
 
 	/** The panel on which the question object's panels will be placed */
 	private JPanel questionPanel;
@@ -71,10 +91,12 @@ public class Quiz extends JPanel implements ActionListener{
 	private JProgressBar progressBar;
 	/** A Swing Timer to keep track of the quiz's duration and update the timeLabel */
 	private Timer time;
+	/** The animation moving the progressbar towards the number of questions answered, or null if it hasn't moved */
+	private Animator.Animation progressAnimation;
 	/** The current question number of the question whose panel the user is on */
 	private int currentQuestionNumber;
-	/** The current duration of the quiz, in seconds */
-	private int quizDuration;
+	/** The time the current question was shown, from System.nanoTime() */
+	private long questionShownTime;
 	/** The layout manager for the entire quiz frame */
 	private SpringLayout quizLayout; 
 	/** The QuizMenu object from which this Quiz was called */
@@ -89,7 +111,22 @@ public class Quiz extends JPanel implements ActionListener{
 	 * @throws FileNotFoundException On failure to find database or other file path
 	 */
 	public Quiz(JFrame frame, QuizMenu quizMenu) throws FileNotFoundException, IOException, ParseException {
+		this(frame, quizMenu, QuizSession.DEFAULT_LENGTH);
+	}
+	
+	
+	/**
+	 * Creates a quiz object with a given number of random questions and a score report at the end
+	 * @param frame The JFrame this Quiz is being displayed on
+	 * @param quizMenu The home menu from which this Quiz is being called from
+	 * @param length The number of questions in the quiz
+	 * @throws IOException On input error
+	 * @throws ParseException On error while parsing the database
+	 * @throws FileNotFoundException On failure to find database or other file path
+	 */
+	public Quiz(JFrame frame, QuizMenu quizMenu, int length) throws FileNotFoundException, IOException, ParseException {
 		
+		this.frame = frame;
 		
 		//sets up the overall JPanel for the Quiz object
 		quizLayout = new SpringLayout();
@@ -102,30 +139,23 @@ public class Quiz extends JPanel implements ActionListener{
 		questionCards = new CardLayout();
 		questionPanel.setLayout(questionCards);
 		
-		//create the five different question objects
-		MCQ multipleChoice = new MCQ();
-		FillInBlank fillInBlank = new FillInBlank();
-		Matching matching = new Matching();
-		MultipleSelect multipleSelect = new MultipleSelect();
-		TrueOrFalse trueOrFalse = new TrueOrFalse();
-		
-		//creates ArrayList for the questions and shuffle them
-		questions = new ArrayList<Question>(Arrays.asList(multipleChoice, fillInBlank, matching, multipleSelect,
-				trueOrFalse));
-		Collections.shuffle(questions);
-		
-		//creates the panels for each of the questions and adds it to the card panel
-		for (int i = 0; i < questions.size(); i++) {
-			questionPanel.add(questions.get(i).createPanel(i + 1, frame));
+		//picks the quiz's questions, and only shows the first one for now
+		//questions that fit the student's ability are asked first, once the stats have loaded in the background
+		QuestionStats stats = QuestionStats.getLoadedStats();
+		if (stats != null) {
+			stats.target(QuestionSampler.getSampler());
 		}
-		currentQuestionNumber = 1;
+		session = new QuizSession(QuestionSampler.getSampler(), QuestionBank.getBank(), length, ThreadLocalRandom.current());
+		questions = new Question[session.size()];
+		cards = new JPanel[session.size()];
+		showQuestion(1);
 		
 		
 		//sets up the next and back buttons
 		nextButton = new JButton();
-		nextButton.setIcon(new ImageIcon("./Icons/Next Button.png"));
-		nextButton.setPressedIcon(new ImageIcon("./Icons/Next Button Pressed.png"));
-		nextButton.setRolloverIcon(new ImageIcon("./Icons/Next Button Rollover.png"));
+		nextButton.setIcon(IconCache.get("Next Button.png"));
+		nextButton.setPressedIcon(IconCache.get("Next Button Pressed.png"));
+		nextButton.setRolloverIcon(IconCache.get("Next Button Rollover.png"));
 		nextButton.setOpaque(false);
 		nextButton.setContentAreaFilled(false);
 		nextButton.setBorderPainted(false);
@@ -134,9 +164,9 @@ public class Quiz extends JPanel implements ActionListener{
 		nextButton.addActionListener(this);
 		
 		backButton = new JButton();
-		backButton.setIcon(new ImageIcon("./Icons/Back Button.png"));
-		backButton.setPressedIcon(new ImageIcon("./Icons/Back Button Pressed.png"));
-		backButton.setRolloverIcon(new ImageIcon("./Icons/Back Button Rollover.png"));
+		backButton.setIcon(IconCache.get("Back Button.png"));
+		backButton.setPressedIcon(IconCache.get("Back Button Pressed.png"));
+		backButton.setRolloverIcon(IconCache.get("Back Button Rollover.png"));
 		backButton.setOpaque(false);
 		backButton.setContentAreaFilled(false);
 		backButton.setBorderPainted(false);
@@ -145,9 +175,16 @@ public class Quiz extends JPanel implements ActionListener{
 		backButton.addActionListener(this);
 		backButton.setVisible(false);
 		
+		//a quiz of a single question can be submitted right away
+		if (session.size() == 1) {
+			nextButton.setIcon(IconCache.get("Submit Button.png"));
+			nextButton.setPressedIcon(IconCache.get("Submit Button Pressed.png"));
+			nextButton.setRolloverIcon(IconCache.get("Submit Button Rollover.png"));
+		}
+		
 		
 		//creates the progress bar
-		progressBar = new JProgressBar(0, 200);
+		progressBar = new JProgressBar(0, 40 * session.size());
 		progressBar.setValue(0);
 		progressBar.setUI(new BasicProgressBarUI());
 		
@@ -263,11 +300,150 @@ public class Quiz extends JPanel implements ActionListener{
 
 	//-----------------Methods--------------
 	/**
-	 * Gets the Quiz's question objects
-	 * @return An ArrayList of the Quiz's questions, in order
+	 * Gets the quiz being shown, which holds its questions, answers, and time
+	 * @return The Quiz's session
 	 */
-	public ArrayList<Question> getQuestions() {
-		return questions;
+	public QuizSession getSession() {
+		return session;
+	}
+	
+	
+	/**
+	 * Gets the question object showing one of the quiz's questions, creating it and
+	 * its panel if the question doesn't have one
+	 * @param quizNumber The question's number within the quiz, starting at 1
+	 * @return The question object
+	 */
+	public Question getQuestion(int quizNumber) {
+		
+		if (questions[quizNumber - 1] == null) {
+			
+			//create the question object for the question's type
+			QuizQuestion model = session.getQuestion(quizNumber);
+			Question question = null;
+			switch (model.getType()) {
+				case MCQ:
+					question = new MCQ(model);
+					break;
+				case MULTIPLE_SELECT:
+					question = new MultipleSelect(model);
+					break;
+				case TRUE_OR_FALSE:
+					question = new TrueOrFalse(model);
+					break;
+				case FILL_IN_BLANK:
+					question = new FillInBlank(model);
+					break;
+				case MATCHING:
+					question = new Matching(model);
+					break;
+			}
+			
+			//add its panel to the card panel, named by its number so it can be shown later
+			JPanel card = question.createPanel(quizNumber, frame);
+			questionPanel.add(card, String.valueOf(quizNumber));
+			questions[quizNumber - 1] = question;
+			cards[quizNumber - 1] = card;
+			
+			//a matching question only checks the mouse while it is shown
+			if (question instanceof Matching) {
+				((Matching) question).stopMouseChecking();
+			}
+		}
+		return questions[quizNumber - 1];
+	}
+	
+	
+	/**
+	 * Shows one of the quiz's questions, then releases the panels that are no longer
+	 * needed and creates the next question's panel once the program is idle
+	 * @param quizNumber The question's number within the quiz, starting at 1
+	 */
+	private void showQuestion(int quizNumber) {
+		
+		recordTimeSpent();
+		if (currentQuestionNumber > 0 && questions[currentQuestionNumber - 1] instanceof Matching) {
+			((Matching) questions[currentQuestionNumber - 1]).stopMouseChecking();
+		}
+		
+		Question question = getQuestion(quizNumber);
+		if (question instanceof Matching) {
+			((Matching) question).startMouseChecking();
+		}
+		questionCards.show(questionPanel, String.valueOf(quizNumber));
+		currentQuestionNumber = quizNumber;
+		questionShownTime = System.nanoTime();
+		
+		releasePanels();
+		prefetchQuestion(quizNumber + 1);
+	}
+	
+	
+	/**
+	 * Adds the time since the current question was shown to the time spent on it
+	 */
+	private void recordTimeSpent() {
+		
+		if (currentQuestionNumber > 0) {
+			session.getQuestion(currentQuestionNumber).addTimeSpent((System.nanoTime() - questionShownTime) / 1000000L);
+		}
+	}
+	
+	
+	/**
+	 * Creates a question's panel ahead of time, once the events already waiting, such as
+	 * painting the current question, have been handled
+	 * @param quizNumber The question's number within the quiz, starting at 1
+	 */
+	private void prefetchQuestion(final int quizNumber) {
+		
+		if (quizNumber > session.size() || questions[quizNumber - 1] != null) {
+			return;
+		}
+		
+		SwingUtilities.invokeLater(new Runnable() {
+			public void run() {
+				//skip it if the user has moved on or the quiz has ended in the meantime
+				if (currentQuestionNumber == quizNumber - 1 && !session.isFinished()) {
+					getQuestion(quizNumber);
+				}
+			}
+		});
+	}
+	
+	
+	/**
+	 * Releases the panels of the answered questions that are more than a few questions
+	 * away from the current one, so that a long quiz doesn't keep every panel it has shown
+	 */
+	private void releasePanels() {
+		
+		if (KEEP_PANELS) {
+			return;
+		}
+		
+		for (int i = 0; i < cards.length; i++) {
+			if (cards[i] != null && Math.abs(i + 1 - currentQuestionNumber) > KEPT_DISTANCE
+					&& session.getQuestion(i + 1).isAnswered()) {
+				releasePanel(i + 1);
+			}
+		}
+	}
+	
+	
+	/**
+	 * Removes a question's panel from the card panel and drops its question object. Its
+	 * answer is kept in its QuizQuestion, so the panel can be created again later.
+	 * @param quizNumber The question's number within the quiz, starting at 1
+	 */
+	private void releasePanel(int quizNumber) {
+		
+		if (questions[quizNumber - 1] instanceof Matching) {
+			((Matching) questions[quizNumber - 1]).stopMouseChecking();
+		}
+		questionPanel.remove(cards[quizNumber - 1]);
+		questions[quizNumber - 1] = null;
+		cards[quizNumber - 1] = null;
 	}
 	
 	
@@ -285,7 +461,7 @@ public class Quiz extends JPanel implements ActionListener{
 	 * @return the quiz's time in seconds
 	 */
 	public int getQuizDuration() {
-		return quizDuration;
+		return session.getQuizDuration();
 	}
 
 
@@ -293,15 +469,17 @@ public class Quiz extends JPanel implements ActionListener{
 	 * Starts the timer of the quiz
 	 */
 	public void startTimer() {
-		quizDuration = 0;
+		session.start();
+		//the first question only starts being timed once the quiz starts
+		questionShownTime = System.nanoTime();
 		
 		//creates a timer that'll fire every 1 second
 		time = new Timer(1000, new ActionListener() {
 
 			@Override
 			public void actionPerformed(ActionEvent e) {
-				//update quiz duration and the visible timer
-				quizDuration++;
+				//update the visible timer
+				int quizDuration = session.getQuizDuration();
 				String timeString = String.format("%02d:%02d", quizDuration / 60, quizDuration % 60);
 				timeLabel.setText(timeString);
 				
@@ -317,6 +495,7 @@ public class Quiz extends JPanel implements ActionListener{
 	 */
 	public void stopTimer() {
 		time.stop();
+		session.finish();
 	}
 	
 	
@@ -325,55 +504,28 @@ public class Quiz extends JPanel implements ActionListener{
 	 */
 	public void updateProgressBar() {
 		
-		Runnable updateBar = new Runnable() {
+		//find how many questions have already been answered, and where the bar needs to move to
+		final int numberAnswered = session.getAnsweredCount();
+		final int start = progressBar.getValue();
+		final int steps = 40 * numberAnswered - start;
+		
+		//replace any animation still moving the bar towards an older value
+		if (progressAnimation != null) {
+			Animator.stop(progressAnimation);
+		}
+		
+		//increase or decrease the bar by one every 7 milliseconds
+		progressAnimation = new Animator.Animation() {
 
 			@Override
-			public void run() {
-				
-				//find how many questions have already been answered
-				int numberAnswered = 0;
-				for (int i = 0; i < questions.size(); i++) {
-					if (questions.get(i).isAnswered()) {
-						numberAnswered++;
-					}
-				}
-
+			public boolean step(long elapsed) {
 				
-				//calculate by how much the bar needs to change
-				int steps = 40 * numberAnswered - progressBar.getValue();
-				
-				//decrease or increase the bar respectively
-				if (steps > 0) {
-					while (steps != 0) {
-						progressBar.setValue(progressBar.getValue() + 1);
-						steps --;
-						
-						//slow down in order to show animation
-						try {
-							Thread.sleep(7);
-						} catch (InterruptedException e) {
-							e.printStackTrace();
-						}
-					}
-				}
-				if (steps < 0) {
-					while (steps != 0) {
-						progressBar.setValue(progressBar.getValue() - 1);
-						steps ++;
-						
-						//slow down in order to show animation
-						try {
-							Thread.sleep(7);
-						} catch (InterruptedException e) {
-							e.printStackTrace();
-						}
-					}
-				}	
+				int stepsTaken = (int) Math.min(Math.abs(steps), elapsed / 7);
+				progressBar.setValue(start + (steps > 0 ? stepsTaken : -stepsTaken));
+				return stepsTaken != Math.abs(steps);
 			}
 		};
-		
-		Thread updateBarThread = new Thread(updateBar);
-		updateBarThread.start();
+		Animator.play(progressAnimation);
 		
 	}
 	
@@ -384,20 +536,45 @@ public class Quiz extends JPanel implements ActionListener{
 	 */
 	private void displayResults() {
 		
-		//ends the Quiz
+		//ends the Quiz, releasing every question's panel
+		for (int i = 1; i <= cards.length; i++) {
+			if (cards[i - 1] != null) {
+				releasePanel(i);
+			}
+		}
 		this.removeAll();
 		this.revalidate();
 		this.repaint();
+		recordTimeSpent();
 		stopTimer();
 		
 		
-		//creates and stores a ScoreReport for this Quiz in the database
+		//grades the Quiz, then saves its ScoreReport to the database in the background while the results are shown
 		ScoreReport report = new ScoreReport(this);
-		try {
-			report.updateDB();
-		} catch (IOException e) {
-			e.printStackTrace();
-		}
+		JLabel saveStatus = new JLabel();
+		saveStatus.setFont(new Font("Consolas", Font.PLAIN, 14));
+		ReportWriter.save(report, saveStatus);
+		
+		//the student's ability is moved by how they did, so their next quiz fits them better
+		//this is done in the background, in case the stats are still loading
+		new SwingWorker<Void, Void>() {
+			
+			@Override
+			protected Void doInBackground() throws IOException {
+				QuestionStats.getStats().updateAbility(QuestionSampler.getSampler(), report);
+				return null;
+			}
+			
+			@Override
+			protected void done() {
+				try {
+					get();
+				}
+				catch (InterruptedException | ExecutionException e) {
+					e.printStackTrace();
+				}
+			}
+		}.execute();
 		
 		//creates JPanel to display the results and adds it to the Quiz frame
 		ResultsPanel resultsPanel = new ResultsPanel(this.getHeight());
@@ -415,42 +592,44 @@ public class Quiz extends JPanel implements ActionListener{
 		
 		
 		
-		//delay the animation start
-		try {
-			Thread.sleep(100);
-		} catch (InterruptedException e1) {
-			e1.printStackTrace();
-		}
-		
-		
 		//animate the line sliding up
-		Runnable animateLine = new Runnable() {
+		final Animator.Animation animateLine = new Animator.Animation() {
 
+			double change = 1;
+			long stepsTaken = 0;
+			
 			@Override
-			public void run() {
+			public boolean step(long elapsed) {
 				
-				double change = 1;
+				//jump straight to the top when the animation is skipped
+				if (elapsed == Animator.END) {
+					resultsPanel.setLineY(0);
+					return false;
+				}
 				
-				//while the line had to move, move it by a changing amount (quadratic motion)
-				while (resultsPanel.getLineY() > 0) {
-					
-					resultsPanel.setLineY(resultsPanel.getLineY() - ((int) change));
+				//every 10 milliseconds, move the line by a changing amount (quadratic motion)
+				int lineY = resultsPanel.getLineY();
+				for (; stepsTaken < elapsed / 10 && lineY > 0; stepsTaken++) {
+					lineY -= (int) change;
 					change += .2;
-					
-					//pause the animation for visual appeal
-					try {
-						Thread.sleep(10);
-					} catch (InterruptedException e) {
-						e.printStackTrace();
-					}
-				}	
-				
+				}
+				resultsPanel.setLineY(lineY);
 				
+				//while the line has to move, keep the animation going
+				return lineY > 0;
 			}
 
 		};
-		Thread animateResults = new Thread(animateLine);
-		animateResults.start();
+		
+		//delay the animation start, without holding up the event dispatch thread
+		Timer animationDelay = new Timer(100, new ActionListener() {
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				Animator.play(animateLine);
+			}
+		});
+		animationDelay.setRepeats(false);
+		animationDelay.start();
 		
 		//instantiate the action for when the exit button would be clicked
 		ActionListener exitAction = new ActionListener() {
@@ -465,8 +644,14 @@ public class Quiz extends JPanel implements ActionListener{
 		//create and show the results panel
 		JPanel scorePanel = report.createPanel(1000, this.getSize(), exitAction, "Return to the home page");
 		
+		//the save status is added first so that it is drawn over the score panel
+		resultsPanel.add(saveStatus);
 		resultsPanel.add(scorePanel);
 		
+		//set the save status position
+		resultsLayout.putConstraint(SpringLayout.SOUTH, saveStatus, -10, SpringLayout.SOUTH, resultsPanel);
+		resultsLayout.putConstraint(SpringLayout.WEST, saveStatus, 15, SpringLayout.WEST, resultsPanel);
+		
 		//set the results panel position
 		resultsLayout.putConstraint(SpringLayout.NORTH, scorePanel, 0, SpringLayout.NORTH, resultsPanel);
 		resultsLayout.putConstraint(SpringLayout.EAST, scorePanel, 0, SpringLayout.EAST, resultsPanel);
@@ -486,13 +671,12 @@ public class Quiz extends JPanel implements ActionListener{
 		//go to the next or previous question based on which button is clicked
 		if (e.getSource() == nextButton) {
 			
-			if (currentQuestionNumber != 5) {
-				questionCards.next(questionPanel);
-				currentQuestionNumber++;
+			if (currentQuestionNumber != session.size()) {
+				showQuestion(currentQuestionNumber + 1);
 				updateProgressBar();
 			}
 			
-			//if it is question 5 when the next button is clicked, run the submission confirmation dialog box
+			//if it is the last question when the next button is clicked, run the submission confirmation dialog box
 			else {
 				
 				//create the submit button for the dialog box
@@ -525,13 +709,13 @@ public class Quiz extends JPanel implements ActionListener{
 				ArrayList<Integer> flaggedQuestions = new ArrayList<Integer>();
 				ArrayList<Integer> blankQuestions = new ArrayList<Integer>();
 				
-				//checks to see which questions are flagged or unanswered
-				for (int i = 0; i < questions.size(); i++) {
-					if (questions.get(i).isFlagged()) {
-						flaggedQuestions.add(questions.get(i).getQuizQuestionNumber());
+				//checks to see which questions are flagged or unanswered, including the ones never moved to
+				for (QuizQuestion question : session.getQuestions()) {
+					if (question.isFlagged()) {
+						flaggedQuestions.add(question.getQuizNumber());
 					}
-					if (!(questions.get(i).isAnswered())) {
-						blankQuestions.add(questions.get(i).getQuizQuestionNumber());
+					if (!(question.isAnswered())) {
+						blankQuestions.add(question.getQuizNumber());
 					}
 				}
 				
@@ -564,13 +748,20 @@ public class Quiz extends JPanel implements ActionListener{
 				//Show which specific questions are flagged/unanswered
 				Collections.sort(flaggedQuestions);
 				Collections.sort(blankQuestions);
-				for (int i = 0; i < flaggedQuestions.size(); i++) {
+				for (int i = 0; i < Math.min(flaggedQuestions.size(), MAX_LISTED_QUESTIONS); i++) {
 					submitWarning += "<li style=\"text-align: left;\">Question " + flaggedQuestions.get(i) + " - Flagged</li>\r\n";
 				}
-				for (int i = 0; i < blankQuestions.size(); i++) {
+				for (int i = 0; i < Math.min(blankQuestions.size(), MAX_LISTED_QUESTIONS); i++) {
 					submitWarning += "<li style=\"text-align: left;\">Question " + blankQuestions.get(i) + " - Unanswered</li>\r\n";
 				}
 				
+				//a long quiz can have too many to list, so only count the rest
+				int unlisted = Math.max(0, flaggedQuestions.size() - MAX_LISTED_QUESTIONS)
+						+ Math.max(0, blankQuestions.size() - MAX_LISTED_QUESTIONS);
+				if (unlisted > 0) {
+					submitWarning += "<li style=\"text-align: left;\">And " + unlisted + " more</li>\r\n";
+				}
+				
 				submitWarning += "</ul></html>";
 				
 				
@@ -589,8 +780,7 @@ public class Quiz extends JPanel implements ActionListener{
 		}
 		
 		if (e.getSource() == backButton) {
-			questionCards.previous(questionPanel);
-			currentQuestionNumber--;
+			showQuestion(currentQuestionNumber - 1);
 			updateProgressBar();
 		}
 		
@@ -603,15 +793,15 @@ public class Quiz extends JPanel implements ActionListener{
 		}
 		
 		//changes the next button to a submit button if on the final question
-		if (currentQuestionNumber == 5) {
-			nextButton.setIcon(new ImageIcon("./Icons/Submit Button.png"));
-			nextButton.setPressedIcon(new ImageIcon("./Icons/Submit Button Pressed.png"));
-			nextButton.setRolloverIcon(new ImageIcon("./Icons/Submit Button Rollover.png"));
+		if (currentQuestionNumber == session.size()) {
+			nextButton.setIcon(IconCache.get("Submit Button.png"));
+			nextButton.setPressedIcon(IconCache.get("Submit Button Pressed.png"));
+			nextButton.setRolloverIcon(IconCache.get("Submit Button Rollover.png"));
 		}
 		else {
-			nextButton.setIcon(new ImageIcon("./Icons/Next Button.png"));
-			nextButton.setPressedIcon(new ImageIcon("./Icons/Next Button Pressed.png"));
-			nextButton.setRolloverIcon(new ImageIcon("./Icons/Next Button Rollover.png"));
+			nextButton.setIcon(IconCache.get("Next Button.png"));
+			nextButton.setPressedIcon(IconCache.get("Next Button Pressed.png"));
+			nextButton.setRolloverIcon(IconCache.get("Next Button Rollover.png"));
 		}
 		
 	}
@@ -1,7 +1,10 @@
 package FBLAQuiz;
 
+import java.awt.AlphaComposite;
 import java.awt.BasicStroke;
+import java.awt.BorderLayout;
 import java.awt.Color;
+import java.awt.Component;
 import java.awt.Cursor;
 import java.awt.Dimension;
 import java.awt.Font;
@@ -9,42 +12,61 @@ import java.awt.FontMetrics;
 import java.awt.GradientPaint;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
 import java.awt.Point;
 import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.Window;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
+import java.awt.geom.Path2D;
 import java.awt.image.BufferedImage;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
 import java.io.FileNotFoundException;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.Writer;
-import java.nio.file.Files;
-import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 import javax.swing.BorderFactory;
 import javax.swing.ImageIcon;
 import javax.swing.JButton;
+import javax.swing.JCheckBox;
+import javax.swing.JComponent;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
+import javax.swing.JList;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JPasswordField;
+import javax.swing.JProgressBar;
 import javax.swing.JScrollPane;
+import javax.swing.JTextField;
 import javax.swing.JToggleButton;
+import javax.swing.ListCellRenderer;
 import javax.swing.SpringLayout;
-import javax.swing.Timer;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
 import javax.swing.UIManager;
 import javax.swing.border.LineBorder;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 
-import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
 
 
@@ -59,9 +81,6 @@ import org.json.simple.parser.ParseException;
  */
 public class QuizMenu extends MouseAdapter implements ActionListener{
 
-	/** Global parser used to parse the JSON databases */
-	public static JSONParser PARSER = new JSONParser();
-	
 	//----------------Instance Variables----------
 	/** The JFrame on which the program will display its GUI */
 	private JFrame frame;
@@ -77,6 +96,12 @@ public class QuizMenu extends MouseAdapter implements ActionListener{
 	private Quiz quiz;
 	/** The panel to display the contents of the home screen */
 	private GradientPanel homePanel;
+	/** The number of questions in each quiz started from the home screen */
+	private int quizLength;
+	/** The worker building the search index in the background, or null if it isn't being built */
+	private SwingWorker<QuestionIndex, Void> indexWorker;
+	/** The search to show again once the search index is built, or null if no search is waiting for it */
+	private Runnable indexWaiter;
 	
 	
 	//-----------------Constructor---------------
@@ -84,6 +109,17 @@ public class QuizMenu extends MouseAdapter implements ActionListener{
 	 * Creates a QuizMenu object, which sets up the home screen for the program
 	 */
 	public QuizMenu(){
+		this(QuizSession.DEFAULT_LENGTH);
+	}
+	
+	
+	/**
+	 * Creates a QuizMenu object, which sets up the home screen for the program
+	 * @param quizLength The number of questions in each quiz started from the home screen
+	 */
+	public QuizMenu(int quizLength){
+		
+		this.quizLength = quizLength;
 		
 		//create the JFrame for the program
 		frame = new JFrame("FBLA Quiz");
@@ -92,23 +128,28 @@ public class QuizMenu extends MouseAdapter implements ActionListener{
 			@Override
 			public void windowClosed(WindowEvent e) {
 				
-				//when the window is closed, update the backup database for score reports
+				//wait for the reports still being saved, so none are lost
+				if (!ReportWriter.shutdown(ReportWriter.SHUTDOWN_TIMEOUT)) {
+					System.err.println("Score reports were still being saved when the program closed");
+				}
+				
+				//back up any reports that aren't yet, which is only what was added since the last backup
 				try {
-					FileWriter backupReportFile = new FileWriter("./JSONfiles/backup/scoreReports.json");
-					backupReportFile.write(Files.readString(Path.of("./JSONfiles/scoreReports.json")));
-					backupReportFile.close();
+					ReportStore.getStore().backUp();
 				} 
 				catch (IOException e1) {
 					e1.printStackTrace();
 				}
-
-
+				
 				//exit the program
 				System.exit(0);
 			}
 		});
 		frame.setSize(900,750);
 		
+		//load the stats and aggregates in the background, since catching them up the first time can read every report
+		loadReportCaches();
+		
 		//creates and displays the panel for the home screen onto the window
 		showHomeScreen();
 		
@@ -118,13 +159,41 @@ public class QuizMenu extends MouseAdapter implements ActionListener{
 		
 		frame.setLocationRelativeTo(null);
 		frame.setVisible(true);
-		frame.setIconImage((new ImageIcon("./Icons/FBLA Quiz Icon.png")).getImage());
+		frame.setIconImage(IconCache.get("FBLA Quiz Icon.png").getImage());
 		
 		
 	}
 	
 	
 	//---------------Methods-------------
+	/**
+	 * Loads the question stats and score aggregates in the background, so that starting
+	 * a quiz or opening the graph never waits for them to catch up on the report store
+	 */
+	private void loadReportCaches() {
+		
+		new SwingWorker<Void, Void>() {
+			
+			@Override
+			protected Void doInBackground() throws IOException {
+				QuestionStats.getStats();
+				ScoreAggregates.getAggregates();
+				return null;
+			}
+			
+			@Override
+			protected void done() {
+				try {
+					get();
+				}
+				catch (InterruptedException | ExecutionException e) {
+					e.printStackTrace();
+				}
+			}
+		}.execute();
+	}
+	
+	
 	/**
 	 * Method to set the window to show the home menu screen
 	 */
@@ -171,23 +240,21 @@ public class QuizMenu extends MouseAdapter implements ActionListener{
 		directions.setFont(new Font("Trebuchet MS", Font.ITALIC, 35));
 		directions.setHorizontalAlignment(JLabel.CENTER);
 		
-		//Parse the score reports database to create the list of score reports
-		JSONArray database;
-		try {
-			database = (JSONArray)(PARSER.parse(new FileReader("./JSONfiles/scoreReports.json")));
-		} 
-		catch (IOException | ParseException e) {
-			//Use backup database if exception occurs
-			database = (JSONArray)(PARSER.parse(new FileReader("./JSONfiles/backup/scoreReports.json")));
-		}
-		int numberOfReports = database.size();
+		//create the list of score reports, which only reads the reports that are scrolled to
+		ReportStore store = ReportStore.getStore();
+		ReportListModel reportsModel = new ReportListModel(store);
+		int numberOfReports = reportsModel.getSize();
 		
-		//create the panel where the score reports will be displayed and sets its preferred size
-		JPanel reportsPanel = new JPanel();
-		reportsPanel.setPreferredSize(new Dimension(900, 70 + 58 * (numberOfReports - 1)));
-		reportsPanel.setOpaque(false);
-		SpringLayout scrollLayout = new SpringLayout();
-		reportsPanel.setLayout(scrollLayout);
+		//create the list where the score reports will be displayed, with every row drawn by one renderer
+		ReportRenderer reportRenderer = new ReportRenderer();
+		JList<ReportSummary> reportsList = new JList<ReportSummary>(reportsModel);
+		reportsList.setCellRenderer(reportRenderer);
+		reportsList.setFixedCellHeight(58);
+		reportsList.setFixedCellWidth(100);			//small, so the list fills the width of the scroll pane
+		reportsList.setOpaque(false);
+		reportsList.setBorder(BorderFactory.createEmptyBorder(5, 40, 5, 40));
+		reportsList.setFocusable(false);
+		reportsList.setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
 		
 		
 		//creates the label to display the description for the buttons
@@ -199,9 +266,9 @@ public class QuizMenu extends MouseAdapter implements ActionListener{
 			
 		//create the exit/return button
 		JButton exitButton = new JButton();
-		exitButton.setIcon(new ImageIcon("./Icons/Exit Icon Unselected.png"));
-		exitButton.setPressedIcon(new ImageIcon("./Icons/Exit Icon Selected.png"));
-		exitButton.setRolloverIcon(new ImageIcon("./Icons/Exit Icon Rollover.png"));
+		exitButton.setIcon(IconCache.get("Exit Icon Unselected.png"));
+		exitButton.setPressedIcon(IconCache.get("Exit Icon Selected.png"));
+		exitButton.setRolloverIcon(IconCache.get("Exit Icon Rollover.png"));
 		exitButton.setOpaque(false);
 		exitButton.setContentAreaFilled(false);
 		exitButton.setBorderPainted(false);
@@ -233,105 +300,125 @@ public class QuizMenu extends MouseAdapter implements ActionListener{
 		});
 		
 		
-		//an ArrayList for all of the report buttons
-		ArrayList<JButton> buttonsList = new ArrayList<JButton>();
-		
-		//iterate through and display buttons for the score reports 
-		for (int i = 0; i < numberOfReports; i++) {
+		//make the rows react to the mouse like buttons, and show a report when it is clicked
+		MouseAdapter reportsMouse = new MouseAdapter() {
 			
-			//gets the report's data
-			JSONObject reportObj = (JSONObject) database.get(i);
-			String dateAndTime = (String) reportObj.get("date");
-			int score = (int) (long) reportObj.get("score");
+			/**
+			 * Gets the row under the mouse
+			 * @param e The mouse event
+			 * @return The index of the row, or -1 if the mouse isn't over one
+			 */
+			private int rowAt(MouseEvent e) {
+				int index = reportsList.locationToIndex(e.getPoint());
+				if (index >= 0 && reportsList.getCellBounds(index, index).contains(e.getPoint())) {
+					return index;
+				}
+				return -1;
+			}
 			
-			//sets up the report's button
-			JButton reportButton = new JButton() {
-				@Override
-	            public void paintComponent(Graphics g)
-	            {
-					//paints the backgrund to write on top of it
-	                super.paintComponent(g);
-	                
-	                Graphics2D g2 = (Graphics2D) g;
-	                g2.setFont(new Font("Trebuchet MS", Font.PLAIN, 30));
-	                g2.setColor(new Color(25,25,25));
-	                //turns on anti-aliasing for the text
-	    			RenderingHints rh = new RenderingHints(RenderingHints.KEY_TEXT_ANTIALIASING,
-	    		            RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
-	    			g2.setRenderingHints(rh);
-	                
-	    			//sets the String to display, as the date and time + the score out of 5
-	                String date = (dateAndTime.substring(0, 16)).trim() + " at " + ScoreReport.get12hrTime(dateAndTime);
-	                g2.drawString(date, (int)(frame.getWidth() / 2.0 - 395), 40);
-	                g2.drawString("Score: " + score + " / 5", (int)(frame.getWidth() / 2.0 + 130), 40);
-	            }
-			};
-			//set up the rest of the button
-			reportButton.setIcon(new ImageIcon("./Icons/Report Button.png"));
-			reportButton.setPressedIcon(new ImageIcon("./Icons/Report Button Selected.png"));
-			reportButton.setRolloverIcon(new ImageIcon("./Icons/Report Button Rollover.png"));
-			reportButton.setContentAreaFilled(false);
-			reportButton.setBorderPainted(false);
-			reportButton.setFocusable(false);
-			reportButton.setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
+			/**
+			 * Repaints a row after its state changes
+			 * @param index The index of the row, or -1 for none
+			 */
+			private void repaintRow(int index) {
+				if (index >= 0 && index < reportsModel.getSize()) {
+					reportsList.repaint(reportsList.getCellBounds(index, index));
+				}
+			}
 			
-			//make the button show the specific score report when clicked
-			reportButton.addActionListener(new ActionListener() {
-				
-				@Override
-				public void actionPerformed(ActionEvent e) {
-					
-					//clear the panel of other components
-					listScoresPanel.removeAll();
-					listScoresPanel.revalidate();
-					listScoresPanel.repaint();
-					
-					//create the action to return to the screen of listing all score reports
-					ActionListener returnAction = new ActionListener() {
-						
-						@Override
-						public void actionPerformed(ActionEvent e) {
-							try {
-								showScoresScreen();
-							} catch (IOException | ParseException e1) {}
-						}
-					};
-					
-					//creates a ScoreReport and a panel for it for the report that is clicked
-					ScoreReport thisReport = new ScoreReport(reportObj);
-					JPanel scorePanel = thisReport.createPanel(50, listScoresPanel.getSize(), returnAction, 
-							"Return to the previous page");
-					
-					//adds the score report panel to the overall panel
-					listScoresPanel.stopAnimation();
-					listScoresPanel.add(scorePanel);
-					
-					//set the score report panel position
-					scoresLayout.putConstraint(SpringLayout.NORTH, scorePanel, 0, SpringLayout.NORTH, listScoresPanel);
-					scoresLayout.putConstraint(SpringLayout.EAST, scorePanel, 0, SpringLayout.EAST, listScoresPanel);
-					scoresLayout.putConstraint(SpringLayout.WEST, scorePanel, 0, SpringLayout.WEST, listScoresPanel);
-					scoresLayout.putConstraint(SpringLayout.SOUTH, scorePanel, 0, SpringLayout.SOUTH, listScoresPanel);
+			/**
+			 * {@inheritDoc}
+			 */
+			public void mouseMoved(MouseEvent e) {
+				int index = rowAt(e);
+				if (index != reportRenderer.rolloverIndex) {
+					repaintRow(reportRenderer.rolloverIndex);
+					reportRenderer.rolloverIndex = index;
+					repaintRow(index);
 				}
-				
-			});
+			}
+			
+			/**
+			 * {@inheritDoc}
+			 */
+			public void mouseExited(MouseEvent e) {
+				repaintRow(reportRenderer.rolloverIndex);
+				reportRenderer.rolloverIndex = -1;
+			}
 			
-			//add the button to the reports subpanel and the ArrayList
-			reportsPanel.add(reportButton);
-			buttonsList.add(reportButton);
+			/**
+			 * {@inheritDoc}
+			 */
+			public void mousePressed(MouseEvent e) {
+				//holding control or shift only selects the row for exporting, without showing it
+				if (e.isControlDown() || e.isShiftDown()) {
+					return;
+				}
+				reportRenderer.pressedIndex = rowAt(e);
+				repaintRow(reportRenderer.pressedIndex);
+			}
 			
-			//set the position of the button
-			//set the position dependent on if it is the first button or not
-			if (i == 0) 
-				scrollLayout.putConstraint(SpringLayout.NORTH, reportButton, 5, SpringLayout.NORTH, reportsPanel);
-			else
-				scrollLayout.putConstraint(SpringLayout.NORTH, reportButton, -2, SpringLayout.SOUTH, buttonsList.get(i-1));
-			scrollLayout.putConstraint(SpringLayout.EAST, reportButton, -40, SpringLayout.EAST, reportsPanel);
-			scrollLayout.putConstraint(SpringLayout.WEST, reportButton, 40, SpringLayout.WEST, reportsPanel);
-			scrollLayout.putConstraint(SpringLayout.SOUTH, reportButton, 60, SpringLayout.NORTH, reportButton);
-		}
+			/**
+			 * {@inheritDoc}
+			 */
+			public void mouseReleased(MouseEvent e) {
+				
+				int pressedIndex = reportRenderer.pressedIndex;
+				reportRenderer.pressedIndex = -1;
+				repaintRow(pressedIndex);
+				
+				//only show the report if the mouse was released on the same row it was pressed on
+				if (pressedIndex < 0 || rowAt(e) != pressedIndex) {
+					return;
+				}
+				
+				//read the full report that was clicked
+				JSONObject reportObj;
+				try {
+					reportObj = reportsModel.readReport(pressedIndex);
+				} 
+				catch (IOException | ParseException e1) {
+					e1.printStackTrace();
+					return;
+				}
+				
+				//clear the panel of other components
+				listScoresPanel.removeAll();
+				listScoresPanel.revalidate();
+				listScoresPanel.repaint();
+				
+				//create the action to return to the screen of listing all score reports
+				ActionListener returnAction = new ActionListener() {
+					
+					@Override
+					public void actionPerformed(ActionEvent e) {
+						try {
+							showScoresScreen();
+						} catch (IOException | ParseException e1) {}
+					}
+				};
+				
+				//creates a ScoreReport and a panel for it for the report that is clicked
+				ScoreReport thisReport = new ScoreReport(reportObj);
+				JPanel scorePanel = thisReport.createPanel(50, listScoresPanel.getSize(), returnAction, 
+						"Return to the previous page");
+				
+				//adds the score report panel to the overall panel
+				listScoresPanel.stopAnimation();
+				listScoresPanel.add(scorePanel);
+				
+				//set the score report panel position
+				scoresLayout.putConstraint(SpringLayout.NORTH, scorePanel, 0, SpringLayout.NORTH, listScoresPanel);
+				scoresLayout.putConstraint(SpringLayout.EAST, scorePanel, 0, SpringLayout.EAST, listScoresPanel);
+				scoresLayout.putConstraint(SpringLayout.WEST, scorePanel, 0, SpringLayout.WEST, listScoresPanel);
+				scoresLayout.putConstraint(SpringLayout.SOUTH, scorePanel, 0, SpringLayout.SOUTH, listScoresPanel);
+			}
+		};
+		reportsList.addMouseListener(reportsMouse);
+		reportsList.addMouseMotionListener(reportsMouse);
 		
 		//sets up the scroll pane for the reports list
-		JScrollPane scrollReports = new JScrollPane(reportsPanel) ;
+		JScrollPane scrollReports = new JScrollPane(reportsList) ;
 		scrollReports.setOpaque(false);
 		scrollReports.getViewport().setOpaque(false);
 		scrollReports.setBorder(BorderFactory.createEmptyBorder());
@@ -343,12 +430,13 @@ public class QuizMenu extends MouseAdapter implements ActionListener{
 		((CustomScrollUI) scrollReports.getVerticalScrollBar().getUI()).fadeIn();
 		scrollReports.getVerticalScrollBar().setOpaque(false);
 		scrollReports.getVerticalScrollBar().setUnitIncrement(8);
+		scrollReports.getVerticalScrollBar().setBlockIncrement(58 * 8);
 		
 		//create the button for viewing the graph
 		JButton graphButton = new JButton();
-		graphButton.setIcon(new ImageIcon("./Icons/Graph Icon.png"));
-		graphButton.setPressedIcon(new ImageIcon("./Icons/Graph Icon Selected.png"));
-		graphButton.setRolloverIcon(new ImageIcon("./Icons/Graph Icon Rollover.png"));
+		graphButton.setIcon(IconCache.get("Graph Icon.png"));
+		graphButton.setPressedIcon(IconCache.get("Graph Icon Selected.png"));
+		graphButton.setRolloverIcon(IconCache.get("Graph Icon Rollover.png"));
 		graphButton.setOpaque(false);
 		graphButton.setContentAreaFilled(false);
 		graphButton.setBorderPainted(false);
@@ -375,7 +463,43 @@ public class QuizMenu extends MouseAdapter implements ActionListener{
 			 */
 			public void mouseEntered(MouseEvent e) {
 				//when hovering over the exit button, display its description
-				scoreButtonsDesc.setText("View a graph of the past 20 scores");
+				scoreButtonsDesc.setText("View a graph of every score over time");
+			}
+			/**
+			 * {@inheritDoc}
+			 */
+			public void mouseExited(MouseEvent e) {
+				//when exiting the button, hide the description
+				scoreButtonsDesc.setText("");
+			}
+		});
+		
+		//create the button for exporting the selected reports, or a range of them, to PDFs
+		JButton exportButton = new JButton("Export PDFs");
+		exportButton.setFont(new Font("Trebuchet MS", Font.PLAIN, 22));
+		exportButton.setForeground(new Color(25,25,25));
+		exportButton.setHorizontalAlignment(JButton.RIGHT);
+		exportButton.setOpaque(false);
+		exportButton.setContentAreaFilled(false);
+		exportButton.setBorderPainted(false);
+		exportButton.setFocusable(false);
+		exportButton.setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
+		exportButton.addActionListener(new ActionListener() {
+
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				showExportPrompt(store, reportsList.getSelectedIndices(), reportsModel.getSize());
+			}
+		});
+		
+		//adds the mouse listeners for when to display the button's label
+		exportButton.addMouseListener(new MouseAdapter() {
+			/**
+			 * {@inheritDoc}
+			 */
+			public void mouseEntered(MouseEvent e) {
+				//when hovering over the export button, display its description
+				scoreButtonsDesc.setText("Ctrl-click reports to pick which ones to export");
 			}
 			/**
 			 * {@inheritDoc}
@@ -400,6 +524,7 @@ public class QuizMenu extends MouseAdapter implements ActionListener{
 		listScoresPanel.add(scoreButtonsDesc);
 		listScoresPanel.add(scrollReports);
 		listScoresPanel.add(reportCount);
+		listScoresPanel.add(exportButton);
 		
 		
 		//set the position of the directions label
@@ -438,6 +563,12 @@ public class QuizMenu extends MouseAdapter implements ActionListener{
 		scoresLayout.putConstraint(SpringLayout.WEST, reportCount, 25, SpringLayout.WEST, listScoresPanel);
 		scoresLayout.putConstraint(SpringLayout.SOUTH, reportCount, 25, SpringLayout.NORTH, reportCount);
 		
+		//set the position of the export button
+		scoresLayout.putConstraint(SpringLayout.NORTH, exportButton, 195, SpringLayout.NORTH, listScoresPanel);
+		scoresLayout.putConstraint(SpringLayout.EAST, exportButton, -25, SpringLayout.EAST, listScoresPanel);
+		scoresLayout.putConstraint(SpringLayout.WEST, exportButton, -190, SpringLayout.EAST, listScoresPanel);
+		scoresLayout.putConstraint(SpringLayout.SOUTH, exportButton, 30, SpringLayout.NORTH, exportButton);
+		
 		
 		frame.add(listScoresPanel);
 		frame.repaint();
@@ -446,59 +577,378 @@ public class QuizMenu extends MouseAdapter implements ActionListener{
 	}
 	
 	/**
-	 * Creates a graph to display the scores of the recent score reports
+	 * Shows a prompt for exporting score reports to PDFs, either the reports that are selected
+	 * or every report taken within a range of dates. The reports are exported in the background,
+	 * with the prompt showing the progress
+	 * @param store The store to read the reports from
+	 * @param selectedIndices The positions of the selected reports, where 0 is the newest
+	 * @param reportCount The number of reports the positions are counted from, which is the size of the list they were selected in
+	 */
+	private void showExportPrompt(ReportStore store, int[] selectedIndices, int reportCount) {
+		
+		JFrame exportFrame = new JFrame("Export score reports");
+		exportFrame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+		
+		//panel to place components on
+		JPanel exportPanel = new JPanel();
+		exportPanel.setPreferredSize(new Dimension(460,270));
+		exportPanel.setBackground(new Color(25,25,25));
+		SpringLayout exportLayout = new SpringLayout();
+		exportPanel.setLayout(exportLayout);
+		
+		//create the label for the introductory text
+		JLabel messageLabel = new JLabel();
+		messageLabel.setFont(new Font("Trebuchet MS", Font.PLAIN, 18));
+		messageLabel.setForeground(Color.LIGHT_GRAY);
+		messageLabel.setHorizontalAlignment(JLabel.CENTER);
+		
+		//create the fields for the range of dates, which start out as today
+		String today = new SimpleDateFormat("dd/MM/yyyy").format(new Date());
+		JLabel fromLabel = new JLabel("From:");
+		JLabel toLabel = new JLabel("To:");
+		JTextField fromField = new JTextField(today);
+		JTextField toField = new JTextField(today);
+		
+		//create the check box and field for joining the reports into one PDF
+		JCheckBox mergeBox = new JCheckBox("One PDF named:");
+		mergeBox.setFont(new Font("Consolas", Font.PLAIN, 16));
+		mergeBox.setForeground(Color.LIGHT_GRAY);
+		mergeBox.setOpaque(false);
+		mergeBox.setFocusable(false);
+		JTextField mergeField = new JTextField("Score Reports");
+		
+		//style the labels and fields like the password prompt
+		for (JLabel label : new JLabel[] {fromLabel, toLabel}) {
+			label.setFont(new Font("Consolas", Font.PLAIN, 16));
+			label.setForeground(Color.LIGHT_GRAY);
+		}
+		for (JTextField field : new JTextField[] {fromField, toField, mergeField}) {
+			field.setBackground(new Color(25,25,25));
+			field.setForeground(Color.LIGHT_GRAY);
+			field.setCaretColor(Color.LIGHT_GRAY);
+			field.setBorder(new LineBorder(Color.LIGHT_GRAY, 2, true));
+			field.setFont(new Font("Consolas", Font.PLAIN, 16));
+		}
+		
+		//only ask for dates if no reports are selected
+		boolean bySelection = selectedIndices.length > 0;
+		if (bySelection) {
+			messageLabel.setText("Export the " + selectedIndices.length + " selected reports");
+			fromLabel.setVisible(false);
+			toLabel.setVisible(false);
+			fromField.setVisible(false);
+			toField.setVisible(false);
+		}
+		else {
+			messageLabel.setText("Export the reports taken between two dates (dd/MM/yyyy)");
+		}
+		
+		//create the bar and label for the export's progress
+		JProgressBar progressBar = new JProgressBar();
+		progressBar.setForeground(new Color(120,170,230));
+		progressBar.setBackground(new Color(45,45,45));
+		progressBar.setBorderPainted(false);
+		JLabel statusLabel = new JLabel();
+		statusLabel.setHorizontalAlignment(JLabel.CENTER);
+		statusLabel.setFont(new Font("Karla", Font.PLAIN, 13));
+		statusLabel.setForeground(Color.LIGHT_GRAY);
+		
+		//create the button to start the export, which cancels it while it is running
+		JButton exportButton = new JButton("Export");
+		exportButton.setFocusable(false);
+		exportButton.setFocusPainted(false);
+		exportButton.setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
+		exportButton.addActionListener(new ActionListener() {
+			
+			/** The export that is running, or null if none is */
+			private BatchExporter exporter;
+
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				
+				//if an export is running, cancel it
+				if (exporter != null) {
+					exporter.cancel(true);
+					return;
+				}
+				
+				//find the name of the single PDF, if the reports are being joined
+				String mergedName = null;
+				if (mergeBox.isSelected()) {
+					mergedName = mergeField.getText().trim().replaceAll("[\\\\/:*?\"<>|]", "");
+					if (mergedName.isEmpty()) {
+						statusLabel.setText("Please enter a name for the PDF");
+						return;
+					}
+				}
+				
+				//create the export for the selected reports, or the reports within the dates
+				if (bySelection) {
+					exporter = new BatchExporter(store, selectedIndices, reportCount, mergedName, progressBar, statusLabel);
+				}
+				else {
+					try {
+						SimpleDateFormat dayFormat = new SimpleDateFormat("dd/MM/yyyy");
+						dayFormat.setLenient(false);
+						Date from = dayFormat.parse(fromField.getText().trim());
+						//the range includes all of the last day
+						Date to = new Date(dayFormat.parse(toField.getText().trim()).getTime() + 24L * 60 * 60 * 1000 - 1);
+						exporter = new BatchExporter(store, from, to, mergedName, progressBar, statusLabel);
+					}
+					catch (java.text.ParseException e1) {
+						statusLabel.setText("Please enter the dates as dd/MM/yyyy");
+						return;
+					}
+				}
+				
+				//once the export is done, let another one be started
+				exporter.addPropertyChangeListener(new PropertyChangeListener() {
+					
+					@Override
+					public void propertyChange(PropertyChangeEvent evt) {
+						if ("state".equals(evt.getPropertyName()) && evt.getNewValue() == SwingWorker.StateValue.DONE) {
+							exporter = null;
+							exportButton.setText("Export");
+						}
+					}
+				});
+				
+				//run the export in the background
+				progressBar.setValue(0);
+				statusLabel.setText("Finding reports...");
+				exportButton.setText("Cancel");
+				exporter.execute();
+			}
+		});
+		
+		//add the components to the frame
+		exportPanel.add(messageLabel);
+		exportPanel.add(fromLabel);
+		exportPanel.add(fromField);
+		exportPanel.add(toLabel);
+		exportPanel.add(toField);
+		exportPanel.add(mergeBox);
+		exportPanel.add(mergeField);
+		exportPanel.add(progressBar);
+		exportPanel.add(statusLabel);
+		exportPanel.add(exportButton);
+		
+		//set the position of the intro message
+		exportLayout.putConstraint(SpringLayout.NORTH, messageLabel, 10, SpringLayout.NORTH, exportPanel);
+		exportLayout.putConstraint(SpringLayout.EAST, messageLabel, -10, SpringLayout.EAST, exportPanel);
+		exportLayout.putConstraint(SpringLayout.WEST, messageLabel, 10, SpringLayout.WEST, exportPanel);
+		exportLayout.putConstraint(SpringLayout.SOUTH, messageLabel, 40, SpringLayout.NORTH, exportPanel);
+		
+		//set the position of the date labels and fields
+		exportLayout.putConstraint(SpringLayout.NORTH, fromLabel, 60, SpringLayout.NORTH, exportPanel);
+		exportLayout.putConstraint(SpringLayout.WEST, fromLabel, 20, SpringLayout.WEST, exportPanel);
+		exportLayout.putConstraint(SpringLayout.NORTH, fromField, 55, SpringLayout.NORTH, exportPanel);
+		exportLayout.putConstraint(SpringLayout.WEST, fromField, 80, SpringLayout.WEST, exportPanel);
+		exportLayout.putConstraint(SpringLayout.EAST, fromField, 200, SpringLayout.WEST, exportPanel);
+		exportLayout.putConstraint(SpringLayout.SOUTH, fromField, 85, SpringLayout.NORTH, exportPanel);
+		
+		exportLayout.putConstraint(SpringLayout.NORTH, toLabel, 60, SpringLayout.NORTH, exportPanel);
+		exportLayout.putConstraint(SpringLayout.WEST, toLabel, 240, SpringLayout.WEST, exportPanel);
+		exportLayout.putConstraint(SpringLayout.NORTH, toField, 55, SpringLayout.NORTH, exportPanel);
+		exportLayout.putConstraint(SpringLayout.WEST, toField, 290, SpringLayout.WEST, exportPanel);
+		exportLayout.putConstraint(SpringLayout.EAST, toField, -40, SpringLayout.EAST, exportPanel);
+		exportLayout.putConstraint(SpringLayout.SOUTH, toField, 85, SpringLayout.NORTH, exportPanel);
+		
+		//set the position of the check box and name of the single PDF
+		exportLayout.putConstraint(SpringLayout.NORTH, mergeBox, 105, SpringLayout.NORTH, exportPanel);
+		exportLayout.putConstraint(SpringLayout.WEST, mergeBox, 16, SpringLayout.WEST, exportPanel);
+		exportLayout.putConstraint(SpringLayout.NORTH, mergeField, 103, SpringLayout.NORTH, exportPanel);
+		exportLayout.putConstraint(SpringLayout.WEST, mergeField, 10, SpringLayout.EAST, mergeBox);
+		exportLayout.putConstraint(SpringLayout.EAST, mergeField, -40, SpringLayout.EAST, exportPanel);
+		exportLayout.putConstraint(SpringLayout.SOUTH, mergeField, 133, SpringLayout.NORTH, exportPanel);
+		
+		//set the position of the progress bar and status
+		exportLayout.putConstraint(SpringLayout.NORTH, progressBar, 155, SpringLayout.NORTH, exportPanel);
+		exportLayout.putConstraint(SpringLayout.WEST, progressBar, 20, SpringLayout.WEST, exportPanel);
+		exportLayout.putConstraint(SpringLayout.EAST, progressBar, -20, SpringLayout.EAST, exportPanel);
+		exportLayout.putConstraint(SpringLayout.SOUTH, progressBar, 170, SpringLayout.NORTH, exportPanel);
+		
+		exportLayout.putConstraint(SpringLayout.NORTH, statusLabel, 180, SpringLayout.NORTH, exportPanel);
+		exportLayout.putConstraint(SpringLayout.WEST, statusLabel, 10, SpringLayout.WEST, exportPanel);
+		exportLayout.putConstraint(SpringLayout.EAST, statusLabel, -10, SpringLayout.EAST, exportPanel);
+		exportLayout.putConstraint(SpringLayout.SOUTH, statusLabel, 200, SpringLayout.NORTH, exportPanel);
+		
+		//set the position of the export button
+		exportLayout.putConstraint(SpringLayout.SOUTH, exportButton, -15, SpringLayout.SOUTH, exportPanel);
+		exportLayout.putConstraint(SpringLayout.EAST, exportButton, -170, SpringLayout.EAST, exportPanel);
+		exportLayout.putConstraint(SpringLayout.WEST, exportButton, 170, SpringLayout.WEST, exportPanel);
+		exportLayout.putConstraint(SpringLayout.NORTH, exportButton, -45, SpringLayout.SOUTH, exportPanel);
+		
+		exportFrame.add(exportPanel);
+		exportFrame.pack();
+		exportFrame.setResizable(false);
+		exportFrame.setIconImage(new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB_PRE));
+		exportFrame.setLocationRelativeTo(null);
+		exportFrame.setVisible(true);
+	}
+	
+	/**
+	 * Creates a graph to display the scores of every score report, which can show
+	 * the last day, week, or month of them, or zoom and pan through their whole history
 	 * @throws IOException On input error
 	 * @throws ParseException On error while parsing the database
 	 * @throws FileNotFoundException On failure to find database file path
 	 */
 	public void showScoresGraph() throws FileNotFoundException, IOException, ParseException {
 		
-		//Parse the score reports database
-		JSONArray database;
-		try {
-			database = (JSONArray)(PARSER.parse(new FileReader("./JSONfiles/scoreReports.json")));
-		} 
-		catch (IOException | ParseException e) {
-			//Use backup database if exception occurs
-			database = (JSONArray)(PARSER.parse(new FileReader("./JSONfiles/backup/scoreReports.json")));
-		}
-		
-		//get the scores for the data points
-		ArrayList<Double> scores = new ArrayList<Double>();
-        for (int i = 19; i >= 0; i--) {
-        	JSONObject reportObj = (JSONObject) database.get(i);
-			int score = (int) (long) reportObj.get("score");
-			scores.add((double) score);
-        }
+		//read the score of every report from the summary index, at each resolution the graph can show
+		ScoreSeries series = ReportStore.getStore().readScoreSeries();
         
         UIManager.put("Panel.background", new Color(0x1088FF));
         
-        //create the labels for the x-axis
-        ArrayList<String> xLabels = new ArrayList<String>();
-        for (int i = 19; i >= 0; i--) {
-        	JSONObject reportObj = (JSONObject) database.get(i);
-        	String date = (String) reportObj.get("shortened date");
-        	xLabels.add(date.substring(4,5) + "/" + date.substring(0,2));
+        //create the totals below the graph from the score aggregates, without reading any reports
+        final JLabel totalsLabel = new JLabel();
+        totalsLabel.setFont(new Font("Consolas", Font.PLAIN, 14));
+        totalsLabel.setForeground(new Color(25,25,25));
+        totalsLabel.setBorder(BorderFactory.createEmptyBorder(0, 25, 15, 25));
+        
+        //if the aggregates are still loading, the totals are shown once they are ready
+        ScoreAggregates aggregates = ScoreAggregates.getLoadedAggregates();
+        if (aggregates != null) {
+            totalsLabel.setText(describeAggregates(aggregates));
+        }
+        else {
+            totalsLabel.setText("Loading the totals...");
+            new SwingWorker<ScoreAggregates, Void>() {
+                
+                @Override
+                protected ScoreAggregates doInBackground() throws IOException {
+                    return ScoreAggregates.getAggregates();
+                }
+                
+                @Override
+                protected void done() {
+                    try {
+                        totalsLabel.setText(describeAggregates(get()));
+                    }
+                    catch (InterruptedException | ExecutionException e) {
+                        e.printStackTrace();
+                        totalsLabel.setText("The totals couldn't be loaded");
+                    }
+                }
+            }.execute();
         }
         
         //create and add the panel to a frame
-        ScoreGraph graphPanel = new ScoreGraph(scores, xLabels);
+        final ScoreGraph graphPanel = new ScoreGraph(series);
         graphPanel.setPreferredSize(new Dimension(800, 600));
         JFrame frame = new JFrame("Graph of Previous Scores");
         frame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
         frame.getContentPane().add(graphPanel);
+        frame.getContentPane().add(totalsLabel, BorderLayout.SOUTH);
+        frame.getContentPane().add(createWindowButtons(graphPanel), BorderLayout.NORTH);
         frame.pack();
         frame.setLocationRelativeTo(null);
         frame.setVisible(true);
         frame.setIconImage(new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB_PRE));
 	}
 	
+	/**
+	 * Creates the buttons that show the last day, week, or month of scores on the graph, or all of them
+	 * @param graph The graph of scores
+	 * @return The panel of buttons
+	 */
+	private JPanel createWindowButtons(final ScoreGraph graph) {
+		
+		JPanel windowButtons = new JPanel();
+		windowButtons.setOpaque(false);
+		
+		String[] names = {"Day", "Week", "Month", "All"};
+		final double[] spans = {86400, 7 * 86400, 30 * 86400, 0};
+		for (int i = 0; i < names.length; i++) {
+			
+			final double span = spans[i];
+			JButton windowButton = new JButton(names[i]);
+			windowButton.setFont(new Font("Consolas", Font.BOLD, 16));
+			windowButton.setForeground(new Color(25,25,25));
+			windowButton.setContentAreaFilled(false);
+			windowButton.setFocusable(false);
+			windowButton.setBorder(BorderFactory.createCompoundBorder(new LineBorder(new Color(25,25,25), 2), 
+					BorderFactory.createEmptyBorder(4, 12, 4, 12)));
+			windowButton.setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
+			windowButton.addActionListener(new ActionListener() {
+				@Override
+				public void actionPerformed(ActionEvent e) {
+					if (span == 0) {
+						graph.showAll();
+					}
+					else {
+						graph.showLast(span);
+					}
+				}
+			});
+			windowButtons.add(windowButton);
+		}
+		
+		JLabel hint = new JLabel("Scroll to zoom, drag to pan");
+		hint.setFont(new Font("Consolas", Font.PLAIN, 14));
+		hint.setForeground(new Color(25,25,25));
+		windowButtons.add(hint);
+		return windowButtons;
+	}
+	
+	
+	/**
+	 * Describes the totals of every quiz taken, to be shown below the graph of scores
+	 * @param aggregates The score aggregates
+	 * @return The HTML text of the totals
+	 */
+	private String describeAggregates(ScoreAggregates aggregates) {
+		
+		Long today = aggregates.getDailyCounts().get(LocalDate.now().toString());
+		String totals = "<html>Quizzes taken: " + aggregates.getReportCount() + " (" + (today == null ? 0 : today) + " today)"
+				+ "&nbsp;&nbsp; Overall: " + formatPercentage(aggregates.getOverallPercentage())
+				+ "&nbsp;&nbsp; Last 10: " + formatPercentage(aggregates.getRollingAverage(10))
+				+ "&nbsp;&nbsp; Last 50: " + formatPercentage(aggregates.getRollingAverage(50));
+		
+		//the durations are shown as minutes and seconds
+		int median = aggregates.getDurationPercentile(50);
+		int slowest = aggregates.getDurationPercentile(90);
+		if (median >= 0) {
+			totals += "<br>Median time: " + String.format("%d:%02d", median / 60, median % 60)
+					+ "&nbsp;&nbsp; 90th percentile: " + String.format("%d:%02d", slowest / 60, slowest % 60);
+		}
+		
+		totals += "<br>Correct by type:";
+		for (QuestionType type : QuestionType.values()) {
+			totals += "&nbsp;&nbsp; " + (type == QuestionType.MCQ ? "Multiple Choice" : type.getDatabaseKey())
+					+ " " + formatPercentage(aggregates.getTypeAccuracy(type));
+		}
+		
+		//each range of scores is labeled by where it starts
+		long[] distribution = aggregates.getDistribution();
+		totals += "<br>Quizzes by score:";
+		for (int i = 0; i < distribution.length; i++) {
+			totals += "&nbsp;&nbsp; " + (i * 100 / distribution.length) + "%+ " + distribution[i];
+		}
+		return totals + "</html>";
+	}
+	
+	
+	/**
+	 * Formats a percentage to be shown as a whole number
+	 * @param percentage The percentage, or NaN if there isn't one
+	 * @return The formatted percentage, or a dash if there isn't one
+	 */
+	private static String formatPercentage(double percentage) {
+		return Double.isNaN(percentage) ? "-" : Math.round(percentage) + "%";
+	}
+	
+	
 	/**
 	 * Creates and displays the UI for showing the questions and answers from
 	 * the database
 	 */
 	protected void showQuestionTypes() {
 		
+		//start building the search index, so it is usually ready by the time a search is typed
+		buildSearchIndex();
+		
 		//clear the frame
 		frame.getContentPane().removeAll();
 		frame.repaint();
@@ -511,9 +961,9 @@ public class QuizMenu extends MouseAdapter implements ActionListener{
 		
 		//sets up the button to view the mcq questions
 		JButton mcqButton = new JButton();
-		mcqButton.setIcon(new ImageIcon("./Icons/Multiple Choice Button.png"));
-		mcqButton.setPressedIcon(new ImageIcon("./Icons/Multiple Choice Button Selected.png"));
-		mcqButton.setRolloverIcon(new ImageIcon("./Icons/Multiple Choice Button Rollover.png"));
+		mcqButton.setIcon(IconCache.get("Multiple Choice Button.png"));
+		mcqButton.setPressedIcon(IconCache.get("Multiple Choice Button Selected.png"));
+		mcqButton.setRolloverIcon(IconCache.get("Multiple Choice Button Rollover.png"));
 		mcqButton.setOpaque(false);
 		mcqButton.setContentAreaFilled(false);
 		mcqButton.setBorderPainted(false);
@@ -528,9 +978,9 @@ public class QuizMenu extends MouseAdapter implements ActionListener{
 
 		//sets up the button to view the multiple select questions
 		JButton selectButton = new JButton();
-		selectButton.setIcon(new ImageIcon("./Icons/Multiple Select Button.png"));
-		selectButton.setPressedIcon(new ImageIcon("./Icons/Multiple Select Button Selected.png"));
-		selectButton.setRolloverIcon(new ImageIcon("./Icons/Multiple Select Button Rollover.png"));
+		selectButton.setIcon(IconCache.get("Multiple Select Button.png"));
+		selectButton.setPressedIcon(IconCache.get("Multiple Select Button Selected.png"));
+		selectButton.setRolloverIcon(IconCache.get("Multiple Select Button Rollover.png"));
 		selectButton.setOpaque(false);
 		selectButton.setContentAreaFilled(false);
 		selectButton.setBorderPainted(false);
@@ -545,9 +995,9 @@ public class QuizMenu extends MouseAdapter implements ActionListener{
 
 		//sets up the button to view the true or false questions
 		JButton tOrFButton = new JButton();
-		tOrFButton.setIcon(new ImageIcon("./Icons/TorF Button.png"));
-		tOrFButton.setPressedIcon(new ImageIcon("./Icons/TorF Button Selected.png"));
-		tOrFButton.setRolloverIcon(new ImageIcon("./Icons/TorF Button Rollover.png"));
+		tOrFButton.setIcon(IconCache.get("TorF Button.png"));
+		tOrFButton.setPressedIcon(IconCache.get("TorF Button Selected.png"));
+		tOrFButton.setRolloverIcon(IconCache.get("TorF Button Rollover.png"));
 		tOrFButton.setOpaque(false);
 		tOrFButton.setContentAreaFilled(false);
 		tOrFButton.setBorderPainted(false);
@@ -562,9 +1012,9 @@ public class QuizMenu extends MouseAdapter implements ActionListener{
 
 		//sets up the button to view the fill in the blank questions
 		JButton fillInButton = new JButton();
-		fillInButton.setIcon(new ImageIcon("./Icons/Fill In Button.png"));
-		fillInButton.setPressedIcon(new ImageIcon("./Icons/Fill In Button Selected.png"));
-		fillInButton.setRolloverIcon(new ImageIcon("./Icons/Fill In Button Rollover.png"));
+		fillInButton.setIcon(IconCache.get("Fill In Button.png"));
+		fillInButton.setPressedIcon(IconCache.get("Fill In Button Selected.png"));
+		fillInButton.setRolloverIcon(IconCache.get("Fill In Button Rollover.png"));
 		fillInButton.setOpaque(false);
 		fillInButton.setContentAreaFilled(false);
 		fillInButton.setBorderPainted(false);
@@ -579,9 +1029,9 @@ public class QuizMenu extends MouseAdapter implements ActionListener{
 
 		//sets up the button to view the matching questions
 		JButton matchingButton = new JButton();
-		matchingButton.setIcon(new ImageIcon("./Icons/Matching Button.png"));
-		matchingButton.setPressedIcon(new ImageIcon("./Icons/Matching Button Selected.png"));
-		matchingButton.setRolloverIcon(new ImageIcon("./Icons/Matching Button Rollover.png"));
+		matchingButton.setIcon(IconCache.get("Matching Button.png"));
+		matchingButton.setPressedIcon(IconCache.get("Matching Button Selected.png"));
+		matchingButton.setRolloverIcon(IconCache.get("Matching Button Rollover.png"));
 		matchingButton.setOpaque(false);
 		matchingButton.setContentAreaFilled(false);
 		matchingButton.setBorderPainted(false);
@@ -596,9 +1046,9 @@ public class QuizMenu extends MouseAdapter implements ActionListener{
 		
 		//sets up the button to change the password
 		JButton changePass = new JButton();
-		changePass.setIcon(new ImageIcon("./Icons/Change Pass Button.png"));
-		changePass.setPressedIcon(new ImageIcon("./Icons/Change Pass Button Selected.png"));
-		changePass.setRolloverIcon(new ImageIcon("./Icons/Change Pass Button Rollover.png"));
+		changePass.setIcon(IconCache.get("Change Pass Button.png"));
+		changePass.setPressedIcon(IconCache.get("Change Pass Button Selected.png"));
+		changePass.setRolloverIcon(IconCache.get("Change Pass Button Rollover.png"));
 		changePass.setOpaque(false);
 		changePass.setContentAreaFilled(false);
 		changePass.setBorderPainted(false);
@@ -624,6 +1074,30 @@ public class QuizMenu extends MouseAdapter implements ActionListener{
 		directions.setHorizontalAlignment(JLabel.CENTER);
 		directions.setForeground(new Color(25,25,25));
 		
+		//sets up the field to search every question, which moves to the search results once something is typed
+		JLabel searchLabel = new JLabel("Search:");
+		searchLabel.setFont(new Font("Trebuchet MS", Font.BOLD, 20));
+		searchLabel.setForeground(new Color(25,25,25));
+		JTextField searchField = createSearchField();
+		searchField.getDocument().addDocumentListener(new DocumentListener() {
+			@Override
+			public void insertUpdate(DocumentEvent e) {
+				//the screen is changed after the field is done handling the typing
+				SwingUtilities.invokeLater(new Runnable() {
+					public void run() {
+						//a field that was already replaced by the search results doesn't search again
+						if (searchField.isShowing()) {
+							showSearchResults(searchField.getText());
+						}
+					}
+				});
+			}
+			@Override
+			public void removeUpdate(DocumentEvent e) {}
+			@Override
+			public void changedUpdate(DocumentEvent e) {}
+		});
+		
 		//creates the label to describe the exit button
 		JLabel exitLabel = new JLabel();
 		exitLabel.setFont(new Font("Consolas", Font.PLAIN, 18));
@@ -634,9 +1108,9 @@ public class QuizMenu extends MouseAdapter implements ActionListener{
 		
 		//create the button to exit the question viewing panel
 		JButton exitButton = new JButton();
-		exitButton.setIcon(new ImageIcon("./Icons/Exit Icon Unselected.png"));
-		exitButton.setPressedIcon(new ImageIcon("./Icons/Exit Icon Selected.png"));
-		exitButton.setRolloverIcon(new ImageIcon("./Icons/Exit Icon Rollover.png"));
+		exitButton.setIcon(IconCache.get("Exit Icon Unselected.png"));
+		exitButton.setPressedIcon(IconCache.get("Exit Icon Selected.png"));
+		exitButton.setRolloverIcon(IconCache.get("Exit Icon Rollover.png"));
 		exitButton.setOpaque(false);
 		exitButton.setContentAreaFilled(false);
 		exitButton.setBorderPainted(false);
@@ -674,6 +1148,8 @@ public class QuizMenu extends MouseAdapter implements ActionListener{
 		viewQsPanel.add(matchingButton);
 		viewQsPanel.add(changePass);
 		viewQsPanel.add(directions);
+		viewQsPanel.add(searchLabel);
+		viewQsPanel.add(searchField);
 		viewQsPanel.add(exitButton);
 		viewQsPanel.add(exitLabel);
 		
@@ -712,9 +1188,17 @@ public class QuizMenu extends MouseAdapter implements ActionListener{
 		//set up the location of the label for instructions
 		qTypesLayout.putConstraint(SpringLayout.EAST, directions, 0, SpringLayout.EAST, viewQsPanel);
 		qTypesLayout.putConstraint(SpringLayout.WEST, directions, 0, SpringLayout.WEST, viewQsPanel);
-		qTypesLayout.putConstraint(SpringLayout.SOUTH, directions, 0, SpringLayout.NORTH, mcqButton);
+		qTypesLayout.putConstraint(SpringLayout.SOUTH, directions, 0, SpringLayout.NORTH, searchField);
 		qTypesLayout.putConstraint(SpringLayout.NORTH, directions, 0, SpringLayout.NORTH, viewQsPanel);
 		
+		//set up the location of the search field and its label, just above the question buttons
+		qTypesLayout.putConstraint(SpringLayout.WEST, searchLabel, 175, SpringLayout.WEST, viewQsPanel);
+		qTypesLayout.putConstraint(SpringLayout.VERTICAL_CENTER, searchLabel, 0, SpringLayout.VERTICAL_CENTER, searchField);
+		qTypesLayout.putConstraint(SpringLayout.WEST, searchField, 10, SpringLayout.EAST, searchLabel);
+		qTypesLayout.putConstraint(SpringLayout.EAST, searchField, -175, SpringLayout.EAST, viewQsPanel);
+		qTypesLayout.putConstraint(SpringLayout.SOUTH, searchField, -12, SpringLayout.NORTH, mcqButton);
+		qTypesLayout.putConstraint(SpringLayout.NORTH, searchField, -34, SpringLayout.SOUTH, searchField);
+		
 		//set up the location of the exit button
 		qTypesLayout.putConstraint(SpringLayout.EAST, exitButton, -15, SpringLayout.WEST, matchingButton);
 		qTypesLayout.putConstraint(SpringLayout.WEST, exitButton, 15, SpringLayout.WEST, viewQsPanel);
@@ -755,9 +1239,9 @@ public class QuizMenu extends MouseAdapter implements ActionListener{
 				
 		//add button to return to previous page
 		JButton returnButton = new JButton();
-		returnButton.setIcon(new ImageIcon("./Icons/Return Page Button.png"));
-		returnButton.setPressedIcon(new ImageIcon("./Icons/Return Page Button Selected.png"));
-		returnButton.setRolloverIcon(new ImageIcon("./Icons/Return Page Button Rollover.png"));
+		returnButton.setIcon(IconCache.get("Return Page Button.png"));
+		returnButton.setPressedIcon(IconCache.get("Return Page Button Selected.png"));
+		returnButton.setRolloverIcon(IconCache.get("Return Page Button Rollover.png"));
 		returnButton.setOpaque(false);
 		returnButton.setContentAreaFilled(false);
 		returnButton.setBorderPainted(false);
@@ -771,215 +1255,159 @@ public class QuizMenu extends MouseAdapter implements ActionListener{
 		});
 		
 		
-		//JPanel for questions
-		JPanel questionsPanel = new JPanel();
-		questionsPanel.setPreferredSize(new Dimension(900,3000));
-		questionsPanel.setOpaque(false);
-		SpringLayout questionsLayout = new SpringLayout();
-		questionsPanel.setLayout(questionsLayout);
-				
+		//list of question cards, which only lays out the cards that are scrolled to
+		QuestionCardList questionsList = new QuestionCardList();
 		
-		//read and store the database
-		JSONObject database = null;
+		//get the question bank, which is only parsed again if the database has changed
+		QuestionBank bank = null;
 		try {
-			database = (JSONObject)(PARSER.parse(new FileReader("./JSONfiles/testQuestions.json")));
+			bank = QuestionBank.getBank();
 		} 
 		catch (IOException | ParseException e) {
-			//Use backup database if exception occurs
-			try {
-				database = (JSONObject)(PARSER.parse(new FileReader("./JSONfiles/backup/testQuestions.json")));
-			} catch (IOException | ParseException e1) {}
+			e.printStackTrace();
+			return;
 		}
 		
-		//get the correct array of questions and set the panel size based on type
-		JSONArray qArray = null;
+		//get the correct list of questions
+		List<QuestionData> qArray = null;
 		if (questionType == 1) {
-			qArray = (JSONArray) database.get("mcq");
-			questionsPanel.setPreferredSize(new Dimension(900,2800));
+			qArray = bank.getQuestions(QuestionType.MCQ);
 		}
 		if (questionType == 2) {
-			qArray = (JSONArray) database.get("Multiple Select");
-			questionsPanel.setPreferredSize(new Dimension(900,2900));
+			qArray = bank.getQuestions(QuestionType.MULTIPLE_SELECT);
 		}
 		if (questionType == 3) {
-			qArray = (JSONArray) database.get("True or False");
-			questionsPanel.setPreferredSize(new Dimension(900,1700));
+			qArray = bank.getQuestions(QuestionType.TRUE_OR_FALSE);
 		}
 		if (questionType == 4) {
-			qArray = (JSONArray) database.get("Fill-in Blank");
-			questionsPanel.setPreferredSize(new Dimension(900,1700));
+			qArray = bank.getQuestions(QuestionType.FILL_IN_BLANK);
 		}
 		if (questionType == 5) {
-			qArray = (JSONArray) database.get("Matching");
-			questionsPanel.setPreferredSize(new Dimension(900,2500));
+			qArray = bank.getQuestions(QuestionType.MATCHING);
 		}
 		
-		//ArrayList of all the labels for the questions
-		ArrayList<JLabel> questionLabels = new ArrayList<JLabel>();
-	
-		for (int i = 0; i < qArray.size(); i++) {
-			
-			JSONObject questionObject = (JSONObject) qArray.get(i);
-			
-			//gets the text of the question and its number
-			String questionText = "<html>" + (String) questionObject.get("question") + "</html>";
-			
-			//sets up the label for the question
-			JLabel question = new JLabel();
-			question.setText(questionText);
-			question.setFont(new Font("Trebuchet MS", Font.BOLD, 25));
-			question.setForeground(new Color(25,25,25));
-			question.setHorizontalAlignment(JLabel.LEFT);
-			question.setOpaque(false);
-			
-			//adds all the labels to the ArrayList for them
-			questionLabels.add(question);
-			
-			//adds the labels to the questionsPanel
-			questionsPanel.add(question);
-			
-			//sets top position based on whether if it is the first question or not
-			if (i == 0) {
-				questionsLayout.putConstraint(SpringLayout.NORTH, question, 20, SpringLayout.NORTH, questionsPanel);
-			}
-			else {
-				questionsLayout.putConstraint(SpringLayout.NORTH, question, 0, SpringLayout.SOUTH, questionLabels.get(i*3-2));
-			}
-			//sets the position of the question label
-			questionsLayout.putConstraint(SpringLayout.EAST, question, -125, SpringLayout.EAST, questionsPanel);
-			questionsLayout.putConstraint(SpringLayout.WEST, question, 25, SpringLayout.WEST, questionsPanel);
-			questionsLayout.putConstraint(SpringLayout.SOUTH, question, questionText.length() > 75 ? 90 : 60, 
-					SpringLayout.NORTH, question);			//set size based on the text's length
-			
-			
-			//if the question type requires more than one line
-			if (questionType == 1 || questionType == 2 || questionType == 5) {
-				
-				//get certain values and display different text if the question type is matching
-				String dbKey1 = questionType == 5 ? "groupA" : "choices";
-				String dbKey2 = questionType == 5 ? "groupB" : "answer";
-				String group1Title = questionType == 5 ? "Group A" : "Choices";
-				String group2Title = questionType == 5 ? "Group B" : "Correct Answer";
-				
-				//create ArrayList of all choices
-				ArrayList<String> choicesArray = new ArrayList<String>();
-				JSONArray choicesJSON = (JSONArray) questionObject.get(dbKey1);
-				for (int i1 = 0; i1 < choicesJSON.size(); i1++) {
-					choicesArray.add((String) choicesJSON.get(i1));
-				}
-				
-				//gets and sets up the text of the user answer
-				String choicesString = "<html><span style=\"text-decoration: underline;\"><strong>"
-						+ group1Title + ":</strong></span>";
-				
-				for (int a = 0; a < choicesArray.size(); a++) {
-					choicesString += "<br>" + choicesArray.get(a);
-				}
-				choicesString += "<html>";
-				
-				//gets and sets up the text of the correct answer
-				String correctAnswerText = "<html><span style=\"text-decoration: underline;\"><strong>"
-						+ group2Title + ":</strong></span>";
-				
-				//if multiple select, get an array of answers
-				if (questionType == 2 || questionType == 5) {
-					
-					ArrayList<String> answer = new ArrayList<String>();
-					JSONArray answersJSON = (JSONArray) questionObject.get(dbKey2);
-					for (int i1 = 0; i1 < answersJSON.size(); i1++) {
-						answer.add((String) answersJSON.get(i1));
-					}
-					
-					//gets and formats each part of a correct answer
-					for (int a = 0; a < answer.size(); a++) {
-						correctAnswerText += "<br>" + answer.get(a);
-					}	
-					correctAnswerText += "<html>";
-				}
-				//if questionType is mcq have a single correct answer
-				else {
-					correctAnswerText += "<br>" + (String) questionObject.get("answer") + "<html>";
-				}
-				
-				//sets up the label for the user answer
-				JLabel choices = new JLabel();
-				choices.setText(choicesString);
-				choices.setFont(new Font("Trebuchet MS", Font.PLAIN, 18));
-				choices.setForeground(Color.LIGHT_GRAY);
-				choices.setHorizontalAlignment(JLabel.LEFT);
-				choices.setVerticalAlignment(JLabel.TOP);
-				choices.setOpaque(false);
-				
-				
-				//sets up the label for the correct answer
-				JLabel correctAnswer = new JLabel();
-				correctAnswer.setText(correctAnswerText);
-				correctAnswer.setFont(new Font("Trebuchet MS", Font.PLAIN, 18));
-				correctAnswer.setForeground(Color.LIGHT_GRAY);
-				correctAnswer.setHorizontalAlignment(JLabel.LEFT);
-				correctAnswer.setVerticalAlignment(JLabel.TOP);
-				correctAnswer.setOpaque(false);
-				
-				//adds all the labels to the ArrayList for them
-				questionLabels.add(choices);
-				questionLabels.add(correctAnswer);
-				
-				//adds the labels to the questionsPanel
-				questionsPanel.add(choices);
-				questionsPanel.add(correctAnswer);
-				
-				//sets the position of the choices label
-				questionsLayout.putConstraint(SpringLayout.NORTH, choices, 20, SpringLayout.SOUTH, question);
-				questionsLayout.putConstraint(SpringLayout.EAST, choices, 0, SpringLayout.HORIZONTAL_CENTER, questionsPanel);
-				questionsLayout.putConstraint(SpringLayout.WEST, choices, 40, SpringLayout.WEST, questionsPanel);
-				questionsLayout.putConstraint(SpringLayout.SOUTH, choices, choicesString.length() > 200 ? 160 : 130, 
-						SpringLayout.NORTH, choices);			//set size based on the text's length
+		//add a card for each question
+		questionsList.setQuestions(qArray);
+		
 
-				//sets the position of the correct answer label
-				questionsLayout.putConstraint(SpringLayout.NORTH, correctAnswer, 20, SpringLayout.SOUTH, question);
-				questionsLayout.putConstraint(SpringLayout.EAST, correctAnswer, -40, SpringLayout.EAST, questionsPanel);
-				questionsLayout.putConstraint(SpringLayout.WEST, correctAnswer, 30, SpringLayout.HORIZONTAL_CENTER, questionsPanel);
-				questionsLayout.putConstraint(SpringLayout.SOUTH, correctAnswer, correctAnswerText.length() > 200 ? 160 : 120, 
-						SpringLayout.NORTH, correctAnswer);			//set size based on the text's length
-			}
-			
-			//if the question only requires one line
-			else {
-				
-				//get the answer
-				String correctAnswerText = "<html><p style=\"text-align: center;\"><span style=\"text-decoration: underline;\">"
-						+ "<strong>Correct Answer:</strong></span>";
-				correctAnswerText += " " + (String) questionObject.get("answer") + "</p><html>";
-				
-				//sets up the label for the correct answer
-				JLabel correctAnswer = new JLabel();
-				correctAnswer.setText(correctAnswerText);
-				correctAnswer.setFont(new Font("Trebuchet MS", Font.PLAIN, 18));
-				correctAnswer.setForeground(Color.LIGHT_GRAY);
-				correctAnswer.setHorizontalAlignment(JLabel.CENTER);
-				correctAnswer.setVerticalAlignment(JLabel.CENTER);
-				correctAnswer.setOpaque(false);
-				
-				//update the ArrayList
-				questionLabels.add(correctAnswer);
-				questionLabels.add(null);
-				
-				//adds the label to the questionsPanel
-				questionsPanel.add(correctAnswer);
+		//sets up the scroll pane for the questions
+		JScrollPane scrollQuestions = new JScrollPane(questionsList);
+		scrollQuestions.setOpaque(false);
+		scrollQuestions.getViewport().setOpaque(false);
+		scrollQuestions.setBorder(BorderFactory.createEmptyBorder());
+		scrollQuestions.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);  
+		scrollQuestions.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_ALWAYS);
+		
+		//modifies the scroll bar itself, and sets it to the custom UI
+		scrollQuestions.getVerticalScrollBar().setUI(new CustomScrollUI());
+		scrollQuestions.getVerticalScrollBar().setOpaque(false);
+		scrollQuestions.getVerticalScrollBar().setUnitIncrement(8);
+		((CustomScrollUI) scrollQuestions.getVerticalScrollBar().getUI()).fadeIn();
+		
+		
+		//add the components to the panel
+		qPanel.add(returnButton);
+		qPanel.add(scrollQuestions);
+		
+		//set up the location of the button to return
+		qLayout.putConstraint(SpringLayout.EAST, returnButton, 0, SpringLayout.EAST, qPanel);
+		qLayout.putConstraint(SpringLayout.WEST, returnButton, 0, SpringLayout.WEST, qPanel);
+		qLayout.putConstraint(SpringLayout.NORTH, returnButton, 0, SpringLayout.NORTH, qPanel);
+		qLayout.putConstraint(SpringLayout.SOUTH, returnButton, 60, SpringLayout.NORTH, qPanel);
+		
+		//set up location of questions panel
+		qLayout.putConstraint(SpringLayout.EAST, scrollQuestions, 0, SpringLayout.EAST, qPanel);
+		qLayout.putConstraint(SpringLayout.WEST, scrollQuestions, 0, SpringLayout.WEST, qPanel);
+		qLayout.putConstraint(SpringLayout.SOUTH, scrollQuestions, 0, SpringLayout.SOUTH, qPanel);
+		qLayout.putConstraint(SpringLayout.NORTH, scrollQuestions, 60, SpringLayout.NORTH, qPanel);
+		
+		
+		//add panel to the frame
+		frame.add(qPanel);
+		frame.repaint();
+		frame.revalidate();
 				
-				//sets the position of the correct answer label
-				questionsLayout.putConstraint(SpringLayout.NORTH, correctAnswer, 20, SpringLayout.SOUTH, question);
-				questionsLayout.putConstraint(SpringLayout.EAST, correctAnswer, -40, SpringLayout.EAST, questionsPanel);
-				questionsLayout.putConstraint(SpringLayout.WEST, correctAnswer, 40, SpringLayout.WEST, questionsPanel);
-				questionsLayout.putConstraint(SpringLayout.SOUTH, correctAnswer, 40, SpringLayout.NORTH, correctAnswer);
+	}
+	
+	/**
+	 * Creates a text field for searching the database's questions, styled like the fields of the
+	 * export prompt
+	 * @return The search field
+	 */
+	private JTextField createSearchField() {
+		
+		JTextField searchField = new JTextField();
+		searchField.setBackground(new Color(25,25,25));
+		searchField.setForeground(Color.LIGHT_GRAY);
+		searchField.setCaretColor(Color.LIGHT_GRAY);
+		searchField.setBorder(BorderFactory.createCompoundBorder(new LineBorder(Color.LIGHT_GRAY, 2, true),
+				BorderFactory.createEmptyBorder(0, 6, 0, 6)));
+		searchField.setFont(new Font("Consolas", Font.PLAIN, 16));
+		return searchField;
+	}
+	
+	
+	/**
+	 * Shows the questions of every type in the database that match a search, which are
+	 * searched again each time the search is changed
+	 * @param query The search to show the results of
+	 */
+	protected void showSearchResults(String query) {
+		
+		//clear the frame
+		frame.getContentPane().removeAll();
+		frame.repaint();
+		frame.revalidate();
+	
+		//create the base panel
+		GradientPanel searchPanel = new GradientPanel();
+		SpringLayout searchLayout = new SpringLayout();
+		searchPanel.setLayout(searchLayout);
 				
+		//add button to return to previous page
+		JButton returnButton = new JButton();
+		returnButton.setIcon(IconCache.get("Return Page Button.png"));
+		returnButton.setPressedIcon(IconCache.get("Return Page Button Selected.png"));
+		returnButton.setRolloverIcon(IconCache.get("Return Page Button Rollover.png"));
+		returnButton.setOpaque(false);
+		returnButton.setContentAreaFilled(false);
+		returnButton.setBorderPainted(false);
+		returnButton.setFocusable(false);
+		returnButton.setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
+		returnButton.addActionListener(new ActionListener() {
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				showQuestionTypes();
 			}
-			
-		}
+		});
+		
+		//list of cards for the matching questions
+		QuestionCardList resultsList = new QuestionCardList();
+		
+		//sets up the label for the number of matches
+		JLabel countLabel = new JLabel();
+		countLabel.setFont(new Font("Trebuchet MS", Font.ITALIC, 18));
+		countLabel.setForeground(new Color(25,25,25));
+		
+		//sets up the field for the search, which shows the new results as it is typed in
+		JTextField searchField = createSearchField();
+		searchField.setText(query);
+		searchField.getDocument().addDocumentListener(new DocumentListener() {
+			@Override
+			public void insertUpdate(DocumentEvent e) {
+				updateSearchResults(resultsList, countLabel, searchField);
+			}
+			@Override
+			public void removeUpdate(DocumentEvent e) {
+				updateSearchResults(resultsList, countLabel, searchField);
+			}
+			@Override
+			public void changedUpdate(DocumentEvent e) {}
+		});
+		updateSearchResults(resultsList, countLabel, searchField);
 		
-
 		//sets up the scroll pane for the questions
-		JScrollPane scrollQuestions = new JScrollPane(questionsPanel) ;
+		JScrollPane scrollQuestions = new JScrollPane(resultsList);
 		scrollQuestions.setOpaque(false);
 		scrollQuestions.getViewport().setOpaque(false);
 		scrollQuestions.setBorder(BorderFactory.createEmptyBorder());
@@ -992,31 +1420,130 @@ public class QuizMenu extends MouseAdapter implements ActionListener{
 		scrollQuestions.getVerticalScrollBar().setUnitIncrement(8);
 		((CustomScrollUI) scrollQuestions.getVerticalScrollBar().getUI()).fadeIn();
 		
-		
 		//add the components to the panel
-		qPanel.add(returnButton);
-		qPanel.add(scrollQuestions);
+		searchPanel.add(returnButton);
+		searchPanel.add(searchField);
+		searchPanel.add(countLabel);
+		searchPanel.add(scrollQuestions);
 		
 		//set up the location of the button to return
-		qLayout.putConstraint(SpringLayout.EAST, returnButton, 0, SpringLayout.EAST, qPanel);
-		qLayout.putConstraint(SpringLayout.WEST, returnButton, 0, SpringLayout.WEST, qPanel);
-		qLayout.putConstraint(SpringLayout.NORTH, returnButton, 0, SpringLayout.NORTH, qPanel);
-		qLayout.putConstraint(SpringLayout.SOUTH, returnButton, 60, SpringLayout.NORTH, qPanel);
+		searchLayout.putConstraint(SpringLayout.EAST, returnButton, 0, SpringLayout.EAST, searchPanel);
+		searchLayout.putConstraint(SpringLayout.WEST, returnButton, 0, SpringLayout.WEST, searchPanel);
+		searchLayout.putConstraint(SpringLayout.NORTH, returnButton, 0, SpringLayout.NORTH, searchPanel);
+		searchLayout.putConstraint(SpringLayout.SOUTH, returnButton, 60, SpringLayout.NORTH, searchPanel);
 		
-		//set up location of questions panel
-		qLayout.putConstraint(SpringLayout.EAST, scrollQuestions, 0, SpringLayout.EAST, qPanel);
-		qLayout.putConstraint(SpringLayout.WEST, scrollQuestions, 0, SpringLayout.WEST, qPanel);
-		qLayout.putConstraint(SpringLayout.SOUTH, scrollQuestions, 0, SpringLayout.SOUTH, qPanel);
-		qLayout.putConstraint(SpringLayout.NORTH, scrollQuestions, 60, SpringLayout.NORTH, qPanel);
+		//set up the location of the search field, with the number of matches below it
+		searchLayout.putConstraint(SpringLayout.EAST, searchField, -175, SpringLayout.EAST, searchPanel);
+		searchLayout.putConstraint(SpringLayout.WEST, searchField, 175, SpringLayout.WEST, searchPanel);
+		searchLayout.putConstraint(SpringLayout.NORTH, searchField, 12, SpringLayout.SOUTH, returnButton);
+		searchLayout.putConstraint(SpringLayout.SOUTH, searchField, 34, SpringLayout.NORTH, searchField);
 		
+		searchLayout.putConstraint(SpringLayout.WEST, countLabel, 0, SpringLayout.WEST, searchField);
+		searchLayout.putConstraint(SpringLayout.NORTH, countLabel, 6, SpringLayout.SOUTH, searchField);
 		
-		//add panel to the frame
-		frame.add(qPanel);
+		//set up location of questions panel
+		searchLayout.putConstraint(SpringLayout.EAST, scrollQuestions, 0, SpringLayout.EAST, searchPanel);
+		searchLayout.putConstraint(SpringLayout.WEST, scrollQuestions, 0, SpringLayout.WEST, searchPanel);
+		searchLayout.putConstraint(SpringLayout.SOUTH, scrollQuestions, 0, SpringLayout.SOUTH, searchPanel);
+		searchLayout.putConstraint(SpringLayout.NORTH, scrollQuestions, 4, SpringLayout.SOUTH, countLabel);
+		
+		//add panel to the frame, keeping the search field ready to type in
+		frame.add(searchPanel);
 		frame.repaint();
 		frame.revalidate();
+		searchField.requestFocusInWindow();
+	}
+	
+	
+	/**
+	 * Searches the database's questions and replaces the questions shown in a list with the matches
+	 * @param resultsList The list to show the matching questions in
+	 * @param countLabel The label to show the number of matches in
+	 * @param searchField The field the search is typed in
+	 */
+	private void updateSearchResults(QuestionCardList resultsList, JLabel countLabel, JTextField searchField) {
+		
+		//the index is only built again if the database has changed, which is done in the background
+		QuestionIndex index;
+		try {
+			index = QuestionIndex.getReadyIndex();
+		}
+		catch (IOException | ParseException e) {
+			e.printStackTrace();
+			return;
+		}
+		
+		if (index == null) {
+			
+			//search again once the index is built, with whatever has been typed by then
+			resultsList.setQuestions(new ArrayList<QuestionData>());
+			countLabel.setText("Indexing the questions...");
+			indexWaiter = new Runnable() {
+				@Override
+				public void run() {
+					if (resultsList.isShowing()) {
+						updateSearchResults(resultsList, countLabel, searchField);
+					}
+				}
+			};
+			buildSearchIndex();
+			return;
+		}
+		
+		String query = searchField.getText();
+		List<QuestionData> results = index.search(query);
+		
+		//every match can be shown, since only the cards that are scrolled to are laid out
+		resultsList.setQuestions(results);
+		if (query.trim().isEmpty()) {
+			countLabel.setText("Type to search the questions, choices, and answers of every type");
+		}
+		else {
+			countLabel.setText(results.size() + (results.size() == 1 ? " matching question" : " matching questions"));
+		}
+	}
+	
+	
+	/**
+	 * Builds the index of the database's questions in the background, unless it is already being
+	 * built, and then shows the search that is waiting for it, if there is one
+	 */
+	private void buildSearchIndex() {
+		
+		if (indexWorker != null) {
+			return;
+		}
+		
+		indexWorker = new SwingWorker<QuestionIndex, Void>() {
+			
+			@Override
+			protected QuestionIndex doInBackground() throws IOException, ParseException {
+				return QuestionIndex.getIndex();
+			}
+			
+			@Override
+			protected void done() {
+				
+				indexWorker = null;
+				try {
+					get();
+				}
+				catch (InterruptedException | ExecutionException e) {
+					e.printStackTrace();
+					return;
+				}
 				
+				if (indexWaiter != null) {
+					Runnable waiter = indexWaiter;
+					indexWaiter = null;
+					waiter.run();
+				}
+			}
+		};
+		indexWorker.execute();
 	}
 	
+	
 	/**
 	 * Creates a dialog box to ask for the user to enter a password, either to verify the user or
 	 * change the password
@@ -1026,18 +1553,15 @@ public class QuizMenu extends MouseAdapter implements ActionListener{
 	 */
 	protected void showPasswordPrompt(String message, boolean verifyPassword) {
 		
-		//read the password from the database
-		JSONObject database = null;
+		//read the password from the question bank
+		String storedPass = null;
 		try {
-			database = (JSONObject)(PARSER.parse(new FileReader("./JSONfiles/testQuestions.json")));
+			storedPass = QuestionBank.getBank().getPassword();
 		} 
 		catch (IOException | ParseException e1) {
-			//Use backup database if exception occurs
-			try {
-				database = (JSONObject)(PARSER.parse(new FileReader("./JSONfiles/backup/testQuestions.json")));
-			} catch (IOException | ParseException e2) {}
+			e1.printStackTrace();
 		}
-		String correctPass = (String) database.get("password");
+		String correctPass = storedPass;
 		
 		JFrame passFrame = new JFrame("Enter the password");
 		passFrame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
@@ -1076,9 +1600,9 @@ public class QuizMenu extends MouseAdapter implements ActionListener{
 		
 		//create a button to be able to view the password
 		JToggleButton eyeButton = new JToggleButton();
-		eyeButton.setIcon(new ImageIcon("./Icons/Eye Icon.png"));
-		eyeButton.setSelectedIcon(new ImageIcon("./Icons/Eye Icon Selected.png"));
-		eyeButton.setRolloverIcon(new ImageIcon("./Icons/Eye Icon Rollover.png"));
+		eyeButton.setIcon(IconCache.get("Eye Icon.png"));
+		eyeButton.setSelectedIcon(IconCache.get("Eye Icon Selected.png"));
+		eyeButton.setRolloverIcon(IconCache.get("Eye Icon Rollover.png"));
 		eyeButton.setOpaque(false);
 		eyeButton.setContentAreaFilled(false);
 		eyeButton.setBorderPainted(false);
@@ -1140,28 +1664,15 @@ public class QuizMenu extends MouseAdapter implements ActionListener{
 				//if it is meant to update the password
 				else {
 					
-					//read the database
-					JSONObject database = null;
-					try {
-						database = (JSONObject)(PARSER.parse(new FileReader("./JSONfiles/testQuestions.json")));
-					} 
-					catch (IOException | ParseException e1) {
-						//Use backup database if exception occurs
-						try {
-							database = (JSONObject)(PARSER.parse(new FileReader("./JSONfiles/backup/testQuestions.json")));
-						} catch (IOException | ParseException e2) {}
-					}
-					
 					//update the database with the password
-					database.put("password", (String)(String.valueOf(passwordField.getPassword())));
-					
-					//write to output file
-					try (Writer out = new FileWriter("./JSONfiles/testQuestions.json")) {
-					    out.write(database.toJSONString());
+					try {
+						QuestionBank.getBank().setPassword(String.valueOf(passwordField.getPassword()));
 					    incorrectPassLabel.setText("Password changed successfully");
 					    incorrectPassLabel.setForeground(Color.green);
 					    incorrectPassLabel.setVisible(true);
-					} catch (IOException e1) {}
+					} catch (IOException | ParseException e1) {
+						e1.printStackTrace();
+					}
 				}
 			}
 		});
@@ -1229,7 +1740,7 @@ public class QuizMenu extends MouseAdapter implements ActionListener{
 			
 			//create the quiz object
 			try {
-				quiz = new Quiz(frame, this);
+				quiz = new Quiz(frame, this, quizLength);
 			} catch (IOException | ParseException e1) {
 				e1.printStackTrace();
 			}
@@ -1342,13 +1853,35 @@ public class QuizMenu extends MouseAdapter implements ActionListener{
 	@SuppressWarnings("serial")
 	private class GradientPanel extends JPanel {
 		
+		/** The most time rendering the gradient should take each frame, in nanoseconds */
+		static final long RENDER_BUDGET = 6000000;
+		/** The longest time between steps of the gradient, when rendering it is over budget, in milliseconds */
+		static final int MAX_STEP_INTERVAL = Animator.FRAME_DELAY * 4;
+		
 		/** The point around which to center the panel's gradient */
 		Point bluePoint, cyanPoint;
-		/** The timer to animate the gradient of the panel */
-		Timer rotateGradient;
+		/** The direction the blue point of the gradient is moving in, per step */
+		int dx = -10, dy = 0;
+		/** The animation that rotates the gradient of the panel, or null while it is paused or stopped */
+		Animator.Animation rotateGradient;
+		/** Whether the gradient should rotate while it can be seen */
+		boolean animating;
+		/** The window the panel is in, which is watched for being minimized */
+		Window watchedWindow;
+		/** Whether the window the panel is in is minimized */
+		boolean iconified;
 		/** One of the colors of the gradient */
 		Color darkColor, lighterColor;
 		
+		/** The rendered gradient, which is reused until the panel is resized or the gradient moves */
+		BufferedImage gradientImage;
+		/** Whether the gradient has moved since it was last rendered */
+		boolean gradientMoved;
+		/** The average time it takes to render the gradient, in nanoseconds */
+		long averageRenderTime;
+		/** The time between steps of the gradient, which grows if rendering is over budget, in milliseconds */
+		int stepInterval = Animator.FRAME_DELAY;
+		
 		/**
 		 * Creates a default GradientPanel object, without any components
 		 */
@@ -1358,6 +1891,8 @@ public class QuizMenu extends MouseAdapter implements ActionListener{
 			
 			darkColor = new Color(0x0000AA);
 			lighterColor = new Color(0x1088FF);
+			
+			watchVisibility();
 		}
 		
 		/**
@@ -1370,6 +1905,7 @@ public class QuizMenu extends MouseAdapter implements ActionListener{
 			
 			darkColor = new Color(0x00007F);
 			lighterColor = new Color(0x10AAFF);
+			watchVisibility();
 			
 			//create the JPanel which would hold the home screen
 			SpringLayout homeLayout = new SpringLayout();
@@ -1396,9 +1932,9 @@ public class QuizMenu extends MouseAdapter implements ActionListener{
 			
 			//sets up the button to start the quiz
 			startButton = new JButton();
-			startButton.setIcon(new ImageIcon("./Icons/Start Quiz Button.png"));
-			startButton.setPressedIcon(new ImageIcon("./Icons/Start Quiz Button Selected.png"));
-			startButton.setRolloverIcon(new ImageIcon("./Icons/Start Quiz Button Rollover.png"));
+			startButton.setIcon(IconCache.get("Start Quiz Button.png"));
+			startButton.setPressedIcon(IconCache.get("Start Quiz Button Selected.png"));
+			startButton.setRolloverIcon(IconCache.get("Start Quiz Button Rollover.png"));
 			startButton.setOpaque(false);
 			startButton.setContentAreaFilled(false);
 			startButton.setBorderPainted(false);
@@ -1409,9 +1945,9 @@ public class QuizMenu extends MouseAdapter implements ActionListener{
 			
 			//sets up the button to view the scores
 			scoresButton = new JButton();
-			scoresButton.setIcon(new ImageIcon("./Icons/View Scores Button.png"));
-			scoresButton.setPressedIcon(new ImageIcon("./Icons/View Scores Button Selected.png"));
-			scoresButton.setRolloverIcon(new ImageIcon("./Icons/View Scores Button Rollover.png"));
+			scoresButton.setIcon(IconCache.get("View Scores Button.png"));
+			scoresButton.setPressedIcon(IconCache.get("View Scores Button Selected.png"));
+			scoresButton.setRolloverIcon(IconCache.get("View Scores Button Rollover.png"));
 			scoresButton.setOpaque(false);
 			scoresButton.setContentAreaFilled(false);
 			scoresButton.setBorderPainted(false);
@@ -1422,9 +1958,9 @@ public class QuizMenu extends MouseAdapter implements ActionListener{
 			
 			//sets up the button to view the questions database
 			questionsButton = new JButton();
-			questionsButton.setIcon(new ImageIcon("./Icons/View Questions Button.png"));
-			questionsButton.setPressedIcon(new ImageIcon("./Icons/View Questions Button Selected.png"));
-			questionsButton.setRolloverIcon(new ImageIcon("./Icons/View Questions Button Rollover.png"));
+			questionsButton.setIcon(IconCache.get("View Questions Button.png"));
+			questionsButton.setPressedIcon(IconCache.get("View Questions Button Selected.png"));
+			questionsButton.setRolloverIcon(IconCache.get("View Questions Button Rollover.png"));
 			questionsButton.setOpaque(false);
 			questionsButton.setContentAreaFilled(false);
 			questionsButton.setBorderPainted(false);
@@ -1435,9 +1971,9 @@ public class QuizMenu extends MouseAdapter implements ActionListener{
 			
 			//sets up the help button
 			JButton helpButton = new JButton();
-			helpButton.setIcon(new ImageIcon("./Icons/Help Menu Button.png"));
-			helpButton.setPressedIcon(new ImageIcon("./Icons/Help Menu Button Selected.png"));
-			helpButton.setRolloverIcon(new ImageIcon("./Icons/Help Menu Button Rollover.png"));
+			helpButton.setIcon(IconCache.get("Help Menu Button.png"));
+			helpButton.setPressedIcon(IconCache.get("Help Menu Button Selected.png"));
+			helpButton.setRolloverIcon(IconCache.get("Help Menu Button Rollover.png"));
 			helpButton.setOpaque(false);
 			helpButton.setContentAreaFilled(false);
 			helpButton.setBorderPainted(false);
@@ -1464,14 +2000,14 @@ public class QuizMenu extends MouseAdapter implements ActionListener{
 					instructionsText.setText("<html><body style='width: 600px;'><p style=\"text-align: center;\"><strong>To Take a Quiz:</strong></p>\r\n"
 							+ "<ol>\r\n"
 							+ "<li style=\"text-align: left;\">Click the Start Quiz button and confirm to start the quiz.</li>\r\n"
-							+ "<li style=\"text-align: left;\">Answer the quiz's five questions to the best of your ability, following the instructions provided in light grey. To move between questions, use the next and back buttons at the top corners. The icons on the righthand side provide useful tools to help answer the questions.</li>\r\n"
+							+ "<li style=\"text-align: left;\">Answer each of the quiz's questions to the best of your ability, following the instructions provided in light grey. To move between questions, use the next and back buttons at the top corners. The icons on the righthand side provide useful tools to help answer the questions.</li>\r\n"
 							+ "<li style=\"text-align: left;\">Once completed, submit the quiz by pressing submit and confirming.</li>\r\n"
 							+ "<li style=\"text-align: left;\">Your results will be shown, which you can then save to a PDF by clicking the top right button, or return to the main menu by clicking the top left button.</li>\r\n"
 							+ "</ol>\r\n"
 							+ "<p style=\"text-align: center;\"><strong>To View Previous Scores:</strong></p>\r\n"
 							+ "<ol>\r\n"
 							+ "<li style=\"text-align: left;\">Click the View Scores button which will bring you to a list of all the previous quiz's scores, organized by date they were taken.</li>\r\n"
-							+ "<li style=\"text-align: left;\">Clicking the graph button in the top right will show a graph of the previous 20 quizzes taken.</li>\r\n"
+							+ "<li style=\"text-align: left;\">Clicking the graph button in the top right will show a graph of the scores of every quiz taken. Use the Day, Week, Month, and All buttons to pick how far back it shows, scroll on the graph to zoom in or out, and drag it to move through the history.</li>\r\n"
 							+ "<li style=\"text-align: left;\">To view a quiz's report, scroll to and click on the quiz you want to see, and its results page will show. You can save these results as a PDF by clicking the top right button.</li>\r\n"
 							+ "<li style=\"text-align: left;\">The button at the top left will return you to the previous page.</li>\r\n"
 							+ "</ol></body></html>");
@@ -1537,9 +2073,35 @@ public class QuizMenu extends MouseAdapter implements ActionListener{
 		protected void paintComponent(Graphics g) {
 			
 			super.paintComponent(g);
+			if (getWidth() <= 0 || getHeight() <= 0) {
+				return;
+			}
+			
+			//only render the gradient again if the panel was resized or the gradient moved
+			if (gradientImage == null || gradientImage.getWidth() != getWidth() || gradientImage.getHeight() != getHeight()) {
+				gradientImage = getGraphicsConfiguration() == null
+						? new BufferedImage(getWidth(), getHeight(), BufferedImage.TYPE_INT_RGB)
+						: getGraphicsConfiguration().createCompatibleImage(getWidth(), getHeight());
+				gradientMoved = true;
+			}
+			if (gradientMoved) {
+				renderGradient();
+				gradientMoved = false;
+			}
+			
+			g.drawImage(gradientImage, 0, 0, null);
+		}
+		
+		
+		/**
+		 * Renders the gradient into the cached image, and times how long it takes
+		 */
+		private void renderGradient() {
+			
+			long renderStart = System.nanoTime();
 			
 	        //casts Graphics object to new Graphics2D object
-			Graphics2D g2d = (Graphics2D) g;		
+			Graphics2D g2d = gradientImage.createGraphics();
 			//sets priority render quality
 			g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY); 	
 	        
@@ -1547,94 +2109,291 @@ public class QuizMenu extends MouseAdapter implements ActionListener{
 	        GradientPaint gp = new GradientPaint(bluePoint.x, bluePoint.y, darkColor, cyanPoint.x, cyanPoint.y, lighterColor);
 	        g2d.setPaint(gp);
 	        g2d.fillRect(0, 0, getWidth(), getHeight());
+	        g2d.dispose();
+	        
+	        //keep a running average of the render time, and step less often while it is over budget
+	        long renderTime = System.nanoTime() - renderStart;
+	        averageRenderTime = averageRenderTime == 0 ? renderTime : (averageRenderTime * 7 + renderTime) / 8;
+	        if (averageRenderTime > RENDER_BUDGET && stepInterval < MAX_STEP_INTERVAL) {
+	        	stepInterval *= 2;
+	        }
+	        else if (averageRenderTime < RENDER_BUDGET / 2 && stepInterval > Animator.FRAME_DELAY) {
+	        	stepInterval /= 2;
+	        }
 		}
 		
 		
 		/**
-		 * Animates the gradient of the panel to rotate
+		 * Animates the gradient of the panel to rotate, whenever the panel can be seen
 		 */
 		public void animateGradient() {
+			animating = true;
+			updateAnimation();
+		}
+		
+		/**
+		 * Stop the rotating gradient animation
+		 */
+		public void stopAnimation() {
+			animating = false;
+			updateAnimation();
+		}
+		
+		
+		/**
+		 * Pauses the gradient when the panel is hidden or its window is minimized, and resumes it when it is shown again
+		 */
+		private void watchVisibility() {
 			
-			//rotate the gradient every 16 milliseconds
-			rotateGradient = new Timer(16, new ActionListener() {
-
-				int dy = 0;
-				int dx = -10;
-				
+			addHierarchyListener(new HierarchyListener() {
 				@Override
-				public void actionPerformed(ActionEvent e) {
+				public void hierarchyChanged(HierarchyEvent e) {
 					
-					//translate the points by the given amount
-					bluePoint.translate(dx, dy);
-					cyanPoint.translate(-1 * dx, -1 * dy);
-					
-					//set the amounts based on which side of the panel the point is "moving" upon and if it's out of bounds
-					if ((bluePoint.x <= 0) && (dx < 0)) {
-						dx = 0;
-						dy = -10;
-					}
-					else if ((bluePoint.y <= 0) && (dy < 0)) {
-						dx = 10;
-						dy = 0;
+					if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) == 0) {
+						return;
 					}
-					else if ((bluePoint.x >= getWidth()) && (dx > 0)) {
-						dx = 0;
-						dy = 10;
-					}
-					else if ((bluePoint.y >= getHeight()) && (dy > 0)) {
-						dx = -10;
-						dy = 0;
-						
-					}
-					
-					//repaint the panel with the new graident points
-					repaint();
 					
+					//watch the window that the panel is now in for being minimized
+					Window window = SwingUtilities.getWindowAncestor(GradientPanel.this);
+					if (window != null && window != watchedWindow) {
+						watchedWindow = window;
+						iconified = window instanceof JFrame && (((JFrame) window).getExtendedState() & JFrame.ICONIFIED) != 0;
+						window.addWindowListener(new WindowAdapter() {
+							@Override
+							public void windowIconified(WindowEvent e) {
+								iconified = true;
+								updateAnimation();
+							}
+							
+							@Override
+							public void windowDeiconified(WindowEvent e) {
+								iconified = false;
+								updateAnimation();
+							}
+						});
+					}
+					updateAnimation();
 				}
 			});
-			rotateGradient.start();
-
 		}
 		
+		
 		/**
-		 * Stop the rotating gradient animation
+		 * Starts or pauses the gradient's rotation, based on whether it should be animating and can be seen
 		 */
-		public void stopAnimation() {
-			rotateGradient.stop();
+		private void updateAnimation() {
+			
+			boolean shouldRun = animating && isShowing() && !iconified;
+			
+			if (shouldRun && rotateGradient == null) {
+				
+				//rotate the gradient by a step every frame, or less often if rendering is over budget
+				rotateGradient = new Animator.Animation() {
+
+					long timeStepped = 0;
+					
+					@Override
+					public boolean step(long elapsed) {
+						
+						//only take a step once enough time has passed, without racing to catch up after a long pause
+						if (elapsed - timeStepped < stepInterval) {
+							return true;
+						}
+						timeStepped = Math.max(timeStepped + stepInterval, elapsed - stepInterval);
+						
+						//move further each step while stepping less often, so the speed stays the same
+						int scale = stepInterval / Animator.FRAME_DELAY;
+						
+						//translate the points by the given amount
+						bluePoint.translate(dx * scale, dy * scale);
+						cyanPoint.translate(-1 * dx * scale, -1 * dy * scale);
+						
+						//set the amounts based on which side of the panel the point is "moving" upon and if it's out of bounds
+						if ((bluePoint.x <= 0) && (dx < 0)) {
+							dx = 0;
+							dy = -10;
+						}
+						else if ((bluePoint.y <= 0) && (dy < 0)) {
+							dx = 10;
+							dy = 0;
+						}
+						else if ((bluePoint.x >= getWidth()) && (dx > 0)) {
+							dx = 0;
+							dy = 10;
+						}
+						else if ((bluePoint.y >= getHeight()) && (dy > 0)) {
+							dx = -10;
+							dy = 0;
+							
+						}
+						
+						//repaint the panel with the new graident points
+						gradientMoved = true;
+						repaint();
+						return true;
+					}
+				};
+				Animator.loop(rotateGradient);
+			}
+			else if (!shouldRun && rotateGradient != null) {
+				Animator.stop(rotateGradient);
+				rotateGradient = null;
+			}
 		}
 		
 	}
 
 	
 	/**
-	 * Creates a panel which contains a line graph for the scores
+	 * The renderer which draws every row of the list of score reports. A single renderer
+	 * is shared by all of the rows, so its icons and font are only created once.
+	 * @author Varun Unnithan
+	 *
+	 */
+	@SuppressWarnings("serial")
+	private class ReportRenderer extends JComponent implements ListCellRenderer<ReportSummary> {
+		
+		/** The background of a row */
+		private final ImageIcon buttonIcon = IconCache.get("Report Button.png");
+		/** The background of a row while it is pressed */
+		private final ImageIcon pressedIcon = IconCache.get("Report Button Selected.png");
+		/** The background of a row while the mouse is over it */
+		private final ImageIcon rolloverIcon = IconCache.get("Report Button Rollover.png");
+		/** The font of a row's text */
+		private final Font rowFont = new Font("Trebuchet MS", Font.PLAIN, 30);
+		/** The color of a row's text */
+		private final Color textColor = new Color(25,25,25);
+		
+		/** The index of the row the mouse is over, or -1 if none */
+		int rolloverIndex = -1;
+		/** The index of the row being pressed, or -1 if none */
+		int pressedIndex = -1;
+		
+		/** The report of the row currently being drawn */
+		private ReportSummary report;
+		/** The background of the row currently being drawn */
+		private ImageIcon rowIcon;
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Component getListCellRendererComponent(JList<? extends ReportSummary> list, ReportSummary value,
+				int index, boolean isSelected, boolean cellHasFocus) {
+			
+			report = value;
+			rowIcon = index == pressedIndex || isSelected ? pressedIcon : index == rolloverIndex ? rolloverIcon : buttonIcon;
+			return this;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void paintComponent(Graphics g) {
+			
+			//paints the row's background, centered like the icon of a button
+			int iconX = (getWidth() - rowIcon.getIconWidth()) / 2;
+			rowIcon.paintIcon(this, g, iconX, 0);
+			
+			Graphics2D g2 = (Graphics2D) g;
+			g2.setFont(rowFont);
+			g2.setColor(textColor);
+			//turns on anti-aliasing for the text
+			g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+			
+			//a report that couldn't be read has no date
+			if (report.getDateAndTime().isEmpty()) {
+				g2.drawString("This report could not be read", iconX + 71, 40);
+				return;
+			}
+			
+			//draws the date and time + the score out of the number of questions
+			String dateAndTime = report.getDateAndTime();
+			String date = (dateAndTime.substring(0, 16)).trim() + " at " + ScoreReport.get12hrTime(dateAndTime);
+			g2.drawString(date, iconX + 71, 40);
+			g2.drawString("Score: " + report.getScore() + " / " + report.getQuestionCount(), iconX + 596, 40);
+		}
+	}
+	
+	
+	/**
+	 * Creates a panel which contains a line graph for the scores over any stretch of
+	 * their history. Scrolling zooms in or out around the mouse, and dragging pans.
+	 * The background, grid, axes, and labels are drawn into an image that is kept until
+	 * the graph is resized or moved, and the scores are drawn as paths that are built at
+	 * the same time, so painting the graph again only copies the image and draws the paths.
 	 * @author Varun Unnithan
 	 *
 	 */
 	@SuppressWarnings("serial")
 	private class ScoreGraph extends JPanel {
 
+		/** The shortest stretch of time the graph can zoom in to, in seconds */
+		private static final double MIN_SPAN = 60;
+		/** How much each notch of the mouse wheel zooms in or out by */
+		private static final double ZOOM_STEP = 1.25;
+		/** The number of labeled times along the x-axis */
+		private static final int X_TICKS = 6;
+		
 		/** The size, in pixels, of the graph's right and top borders */
 	    private int border = 25;
 	    /** The size, in pixels, of the graph's left and bottom borders */
 	    private int labelBorder = 50;
-	    /** An ArrayList of all of the scores to plot, as a value from 0-5. These values should have 
-	     * corresponding indices to that of the xLabels ArrayList and the list have a size of 20 */
-	    private ArrayList<Double> scores;
-	    /** An ArrayList of the x-axis labels, from left to right. These values should have corresponding
-	     * indices to that of the xLabels ArrayList and the list have a size of 20 */
-	    private ArrayList<String> xLabels;
+	    /** The scores to plot, over every quiz that was taken */
+	    private ScoreSeries series;
+	    /** The buckets of the stretch of the series being shown, which are filled again each time it is painted */
+	    private ScoreSeries.Buckets buckets;
+	    /** The time at the left edge of the graph, in seconds since the epoch */
+	    private double viewStart;
+	    /** The time at the right edge of the graph, in seconds since the epoch */
+	    private double viewEnd;
+	    
+	    /** The background, grid, axes, and labels, which are only drawn again once the graph is resized or moved */
+	    private BufferedImage staticLayer;
+	    /** The width of the graph the static layer was drawn for */
+	    private int staticLayerWidth;
+	    /** The height of the graph the static layer was drawn for */
+	    private int staticLayerHeight;
+	    /** The screen the static layer was drawn for, since each screen can have a different number of pixels in each of the graph's */
+	    private GraphicsConfiguration staticLayerScreen;
+	    /** Whether the graph has moved since the static layer was drawn */
+	    private boolean staticLayerStale;
+	    /** The line through the average score of each bucket being shown */
+	    private final Path2D.Double linePath = new Path2D.Double();
+	    /** The shape from the lowest to the highest score of each bucket being shown */
+	    private final Path2D.Double rangePath = new Path2D.Double();
+	    
+	    /** The color of the area the scores are plotted in */
+	    private final Color plotColor = new Color(200,200,200);
+	    /** The color of the grid lines */
+	    private final Color gridColor = new Color(220, 220, 220);
+	    /** The color of the line of scores */
+	    private final Color lineColor = new Color(20, 52, 230);
+	    /** The color of the range of scores behind the line */
+	    private final Color rangeColor = new Color(20, 52, 230, 60);
+	    /** The stroke of the line of scores */
+	    private final BasicStroke lineStroke = new BasicStroke(2f);
+	    /** The font of the y-axis labels */
+	    private final Font yLabelFont = new Font("Trebuchet MS", Font.PLAIN, 20);
+	    /** The font of the x-axis labels */
+	    private final Font xLabelFont = new Font("Trebuchet MS", Font.PLAIN, 11);
+	    /** The font of the message shown when there aren't any scores */
+	    private final Font messageFont = new Font("Consolas", Font.PLAIN, 20);
+	    /** The format of the x-axis labels when zoomed in to a few days or less */
+	    private final DateTimeFormatter hourFormat = DateTimeFormatter.ofPattern("M/d HH:mm");
+	    /** The format of the x-axis labels when showing up to about a year */
+	    private final DateTimeFormatter dayFormat = DateTimeFormatter.ofPattern("M/d");
+	    /** The format of the x-axis labels when showing more than a year */
+	    private final DateTimeFormatter monthFormat = DateTimeFormatter.ofPattern("M/yyyy");
 
 	    /**
-	     * Creates a ScoreGraph object
-	     * @param scores An ArrayList of all data points (as a value of 0-5, inclusive) to plot. 
-	     * This ArrayList should be 20 items long
-	     * @param xLabels The labels of the x-axis, from left to right. This ArrayList should 
-	     * be 20 items long
+	     * Creates a ScoreGraph object, showing the whole history
+	     * @param series The percentage score of every quiz over time
 	     */
-	    public ScoreGraph(ArrayList<Double> scores, ArrayList<String> xLabels) {
-	        this.scores = scores;
-	        this.xLabels = xLabels;
+	    public ScoreGraph(ScoreSeries series) {
+	        this.series = series;
+	        buckets = new ScoreSeries.Buckets();
 	        
 	        //sets up the panel's layout manager
 	        SpringLayout graphLayout = new SpringLayout();
@@ -1658,7 +2417,7 @@ public class QuizMenu extends MouseAdapter implements ActionListener{
 	        		super.paintComponent(g);
 	        	}
 	        };
-	        yTitle.setText("Score");
+	        yTitle.setText("Score (%)");
 	        yTitle.setHorizontalAlignment(JLabel.CENTER);
 	        yTitle.setVerticalAlignment(JLabel.CENTER);
 	        yTitle.setFont(new Font("Consolas", Font.BOLD, 30));
@@ -1680,7 +2439,139 @@ public class QuizMenu extends MouseAdapter implements ActionListener{
 	        graphLayout.putConstraint(SpringLayout.WEST, yTitle, 5, SpringLayout.WEST, this);
 	        graphLayout.putConstraint(SpringLayout.SOUTH, yTitle, -85, SpringLayout.SOUTH, this);
 	        
+	        //scrolling zooms in or out, keeping the time under the mouse in place
+	        MouseAdapter zoomAndPan = new MouseAdapter() {
+	        	
+	        	/** The x-coordinate of the mouse when the last drag event was handled */
+	        	int lastX;
+	        	
+	        	@Override
+	        	public void mouseWheelMoved(MouseWheelEvent e) {
+	        		
+	        		double anchor = toTime(e.getX());
+	        		double scale = Math.pow(ZOOM_STEP, e.getPreciseWheelRotation());
+	        		setView(anchor - (anchor - viewStart) * scale, anchor + (viewEnd - anchor) * scale);
+	        	}
+	        	
+	        	@Override
+	        	public void mousePressed(MouseEvent e) {
+	        		lastX = e.getX();
+	        	}
+	        	
+	        	@Override
+	        	public void mouseDragged(MouseEvent e) {
+	        		
+	        		//dragging right moves the graph right, to show earlier times
+	        		double shift = (lastX - e.getX()) * (viewEnd - viewStart) / getPlotWidth();
+	        		lastX = e.getX();
+	        		setView(viewStart + shift, viewEnd + shift);
+	        	}
+	        };
+	        this.addMouseWheelListener(zoomAndPan);
+	        this.addMouseListener(zoomAndPan);
+	        this.addMouseMotionListener(zoomAndPan);
+	        this.setCursor(Cursor.getPredefinedCursor(Cursor.MOVE_CURSOR));
+	        
+	        showAll();
+	    }
+	    
+	    
+	    /**
+	     * Shows the whole history of scores
+	     */
+	    public void showAll() {
+	    	
+	    	double margin = getMargin();
+	    	viewStart = series.getFirstTime() - margin;
+	    	viewEnd = series.getLastTime() + margin;
+	    	setView(viewStart, viewEnd);
+	    }
+	    
+	    
+	    /**
+	     * Shows a stretch of time that ends with the newest quiz, such as its day or week
+	     * @param seconds The length of the stretch, in seconds
+	     */
+	    public void showLast(double seconds) {
+	    	
+	    	//the space after the newest quiz is kept in proportion to the stretch, so it doesn't hide a short one
+	    	viewEnd = series.getLastTime() + Math.min(getMargin(), seconds * 0.02);
+	    	viewStart = viewEnd - seconds;
+	    	setView(viewStart, viewEnd);
+	    }
+	    
+	    
+	    /**
+	     * Gets the space left on either side of the history, so its first and last points aren't on the edges
+	     * @return The margin, in seconds
+	     */
+	    private double getMargin() {
+	    	return Math.max(MIN_SPAN, (series.getLastTime() - series.getFirstTime()) * 0.02);
+	    }
+	    
+	    
+	    /**
+	     * Moves the graph to show a stretch of time, keeping it from zooming in past the shortest
+	     * stretch, out past the whole history, or from moving off either end of the history
+	     * @param start The time at the left edge, in seconds since the epoch
+	     * @param end The time at the right edge, in seconds since the epoch
+	     */
+	    private void setView(double start, double end) {
+	    	
+	    	double limitStart = series.getFirstTime() - getMargin();
+	    	double limitEnd = series.getLastTime() + getMargin();
+	    	
+	    	//a stretch longer than the history is only kept if it was asked for, like a month of two days' quizzes
+	    	double span = Math.max(MIN_SPAN, end - start);
+	    	span = Math.min(span, Math.max(limitEnd - limitStart, viewEnd - viewStart));
+	    	double center = (start + end) / 2;
+	    	start = center - span / 2;
+	    	end = center + span / 2;
+	    	
+	    	if (end > limitEnd) {
+	    		start -= end - limitEnd;
+	    		end = limitEnd;
+	    	}
+	    	if (start < limitStart && span <= limitEnd - limitStart) {
+	    		end += limitStart - start;
+	    		start = limitStart;
+	    	}
+	    	
+	    	viewStart = start;
+	    	viewEnd = end;
+	    	staticLayerStale = true;
+	    	repaint();
+	    }
+	    
+	    
+	    /**
+	     * Gets the width of the area the scores are plotted in
+	     * @return The width, in pixels
+	     */
+	    private int getPlotWidth() {
+	    	return Math.max(1, getWidth() - 2 * border - labelBorder);
+	    }
+	    
+	    
+	    /**
+	     * Finds the x-coordinate of a time on the graph
+	     * @param time The time, in seconds since the epoch
+	     * @return The x-coordinate, in pixels
+	     */
+	    private double toX(double time) {
+	    	return border + labelBorder + (time - viewStart) / (viewEnd - viewStart) * getPlotWidth();
+	    }
+	    
+	    
+	    /**
+	     * Finds the time at an x-coordinate on the graph
+	     * @param x The x-coordinate, in pixels
+	     * @return The time, in seconds since the epoch
+	     */
+	    private double toTime(double x) {
+	    	return viewStart + (x - border - labelBorder) / getPlotWidth() * (viewEnd - viewStart);
 	    }
+	    
 
 	    @Override
 	    protected void paintComponent(Graphics g) {
@@ -1689,26 +2580,77 @@ public class QuizMenu extends MouseAdapter implements ActionListener{
 	        super.paintComponent(g);
 	        Graphics2D g2 = (Graphics2D) g;
 	        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+	        
+	        //the background, grid, and labels are only drawn again once the graph is resized, moved, or put on another screen
+	        if (staticLayer == null || staticLayerWidth != getWidth() || staticLayerHeight != getHeight() 
+	        		|| staticLayerScreen != getGraphicsConfiguration() || staticLayerStale) {
+	        	staticLayerScreen = getGraphicsConfiguration();
+	        	renderStaticLayer(staticLayerScreen == null ? 1 : staticLayerScreen.getDefaultTransform().getScaleX());
+	        }
+	        g2.drawImage(staticLayer, 0, 0, staticLayerWidth, staticLayerHeight, null);
+	        
+	        if (series.size() == 0) {
+	        	return;
+	        }
+	        g2.clipRect(border + labelBorder, border, getPlotWidth(), getHeight() - 2 * border - labelBorder);
+	        
+	        //when many quizzes share each bucket, shade the range from their lowest to highest score
+	        if (!buckets.isSingleQuizzes()) {
+	        	g2.setColor(rangeColor);
+	        	g2.fill(rangePath);
+	        }
 
-	        //gets the sclae for the x and y
-	        double xScale = ((double) getWidth() - 2 * border - labelBorder) / 19;
-	        double yScale = ((double) getHeight() - 2 * border - labelBorder) / 5;
-
-	        //creates an ArrayList of the points to plot
-	        ArrayList<Point> graphPoints = new ArrayList<>();
-	        for (int i = 0; i < scores.size(); i++) {
-	            int x1 = (int) (i * xScale + border + labelBorder);
-	            int y1 = (int) ((5 - scores.get(i)) * yScale + border);
-	            graphPoints.add(new Point(x1, y1));
+	        //actually draw the line through the average of each bucket
+	        g2.setColor(lineColor);
+	        g2.setStroke(lineStroke);
+	        g2.draw(linePath);
+	        
+	        //when zoomed in far enough to tell the quizzes apart, mark each one
+	        if (buckets.isSingleQuizzes() && buckets.size() <= getPlotWidth() / 8) {
+	        	double yScale = ((double) getHeight() - 2 * border - labelBorder) / 100;
+	        	for (int i = 0; i < buckets.size(); i++) {
+	        		int x = (int) toX(buckets.getTime(i));
+	        		int y = (int) ((100 - buckets.getMean(i)) * yScale + border);
+	        		g2.fillOval(x - 3, y - 3, 6, 6);
+	        	}
 	        }
+	    }
+	    
+	    
+	    /**
+	     * Draws the parts of the graph that only change when it is resized or moved, which are the background,
+	     * grid, axes, and labels, into an image, then builds the paths of the scores being shown
+	     * @param pixelScale The number of device pixels in each pixel of the graph, so the image stays sharp on high resolution screens
+	     */
+	    private void renderStaticLayer(double pixelScale) {
+	    	
+	    	staticLayerWidth = getWidth();
+	    	staticLayerHeight = getHeight();
+	    	staticLayerStale = false;
+	    	
+	    	//the image is only replaced when it is too small, and cleared otherwise
+	    	int imageWidth = Math.max(1, (int) Math.ceil(staticLayerWidth * pixelScale));
+	    	int imageHeight = Math.max(1, (int) Math.ceil(staticLayerHeight * pixelScale));
+	    	if (staticLayer == null || staticLayer.getWidth() != imageWidth || staticLayer.getHeight() != imageHeight) {
+	    		//an image made for the screen can be copied to it without being converted each time
+	    		staticLayer = staticLayerScreen == null ? new BufferedImage(imageWidth, imageHeight, BufferedImage.TYPE_INT_ARGB_PRE)
+	    				: staticLayerScreen.createCompatibleImage(imageWidth, imageHeight, Transparency.TRANSLUCENT);
+	    	}
+	    	Graphics2D g2 = staticLayer.createGraphics();
+	    	g2.setComposite(AlphaComposite.Clear);
+	    	g2.fillRect(0, 0, imageWidth, imageHeight);
+	    	g2.setComposite(AlphaComposite.SrcOver);
+	    	g2.scale(pixelScale, pixelScale);
+	    	g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+	    	g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
 
 	        //draw graph background
-	        g2.setColor(new Color(200,200,200));
+	        g2.setColor(plotColor);
 	        g2.fillRect(border + labelBorder, border, getWidth() - (2 * border) - labelBorder, getHeight() - 2 * border - labelBorder);
 	        g2.setColor(Color.BLACK);
 
 	        //set the font
-	        g2.setFont(new Font("Trebuchet MS", Font.PLAIN, 20));
+	        g2.setFont(yLabelFont);
 	        
 	        //for each y-axis value, draw its line and value
 	        for (int i = 0; i < 6; i++) {
@@ -1717,64 +2659,98 @@ public class QuizMenu extends MouseAdapter implements ActionListener{
 	            int x0 = border + labelBorder;
 	            int yCord = getHeight() - ((i * (getHeight() - border * 2 - labelBorder)) / 5 + border + labelBorder);
 	           
-	            if (scores.size() > 0) {
-	            	
-	            	//draw the grid line
-	                g2.setColor(new Color(220, 220, 220));
-	                g2.drawLine(border + labelBorder + 1, yCord, getWidth() - border, yCord);
-	                g2.setColor(Color.BLACK);
-	                
-	                //label the y-axis
-	                String yLabel = i + "";
-	                FontMetrics metrics = g2.getFontMetrics();
-	                int labelWidth = metrics.stringWidth(yLabel);
-	                g2.drawString(yLabel.equals("0") ? "" : yLabel, x0 - labelWidth - 5, yCord + (metrics.getHeight() / 2) - 3);
-	            }
+            	//draw the grid line
+                g2.setColor(gridColor);
+                g2.drawLine(border + labelBorder + 1, yCord, getWidth() - border, yCord);
+                g2.setColor(Color.BLACK);
+                
+                //label the y-axis, every 20 percent
+                String yLabel = i * 20 + "";
+                FontMetrics metrics = g2.getFontMetrics();
+                int labelWidth = metrics.stringWidth(yLabel);
+                g2.drawString(yLabel.equals("0") ? "" : yLabel, x0 - labelWidth - 5, yCord + (metrics.getHeight() / 2) - 3);
 	        }
 
 	        //set the font
-	        g2.setFont(new Font("Trebuchet MS", Font.PLAIN, 11));
+	        g2.setFont(xLabelFont);
 	        
-	        //do the same for the x-axis
-	        for (int i = 0; i < scores.size(); i++) {
-	            if (scores.size() > 1) {
-	                int xCord = i * (getWidth() - border * 2 - labelBorder) / 19 + border + labelBorder;
-	                int yCord = getHeight() - border - labelBorder;
-	                
-	                if (xLabels.get(i) != null) {
-	                	
-	                	//draw grid lines
-	                    g2.setColor(new Color(220, 220, 220));
-	                    g2.drawLine(xCord, getHeight() - border - labelBorder - 1, xCord, border);
-	                    g2.setColor(Color.BLACK);
-	                    
-	                    //draw the x-axis label
-	                    String xLabel = xLabels.get(i);
-	                    FontMetrics metrics = g2.getFontMetrics();
-	                    int labelWidth = metrics.stringWidth(xLabel);
-	                    g2.drawString(xLabel, xCord - labelWidth / 2, yCord + metrics.getHeight() + 3);
-	                }
-	                //draws the x-axis hatch marks
-	                g2.drawLine(xCord, yCord + 4, xCord, yCord - 4);
-	            }
+	        //label the x-axis with evenly spaced times, showing the hour when zoomed in to a few days or less
+	        double span = viewEnd - viewStart;
+	        DateTimeFormatter xFormat = span <= 3 * 86400 ? hourFormat : span <= 400 * 86400 ? dayFormat : monthFormat;
+	        for (int i = 0; i <= X_TICKS; i++) {
+	        	
+	        	int xCord = border + labelBorder + i * getPlotWidth() / X_TICKS;
+	        	int yCord = getHeight() - border - labelBorder;
+	        	
+	        	//draw grid lines
+	        	g2.setColor(gridColor);
+	        	g2.drawLine(xCord, getHeight() - border - labelBorder - 1, xCord, border);
+	        	g2.setColor(Color.BLACK);
+	        	
+	        	//draw the x-axis label
+	        	String xLabel = Instant.ofEpochSecond((long) toTime(xCord)).atZone(ZoneId.systemDefault()).format(xFormat);
+	        	FontMetrics metrics = g2.getFontMetrics();
+	        	int labelWidth = metrics.stringWidth(xLabel);
+	        	g2.drawString(xLabel, Math.min(xCord - labelWidth / 2, getWidth() - labelWidth - 2), yCord + metrics.getHeight() + 3);
+	        	
+	        	//draws the x-axis hatch marks
+	        	g2.drawLine(xCord, yCord + 4, xCord, yCord - 4);
 	        }
 
 	        //draw the actual axis for x and y
 	        g2.drawLine(border + labelBorder, getHeight() - border - labelBorder, border + labelBorder, border);
 	        g2.drawLine(border + labelBorder, getHeight() - border - labelBorder, getWidth() - border, getHeight() - border - labelBorder);
-
-	        //actually draw the lines for each point in the ArrayList
-	        g2.setColor(new Color(20, 52, 230));
-	        g2.setStroke(new BasicStroke(2f));
-	        for (int i = 0; i < graphPoints.size() - 1; i++) {
-	            int x1 = graphPoints.get(i).x;
-	            int y1 = graphPoints.get(i).y;
-	            int x2 = graphPoints.get(i + 1).x;
-	            int y2 = graphPoints.get(i + 1).y;
-	            g2.drawLine(x1, y1, x2, y2);
+	        
+	        if (series.size() == 0) {
+	        	g2.setFont(messageFont);
+	        	g2.drawString("No quizzes have been taken yet", border + labelBorder + 20, border + 40);
+	        }
+	        g2.dispose();
+	        
+	        buildPaths();
+	    }
+	    
+	    
+	    /**
+	     * Builds the paths of the scores being shown, reusing the same paths each time
+	     */
+	    private void buildPaths() {
+	    	
+	    	//find the stretch of scores being shown, with about one bucket every two pixels
+	        series.fill(viewStart, viewEnd, getPlotWidth() / 2, buckets);
+	        double yScale = ((double) getHeight() - 2 * border - labelBorder) / 100;
+	        
+	        //the line goes through the average of each bucket
+	        linePath.reset();
+	        for (int i = 0; i < buckets.size(); i++) {
+	            double x = toX(buckets.getTime(i));
+	            double y = (100 - buckets.getMean(i)) * yScale + border;
+	            if (i == 0) {
+	            	linePath.moveTo(x, y);
+	            }
+	            else {
+	            	linePath.lineTo(x, y);
+	            }
 	        }
-
 	        
+	        //the range goes along the highest scores, then back along the lowest
+	        rangePath.reset();
+	        if (!buckets.isSingleQuizzes()) {
+	        	for (int i = 0; i < buckets.size(); i++) {
+	        		double x = toX(buckets.getTime(i));
+	        		double y = (100 - buckets.getMax(i)) * yScale + border;
+	        		if (i == 0) {
+	        			rangePath.moveTo(x, y);
+	        		}
+	        		else {
+	        			rangePath.lineTo(x, y);
+	        		}
+	        	}
+	        	for (int i = buckets.size() - 1; i >= 0; i--) {
+	        		rangePath.lineTo(toX(buckets.getTime(i)), (100 - buckets.getMin(i)) * yScale + border);
+	        	}
+	        	rangePath.closePath();
+	        }
 	    }
 	}
 }
@@ -0,0 +1,254 @@
+package FBLAQuiz;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * <h1>Quiz Question Class</h1>
+ *
+ * The Quiz Question class holds the state of a single question being asked in a
+ * quiz: the question from the question bank, the order its choices are shown in,
+ * whether it is flagged, and the user's answer. Answers are submitted and graded
+ * as plain data, without any UI, so a quiz can be run without a display.
+ *
+ * The Swing question classes are views over a Quiz Question, which only turn the
+ * user's input into a submitted answer.
+ *
+ * An answer is always a list of strings:
+ * <ul>
+ * <li>Multiple choice, true or false, and fill-in-the-blank answers have a single element</li>
+ * <li>Multiple select answers have an element for each selected choice</li>
+ * <li>Matching answers have an element for each item of group A, which is the group B
+ * item it was matched with, or null if it wasn't matched</li>
+ * </ul>
+ *
+ * A submitted answer replaces the previous one all at once, so the answer can be
+ * read from any thread while the user is still answering.
+ *
+ * @author Varun Unnithan
+ *
+ */
+public class QuizQuestion {
+
+	//-----------Instance Variables-----------
+	/** The question from the question bank */
+	private final QuestionData data;
+	/** The question's number within the quiz */
+	private final int quizNumber;
+	/** The choices in the order they are shown, which for a matching question are the group B items */
+	private final List<String> choices;
+	/** The user's current answer, which is empty if the question hasn't been answered */
+	private volatile List<String> userAnswer;
+	/** Whether the question is flagged for review */
+	private volatile boolean flagged;
+	/** The time the user has spent on the question, in milliseconds, over every time it was shown */
+	private volatile long timeSpent;
+
+
+	//-----------Constructors-------------
+	/**
+	 * Creates a question to ask in a quiz, shuffling the order of its choices
+	 * @param data The question from the question bank
+	 * @param quizNumber The question's number within the quiz
+	 * @param random The random number generator used to shuffle the choices
+	 */
+	public QuizQuestion(QuestionData data, int quizNumber, Random random) {
+
+		this.data = data;
+		this.quizNumber = quizNumber;
+
+		List<String> shownChoices = new ArrayList<String>(data.getType() == QuestionType.MATCHING
+				? data.getGroupB() : data.getChoices());
+		Collections.shuffle(shownChoices, random);
+		choices = Collections.unmodifiableList(shownChoices);
+
+		userAnswer = Collections.emptyList();
+	}
+
+
+	//---------------Methods------------------
+	/**
+	 * Gets the question from the question bank
+	 * @return The question's data
+	 */
+	public QuestionData getData() {
+		return data;
+	}
+
+
+	/**
+	 * Gets the type of the question
+	 * @return The question's type
+	 */
+	public QuestionType getType() {
+		return data.getType();
+	}
+
+
+	/**
+	 * Gets the text of the question
+	 * @return The question as a String
+	 */
+	public String getQuestion() {
+		return data.getQuestion();
+	}
+
+
+	/**
+	 * Gets the ID of the question in the database
+	 * @return The question's ID
+	 */
+	public String getQuestionId() {
+		return data.getId();
+	}
+
+
+	/**
+	 * Gets the question's number within the quiz
+	 * @return The question number
+	 */
+	public int getQuizNumber() {
+		return quizNumber;
+	}
+
+
+	/**
+	 * Gets the choices in the order they are shown to the user. For a matching
+	 * question, these are the group B items.
+	 * @return An unmodifiable List of the choices
+	 */
+	public List<String> getChoices() {
+		return choices;
+	}
+
+
+	/**
+	 * Gets the correct answer to the question. For a matching question, this is the
+	 * group B item that matches each group A item.
+	 * @return The correct answer, in the same form as a submitted answer
+	 */
+	public List<String> getAnswers() {
+		return data.getAnswers();
+	}
+
+
+	/**
+	 * Gets the user's current answer
+	 * @return An unmodifiable List of the answer's parts, which is empty if the question hasn't been answered
+	 */
+	public List<String> getUserAnswer() {
+		return userAnswer;
+	}
+
+
+	/**
+	 * Gets the first part of the user's answer, for the question types with a single answer
+	 * @return The user's answer, or an empty String if the question hasn't been answered
+	 */
+	public String getUserAnswerText() {
+
+		List<String> answer = userAnswer;
+		return answer.isEmpty() || answer.get(0) == null ? "" : answer.get(0);
+	}
+
+
+	/**
+	 * Submits an answer with a single part, replacing any previous answer. An empty
+	 * String clears the answer.
+	 * @param answer The user's answer
+	 */
+	public void submitAnswer(String answer) {
+		submitAnswer(answer == null || answer.isEmpty() ? Collections.<String>emptyList() : Collections.singletonList(answer));
+	}
+
+
+	/**
+	 * Submits an answer, replacing any previous answer. An empty List clears the answer.
+	 * @param answer The parts of the user's answer, which are copied
+	 */
+	public void submitAnswer(List<String> answer) {
+		userAnswer = Collections.unmodifiableList(new ArrayList<String>(answer));
+	}
+
+
+	/**
+	 * Checks to see if the question is flagged for review
+	 * @return {@code true} if the question is flagged
+	 */
+	public boolean isFlagged() {
+		return flagged;
+	}
+
+
+	/**
+	 * Flags or unflags the question for review
+	 * @param flagged Whether the question should be flagged
+	 */
+	public void setFlagged(boolean flagged) {
+		this.flagged = flagged;
+	}
+
+
+	/**
+	 * Gets the time the user has spent on the question
+	 * @return The time spent in milliseconds, or 0 if the question wasn't timed
+	 */
+	public long getTimeSpent() {
+		return timeSpent;
+	}
+
+
+	/**
+	 * Adds to the time the user has spent on the question, once they move away from it
+	 * @param millis The time spent on the question since it was shown, in milliseconds
+	 */
+	public synchronized void addTimeSpent(long millis) {
+		timeSpent += Math.max(millis, 0);
+	}
+
+
+	/**
+	 * Checks to see if the user has answered the question, or any part of it
+	 * @return {@code true} if the question is answered
+	 */
+	public boolean isAnswered() {
+
+		for (String part : userAnswer) {
+			if (part != null && !part.isEmpty()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+
+	/**
+	 * Grades the user's current answer
+	 * @return {@code true} if the user's answer is correct
+	 */
+	public boolean isCorrect() {
+
+		List<String> answer = userAnswer;
+		List<String> correctAnswer = data.getAnswers();
+
+		switch (data.getType()) {
+
+			//every correct choice has to be selected, and nothing else, in any order
+			case MULTIPLE_SELECT:
+				return answer.containsAll(correctAnswer) && correctAnswer.containsAll(answer);
+
+			//every item has to be matched correctly
+			case MATCHING:
+				return answer.equals(correctAnswer);
+
+			//the case and surrounding spaces of a typed answer don't matter
+			case FILL_IN_BLANK:
+				return !answer.isEmpty() && answer.get(0).toLowerCase().trim().equals(correctAnswer.get(0).toLowerCase());
+
+			default:
+				return !answer.isEmpty() && answer.get(0).equals(correctAnswer.get(0));
+		}
+	}
+}
@@ -0,0 +1,702 @@
+package FBLAQuiz;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.ParseException;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * <h1>Quiz Server Class</h1>
+ *
+ * The Quiz Server class serves quizzes over HTTP, so that one process can give
+ * quizzes to many students at once from their browsers or other programs. Each
+ * student's quiz is a {@link QuizSession}, which is kept in memory between requests
+ * and only uses a thread while one of its requests is being handled.
+ *
+ * The server takes JSON and answers with JSON:
+ * <ul>
+ * <li>{@code POST /quiz} starts a quiz and returns its ID and questions, with
+ * {@code ?length=n} asking for a quiz of n questions instead of the default five, and
+ * {@code ?student=name} picking questions the student hasn't been asked recently and that fit their ability</li>
+ * <li>{@code GET /quiz/{id}} returns the quiz's questions, answers, and time</li>
+ * <li>{@code POST /quiz/{id}/answers/{number}} submits a JSON array of strings as the answer to a question,
+ * which are picked from its choices unless it is fill-in-the-blank, with null for an unmatched matching item</li>
+ * <li>{@code POST /quiz/{id}/flags/{number}} flags or unflags a question, given {@code true} or {@code false}</li>
+ * <li>{@code POST /quiz/{id}/submit} grades the quiz, saves its score report, and returns it</li>
+ * <li>{@code DELETE /quiz/{id}} abandons the quiz without saving it</li>
+ * </ul>
+ *
+ * Requests are handled on a fixed pool of threads with a bounded queue. Once the
+ * queue is full, new requests wait for room instead of piling up. Quizzes that
+ * haven't been used for a while are dropped, so abandoned quizzes don't build up.
+ *
+ * @author Varun Unnithan
+ *
+ */
+public class QuizServer implements HttpHandler {
+
+	/** The port the server listens on if none is given */
+	public static final int DEFAULT_PORT = 8080;
+	/** The number of threads that handle requests */
+	public static final int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+	/** The most requests that can wait for a thread at once */
+	private static final int QUEUE_SIZE = 1024;
+	/** The directory each student's question sampler is saved in */
+	public static final String SAMPLER_DIRECTORY = "./JSONfiles/samplers/";
+	/** The pattern a student's name must match, so it can be used as a file name */
+	private static final String STUDENT_PATTERN = "[A-Za-z0-9_-]{1,64}";
+	/** The most questions a quiz can be started with */
+	public static final int MAX_LENGTH = 500;
+	/** The most bytes read from the body of a request */
+	private static final int MAX_BODY_SIZE = 64 * 1024;
+	/** How long a quiz can go unused before it is dropped, in minutes */
+	private static final long SESSION_TIMEOUT_MINUTES = 120;
+	/** The path every request starts with */
+	private static final String CONTEXT = "/quiz";
+	/** The answers to a true or false question, which has no choices of its own */
+	private static final List<String> TRUE_OR_FALSE_CHOICES = Arrays.asList("true", "false");
+
+
+	//-----------Instance Variables-----------
+	/** The HTTP server that takes the requests */
+	private final HttpServer server;
+	/** The threads that handle requests */
+	private final ThreadPoolExecutor handlers;
+	/** The thread that drops quizzes that haven't been used for a while */
+	private final ScheduledExecutorService cleaner;
+	/** The quizzes being taken, by their ID */
+	private final ConcurrentHashMap<String, ServerSession> sessions;
+	/** The question bank that the quizzes are picked from */
+	private final QuestionBank bank;
+	/** The question sampler of each student who has started a quiz, by their name */
+	private final ConcurrentHashMap<String, QuestionSampler> samplers;
+
+
+	//-----------Constructors-------------
+	/**
+	 * Creates a server, which doesn't take requests until it is started
+	 * @param port The port to listen on
+	 * @param bank The question bank to pick the quizzes from
+	 * @throws IOException On error while opening the port
+	 */
+	public QuizServer(int port, QuestionBank bank) throws IOException {
+
+		this.bank = bank;
+		sessions = new ConcurrentHashMap<String, ServerSession>();
+		samplers = new ConcurrentHashMap<String, QuestionSampler>();
+
+		//once every thread is busy and the queue is full, the thread taking connections handles the request itself
+		handlers = new ThreadPoolExecutor(THREADS, THREADS, 60, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<Runnable>(QUEUE_SIZE), new ThreadPoolExecutor.CallerRunsPolicy());
+
+		server = HttpServer.create(new InetSocketAddress(port), 0);
+		server.createContext(CONTEXT, this);
+		server.setExecutor(handlers);
+
+		cleaner = Executors.newSingleThreadScheduledExecutor();
+	}
+
+
+	//---------------Methods------------------
+	/**
+	 * Starts taking requests, and dropping quizzes that are no longer used
+	 */
+	public void start() {
+
+		server.start();
+		cleaner.scheduleWithFixedDelay(new Runnable() {
+			public void run() {
+				dropIdleSessions();
+			}
+		}, 1, 1, TimeUnit.MINUTES);
+	}
+
+
+	/**
+	 * Stops taking requests, and drops every quiz still being taken
+	 * @param delay The most seconds to wait for requests being handled to finish
+	 */
+	public void stop(int delay) {
+
+		server.stop(delay);
+		cleaner.shutdownNow();
+		handlers.shutdown();
+		sessions.clear();
+	}
+
+
+	/**
+	 * Gets the port the server is listening on
+	 * @return The port
+	 */
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+
+
+	/**
+	 * Gets the number of quizzes being taken
+	 * @return The number of quizzes
+	 */
+	public int getSessionCount() {
+		return sessions.size();
+	}
+
+
+	/**
+	 * Handles a request, answering with an error if it fails
+	 * @param exchange The request and its response
+	 * @throws IOException On error while reading the request or writing the response
+	 */
+	@Override
+	public void handle(HttpExchange exchange) throws IOException {
+
+		try {
+			route(exchange);
+		}
+		catch (RequestException e) {
+			sendError(exchange, e.status, e.getMessage());
+		}
+		catch (ParseException | ClassCastException e) {
+			sendError(exchange, 400, "The request's body isn't valid");
+		}
+		catch (RuntimeException e) {
+			e.printStackTrace();
+			sendError(exchange, 500, "The request couldn't be handled");
+		}
+		finally {
+			exchange.close();
+		}
+	}
+
+
+	/**
+	 * Sends a request to the method that handles its path
+	 * @param exchange The request and its response
+	 * @throws IOException On error while reading the request or writing the response
+	 * @throws ParseException On error while parsing the request's body
+	 */
+	private void route(HttpExchange exchange) throws IOException, ParseException {
+
+		//splits the path after /quiz into its parts, such as the quiz's ID and the action
+		String path = exchange.getRequestURI().getPath().substring(CONTEXT.length());
+		String[] parts = path.isEmpty() || path.equals("/") ? new String[0] : path.substring(1).split("/");
+		String method = exchange.getRequestMethod();
+
+		if (parts.length == 0) {
+			requireMethod(method, "POST");
+			String query = exchange.getRequestURI().getQuery();
+			startQuiz(exchange, getLength(query), getParameter(query, "student"));
+			return;
+		}
+
+		ServerSession session = getSession(parts[0]);
+
+		if (parts.length == 1) {
+			if (method.equals("DELETE")) {
+				sessions.remove(parts[0]);
+				send(exchange, 204, null);
+				return;
+			}
+			requireMethod(method, "GET");
+			send(exchange, 200, describe(parts[0], session.quiz, true));
+			return;
+		}
+
+		requireMethod(method, "POST");
+		if (parts.length == 2 && parts[1].equals("submit")) {
+			submitQuiz(exchange, parts[0], session);
+		}
+		else if (parts.length == 3 && parts[1].equals("answers")) {
+			submitAnswer(exchange, session, getQuestion(session, parts[2]));
+		}
+		else if (parts.length == 3 && parts[1].equals("flags")) {
+			submitFlag(exchange, getQuestion(session, parts[2]));
+		}
+		else {
+			throw new RequestException(404, "There is nothing at " + exchange.getRequestURI().getPath());
+		}
+	}
+
+
+	/**
+	 * Starts a new quiz, and answers with its ID and questions
+	 * @param exchange The request and its response
+	 * @param length The number of questions in the quiz
+	 * @param student The name of the student taking the quiz, or null if it isn't known
+	 * @throws IOException On error while writing the response
+	 */
+	private void startQuiz(HttpExchange exchange, int length, String student) throws IOException {
+
+		//a known student is given questions they haven't been asked recently, that fit their ability
+		QuizSession quiz;
+		if (student == null) {
+			quiz = new QuizSession(bank, length, ThreadLocalRandom.current());
+		}
+		else {
+			QuestionSampler sampler = getSampler(student);
+			try {
+				QuestionStats.getStats().target(sampler);
+			}
+			catch (IOException e) {
+				//without the stats, the questions are only picked to avoid repeats
+				e.printStackTrace();
+			}
+			quiz = new QuizSession(sampler, bank, length, ThreadLocalRandom.current());
+		}
+		quiz.start();
+
+		String id = UUID.randomUUID().toString();
+		sessions.put(id, new ServerSession(quiz, student));
+		send(exchange, 201, describe(id, quiz, false));
+	}
+
+
+	/**
+	 * Submits the answer to a question in a request's body, which is a JSON array of strings
+	 * @param exchange The request and its response
+	 * @param session The quiz the question is in
+	 * @param question The question being answered
+	 * @throws IOException On error while reading the request or writing the response
+	 * @throws ParseException On error while parsing the request's body
+	 */
+	@SuppressWarnings("unchecked")
+	private void submitAnswer(HttpExchange exchange, ServerSession session, QuizQuestion question)
+			throws IOException, ParseException {
+
+		JSONArray answer = (JSONArray) readBody(exchange);
+		checkAnswer(question, answer);
+		question.submitAnswer((List<String>) answer);
+
+		JSONObject response = new JSONObject();
+		response.put("answered", session.quiz.getAnsweredCount());
+		send(exchange, 200, response);
+	}
+
+
+	/**
+	 * Checks that an answer has the form a question's type expects, so it can be graded and saved
+	 * @param question The question being answered
+	 * @param answer The parts of the answer
+	 */
+	private static void checkAnswer(QuizQuestion question, JSONArray answer) {
+
+		QuestionType type = question.getType();
+		int maxParts;
+		switch (type) {
+			case MULTIPLE_SELECT:
+				maxParts = question.getChoices().size();
+				break;
+			case MATCHING:
+				maxParts = question.getData().getGroupA().size();
+				break;
+			default:
+				maxParts = 1;
+		}
+		if (answer.size() > maxParts) {
+			throw new RequestException(400, "An answer to question " + question.getQuizNumber()
+					+ " can have at most " + maxParts + (maxParts == 1 ? " part" : " parts"));
+		}
+
+		for (Object part : answer) {
+
+			//only a matching answer has parts left empty, for the items that weren't matched
+			if (part == null && type == QuestionType.MATCHING) {
+				continue;
+			}
+			if (!(part instanceof String)) {
+				throw new RequestException(400, "Every part of an answer has to be a string"
+						+ (type == QuestionType.MATCHING ? " or null" : ""));
+			}
+
+			//a typed answer can be anything, but the other types have to pick from the choices
+			List<String> choices = type == QuestionType.TRUE_OR_FALSE ? TRUE_OR_FALSE_CHOICES : question.getChoices();
+			if (type != QuestionType.FILL_IN_BLANK && !choices.contains(part)) {
+				throw new RequestException(400, "\"" + part + "\" isn't one of the choices of question " + question.getQuizNumber());
+			}
+		}
+	}
+
+
+	/**
+	 * Flags or unflags a question, based on the {@code true} or {@code false} in a request's body
+	 * @param exchange The request and its response
+	 * @param question The question to flag
+	 * @throws IOException On error while reading the request or writing the response
+	 * @throws ParseException On error while parsing the request's body
+	 */
+	private void submitFlag(HttpExchange exchange, QuizQuestion question) throws IOException, ParseException {
+
+		question.setFlagged((Boolean) readBody(exchange));
+		send(exchange, 204, null);
+	}
+
+
+	/**
+	 * Grades a quiz and saves its score report, then answers with the report
+	 * @param exchange The request and its response
+	 * @param id The quiz's ID
+	 * @param session The quiz to grade
+	 * @throws IOException On error while saving the report or writing the response
+	 */
+	private void submitQuiz(HttpExchange exchange, String id, ServerSession session) throws IOException {
+
+		//only one request can submit the quiz, even if it is sent more than once at the same time
+		if (!sessions.remove(id, session)) {
+			throw new RequestException(404, "There is no quiz with the ID " + id);
+		}
+
+		//the quiz is put back if it can't be graded, so it isn't lost
+		ScoreReport report;
+		try {
+			report = session.quiz.createReport();
+		}
+		catch (RuntimeException e) {
+			sessions.put(id, session);
+			throw e;
+		}
+		report.updateDB();
+		report.updateIndexes();
+		if (session.student != null) {
+			try {
+				QuestionStats.getStats().updateAbility(getSampler(session.student), report);
+			}
+			catch (IOException e) {
+				//the report is already saved, so the quiz is still submitted
+				e.printStackTrace();
+			}
+		}
+		send(exchange, 200, report.toJSON());
+	}
+
+
+	/**
+	 * Creates a JSONObject describing a quiz
+	 * @param id The quiz's ID
+	 * @param quiz The quiz
+	 * @param withAnswers Whether to include the user's answers, flags, and time
+	 * @return The JSONObject of the quiz
+	 */
+	@SuppressWarnings("unchecked")
+	private static JSONObject describe(String id, QuizSession quiz, boolean withAnswers) {
+
+		JSONArray questions = new JSONArray();
+		for (QuizQuestion question : quiz.getQuestions()) {
+
+			JSONObject questionObject = new JSONObject();
+			questionObject.put("number", question.getQuizNumber());
+			questionObject.put("type", question.getType().getDatabaseKey());
+			questionObject.put("question", question.getQuestion());
+			questionObject.put("choices", toJSONArray(question.getChoices()));
+			if (question.getType() == QuestionType.MATCHING) {
+				questionObject.put("group A", toJSONArray(question.getData().getGroupA()));
+			}
+			if (withAnswers) {
+				questionObject.put("user answer", toJSONArray(question.getUserAnswer()));
+				questionObject.put("flagged", question.isFlagged());
+			}
+			questions.add(questionObject);
+		}
+
+		JSONObject quizObject = new JSONObject();
+		quizObject.put("id", id);
+		quizObject.put("questions", questions);
+		if (withAnswers) {
+			quizObject.put("answered", quiz.getAnsweredCount());
+			quizObject.put("time", quiz.getQuizDuration());
+		}
+		return quizObject;
+	}
+
+
+	/**
+	 * Copies a List of strings to a JSONArray
+	 * @param list The strings to copy
+	 * @return The JSONArray of the strings
+	 */
+	@SuppressWarnings("unchecked")
+	private static JSONArray toJSONArray(List<String> list) {
+
+		JSONArray array = new JSONArray();
+		array.addAll(list);
+		return array;
+	}
+
+
+	/**
+	 * Finds a quiz being taken, and marks it as just used
+	 * @param id The quiz's ID
+	 * @return The quiz
+	 */
+	private ServerSession getSession(String id) {
+
+		ServerSession session = sessions.get(id);
+		if (session == null) {
+			throw new RequestException(404, "There is no quiz with the ID " + id);
+		}
+		session.lastUsed = System.nanoTime();
+		return session;
+	}
+
+
+	/**
+	 * Finds a question in a quiz
+	 * @param session The quiz
+	 * @param number The question's number within the quiz, as it appears in the path
+	 * @return The question
+	 */
+	private static QuizQuestion getQuestion(ServerSession session, String number) {
+
+		try {
+			return session.quiz.getQuestion(Integer.parseInt(number));
+		}
+		catch (NumberFormatException | IndexOutOfBoundsException e) {
+			throw new RequestException(404, "There is no question " + number + " in the quiz");
+		}
+	}
+
+
+	/**
+	 * Gets the number of questions asked for in a request's query
+	 * @param query The request's query, such as {@code length=20}, or null if it has none
+	 * @return The number of questions asked for, or the default length if none were
+	 */
+	private static int getLength(String query) {
+
+		String length = getParameter(query, "length");
+		if (length == null) {
+			return QuizSession.DEFAULT_LENGTH;
+		}
+		try {
+			int parsedLength = Integer.parseInt(length);
+			if (parsedLength >= 1 && parsedLength <= MAX_LENGTH) {
+				return parsedLength;
+			}
+		}
+		catch (NumberFormatException e) {
+			//the length is reported as invalid below
+		}
+		throw new RequestException(400, "A quiz's length must be between 1 and " + MAX_LENGTH);
+	}
+
+
+	/**
+	 * Gets the value of a parameter in a request's query
+	 * @param query The request's query, such as {@code length=20&student=ada}, or null if it has none
+	 * @param name The name of the parameter
+	 * @return The parameter's value, or null if the query doesn't have it
+	 */
+	private static String getParameter(String query, String name) {
+
+		if (query == null) {
+			return null;
+		}
+		for (String parameter : query.split("&")) {
+			if (parameter.startsWith(name + "=")) {
+				return parameter.substring(name.length() + 1);
+			}
+		}
+		return null;
+	}
+
+
+	/**
+	 * Gets a student's question sampler, loading it from their saved state the first time
+	 * @param student The name of the student
+	 * @return The student's sampler
+	 */
+	private QuestionSampler getSampler(String student) {
+
+		if (!student.matches(STUDENT_PATTERN)) {
+			throw new RequestException(400, "A student's name can only have letters, numbers, dashes, and underscores");
+		}
+
+		QuestionSampler sampler = samplers.get(student);
+		if (sampler == null) {
+			QuestionSampler loaded = QuestionSampler.load(Paths.get(SAMPLER_DIRECTORY, student + ".json"), new Random());
+			sampler = samplers.putIfAbsent(student, loaded);
+			if (sampler == null) {
+				sampler = loaded;
+			}
+		}
+		return sampler;
+	}
+
+
+	/**
+	 * Drops every quiz that hasn't been used within the timeout
+	 */
+	private void dropIdleSessions() {
+
+		long oldest = System.nanoTime() - TimeUnit.MINUTES.toNanos(SESSION_TIMEOUT_MINUTES);
+		for (Map.Entry<String, ServerSession> entry : sessions.entrySet()) {
+			if (entry.getValue().lastUsed - oldest < 0) {
+				sessions.remove(entry.getKey(), entry.getValue());
+			}
+		}
+	}
+
+
+	/**
+	 * Checks that a request uses the method its path expects
+	 * @param method The request's method
+	 * @param expected The method the path expects
+	 */
+	private static void requireMethod(String method, String expected) {
+
+		if (!method.equals(expected)) {
+			throw new RequestException(405, "Use " + expected + " for this path");
+		}
+	}
+
+
+	/**
+	 * Reads and parses the JSON body of a request
+	 * @param exchange The request
+	 * @return The parsed JSON value
+	 * @throws IOException On error while reading the request, or if its body is too large
+	 * @throws ParseException On error while parsing the body
+	 */
+	private static Object readBody(HttpExchange exchange) throws IOException, ParseException {
+
+		//reads the body up to its limit, to keep a single request from using up the memory
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		InputStream in = exchange.getRequestBody();
+		byte[] buffer = new byte[4096];
+		int read;
+		while ((read = in.read(buffer)) != -1) {
+			body.write(buffer, 0, read);
+			if (body.size() > MAX_BODY_SIZE) {
+				throw new RequestException(413, "The request's body is too large");
+			}
+		}
+
+		return JSONParsers.parse(new InputStreamReader(
+				new ByteArrayInputStream(body.toByteArray()), StandardCharsets.UTF_8));
+	}
+
+
+	/**
+	 * Sends an error response
+	 * @param exchange The request and its response
+	 * @param status The HTTP status code
+	 * @param message The description of the error
+	 * @throws IOException On error while writing the response
+	 */
+	@SuppressWarnings("unchecked")
+	private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+
+		JSONObject error = new JSONObject();
+		error.put("error", message);
+		send(exchange, status, error);
+	}
+
+
+	/**
+	 * Sends a response
+	 * @param exchange The request and its response
+	 * @param status The HTTP status code
+	 * @param body The JSON body of the response, or null if it has none
+	 * @throws IOException On error while writing the response
+	 */
+	private static void send(HttpExchange exchange, int status, JSONObject body) throws IOException {
+
+		if (body == null) {
+			exchange.sendResponseHeaders(status, -1);
+			return;
+		}
+
+		byte[] bytes = body.toJSONString().getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+		exchange.sendResponseHeaders(status, bytes.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+
+
+	//-----------Inner Classes--------------
+	/**
+	 * <h1>Server Session Class</h1>
+	 *
+	 * The Server Session class holds a quiz being taken through the server, along
+	 * with who is taking it and when it was last used.
+	 *
+	 * @author Varun Unnithan
+	 *
+	 */
+	private static class ServerSession {
+
+		/** The quiz being taken */
+		private final QuizSession quiz;
+		/** The name of the student taking the quiz, or null if it isn't known */
+		private final String student;
+		/** The last time the quiz was used, from System.nanoTime() */
+		private volatile long lastUsed;
+
+
+		/**
+		 * Creates a session for a quiz that was just started
+		 * @param quiz The quiz being taken
+		 * @param student The name of the student taking the quiz, or null if it isn't known
+		 */
+		private ServerSession(QuizSession quiz, String student) {
+			this.quiz = quiz;
+			this.student = student;
+			lastUsed = System.nanoTime();
+		}
+	}
+
+
+	/**
+	 * <h1>Request Exception Class</h1>
+	 *
+	 * The Request Exception class is thrown when a request can't be handled, and
+	 * holds the HTTP status to answer it with.
+	 *
+	 * @author Varun Unnithan
+	 *
+	 */
+	@SuppressWarnings("serial")
+	private static class RequestException extends RuntimeException {
+
+		/** The HTTP status code to answer with */
+		private final int status;
+
+
+		/**
+		 * Creates an exception for a request that can't be handled
+		 * @param status The HTTP status code to answer with
+		 * @param message The description of the problem
+		 */
+		private RequestException(int status, String message) {
+			super(message);
+			this.status = status;
+		}
+	}
+}
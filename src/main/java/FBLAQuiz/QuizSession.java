@@ -0,0 +1,233 @@
+package FBLAQuiz;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * <h1>Quiz Session Class</h1>
+ *
+ * The Quiz Session class runs a single quiz without any UI. It picks the quiz's
+ * questions, holds the state of each one as a {@link QuizQuestion}, times the
+ * quiz, and grades it once it is finished. Nothing in a session touches Swing or
+ * the disk, so many sessions can be run at once on any threads, such as by a
+ * server or a batch of simulated quizzes.
+ *
+ * The Quiz class is a view over a session, which shows each of its questions.
+ *
+ * @author Varun Unnithan
+ *
+ */
+public class QuizSession {
+
+	/** The number of questions in a quiz when no length is given, which is one of each type */
+	public static final int DEFAULT_LENGTH = 5;
+
+	//-----------Instance Variables-----------
+	/** The quiz's questions, in the order they are asked */
+	private final List<QuizQuestion> questions;
+	/** The time the quiz was started, from System.nanoTime(), or 0 if it hasn't been */
+	private volatile long startTime;
+	/** The time the quiz was finished, from System.nanoTime(), or 0 if it hasn't been */
+	private volatile long finishTime;
+
+
+	//-----------Constructors-------------
+	/**
+	 * Creates a quiz with a random question of each type, in a random order
+	 * @param bank The question bank to pick the questions from
+	 * @param random The random number generator used to pick and shuffle the questions
+	 */
+	public QuizSession(QuestionBank bank, Random random) {
+		this(bank, DEFAULT_LENGTH, random);
+	}
+
+
+	/**
+	 * Creates a quiz of random questions, in a random order. A quiz of at least the default
+	 * length has at least one question of each type, and no question is asked twice.
+	 * @param bank The question bank to pick the questions from
+	 * @param length The number of questions to ask, which is cut down to the number of questions in the bank
+	 * @param random The random number generator used to pick and shuffle the questions
+	 */
+	public QuizSession(QuestionBank bank, int length, Random random) {
+		this(pickQuestions(bank, length, random), random);
+	}
+
+
+	/**
+	 * Creates a quiz of questions picked by a sampler, so that a student isn't asked the
+	 * same questions again until they have been asked the rest
+	 * @param sampler The student's question sampler
+	 * @param bank The question bank to pick the questions from
+	 * @param length The number of questions to ask, which is cut down to the number of questions in the bank
+	 * @param random The random number generator used to shuffle each question's choices
+	 */
+	public QuizSession(QuestionSampler sampler, QuestionBank bank, int length, Random random) {
+		this(sampler.pick(bank, length), random);
+	}
+
+
+	/**
+	 * Creates a quiz with the given questions
+	 * @param questions The questions to ask, in order
+	 * @param random The random number generator used to shuffle each question's choices
+	 */
+	public QuizSession(List<QuestionData> questions, Random random) {
+
+		List<QuizQuestion> quizQuestions = new ArrayList<QuizQuestion>(questions.size());
+		for (int i = 0; i < questions.size(); i++) {
+			quizQuestions.add(new QuizQuestion(questions.get(i), i + 1, random));
+		}
+		this.questions = Collections.unmodifiableList(quizQuestions);
+	}
+
+
+	//---------------Methods------------------
+	/**
+	 * Picks random questions from a question bank, and shuffles their order
+	 * @param bank The question bank to pick from
+	 * @param length The number of questions to pick
+	 * @param random The random number generator to use
+	 * @return The picked questions
+	 */
+	private static List<QuestionData> pickQuestions(QuestionBank bank, int length, Random random) {
+
+		//every question not yet picked, with the first of each type picked right away if there's room
+		List<QuestionData> picked = new ArrayList<QuestionData>();
+		List<QuestionData> remaining = new ArrayList<QuestionData>();
+		for (QuestionType type : QuestionType.values()) {
+			List<QuestionData> typeQuestions = new ArrayList<QuestionData>(bank.getQuestions(type));
+			if (length >= DEFAULT_LENGTH && !typeQuestions.isEmpty()) {
+				picked.add(typeQuestions.remove(random.nextInt(typeQuestions.size())));
+			}
+			remaining.addAll(typeQuestions);
+		}
+
+		//fill the rest of the quiz from every type at once, without repeating a question
+		length = Math.min(length, picked.size() + remaining.size());
+		while (picked.size() < length) {
+			int i = random.nextInt(remaining.size());
+			picked.add(remaining.get(i));
+			remaining.set(i, remaining.get(remaining.size() - 1));
+			remaining.remove(remaining.size() - 1);
+		}
+
+		Collections.shuffle(picked, random);
+		return picked;
+	}
+
+
+	/**
+	 * Gets the quiz's questions
+	 * @return An unmodifiable List of the questions, in the order they are asked
+	 */
+	public List<QuizQuestion> getQuestions() {
+		return questions;
+	}
+
+
+	/**
+	 * Gets one of the quiz's questions
+	 * @param quizNumber The question's number within the quiz, starting at 1
+	 * @return The question
+	 */
+	public QuizQuestion getQuestion(int quizNumber) {
+		return questions.get(quizNumber - 1);
+	}
+
+
+	/**
+	 * Gets the number of questions in the quiz
+	 * @return The number of questions
+	 */
+	public int size() {
+		return questions.size();
+	}
+
+
+	/**
+	 * Counts the questions that have been answered
+	 * @return The number of answered questions
+	 */
+	public int getAnsweredCount() {
+
+		int answered = 0;
+		for (QuizQuestion question : questions) {
+			if (question.isAnswered()) {
+				answered++;
+			}
+		}
+		return answered;
+	}
+
+
+	/**
+	 * Grades the quiz
+	 * @return The number of questions answered correctly
+	 */
+	public int getScore() {
+
+		int score = 0;
+		for (QuizQuestion question : questions) {
+			if (question.isCorrect()) {
+				score++;
+			}
+		}
+		return score;
+	}
+
+
+	/**
+	 * Starts timing the quiz
+	 */
+	public void start() {
+		startTime = System.nanoTime();
+		finishTime = 0;
+	}
+
+
+	/**
+	 * Stops timing the quiz
+	 */
+	public void finish() {
+		if (finishTime == 0) {
+			finishTime = System.nanoTime();
+		}
+	}
+
+
+	/**
+	 * Checks to see if the quiz has been finished
+	 * @return {@code true} if the quiz is finished
+	 */
+	public boolean isFinished() {
+		return finishTime != 0;
+	}
+
+
+	/**
+	 * Gets the time taken on the quiz, up to now if it hasn't been finished
+	 * @return The quiz's time in seconds, or 0 if it hasn't been started
+	 */
+	public int getQuizDuration() {
+
+		long start = startTime;
+		if (start == 0) {
+			return 0;
+		}
+		long end = finishTime == 0 ? System.nanoTime() : finishTime;
+		return (int) ((end - start) / 1000000000L);
+	}
+
+
+	/**
+	 * Finishes the quiz, if it isn't already, and creates its score report
+	 * @return The score report of the quiz
+	 */
+	public ScoreReport createReport() {
+		finish();
+		return new ScoreReport(this);
+	}
+}
@@ -0,0 +1,312 @@
+package FBLAQuiz;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.json.simple.JSONObject;
+import org.json.simple.parser.ParseException;
+
+/**
+ * <h1>Report Archive Class</h1>
+ *
+ * The Report Archive class saves score reports in a compact binary format, as
+ * an optional alternative to the JSON score report log, which stays the store
+ * the program uses. An archive is made up of:
+ * <ul>
+ * <li>A header with the number of reports</li>
+ * <li>The summary of every report, a column at a time: the times the quizzes were
+ * taken, then their time zones, scores, and durations</li>
+ * <li>A table of every distinct string used by the reports</li>
+ * <li>The reports themselves, oldest first</li>
+ * </ul>
+ *
+ * Each question's text, ID, and answers are only written once in the table of
+ * strings, and the reports refer to them by their position in it, so a question
+ * that was asked in many quizzes doesn't repeat its text in each one. The summaries
+ * can be read without reading anything past them.
+ *
+ * @author Varun Unnithan
+ *
+ */
+public class ReportArchive {
+
+	/** The default path of a report archive */
+	public static final String ARCHIVE_PATH = "./JSONfiles/scoreReports.bin";
+
+	/** The number written at the start of an archive to identify it */
+	private static final int ARCHIVE_MAGIC = 0x46425241;
+	/** The version of the archive format, where version 2 widened scores and question counts past a byte,
+	 * and version 3 widened question numbers and added the time spent on each question */
+	private static final int ARCHIVE_VERSION = 3;
+
+
+	//---------------Methods------------------
+	/**
+	 * Writes every report in a store to an archive, replacing any archive at its path
+	 * @param store The store of reports to archive
+	 * @param archive The path of the archive to write
+	 * @return The number of reports archived
+	 * @throws IOException On error while reading the store or writing the archive
+	 * @throws ParseException On error while parsing a report in the store
+	 */
+	public static int export(ReportStore store, Path archive) throws IOException, ParseException {
+
+		int count = store.size();
+		ReportColumns columns = new ReportColumns(count);
+		StringTable strings = new StringTable();
+
+		//write the reports oldest first, adding their text to the table of strings as it is used
+		ByteArrayOutputStream reports = new ByteArrayOutputStream();
+		DataOutputStream reportsOut = new DataOutputStream(reports);
+		for (int i = count - 1; i >= 0; i--) {
+			JSONObject report = store.read(i);
+			columns.add(report);
+			new ScoreReport(report).write(reportsOut, strings);
+		}
+
+		//put together the header, summaries, table of strings, and reports
+		ByteArrayOutputStream contents = new ByteArrayOutputStream(reports.size() + count * ReportColumns.ROW_SIZE + 1024);
+		DataOutputStream out = new DataOutputStream(contents);
+		out.writeInt(ARCHIVE_MAGIC);
+		out.writeByte(ARCHIVE_VERSION);
+		out.writeInt(count);
+		columns.writeColumns(out);
+		strings.writeTable(out);
+		reports.writeTo(out);
+		out.flush();
+
+		JournaledFiles.write(archive, contents.toByteArray());
+		return count;
+	}
+
+
+	/**
+	 * Reads the summaries of every report in an archive, without reading the reports themselves
+	 * @param archive The path of the archive
+	 * @return The summaries, newest first
+	 * @throws IOException On error while reading the archive
+	 */
+	public static List<ReportSummary> readSummaries(Path archive) throws IOException {
+
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(archive)))) {
+
+			int version = readHeader(in);
+			int count = in.readInt();
+			ReportColumns columns = ReportColumns.readColumns(in, count, version);
+
+			List<ReportSummary> summaries = new ArrayList<ReportSummary>(count);
+			for (int i = 0; i < count; i++) {
+				ReportSummary summary = columns.getSummary(count - 1 - i, i);
+				summaries.add(summary == null ? new ReportSummary(i, "", "", 0, QuizSession.DEFAULT_LENGTH, 0) : summary);
+			}
+			return summaries;
+		}
+	}
+
+
+	/**
+	 * Reads every report in an archive
+	 * @param archive The path of the archive
+	 * @return The reports, oldest first
+	 * @throws IOException On error while reading the archive
+	 */
+	public static List<ScoreReport> readReports(Path archive) throws IOException {
+
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(archive)))) {
+
+			//skip past the summaries to the table of strings
+			int version = readHeader(in);
+			int count = in.readInt();
+			ReportColumns.readColumns(in, count, version);
+			StringTable strings = StringTable.readTable(in);
+
+			List<ScoreReport> reports = new ArrayList<ScoreReport>(count);
+			for (int i = 0; i < count; i++) {
+				reports.add(new ScoreReport(in, strings, version));
+			}
+			return reports;
+		}
+	}
+
+
+	/**
+	 * Adds every report in an archive to the end of a store, as JSON
+	 * @param archive The path of the archive
+	 * @param store The store to add the reports to
+	 * @return The number of reports added
+	 * @throws IOException On error while reading the archive or writing the store
+	 */
+	public static int importInto(Path archive, ReportStore store) throws IOException {
+
+		List<ScoreReport> reports = readReports(archive);
+		for (ScoreReport report : reports) {
+			store.append(report.toJSON());
+		}
+		return reports.size();
+	}
+
+
+	/**
+	 * Reads and checks the start of an archive's header, up to the number of reports in it
+	 * @param in The stream of the archive
+	 * @return The version of the archive
+	 * @throws IOException On error while reading the archive, or if it isn't a report archive
+	 */
+	private static int readHeader(DataInputStream in) throws IOException {
+
+		if (in.readInt() != ARCHIVE_MAGIC) {
+			throw new IOException("Not a score report archive");
+		}
+		int version = in.readUnsignedByte();
+		if (version < 1 || version > ARCHIVE_VERSION) {
+			throw new IOException("Unsupported score report archive version " + version);
+		}
+		return version;
+	}
+
+
+	//-----------Inner Classes--------------
+	/**
+	 * <h1>String Table Class</h1>
+	 *
+	 * The String Table class holds every distinct string in an archive. While writing,
+	 * each string is added to the table the first time it is used, and only its position
+	 * is written in its place. While reading, the positions are turned back into strings.
+	 *
+	 * @author Varun Unnithan
+	 *
+	 */
+	public static class StringTable {
+
+		/** The strings in the table, by their position */
+		private final List<String> strings;
+		/** The position of each string in the table, used while writing */
+		private final HashMap<String, Integer> positions;
+
+
+		/**
+		 * Creates an empty table of strings
+		 */
+		public StringTable() {
+			strings = new ArrayList<String>();
+			positions = new HashMap<String, Integer>();
+		}
+
+
+		/**
+		 * Writes a reference to a string, adding the string to the table if it isn't already in it
+		 * @param out The stream to write to
+		 * @param string The string, which may be null
+		 * @throws IOException On error while writing
+		 */
+		public void writeString(DataOutputStream out, String string) throws IOException {
+
+			//0 stands for null, so the positions are written one higher
+			if (string == null) {
+				writeVarInt(out, 0);
+				return;
+			}
+			Integer position = positions.get(string);
+			if (position == null) {
+				position = strings.size();
+				strings.add(string);
+				positions.put(string, position);
+			}
+			writeVarInt(out, position + 1);
+		}
+
+
+		/**
+		 * Reads a reference written by {@link #writeString}
+		 * @param in The stream to read from
+		 * @return The string that was referred to, or null
+		 * @throws IOException On error while reading, or if the reference isn't in the table
+		 */
+		public String readString(DataInputStream in) throws IOException {
+
+			int reference = readVarInt(in);
+			if (reference == 0) {
+				return null;
+			}
+			if (reference > strings.size()) {
+				throw new IOException("String " + reference + " isn't in the archive's table");
+			}
+			return strings.get(reference - 1);
+		}
+
+
+		/**
+		 * Writes the whole table
+		 * @param out The stream to write to
+		 * @throws IOException On error while writing
+		 */
+		private void writeTable(DataOutputStream out) throws IOException {
+
+			out.writeInt(strings.size());
+			for (String string : strings) {
+				out.writeUTF(string);
+			}
+		}
+
+
+		/**
+		 * Reads a table written by {@link #writeTable}
+		 * @param in The stream to read from
+		 * @return The table that was read
+		 * @throws IOException On error while reading
+		 */
+		private static StringTable readTable(DataInputStream in) throws IOException {
+
+			StringTable table = new StringTable();
+			int size = in.readInt();
+			for (int i = 0; i < size; i++) {
+				table.strings.add(in.readUTF());
+			}
+			return table;
+		}
+
+
+		/**
+		 * Writes a non-negative int in as few bytes as it needs, 7 bits at a time
+		 * @param out The stream to write to
+		 * @param value The int to write
+		 * @throws IOException On error while writing
+		 */
+		private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+
+			while ((value & ~0x7F) != 0) {
+				out.writeByte((value & 0x7F) | 0x80);
+				value >>>= 7;
+			}
+			out.writeByte(value);
+		}
+
+
+		/**
+		 * Reads an int written by {@link #writeVarInt}
+		 * @param in The stream to read from
+		 * @return The int that was read
+		 * @throws IOException On error while reading
+		 */
+		private static int readVarInt(DataInputStream in) throws IOException {
+
+			int value = 0;
+			for (int shift = 0; shift < 32; shift += 7) {
+				int b = in.readUnsignedByte();
+				value |= (b & 0x7F) << shift;
+				if ((b & 0x80) == 0) {
+					return value;
+				}
+			}
+			throw new IOException("Malformed reference in the archive");
+		}
+	}
+}
@@ -0,0 +1,374 @@
+package FBLAQuiz;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * <h1>Report Backup Class</h1>
+ *
+ * The Report Backup class keeps an incremental backup of the score report log.
+ * Since the log is only ever appended to, each backup only has to copy the bytes
+ * added since the last one.
+ *
+ * The backup is made of generations. Each generation starts with a full copy of
+ * the log, called its base, followed by a delta for every time the log grew after
+ * that. A generation's manifest lists each piece along with its position in the
+ * log, its length, and its CRC-32 checksum. A new generation is started once the
+ * current one has too many deltas or the log was rewritten, and only the newest
+ * few generations are kept.
+ *
+ * @author Varun Unnithan
+ *
+ */
+public class ReportBackup {
+
+	/** The directory where the backups of the score report log are kept */
+	public static final String BACKUP_DIRECTORY = "./JSONfiles/backup/reports";
+	/** The number of generations of backups to keep */
+	public static final int GENERATIONS = 3;
+	/** The most deltas a generation can have before a new generation is started */
+	public static final int MAX_DELTAS = 50;
+
+	/** The size of the buffer used while copying the log */
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+
+	//-----------Instance Variables-----------
+	/** The directory of this backup's files */
+	private final Path directory;
+	/** The number of the current generation, or 0 if there are no backups yet */
+	private int generation;
+	/** The number of pieces (the base and its deltas) in the current generation */
+	private int pieces;
+	/** The length of the log that the current generation covers, in bytes */
+	private long backedUpLength;
+
+
+	//-----------Constructors-------------
+	/**
+	 * Opens the backups in a directory, finding where the newest generation left off
+	 * @param directory The directory of the backups, which doesn't need to exist yet
+	 * @throws IOException On error while reading the backups
+	 */
+	public ReportBackup(Path directory) throws IOException {
+
+		this.directory = directory;
+		Files.createDirectories(directory);
+
+		//continue from the newest generation
+		List<Integer> generations = listGenerations();
+		if (!generations.isEmpty()) {
+			generation = generations.get(generations.size() - 1);
+			List<Piece> generationPieces = readValidPieces(generation);
+			pieces = generationPieces.size();
+			for (Piece piece : generationPieces) {
+				backedUpLength += piece.length;
+			}
+
+			//if part of the generation is damaged, the next update starts a new one
+			if (pieces < Files.readAllLines(manifestPath(generation), StandardCharsets.UTF_8).size()) {
+				pieces = 0;
+			}
+		}
+	}
+
+
+	//---------------Methods------------------
+	/**
+	 * Backs up the part of the log that was added since the last backup. A new
+	 * generation is started instead if there isn't one, if the log has been
+	 * rewritten, or if the current generation has too many deltas.
+	 * @param log The path of the score report log
+	 * @param logLength The length of the log to back up, which should end on a report
+	 * @throws IOException On error while reading the log or writing the backup
+	 */
+	public synchronized void update(Path log, long logLength) throws IOException {
+
+		if (generation == 0 || pieces == 0 || logLength < backedUpLength || pieces > MAX_DELTAS) {
+			startGeneration(log, logLength);
+		}
+		else if (logLength > backedUpLength) {
+			addPiece(log, backedUpLength, logLength);
+		}
+	}
+
+
+	/**
+	 * Starts a new generation with a full copy of the log, then deletes the
+	 * generations that are too old to keep
+	 * @param log The path of the score report log
+	 * @param logLength The length of the log to back up, which should end on a report
+	 * @throws IOException On error while reading the log or writing the backup
+	 */
+	public synchronized void startGeneration(Path log, long logLength) throws IOException {
+
+		generation++;
+		pieces = 0;
+		backedUpLength = 0;
+		addPiece(log, 0, logLength);
+
+		//delete every generation older than the ones that are kept
+		for (int oldGeneration : listGenerations()) {
+			if (oldGeneration <= generation - GENERATIONS) {
+				deleteGeneration(oldGeneration);
+			}
+		}
+	}
+
+
+	/**
+	 * Restores the log from the newest generation whose base is intact. If one of
+	 * its deltas is damaged, the log is restored up to the report before it.
+	 * @param log The path of the log to write
+	 * @return Whether a backup was found and restored
+	 * @throws IOException On error while reading the backup or writing the log
+	 */
+	public synchronized boolean restore(Path log) throws IOException {
+
+		List<Integer> generations = listGenerations();
+		for (int i = generations.size() - 1; i >= 0; i--) {
+
+			List<Piece> generationPieces = readValidPieces(generations.get(i));
+			if (generationPieces.isEmpty()) {
+				continue;
+			}
+
+			//join the base and each delta back into the log
+			ByteArrayOutputStream contents = new ByteArrayOutputStream();
+			for (Piece piece : generationPieces) {
+				contents.write(Files.readAllBytes(piecePath(generations.get(i), piece.number)));
+			}
+			JournaledFiles.write(log, contents.toByteArray());
+			return true;
+		}
+		return false;
+	}
+
+
+	/**
+	 * Copies part of the log into a new piece of the current generation, then adds it
+	 * to the generation's manifest
+	 * @param log The path of the score report log
+	 * @param start The start of the part to copy
+	 * @param end The end of the part to copy
+	 * @throws IOException On error while reading the log or writing the backup
+	 */
+	private void addPiece(Path log, long start, long end) throws IOException {
+
+		Path piecePath = piecePath(generation, pieces);
+		CRC32 checksum = new CRC32();
+
+		//copy the bytes while finding their checksum, then force them to disk
+		try (FileChannel in = FileChannel.open(log, StandardOpenOption.READ);
+				FileChannel out = FileChannel.open(piecePath, StandardOpenOption.CREATE,
+						StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+
+			ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+			long position = start;
+			while (position < end) {
+
+				buffer.clear();
+				buffer.limit((int) Math.min(BUFFER_SIZE, end - position));
+				int read = in.read(buffer, position);
+				if (read < 0) {
+					throw new IOException("Score report log is shorter than " + end + " bytes");
+				}
+				position += read;
+
+				buffer.flip();
+				checksum.update(buffer.array(), 0, buffer.limit());
+				while (buffer.hasRemaining()) {
+					out.write(buffer);
+				}
+			}
+			out.force(true);
+		}
+
+		//record the piece in the manifest only once it is saved
+		String entry = pieces + "\t" + start + "\t" + (end - start) + "\t" + checksum.getValue() + "\n";
+		try (FileChannel manifest = FileChannel.open(manifestPath(generation), StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+
+			manifest.write(ByteBuffer.wrap(entry.getBytes(StandardCharsets.UTF_8)));
+			manifest.force(true);
+		}
+
+		pieces++;
+		backedUpLength = end;
+	}
+
+
+	/**
+	 * Reads a generation's manifest and checks each piece against it, stopping at
+	 * the first piece that is missing, damaged, or doesn't follow the one before it
+	 * @param generation The number of the generation
+	 * @return The pieces that are intact, in order, starting with the base
+	 * @throws IOException On error while reading the backup
+	 */
+	private List<Piece> readValidPieces(int generation) throws IOException {
+
+		List<Piece> validPieces = new ArrayList<Piece>();
+		Path manifest = manifestPath(generation);
+		if (!Files.exists(manifest)) {
+			return validPieces;
+		}
+
+		long expectedStart = 0;
+		for (String entry : Files.readAllLines(manifest, StandardCharsets.UTF_8)) {
+
+			Piece piece = Piece.parse(entry);
+			if (piece == null || piece.number != validPieces.size() || piece.start != expectedStart
+					|| !piece.matches(piecePath(generation, piece.number))) {
+				break;
+			}
+			validPieces.add(piece);
+			expectedStart += piece.length;
+		}
+		return validPieces;
+	}
+
+
+	/**
+	 * Finds the numbers of every generation in the backup directory
+	 * @return The generation numbers, oldest first
+	 * @throws IOException On error while listing the directory
+	 */
+	private List<Integer> listGenerations() throws IOException {
+
+		List<Integer> generations = new ArrayList<Integer>();
+		try (DirectoryStream<Path> manifests = Files.newDirectoryStream(directory, "generation-*.manifest")) {
+			for (Path manifest : manifests) {
+				String name = manifest.getFileName().toString();
+				try {
+					generations.add(Integer.parseInt(name.substring(11, name.length() - 9)));
+				}
+				catch (NumberFormatException e) {}
+			}
+		}
+		Collections.sort(generations);
+		return generations;
+	}
+
+
+	/**
+	 * Deletes a generation's manifest and pieces
+	 * @param generation The number of the generation
+	 * @throws IOException On error while deleting the files
+	 */
+	private void deleteGeneration(int generation) throws IOException {
+
+		Files.deleteIfExists(manifestPath(generation));
+		try (DirectoryStream<Path> generationPieces = Files.newDirectoryStream(directory, "generation-" + generation + "-*.log")) {
+			for (Path piece : generationPieces) {
+				Files.deleteIfExists(piece);
+			}
+		}
+	}
+
+
+	/**
+	 * Gets the path of a generation's manifest
+	 * @param generation The number of the generation
+	 * @return The path of the manifest
+	 */
+	private Path manifestPath(int generation) {
+		return directory.resolve("generation-" + generation + ".manifest");
+	}
+
+
+	/**
+	 * Gets the path of one of a generation's pieces
+	 * @param generation The number of the generation
+	 * @param piece The number of the piece, where 0 is the base
+	 * @return The path of the piece
+	 */
+	private Path piecePath(int generation, int piece) {
+		return directory.resolve("generation-" + generation + "-" + piece + ".log");
+	}
+
+
+	//-----------Inner Classes--------------
+	/**
+	 * <h1>Piece Class</h1>
+	 *
+	 * A single entry of a generation's manifest, describing the base or one of the deltas
+	 *
+	 * @author Varun Unnithan
+	 *
+	 */
+	private static class Piece {
+
+		/** The number of the piece within its generation, where 0 is the base */
+		private final int number;
+		/** The position in the log where the piece starts */
+		private final long start;
+		/** The length of the piece in bytes */
+		private final long length;
+		/** The CRC-32 checksum of the piece */
+		private final long checksum;
+
+
+		/**
+		 * Creates a piece from the values in its manifest entry
+		 * @param number The number of the piece within its generation
+		 * @param start The position in the log where the piece starts
+		 * @param length The length of the piece in bytes
+		 * @param checksum The CRC-32 checksum of the piece
+		 */
+		private Piece(int number, long start, long length, long checksum) {
+			this.number = number;
+			this.start = start;
+			this.length = length;
+			this.checksum = checksum;
+		}
+
+
+		/**
+		 * Parses a line of a manifest
+		 * @param entry The line of the manifest
+		 * @return The piece it describes, or null if the line was only partly written
+		 */
+		private static Piece parse(String entry) {
+
+			String[] parts = entry.split("\t");
+			if (parts.length != 4) {
+				return null;
+			}
+			try {
+				return new Piece(Integer.parseInt(parts[0]), Long.parseLong(parts[1]),
+						Long.parseLong(parts[2]), Long.parseLong(parts[3]));
+			}
+			catch (NumberFormatException e) {
+				return null;
+			}
+		}
+
+
+		/**
+		 * Checks that a piece's file has the length and checksum from the manifest
+		 * @param path The path of the piece's file
+		 * @return Whether the file is intact
+		 * @throws IOException On error while reading the file
+		 */
+		private boolean matches(Path path) throws IOException {
+
+			if (!Files.exists(path) || Files.size(path) != length) {
+				return false;
+			}
+			CRC32 crc = new CRC32();
+			crc.update(Files.readAllBytes(path));
+			return crc.getValue() == checksum;
+		}
+	}
+}
@@ -0,0 +1,177 @@
+package FBLAQuiz;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.json.simple.JSONObject;
+import org.json.simple.parser.ParseException;
+
+/**
+ * <h1>Report Cache Class</h1>
+ *
+ * The Report Cache class is the base of the values worked out from every score
+ * report in the report store, like {@link QuestionStats} and {@link ScoreAggregates}.
+ * A cache is saved along with the number of reports it covers, so it never has to be
+ * found by reading every report again. Whenever a report is saved or the cache is
+ * loaded, it is caught up on only the reports added to the store since then.
+ *
+ * A cache is only a copy of what the store already has. If its file is missing or
+ * damaged, or its save fails, it is rebuilt from the store the next time it is loaded.
+ * Damaged reports are skipped, but still counted, so they aren't read again each time.
+ *
+ * @author Varun Unnithan
+ *
+ */
+public abstract class ReportCache {
+
+	/** The most reports read from the report store at once while catching up */
+	private static final int CATCH_UP_BATCH = 500;
+
+
+	//-----------Instance Variables-----------
+	/** The path the cache is saved to, or null to not save it */
+	private final Path path;
+	/** The number of reports, oldest first, in the report store that the cache covers */
+	private int reportCount;
+
+
+	//-----------Constructors-------------
+	/**
+	 * Creates an empty cache that doesn't cover any reports
+	 * @param path The path the cache is saved to, or null to not save it
+	 */
+	protected ReportCache(Path path) {
+		this.path = path;
+	}
+
+
+	//---------------Methods------------------
+	/**
+	 * Reads the cache from its file, which is left empty if the file doesn't exist or can't be read
+	 */
+	protected synchronized void loadSaved() {
+
+		if (path == null || !Files.exists(path)) {
+			return;
+		}
+
+		try {
+			JSONObject saved = (JSONObject) JSONParsers.parseFile(path.toString());
+			read(saved);
+			reportCount = ((Number) saved.get("reports")).intValue();
+		}
+		catch (IOException | ParseException | ClassCastException | NullPointerException
+				| IndexOutOfBoundsException | NumberFormatException e) {
+			//a damaged cache is rebuilt from every report
+			e.printStackTrace();
+			clear();
+			reportCount = 0;
+		}
+	}
+
+
+	/**
+	 * Adds the reports that were added to a report store since the cache was last updated,
+	 * oldest first, then saves the cache if any were added. This is called after each report
+	 * is saved, so only that report is read. If the store has fewer reports than the cache
+	 * covers, such as after damaged reports were compacted away, the cache is rebuilt.
+	 * @param store The report store
+	 * @throws IOException On error while reading the store
+	 */
+	public synchronized void catchUp(ReportStore store) throws IOException {
+
+		int size = store.size();
+		if (size == reportCount) {
+			return;
+		}
+		if (size < reportCount) {
+			clear();
+			reportCount = 0;
+		}
+
+		//the store's reports are numbered newest first, so the missing ones are read from the oldest back
+		for (int end = size - reportCount; end > 0; end -= CATCH_UP_BATCH) {
+
+			int first = Math.max(0, end - CATCH_UP_BATCH);
+			try {
+				List<JSONObject> batch = store.readRange(first, end - first);
+				for (int i = batch.size() - 1; i >= 0; i--) {
+					record(batch.get(i));
+				}
+			}
+			//a batch with a damaged report is read again one report at a time, skipping the damaged ones
+			catch (ParseException e) {
+				for (int i = end - 1; i >= first; i--) {
+					try {
+						record(store.read(i));
+					}
+					catch (ParseException damaged) {
+						continue;
+					}
+				}
+			}
+		}
+		reportCount = size;
+		save();
+	}
+
+
+	/**
+	 * Gets the number of score reports the cache covers
+	 * @return The number of reports
+	 */
+	public synchronized int getReportCount() {
+		return reportCount;
+	}
+
+
+	/**
+	 * Saves the cache, if it has a path. A failed save is only printed, since the cache
+	 * is caught up again from the report store the next time it is loaded.
+	 */
+	private synchronized void save() {
+
+		if (path == null) {
+			return;
+		}
+		try {
+			if (path.getParent() != null) {
+				Files.createDirectories(path.getParent());
+			}
+			JournaledFiles.write(path, toJSON().toJSONString());
+		}
+		catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+
+	/**
+	 * Reads the values of the cache from the JSONObject written by {@link #toJSON()}
+	 * @param saved The saved cache
+	 */
+	protected abstract void read(JSONObject saved);
+
+
+	/**
+	 * Adds a score report to the cache
+	 * @param report The JSONObject of the score report
+	 */
+	protected abstract void record(JSONObject report);
+
+
+	/**
+	 * Empties the values of the cache, so they can be rebuilt from every report
+	 */
+	protected abstract void clear();
+
+
+	/**
+	 * Creates a JSONObject of the cache, which has to include the number of reports it
+	 * covers as {@code "reports"}
+	 * @return The JSONObject of the cache
+	 */
+	public abstract JSONObject toJSON();
+}
@@ -0,0 +1,258 @@
+package FBLAQuiz;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+
+import org.json.simple.JSONObject;
+
+/**
+ * <h1>Report Columns Class</h1>
+ *
+ * The Report Columns class holds the summaries of many score reports as columns
+ * of primitives, with one array for each of the time the quizzes were taken, their
+ * scores, their numbers of questions, and their durations. This takes a small, fixed
+ * number of bytes for each report, instead of a map of boxed values, so the summaries
+ * of every report can be kept in memory and scanned quickly.
+ *
+ * The columns can be written a row at a time, so a row can be appended to a file
+ * as each report is added, or a whole column at a time, so a file of them can be
+ * scanned a column at once.
+ *
+ * @author Varun Unnithan
+ *
+ */
+public class ReportColumns {
+
+	/** The number of bytes in a single written row */
+	public static final int ROW_SIZE = 18;
+	/** The time stored for a report whose date couldn't be read */
+	public static final long UNKNOWN_TIME = Long.MIN_VALUE;
+	/** The format of the shortened date and time of a quiz */
+	static final DateTimeFormatter SHORTENED_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+
+
+	//-----------Instance Variables-----------
+	/** The time each quiz was taken, in seconds since the epoch */
+	private long[] takenSeconds;
+	/** The offset from UTC of the time zone each quiz was taken in, in minutes */
+	private short[] zoneMinutes;
+	/** The score of each quiz */
+	private short[] scores;
+	/** The number of questions in each quiz */
+	private short[] questionCounts;
+	/** The time taken on each quiz, in seconds */
+	private int[] durations;
+	/** The number of rows in the columns */
+	private int count;
+
+
+	//-----------Constructors-------------
+	/**
+	 * Creates empty columns
+	 * @param capacity The number of rows to make room for at first
+	 */
+	public ReportColumns(int capacity) {
+
+		capacity = Math.max(16, capacity);
+		takenSeconds = new long[capacity];
+		zoneMinutes = new short[capacity];
+		scores = new short[capacity];
+		questionCounts = new short[capacity];
+		durations = new int[capacity];
+	}
+
+
+	//---------------Methods------------------
+	/**
+	 * Adds a row for a score report
+	 * @param report The JSONObject of the score report
+	 */
+	public void add(JSONObject report) {
+
+		long taken = UNKNOWN_TIME;
+		int zone = 0;
+		try {
+			//the shortened date is written from the same time, so only keep the time if they agree
+			ZonedDateTime date = ZonedDateTime.parse((String) report.get("date"), DateTimeFormatter.RFC_1123_DATE_TIME);
+			if (date.format(SHORTENED_FORMAT).equals(report.get("shortened date"))) {
+				taken = date.toEpochSecond();
+				zone = date.getOffset().getTotalSeconds() / 60;
+			}
+		}
+		catch (DateTimeParseException | ClassCastException | NullPointerException e) {
+			//the report is still added, and its summary is read from the report itself
+		}
+
+		Object score = report.get("score");
+		Object total = report.get("total");
+		Object duration = report.get("time");
+		//a parsed report holds Longs, while a report that was just created holds Integers, and reports
+		//from before quizzes could change length don't have a total, since they were all the default length
+		add(taken, zone, score instanceof Number ? ((Number) score).intValue() : 0,
+				total instanceof Number ? ((Number) total).intValue() : QuizSession.DEFAULT_LENGTH,
+				duration instanceof Number ? ((Number) duration).intValue() : 0);
+	}
+
+
+	/**
+	 * Adds a row
+	 * @param taken The time the quiz was taken, in seconds since the epoch, or {@link #UNKNOWN_TIME}
+	 * @param zone The offset from UTC of the time zone the quiz was taken in, in minutes
+	 * @param score The score of the quiz
+	 * @param questionCount The number of questions in the quiz
+	 * @param duration The time taken on the quiz, in seconds
+	 */
+	public void add(long taken, int zone, int score, int questionCount, int duration) {
+
+		if (count == takenSeconds.length) {
+			int capacity = count * 2;
+			takenSeconds = Arrays.copyOf(takenSeconds, capacity);
+			zoneMinutes = Arrays.copyOf(zoneMinutes, capacity);
+			scores = Arrays.copyOf(scores, capacity);
+			questionCounts = Arrays.copyOf(questionCounts, capacity);
+			durations = Arrays.copyOf(durations, capacity);
+		}
+
+		takenSeconds[count] = taken;
+		zoneMinutes[count] = (short) zone;
+		scores[count] = (short) score;
+		questionCounts[count] = (short) questionCount;
+		durations[count] = duration;
+		count++;
+	}
+
+
+	/**
+	 * Gets the number of rows in the columns
+	 * @return The number of rows
+	 */
+	public int size() {
+		return count;
+	}
+
+
+	/**
+	 * Gets the summary of the report in a row
+	 * @param row The row
+	 * @param index The position of the report in its store, where 0 is the newest
+	 * @return The summary of the report, or null if the time it was taken is unknown
+	 */
+	public ReportSummary getSummary(int row, int index) {
+
+		if (takenSeconds[row] == UNKNOWN_TIME) {
+			return null;
+		}
+		return new ReportSummary(index, takenSeconds[row], zoneMinutes[row], scores[row] & 0xFFFF,
+				questionCounts[row] & 0xFFFF, durations[row]);
+	}
+
+
+	/**
+	 * Creates a series of the percentage score of each quiz over time, leaving out
+	 * the quizzes whose time is unknown, since they can't be placed in the series
+	 * @return The score series
+	 */
+	public ScoreSeries toScoreSeries() {
+
+		long[] times = new long[count];
+		float[] percentages = new float[count];
+		int known = 0;
+		for (int row = 0; row < count; row++) {
+			if (takenSeconds[row] != UNKNOWN_TIME) {
+				int questionCount = questionCounts[row] & 0xFFFF;
+				times[known] = takenSeconds[row];
+				percentages[known] = questionCount == 0 ? 0 : 100f * (scores[row] & 0xFFFF) / questionCount;
+				known++;
+			}
+		}
+		return new ScoreSeries(times, percentages, known);
+	}
+
+
+	/**
+	 * Writes a single row
+	 * @param out The output to write to
+	 * @param row The row to write
+	 * @throws IOException On error while writing
+	 */
+	public void writeRow(DataOutput out, int row) throws IOException {
+
+		out.writeLong(takenSeconds[row]);
+		out.writeShort(zoneMinutes[row]);
+		out.writeShort(scores[row]);
+		out.writeShort(questionCounts[row]);
+		out.writeInt(durations[row]);
+	}
+
+
+	/**
+	 * Reads a single row written by {@link #writeRow}, and adds it to the end of the columns
+	 * @param in The input to read from
+	 * @throws IOException On error while reading
+	 */
+	public void readRow(DataInput in) throws IOException {
+		add(in.readLong(), in.readShort(), in.readUnsignedShort(), in.readUnsignedShort(), in.readInt());
+	}
+
+
+	/**
+	 * Writes every row a column at a time
+	 * @param out The output to write to
+	 * @throws IOException On error while writing
+	 */
+	public void writeColumns(DataOutput out) throws IOException {
+
+		for (int i = 0; i < count; i++) {
+			out.writeLong(takenSeconds[i]);
+		}
+		for (int i = 0; i < count; i++) {
+			out.writeShort(zoneMinutes[i]);
+		}
+		for (int i = 0; i < count; i++) {
+			out.writeShort(scores[i]);
+		}
+		for (int i = 0; i < count; i++) {
+			out.writeShort(questionCounts[i]);
+		}
+		for (int i = 0; i < count; i++) {
+			out.writeInt(durations[i]);
+		}
+	}
+
+
+	/**
+	 * Reads columns written by {@link #writeColumns}
+	 * @param in The input to read from
+	 * @param rows The number of rows that were written
+	 * @param version The version of the report archive the columns were written in, since
+	 * archives before version 2 wrote each score as a byte and had no numbers of questions
+	 * @return The columns that were read
+	 * @throws IOException On error while reading
+	 */
+	public static ReportColumns readColumns(DataInput in, int rows, int version) throws IOException {
+
+		ReportColumns columns = new ReportColumns(rows);
+		columns.count = rows;
+		for (int i = 0; i < rows; i++) {
+			columns.takenSeconds[i] = in.readLong();
+		}
+		for (int i = 0; i < rows; i++) {
+			columns.zoneMinutes[i] = in.readShort();
+		}
+		for (int i = 0; i < rows; i++) {
+			columns.scores[i] = (short) (version < 2 ? in.readUnsignedByte() : in.readShort());
+		}
+		for (int i = 0; i < rows; i++) {
+			columns.questionCounts[i] = version < 2 ? QuizSession.DEFAULT_LENGTH : in.readShort();
+		}
+		for (int i = 0; i < rows; i++) {
+			columns.durations[i] = in.readInt();
+		}
+		return columns;
+	}
+}
@@ -0,0 +1,146 @@
+package FBLAQuiz;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.swing.AbstractListModel;
+
+import org.json.simple.JSONObject;
+import org.json.simple.parser.ParseException;
+
+/**
+ * <h1>Report List Model Class</h1>
+ *
+ * The Report List Model class lists every score report in a ReportStore for a
+ * JList, newest first. Reports are only read from the store once a row asks for
+ * them, a page at a time, and only the most recently used pages are kept, so the
+ * list stays fast and small no matter how many reports there are. Reports saved in
+ * the background after the list was created aren't listed, and don't move its rows.
+ *
+ * @author Varun Unnithan
+ *
+ */
+@SuppressWarnings("serial")
+public class ReportListModel extends AbstractListModel<ReportSummary> {
+
+	/** The number of reports read from the store at once */
+	public static final int PAGE_SIZE = 100;
+	/** The most pages of reports kept in memory */
+	public static final int MAX_PAGES = 20;
+
+
+	//-----------Instance Variables-----------
+	/** The store of score reports being listed */
+	private final ReportStore store;
+	/** The number of reports in the list, which was the number in the store when the list was created */
+	private final int size;
+	/** The pages that have been read, by page number, in order of least recently used */
+	private final LinkedHashMap<Integer, List<ReportSummary>> pages;
+
+
+	//-----------Constructors-------------
+	/**
+	 * Creates a list of the reports currently in a store
+	 * @param store The store of score reports to list
+	 */
+	public ReportListModel(ReportStore store) {
+
+		this.store = store;
+		size = store.size();
+
+		//drop the least recently used page once there are too many
+		pages = new LinkedHashMap<Integer, List<ReportSummary>>(MAX_PAGES + 1, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Integer, List<ReportSummary>> eldest) {
+				return size() > MAX_PAGES;
+			}
+		};
+	}
+
+
+	//---------------Methods------------------
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getSize() {
+		return size;
+	}
+
+
+	/**
+	 * Gets the summary of a report, reading its page from the store if needed
+	 * @param index The row of the report, where 0 is the newest
+	 * @return The summary of the report
+	 */
+	@Override
+	public ReportSummary getElementAt(int index) {
+
+		int pageNumber = index / PAGE_SIZE;
+		List<ReportSummary> page = pages.get(pageNumber);
+		if (page == null) {
+			page = readPage(pageNumber);
+			pages.put(pageNumber, page);
+		}
+		return page.get(index % PAGE_SIZE);
+	}
+
+
+	/**
+	 * Finds where a row's report is in the store now. The store numbers its reports newest first,
+	 * so each report saved since the list was created moves the list's reports one place further.
+	 * @param row The row of the report, where 0 is the newest when the list was created
+	 * @return The report's position in the store, where 0 is the newest
+	 */
+	public int getStoreIndex(int row) {
+		return row + Math.max(0, store.size() - size);
+	}
+
+
+	/**
+	 * Reads the full report of a row from the store
+	 * @param row The row of the report
+	 * @return The JSONObject of the report
+	 * @throws IOException On error while reading the store
+	 * @throws ParseException On error while parsing the report
+	 */
+	public JSONObject readReport(int row) throws IOException, ParseException {
+
+		//a report can't be saved between finding the row's report and reading it
+		synchronized (store) {
+			return store.read(getStoreIndex(row));
+		}
+	}
+
+
+	/**
+	 * Reads a page of reports from the store
+	 * @param pageNumber The number of the page
+	 * @return The summaries of the page's reports
+	 */
+	private List<ReportSummary> readPage(int pageNumber) {
+
+		int first = pageNumber * PAGE_SIZE;
+		int pageSize = Math.min(PAGE_SIZE, size - first);
+		List<ReportSummary> page = new ArrayList<ReportSummary>(pageSize);
+
+		try {
+			//only the summaries are read, skipping over each report's question reports
+			synchronized (store) {
+				page.addAll(store.readSummaries(getStoreIndex(first), pageSize));
+			}
+		}
+		catch (IOException e) {
+			e.printStackTrace();
+		}
+
+		//if the page couldn't be read, still show a row for each of its reports
+		for (int i = page.size(); i < pageSize; i++) {
+			page.add(new ReportSummary(getStoreIndex(first + i), "", "", 0, QuizSession.DEFAULT_LENGTH, 0));
+		}
+		return page;
+	}
+}
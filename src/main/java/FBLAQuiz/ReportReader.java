@@ -0,0 +1,254 @@
+package FBLAQuiz;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.ContentHandler;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+/**
+ * <h1>Report Reader Class</h1>
+ *
+ * The Report Reader class streams score reports out of JSON text one at a time,
+ * instead of parsing the whole text into memory at once. The text can either be
+ * a single score report, like a line of the report log, or a JSON array of score
+ * reports, like the old scoreReports.json database.
+ *
+ * When only a report's summary is needed, its question reports are read past
+ * without being built, so that only the date, score, and time are kept.
+ *
+ * Each reader has its own parser, so separate readers can be used on separate threads.
+ *
+ * @author Varun Unnithan
+ *
+ */
+public class ReportReader implements ContentHandler {
+
+	/** The key of a score report's question reports */
+	private static final String QUESTIONS_KEY = "questions";
+
+
+	//-----------Instance Variables-----------
+	/** The text being read */
+	private final Reader in;
+	/** Whether the question reports of each score report are skipped */
+	private final boolean skipQuestions;
+	/** The parser of the text, which stops after each score report */
+	private final JSONParser parser;
+
+	/** The objects and arrays currently being built, innermost last */
+	private final List<Object> openValues;
+	/** The key of the value currently being read within each open object, innermost last */
+	private final List<String> openKeys;
+	/** The depth of nested values being skipped, or 0 if none are */
+	private int skipDepth;
+	/** Whether the text is an array of score reports, rather than a single one */
+	private boolean inReportArray;
+	/** The score report that was just finished, or null if none has been */
+	private JSONObject finishedReport;
+	/** Whether the end of the text has been reached */
+	private boolean ended;
+
+
+	//-----------Constructors-------------
+	/**
+	 * Creates a reader of score reports
+	 * @param in The JSON text of a score report, or an array of score reports
+	 * @param skipQuestions Whether to skip each score report's question reports, if only its summary is needed
+	 */
+	public ReportReader(Reader in, boolean skipQuestions) {
+
+		this.in = in;
+		this.skipQuestions = skipQuestions;
+		parser = new JSONParser();
+		openValues = new ArrayList<Object>();
+		openKeys = new ArrayList<String>();
+	}
+
+
+	//---------------Methods------------------
+	/**
+	 * Reads the next score report from the text
+	 * @return The JSONObject of the score report, without its question reports if they are
+	 * skipped, or null once there are no more reports
+	 * @throws IOException On error while reading the text
+	 * @throws ParseException On error while parsing the text
+	 */
+	public JSONObject next() throws IOException, ParseException {
+
+		//the parser stops as soon as a score report is finished, and starts again from there
+		finishedReport = null;
+		while (finishedReport == null && !ended) {
+			parser.parse(in, this, true);
+		}
+		return finishedReport;
+	}
+
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void startJSON() {
+	}
+
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void endJSON() {
+		ended = true;
+	}
+
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean startObject() {
+
+		if (skipDepth > 0 || startSkipping()) {
+			skipDepth++;
+			return true;
+		}
+		openValues.add(new JSONObject());
+		openKeys.add(null);
+		return true;
+	}
+
+
+	/**
+	 * Finishes an object, stopping the parser if it was a whole score report
+	 * @return Whether the parser should keep going
+	 */
+	@Override
+	public boolean endObject() {
+
+		if (skipDepth > 0) {
+			skipDepth--;
+			return true;
+		}
+
+		JSONObject object = (JSONObject) openValues.remove(openValues.size() - 1);
+		openKeys.remove(openKeys.size() - 1);
+
+		//an object with nothing around it is a whole score report
+		if (openValues.isEmpty()) {
+			finishedReport = object;
+			return false;
+		}
+		addValue(object);
+		return true;
+	}
+
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean startObjectEntry(String key) {
+
+		if (skipDepth == 0) {
+			openKeys.set(openKeys.size() - 1, key);
+		}
+		return true;
+	}
+
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean endObjectEntry() {
+		return true;
+	}
+
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean startArray() {
+
+		//the outer array of a whole database isn't built, since its reports are handed out one at a time
+		if (openValues.isEmpty() && !inReportArray && skipDepth == 0) {
+			inReportArray = true;
+			return true;
+		}
+
+		if (skipDepth > 0 || startSkipping()) {
+			skipDepth++;
+			return true;
+		}
+		openValues.add(new JSONArray());
+		openKeys.add(null);
+		return true;
+	}
+
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean endArray() {
+
+		if (skipDepth > 0) {
+			skipDepth--;
+			return true;
+		}
+		if (openValues.isEmpty()) {
+			inReportArray = false;
+			return true;
+		}
+
+		JSONArray array = (JSONArray) openValues.remove(openValues.size() - 1);
+		openKeys.remove(openKeys.size() - 1);
+		addValue(array);
+		return true;
+	}
+
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean primitive(Object value) {
+
+		if (skipDepth == 0 && !openValues.isEmpty() && !startSkipping()) {
+			addValue(value);
+		}
+		return true;
+	}
+
+
+	/**
+	 * Checks whether the value starting now is a score report's question reports, which are skipped
+	 * @return Whether the value should be skipped
+	 */
+	private boolean startSkipping() {
+		return skipQuestions && openValues.size() == 1 && QUESTIONS_KEY.equals(openKeys.get(0));
+	}
+
+
+	/**
+	 * Adds a finished value to the innermost open object or array
+	 * @param value The value to add
+	 */
+	@SuppressWarnings("unchecked")
+	private void addValue(Object value) {
+
+		Object parent = openValues.get(openValues.size() - 1);
+		if (parent instanceof JSONObject) {
+			((JSONObject) parent).put(openKeys.get(openKeys.size() - 1), value);
+		}
+		else {
+			((JSONArray) parent).add(value);
+		}
+	}
+}
@@ -0,0 +1,771 @@
+package FBLAQuiz;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.MalformedInputException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.json.simple.JSONObject;
+import org.json.simple.parser.ParseException;
+
+/**
+ * <h1>Report Store Class</h1>
+ *
+ * The Report Store class keeps the database of score reports as an append-only
+ * log, with one JSON score report written per line, oldest first. Submitting a
+ * quiz only appends its line to the end of the log, instead of rewriting every
+ * previous report.
+ *
+ * A small index file next to the log holds the byte offset of each report, so
+ * that any single report can be read without parsing the rest. The index is
+ * only a cache of the log, and is rebuilt by scanning the log whenever it is
+ * missing or doesn't cover the whole log.
+ *
+ * A summary index holds the time, score, and duration of each report as fixed
+ * size binary rows, which are kept in memory as columns of primitives. Lists
+ * and graphs of the reports are made from it without reading the log at all.
+ * Like the index, it is rebuilt from the log whenever it is out of date.
+ *
+ * A report that was only partly appended when the program stopped is cut off
+ * the end of the log the next time it is opened.
+ *
+ * The first time the store is opened, the reports in the old scoreReports.json
+ * array are migrated into the log.
+ *
+ * @author Varun Unnithan
+ *
+ */
+public class ReportStore {
+
+	/** The path of the score report log */
+	public static final String LOG_PATH = "./JSONfiles/scoreReports.log";
+	/** The path of the index of the score report log */
+	public static final String INDEX_PATH = "./JSONfiles/scoreReports.idx";
+	/** The path of the summary index of the score report log */
+	public static final String SUMMARY_PATH = "./JSONfiles/scoreReports.sum";
+	/** The path of the old score report database, which was a single JSON array */
+	public static final String LEGACY_PATH = "./JSONfiles/scoreReports.json";
+	/** The path of the backup of the old score report database */
+	public static final String LEGACY_BACKUP_PATH = "./JSONfiles/backup/scoreReports.json";
+
+	/** The number written at the start of the index file to identify it */
+	private static final int INDEX_MAGIC = 0x46425249;
+	/** The size of the index file's header, made up of the magic number, the report count, and the log length */
+	private static final int INDEX_HEADER_SIZE = 16;
+	/** The number written at the start of the summary index file to identify it, which is changed
+	 * whenever the layout of its rows changes so that an older summary index is rebuilt */
+	private static final int SUMMARY_MAGIC = 0x46425332;
+
+	/** The report store shared by the whole program */
+	private static ReportStore sharedStore;
+
+
+	//-----------Instance Variables-----------
+	/** The path of this store's log file */
+	private final Path logPath;
+	/** The path of this store's index file */
+	private final Path indexPath;
+	/** The path of this store's summary index file */
+	private final Path summaryPath;
+	/** The byte offset within the log of the start of each report, oldest first */
+	private long[] offsets;
+	/** The number of reports within the log */
+	private int count;
+	/** The length of the log in bytes, which is where the next report will start */
+	private long logLength;
+	/** The summary of each report, oldest first */
+	private ReportColumns summaries;
+	/** The incremental backup of the log, or null if it isn't backed up */
+	private final ReportBackup backup;
+	/** Whether the index file is missing offsets that are in memory, so it has to be written in full */
+	private boolean indexStale;
+	/** Whether the summary index file is missing rows that are in memory, so it has to be written in full */
+	private boolean summaryStale;
+
+
+	//-----------Constructors-------------
+	/**
+	 * Opens a report store without a backup, reading its indexes or rebuilding the
+	 * indexes if they are out of date with the log
+	 * @param logPath The path of the log file, which doesn't need to exist yet
+	 * @param indexPath The path of the index file, which doesn't need to exist yet
+	 * @param summaryPath The path of the summary index file, which doesn't need to exist yet
+	 * @throws IOException On error while reading the log or writing the indexes
+	 */
+	public ReportStore(Path logPath, Path indexPath, Path summaryPath) throws IOException {
+		this(logPath, indexPath, summaryPath, null);
+	}
+
+
+	/**
+	 * Opens a report store, reading its indexes or rebuilding the indexes if they
+	 * are out of date with the log
+	 * @param logPath The path of the log file, which doesn't need to exist yet
+	 * @param indexPath The path of the index file, which doesn't need to exist yet
+	 * @param summaryPath The path of the summary index file, which doesn't need to exist yet
+	 * @param backup The incremental backup to update whenever a report is added, or null for none
+	 * @throws IOException On error while reading the log or writing the indexes
+	 */
+	public ReportStore(Path logPath, Path indexPath, Path summaryPath, ReportBackup backup) throws IOException {
+
+		this.logPath = logPath;
+		this.indexPath = indexPath;
+		this.summaryPath = summaryPath;
+		this.backup = backup;
+
+		long actualLength = Files.exists(logPath) ? Files.size(logPath) : 0;
+		if (!readIndex(actualLength)) {
+			rebuildIndex();
+		}
+		if (!readSummaryIndex()) {
+			rebuildSummaryIndex();
+		}
+	}
+
+
+	//---------------Methods------------------
+	/**
+	 * Gets the report store shared by the program. If the log doesn't exist yet, it
+	 * is restored from its backup, or the old score report database is migrated into it.
+	 * @return The shared ReportStore
+	 * @throws IOException On error while reading or writing the store's files
+	 */
+	public static synchronized ReportStore getStore() throws IOException {
+
+		if (sharedStore == null) {
+
+			Path log = Paths.get(LOG_PATH);
+			ReportBackup backup = new ReportBackup(Paths.get(ReportBackup.BACKUP_DIRECTORY));
+			if (!Files.exists(log) && !backup.restore(log)) {
+				migrateLegacyDatabase(log);
+			}
+			sharedStore = new ReportStore(log, Paths.get(INDEX_PATH), Paths.get(SUMMARY_PATH), backup);
+			sharedStore.backUp();
+		}
+		return sharedStore;
+	}
+
+
+	/**
+	 * Writes every report from the old score report database, which was a JSON array
+	 * with the newest report first, into a new log. The old database is left as it is.
+	 * @param log The path of the log to create
+	 * @throws IOException On error while writing the log
+	 */
+	private static void migrateLegacyDatabase(Path log) throws IOException {
+
+		//stream the reports out of the old database, using its backup if an exception occurs
+		List<String> lines;
+		try {
+			lines = readLegacyDatabase(LEGACY_PATH);
+		}
+		catch (IOException | ParseException e) {
+			try {
+				lines = readLegacyDatabase(LEGACY_BACKUP_PATH);
+			}
+			//if neither are available, start with an empty log
+			catch (IOException | ParseException e1) {
+				lines = new ArrayList<String>();
+			}
+		}
+
+		//the old database is newest first, while the log is oldest first
+		Collections.reverse(lines);
+		writeLog(log, lines);
+	}
+
+
+	/**
+	 * Reads the old score report database one report at a time, keeping only each report's JSON text
+	 * @param path The path of the old database
+	 * @return The JSON text of each report, newest first
+	 * @throws IOException On error while reading the database
+	 * @throws ParseException On error while parsing the database
+	 */
+	private static List<String> readLegacyDatabase(String path) throws IOException, ParseException {
+
+		//a database that isn't valid UTF-8 was written before every file was, so it is read in the old character set
+		try {
+			return readLegacyDatabase(path, StandardCharsets.UTF_8);
+		}
+		catch (MalformedInputException e) {
+			return readLegacyDatabase(path, JSONParsers.LEGACY_CHARSET);
+		}
+	}
+
+
+	/**
+	 * Reads the old score report database one report at a time, in a character set
+	 * @param path The path of the old database
+	 * @param charset The character set the database was written in
+	 * @return The JSON text of each report, newest first
+	 * @throws IOException On error while reading the database
+	 * @throws ParseException On error while parsing the database
+	 */
+	private static List<String> readLegacyDatabase(String path, Charset charset) throws IOException, ParseException {
+
+		List<String> lines = new ArrayList<String>();
+		try (Reader in = Files.newBufferedReader(Paths.get(path), charset)) {
+			ReportReader reader = new ReportReader(in, false);
+			JSONObject report;
+			while ((report = reader.next()) != null) {
+				lines.add(report.toJSONString());
+			}
+		}
+		return lines;
+	}
+
+
+	/**
+	 * Atomically writes the given lines as a new log file, replacing any file at its path
+	 * @param log The path of the log to write
+	 * @param lines The JSON text of each report, oldest first
+	 * @throws IOException On error while writing the log
+	 */
+	private static void writeLog(Path log, List<String> lines) throws IOException {
+
+		StringBuilder contents = new StringBuilder();
+		for (String line : lines) {
+			contents.append(line).append('\n');
+		}
+		JournaledFiles.write(log, contents.toString());
+	}
+
+
+	/**
+	 * Writes all of a buffer's remaining bytes to a channel
+	 * @param channel The channel to write to
+	 * @param buffer The bytes to write
+	 * @throws IOException On error while writing
+	 */
+	private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+
+
+	/**
+	 * Appends a score report to the end of the log. The log is forced to disk
+	 * before this returns, while the indexes are only updated, since they can be
+	 * rebuilt from the log. Once the report is in the log it is saved, so a failed
+	 * index update is only printed, and the index is written again in full by the
+	 * next append or rebuilt the next time the store is opened. That way, appending
+	 * again after an exception never adds the report twice.
+	 * @param report The JSONObject of the score report to add
+	 * @throws IOException On error while writing the log, which is left as it was
+	 */
+	public synchronized void append(JSONObject report) throws IOException {
+
+		byte[] line = (report.toJSONString() + "\n").getBytes(StandardCharsets.UTF_8);
+
+		//append the report as a single line and force it to disk
+		long offset;
+		try (FileChannel log = FileChannel.open(logPath, StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+
+			offset = log.size();
+			try {
+				writeFully(log, ByteBuffer.wrap(line));
+				log.force(false);
+			}
+			//cut off whatever part of the line was written, so the report can be appended again
+			catch (IOException e) {
+				try {
+					log.truncate(offset);
+				}
+				catch (IOException truncateError) {
+					e.addSuppressed(truncateError);
+				}
+				throw e;
+			}
+		}
+
+		addOffset(offset);
+		logLength = offset + line.length;
+		summaries.add(report);
+
+		//an index that failed to be updated before is written in full, instead of being added to
+		try {
+			if (indexStale) {
+				writeIndex();
+			}
+			else {
+				appendIndexEntry(offset);
+			}
+		}
+		catch (IOException e) {
+			e.printStackTrace();
+			indexStale = true;
+		}
+
+		try {
+			if (summaryStale) {
+				writeSummaryIndex();
+			}
+			else {
+				appendSummaryRow();
+			}
+		}
+		catch (IOException e) {
+			e.printStackTrace();
+			summaryStale = true;
+		}
+
+		backUp();
+	}
+
+
+	/**
+	 * Adds the offset of the newest report to the end of the index file, then updates its header
+	 * @param offset The byte offset within the log of the start of the newest report
+	 * @throws IOException On error while writing the index
+	 */
+	private void appendIndexEntry(long offset) throws IOException {
+
+		try (FileChannel index = FileChannel.open(indexPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+
+			ByteBuffer entry = ByteBuffer.allocate(8);
+			entry.putLong(offset).flip();
+			index.write(entry, INDEX_HEADER_SIZE + 8L * (count - 1));
+
+			ByteBuffer header = ByteBuffer.allocate(INDEX_HEADER_SIZE);
+			header.putInt(INDEX_MAGIC).putInt(count).putLong(logLength).flip();
+			index.write(header, 0);
+		}
+	}
+
+
+	/**
+	 * Adds the newest report's row to the end of the summary index file, then updates its header
+	 * @throws IOException On error while writing the summary index
+	 */
+	private void appendSummaryRow() throws IOException {
+
+		try (FileChannel summaryIndex = FileChannel.open(summaryPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+
+			ByteArrayOutputStream row = new ByteArrayOutputStream(ReportColumns.ROW_SIZE);
+			summaries.writeRow(new DataOutputStream(row), count - 1);
+			summaryIndex.write(ByteBuffer.wrap(row.toByteArray()), INDEX_HEADER_SIZE + (long) ReportColumns.ROW_SIZE * (count - 1));
+
+			ByteBuffer header = ByteBuffer.allocate(INDEX_HEADER_SIZE);
+			header.putInt(SUMMARY_MAGIC).putInt(count).putLong(logLength).flip();
+			summaryIndex.write(header, 0);
+		}
+	}
+
+
+	/**
+	 * Backs up the reports added to the log since the last backup. The report is
+	 * already saved in the log, so a failed backup is only printed.
+	 */
+	public synchronized void backUp() {
+
+		if (backup != null) {
+			try {
+				backup.update(logPath, logLength);
+			}
+			catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+
+	/**
+	 * Gets the number of score reports in the store
+	 * @return The number of reports
+	 */
+	public synchronized int size() {
+		return count;
+	}
+
+
+	/**
+	 * Reads a single score report from the log
+	 * @param index The report to read, where 0 is the newest report, like in the old database
+	 * @return The JSONObject of the score report
+	 * @throws IOException On error while reading the log
+	 * @throws ParseException On error while parsing the report
+	 */
+	public synchronized JSONObject read(int index) throws IOException, ParseException {
+
+		if (index < 0 || index >= count) {
+			throw new IndexOutOfBoundsException("Report " + index + " of " + count);
+		}
+
+		try (FileChannel log = FileChannel.open(logPath, StandardOpenOption.READ)) {
+			return readRecord(log, count - 1 - index, false);
+		}
+	}
+
+
+	/**
+	 * Reads the newest score reports from the log
+	 * @param maxReports The most reports to read
+	 * @return A List of the reports' JSONObjects, newest first
+	 * @throws IOException On error while reading the log
+	 * @throws ParseException On error while parsing a report
+	 */
+	public synchronized List<JSONObject> readNewest(int maxReports) throws IOException, ParseException {
+		return readRange(0, maxReports);
+	}
+
+
+	/**
+	 * Reads a range of score reports from the log
+	 * @param first The first report to read, where 0 is the newest report
+	 * @param maxReports The most reports to read
+	 * @return A List of the reports' JSONObjects, newest first
+	 * @throws IOException On error while reading the log
+	 * @throws ParseException On error while parsing a report
+	 */
+	public synchronized List<JSONObject> readRange(int first, int maxReports) throws IOException, ParseException {
+
+		int reportsToRead = Math.max(0, Math.min(maxReports, count - first));
+		List<JSONObject> reports = new ArrayList<JSONObject>(reportsToRead);
+
+		try (FileChannel log = FileChannel.open(logPath, StandardOpenOption.READ)) {
+			for (int i = first; i < first + reportsToRead; i++) {
+				reports.add(readRecord(log, count - 1 - i, false));
+			}
+		}
+		return reports;
+	}
+
+
+	/**
+	 * Gets the summaries of a range of score reports from the summary index. Only
+	 * a report whose summary couldn't be indexed is read from the log, skipping over
+	 * its question reports. A damaged report that can't be parsed is given a blank
+	 * summary, without a date, so the rest of the range can still be read.
+	 * @param first The first report to read, where 0 is the newest report
+	 * @param maxReports The most reports to read
+	 * @return A List of the reports' summaries, newest first
+	 * @throws IOException On error while reading the log
+	 */
+	public synchronized List<ReportSummary> readSummaries(int first, int maxReports) throws IOException {
+
+		int reportsToRead = Math.max(0, Math.min(maxReports, count - first));
+		List<ReportSummary> reportSummaries = new ArrayList<ReportSummary>(reportsToRead);
+
+		for (int i = first; i < first + reportsToRead; i++) {
+			ReportSummary summary = summaries.getSummary(count - 1 - i, i);
+			if (summary == null) {
+				try {
+					summary = readSummary(count - 1 - i, i);
+				}
+				catch (ParseException e) {
+					summary = new ReportSummary(i, "", "", 0, QuizSession.DEFAULT_LENGTH, 0);
+				}
+			}
+			reportSummaries.add(summary);
+		}
+		return reportSummaries;
+	}
+
+
+	/**
+	 * Creates a series of the percentage score of every report over time from the
+	 * summary index, without reading the log
+	 * @return The score series, oldest first
+	 */
+	public synchronized ScoreSeries readScoreSeries() {
+		return summaries.toScoreSeries();
+	}
+
+
+	/**
+	 * Reads the summary of a single report from the log
+	 * @param record The position of the report in the log, where 0 is the oldest
+	 * @param index The position of the report in the store, where 0 is the newest
+	 * @return The summary of the report
+	 * @throws IOException On error while reading the log
+	 * @throws ParseException On error while parsing the report
+	 */
+	private ReportSummary readSummary(int record, int index) throws IOException, ParseException {
+
+		JSONObject report;
+		try (FileChannel log = FileChannel.open(logPath, StandardOpenOption.READ)) {
+			report = readRecord(log, record, true);
+		}
+		try {
+			return new ReportSummary(index, report);
+		}
+		catch (ClassCastException | NullPointerException e) {
+			throw new ParseException(ParseException.ERROR_UNEXPECTED_TOKEN, report);
+		}
+	}
+
+
+	/**
+	 * Reads and parses the report at a position in the log
+	 * @param log An open channel of the log
+	 * @param record The position of the report in the log, where 0 is the oldest
+	 * @param skipQuestions Whether to skip the report's question reports
+	 * @return The JSONObject of the report
+	 * @throws IOException On error while reading the log
+	 * @throws ParseException On error while parsing the report
+	 */
+	private JSONObject readRecord(FileChannel log, int record, boolean skipQuestions) throws IOException, ParseException {
+
+		long start = offsets[record];
+		long end = record + 1 < count ? offsets[record + 1] : logLength;
+
+		ByteBuffer buffer = ByteBuffer.allocate((int) (end - start));
+		while (buffer.hasRemaining()) {
+			if (log.read(buffer, start + buffer.position()) < 0) {
+				throw new IOException("Score report log ended within report " + record);
+			}
+		}
+		Reader line = new InputStreamReader(new ByteArrayInputStream(buffer.array()), StandardCharsets.UTF_8);
+		JSONObject report = new ReportReader(line, skipQuestions).next();
+		if (report == null) {
+			throw new ParseException(ParseException.ERROR_UNEXPECTED_TOKEN, "report " + record);
+		}
+		return report;
+	}
+
+
+	/**
+	 * Adds the offset of a new report to the end of the offsets array
+	 * @param offset The byte offset of the report within the log
+	 */
+	private void addOffset(long offset) {
+
+		if (count == offsets.length) {
+			offsets = Arrays.copyOf(offsets, Math.max(16, count * 2));
+		}
+		offsets[count++] = offset;
+	}
+
+
+	/**
+	 * Reads the index file, if it exists and covers the whole log
+	 * @param actualLength The current length of the log file
+	 * @return Whether the index was read successfully
+	 */
+	private boolean readIndex(long actualLength) {
+
+		if (!Files.exists(indexPath)) {
+			return false;
+		}
+
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexPath)))) {
+
+			//check that the index is for the whole log
+			if (in.readInt() != INDEX_MAGIC) {
+				return false;
+			}
+			int storedCount = in.readInt();
+			long storedLength = in.readLong();
+			if (storedLength != actualLength || storedCount < 0
+					|| Files.size(indexPath) < INDEX_HEADER_SIZE + 8L * storedCount) {
+				return false;
+			}
+
+			//read each report's offset
+			offsets = new long[Math.max(16, storedCount)];
+			count = 0;
+			for (int i = 0; i < storedCount; i++) {
+				addOffset(in.readLong());
+			}
+			logLength = storedLength;
+			return true;
+		}
+		catch (IOException e) {
+			return false;
+		}
+	}
+
+
+	/**
+	 * Rebuilds the index by scanning the log for the start of each line, then
+	 * rewrites the index file
+	 * @throws IOException On error while reading the log or writing the index
+	 */
+	private void rebuildIndex() throws IOException {
+
+		offsets = new long[16];
+		count = 0;
+		logLength = 0;
+
+		if (Files.exists(logPath)) {
+			try (InputStream in = new BufferedInputStream(Files.newInputStream(logPath))) {
+
+				//record the start of every line that isn't blank
+				long position = 0, lineStart = 0;
+				boolean blankLine = true;
+				int b;
+				while ((b = in.read()) != -1) {
+					position++;
+					if (b == '\n') {
+						if (!blankLine) {
+							addOffset(lineStart);
+						}
+						lineStart = position;
+						blankLine = true;
+					}
+					else if (!Character.isWhitespace(b)) {
+						blankLine = false;
+					}
+				}
+				//a report is only complete once its line has ended
+				logLength = lineStart;
+			}
+
+			//cut off a report that was only partly appended, so the next report starts on its own line
+			if (Files.size(logPath) > logLength) {
+				try (FileChannel log = FileChannel.open(logPath, StandardOpenOption.WRITE)) {
+					log.truncate(logLength);
+					log.force(true);
+				}
+			}
+		}
+
+		writeIndex();
+	}
+
+
+	/**
+	 * Reads the summary index file, if it exists and covers the whole log
+	 * @return Whether the summary index was read successfully
+	 */
+	private boolean readSummaryIndex() {
+
+		if (!Files.exists(summaryPath)) {
+			return false;
+		}
+
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(summaryPath)))) {
+
+			//check that the summary index is for the whole log
+			if (in.readInt() != SUMMARY_MAGIC || in.readInt() != count || in.readLong() != logLength
+					|| Files.size(summaryPath) < INDEX_HEADER_SIZE + (long) ReportColumns.ROW_SIZE * count) {
+				return false;
+			}
+
+			//read each report's row
+			summaries = new ReportColumns(count);
+			for (int i = 0; i < count; i++) {
+				summaries.readRow(in);
+			}
+			return true;
+		}
+		catch (IOException e) {
+			return false;
+		}
+	}
+
+
+	/**
+	 * Rebuilds the summary index by reading the summary of every report in the log,
+	 * then rewrites the summary index file
+	 * @throws IOException On error while reading the log or writing the summary index
+	 */
+	private void rebuildSummaryIndex() throws IOException {
+
+		summaries = new ReportColumns(count);
+		if (count > 0) {
+			try (FileChannel log = FileChannel.open(logPath, StandardOpenOption.READ)) {
+				for (int i = 0; i < count; i++) {
+					try {
+						summaries.add(readRecord(log, i, true));
+					}
+					//a damaged report is still given a row, so the rows line up with the log
+					catch (ParseException e) {
+						summaries.add(ReportColumns.UNKNOWN_TIME, 0, 0, QuizSession.DEFAULT_LENGTH, 0);
+					}
+				}
+			}
+		}
+		writeSummaryIndex();
+	}
+
+
+	/**
+	 * Atomically writes the whole summary index file from the rows in memory
+	 * @throws IOException On error while writing the summary index
+	 */
+	private void writeSummaryIndex() throws IOException {
+
+		ByteArrayOutputStream summaryIndex = new ByteArrayOutputStream(INDEX_HEADER_SIZE + ReportColumns.ROW_SIZE * count);
+		DataOutputStream out = new DataOutputStream(summaryIndex);
+		out.writeInt(SUMMARY_MAGIC);
+		out.writeInt(count);
+		out.writeLong(logLength);
+		for (int i = 0; i < count; i++) {
+			summaries.writeRow(out, i);
+		}
+		JournaledFiles.write(summaryPath, summaryIndex.toByteArray());
+		summaryStale = false;
+	}
+
+
+	/**
+	 * Atomically writes the whole index file from the offsets in memory
+	 * @throws IOException On error while writing the index
+	 */
+	private void writeIndex() throws IOException {
+
+		ByteBuffer index = ByteBuffer.allocate(INDEX_HEADER_SIZE + 8 * count);
+		index.putInt(INDEX_MAGIC).putInt(count).putLong(logLength);
+		for (int i = 0; i < count; i++) {
+			index.putLong(offsets[i]);
+		}
+		JournaledFiles.write(indexPath, index.array());
+		indexStale = false;
+	}
+
+
+	/**
+	 * Compacts the log by rewriting it with only the reports that can be parsed,
+	 * dropping blank lines and any damaged reports, then rebuilds the index
+	 * @return The number of damaged reports that were dropped
+	 * @throws IOException On error while reading or writing the log
+	 */
+	public synchronized int compact() throws IOException {
+
+		List<String> lines = new ArrayList<String>(count);
+		int dropped = 0;
+
+		try (FileChannel log = FileChannel.open(logPath, StandardOpenOption.READ)) {
+			for (int i = 0; i < count; i++) {
+				try {
+					lines.add(readRecord(log, i, false).toJSONString());
+				}
+				catch (ParseException | ClassCastException e) {
+					dropped++;
+				}
+			}
+		}
+
+		writeLog(logPath, lines);
+		rebuildIndex();
+		rebuildSummaryIndex();
+
+		//the log was rewritten, so its backup has to start over with a new base
+		if (backup != null) {
+			backup.startGeneration(logPath, logLength);
+		}
+		return dropped;
+	}
+}
@@ -0,0 +1,152 @@
+package FBLAQuiz;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+import org.json.simple.JSONObject;
+
+/**
+ * <h1>Report Summary Class</h1>
+ *
+ * The Report Summary class holds only the few values of a stored score report
+ * needed to list it, without any of its question reports, so that long lists
+ * of reports stay small in memory.
+ *
+ * @author Varun Unnithan
+ *
+ */
+public class ReportSummary {
+
+	//-----------Instance Variables-----------
+	/** The position of the report in the report store, where 0 is the newest */
+	private final int index;
+	/** The date and time of the quiz, written in RFC-1123 date and time format */
+	private final String dateAndTime;
+	/** The date and time of the quiz, written as dd/MM/yyyy HH:mm:ss */
+	private final String shortenedDate;
+	/** The number of questions answered correctly */
+	private final int score;
+	/** The number of questions in the quiz */
+	private final int questionCount;
+	/** The time taken on the quiz, in seconds */
+	private final int quizDuration;
+
+
+	//-----------Constructors-------------
+	/**
+	 * Creates a summary of a score report
+	 * @param index The position of the report in the report store, where 0 is the newest
+	 * @param dateAndTime The date and time of the quiz in RFC-1123 format
+	 * @param shortenedDate The date and time of the quiz as dd/MM/yyyy HH:mm:ss
+	 * @param score The number of questions answered correctly
+	 * @param questionCount The number of questions in the quiz
+	 * @param quizDuration The time taken on the quiz, in seconds
+	 */
+	public ReportSummary(int index, String dateAndTime, String shortenedDate, int score, int questionCount, int quizDuration) {
+		this.index = index;
+		this.dateAndTime = dateAndTime;
+		this.shortenedDate = shortenedDate;
+		this.score = score;
+		this.questionCount = questionCount;
+		this.quizDuration = quizDuration;
+	}
+
+
+	/**
+	 * Creates a summary from a score report's JSONObject in the database
+	 * @param index The position of the report in the report store, where 0 is the newest
+	 * @param DBscoreReport The JSONObject of the score report
+	 */
+	public ReportSummary(int index, JSONObject DBscoreReport) {
+		this(index, (String) DBscoreReport.get("date"), (String) DBscoreReport.get("shortened date"),
+				(int) (long) DBscoreReport.get("score"),
+				DBscoreReport.containsKey("total") ? (int) (long) DBscoreReport.get("total") : QuizSession.DEFAULT_LENGTH,
+				(int) (long) DBscoreReport.get("time"));
+	}
+
+
+	/**
+	 * Creates a summary from the primitive values kept in the columns of a summary index
+	 * @param index The position of the report in the report store, where 0 is the newest
+	 * @param takenSeconds The time the quiz was taken, in seconds since the epoch
+	 * @param zoneMinutes The offset from UTC of the time zone the quiz was taken in, in minutes
+	 * @param score The number of questions answered correctly
+	 * @param questionCount The number of questions in the quiz
+	 * @param quizDuration The time taken on the quiz, in seconds
+	 */
+	public ReportSummary(int index, long takenSeconds, int zoneMinutes, int score, int questionCount, int quizDuration) {
+		this(index, ZonedDateTime.ofInstant(Instant.ofEpochSecond(takenSeconds), ZoneOffset.ofTotalSeconds(zoneMinutes * 60)),
+				score, questionCount, quizDuration);
+	}
+
+
+	/**
+	 * Creates a summary, writing the time the quiz was taken in both of its formats
+	 * @param index The position of the report in the report store, where 0 is the newest
+	 * @param taken The time the quiz was taken
+	 * @param score The number of questions answered correctly
+	 * @param questionCount The number of questions in the quiz
+	 * @param quizDuration The time taken on the quiz, in seconds
+	 */
+	private ReportSummary(int index, ZonedDateTime taken, int score, int questionCount, int quizDuration) {
+		this(index, taken.format(DateTimeFormatter.RFC_1123_DATE_TIME), taken.format(ReportColumns.SHORTENED_FORMAT),
+				score, questionCount, quizDuration);
+	}
+
+
+	//---------------Methods------------------
+	/**
+	 * Gets the position of the report in the report store
+	 * @return The report's index, where 0 is the newest
+	 */
+	public int getIndex() {
+		return index;
+	}
+
+
+	/**
+	 * Gets the date and time of the quiz
+	 * @return The date and time in RFC-1123 format
+	 */
+	public String getDateAndTime() {
+		return dateAndTime;
+	}
+
+
+	/**
+	 * Gets the shortened date and time of the quiz
+	 * @return The date and time as dd/MM/yyyy HH:mm:ss
+	 */
+	public String getShortenedDate() {
+		return shortenedDate;
+	}
+
+
+	/**
+	 * Gets the number of questions answered correctly
+	 * @return The score
+	 */
+	public int getScore() {
+		return score;
+	}
+
+
+	/**
+	 * Gets the number of questions in the quiz
+	 * @return The number of questions
+	 */
+	public int getQuestionCount() {
+		return questionCount;
+	}
+
+
+	/**
+	 * Gets the time taken on the quiz
+	 * @return The duration in seconds
+	 */
+	public int getQuizDuration() {
+		return quizDuration;
+	}
+}
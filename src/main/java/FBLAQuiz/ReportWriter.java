@@ -0,0 +1,183 @@
+package FBLAQuiz;
+
+import java.awt.Color;
+import java.awt.Cursor;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.JLabel;
+import javax.swing.SwingUtilities;
+
+/**
+ * <h1>Report Writer Class</h1>
+ *
+ * The Report Writer class saves score reports to the report store in the
+ * background, so a quiz's results can be shown as soon as it is graded instead
+ * of after the disk has been written to. Every report is saved on the same single
+ * thread, one after another, so saves never compete with each other for the store.
+ *
+ * A save that fails is tried again a few times, waiting longer each time. The
+ * label given with a report shows whether it is being saved, was saved, or couldn't
+ * be saved, and if it couldn't, clicking the label tries again. Before the program
+ * exits, it waits for the reports that are still being saved.
+ *
+ * @author Varun Unnithan
+ *
+ */
+public class ReportWriter {
+
+	/** The most times a report is tried to be saved before giving up */
+	public static final int MAX_ATTEMPTS = 4;
+	/** How long to wait before trying a failed save again for the first time, in milliseconds */
+	private static final long FIRST_RETRY_DELAY = 500;
+	/** The longest to wait for the reports still being saved when the program exits, in milliseconds */
+	public static final long SHUTDOWN_TIMEOUT = 10000;
+
+	/** The color of the label while a report is being saved, or once it has been */
+	private static final Color STATUS_COLOR = Color.LIGHT_GRAY;
+	/** The color of the label once a report couldn't be saved */
+	private static final Color ERROR_COLOR = new Color(230, 90, 90);
+
+	/** The single thread that saves the reports */
+	private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(new ThreadFactory() {
+		public Thread newThread(Runnable task) {
+			return new Thread(task, "Score report writer");
+		}
+	});
+
+
+	//---------------Methods------------------
+	/**
+	 * Saves a score report in the background, showing its progress on a label
+	 * @param report The score report to save
+	 * @param statusLabel The label to show the save's status on, or null to not show it
+	 * @return The Future of the save, which is done once the report is saved or the save has given up
+	 */
+	public static Future<?> save(final ScoreReport report, final JLabel statusLabel) {
+
+		showStatus(statusLabel, "Saving your score report...", STATUS_COLOR);
+
+		try {
+			return WRITER.submit(new Runnable() {
+				public void run() {
+
+					long delay = FIRST_RETRY_DELAY;
+					for (int attempt = 1; ; attempt++) {
+						try {
+							report.updateDB();
+							break;
+						}
+						catch (IOException e) {
+
+							//once every attempt has failed, let the user try again themselves
+							if (attempt == MAX_ATTEMPTS) {
+								showFailure(report, statusLabel, e);
+								return;
+							}
+							showStatus(statusLabel, "Couldn't save your score report, trying again...", STATUS_COLOR);
+						}
+
+						//wait longer before each attempt, in case the disk is busy
+						try {
+							Thread.sleep(delay);
+						}
+						catch (InterruptedException e) {
+							showFailure(report, statusLabel, new IOException("The save was interrupted"));
+							return;
+						}
+						delay *= 2;
+					}
+
+					//only appending the report is tried again, so the stats and aggregates are updated once it is saved
+					showStatus(statusLabel, "Score report saved", STATUS_COLOR);
+					report.updateIndexes();
+				}
+			});
+		}
+		//the writer stops taking reports once the program is exiting
+		catch (RejectedExecutionException e) {
+			showFailure(report, statusLabel, new IOException("The program is closing"));
+			return CompletableFuture.completedFuture(null);
+		}
+	}
+
+
+	/**
+	 * Stops taking new reports to save, then waits for the reports already given to be saved,
+	 * including any waiting to be tried again. This is called before the program exits.
+	 * @param timeout The longest to wait, in milliseconds
+	 * @return {@code true} if every report was saved or given up on before the timeout
+	 */
+	public static boolean shutdown(long timeout) {
+
+		WRITER.shutdown();
+		try {
+			return WRITER.awaitTermination(timeout, TimeUnit.MILLISECONDS);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+
+	/**
+	 * Shows that a report couldn't be saved, and lets the label be clicked to try again
+	 * @param report The score report that couldn't be saved
+	 * @param statusLabel The label to show the failure on, or null to not show it
+	 * @param cause The error from the last attempt to save the report
+	 */
+	private static void showFailure(final ScoreReport report, final JLabel statusLabel, IOException cause) {
+
+		if (statusLabel == null) {
+			return;
+		}
+		final String message = "Couldn't save your score report (" + cause.getMessage() + "). Click to try again";
+
+		SwingUtilities.invokeLater(new Runnable() {
+			public void run() {
+
+				statusLabel.setText(message);
+				statusLabel.setForeground(ERROR_COLOR);
+				statusLabel.setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
+				statusLabel.addMouseListener(new MouseAdapter() {
+					public void mouseClicked(MouseEvent e) {
+						//only the first click tries again
+						statusLabel.removeMouseListener(this);
+						save(report, statusLabel);
+					}
+				});
+			}
+		});
+	}
+
+
+	/**
+	 * Shows a status on a label, from any thread
+	 * @param statusLabel The label to show the status on, or null to not show it
+	 * @param status The text of the status
+	 * @param color The color of the text
+	 */
+	private static void showStatus(final JLabel statusLabel, final String status, final Color color) {
+
+		if (statusLabel == null) {
+			return;
+		}
+
+		SwingUtilities.invokeLater(new Runnable() {
+			public void run() {
+				statusLabel.setText(status);
+				statusLabel.setForeground(color);
+				statusLabel.setCursor(Cursor.getDefaultCursor());
+			}
+		});
+	}
+}
@@ -0,0 +1,387 @@
+package FBLAQuiz;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+/**
+ * <h1>Score Aggregates Class</h1>
+ *
+ * The Score Aggregates class keeps running totals of every score report in the
+ * report store, so the score dashboard can be shown without reading the reports
+ * themselves. It holds the overall score, the scores of the most recent quizzes for
+ * rolling averages, how many quizzes fell in each tenth of the score range, how many
+ * quizzes were taken each day, how often each type of question was answered correctly,
+ * and how many quizzes took each number of seconds, for the percentiles of their durations.
+ *
+ * Like {@link QuestionStats}, the aggregates are a {@link ReportCache}, so they are
+ * caught up on only the reports added since whenever a report is saved or the
+ * aggregates are loaded.
+ *
+ * @author Varun Unnithan
+ *
+ */
+public class ScoreAggregates extends ReportCache {
+
+	/** The path of the score aggregates file */
+	public static final String AGGREGATES_PATH = "./JSONfiles/scoreAggregates.json";
+
+	/** The number of the most recent scores kept for rolling averages */
+	public static final int RECENT_SIZE = 50;
+	/** The number of equal ranges the scores are split into for their distribution */
+	public static final int DISTRIBUTION_BUCKETS = 10;
+
+	/** The aggregates shared by the program, once they have been loaded */
+	private static volatile ScoreAggregates sharedAggregates;
+
+
+	//-----------Instance Variables-----------
+	/** The total score of every report */
+	private long totalScore;
+	/** The total number of questions in every report */
+	private long totalQuestions;
+	/** The percentage scores of the most recent reports, as a ring where the oldest is overwritten first */
+	private final double[] recentScores;
+	/** The number of the recent scores that have been filled */
+	private int recentCount;
+	/** The position in the ring of the next score to add */
+	private int recentNext;
+	/** The number of reports whose percentage score falls in each tenth of the range, where 100% is in the last */
+	private final long[] distribution;
+	/** The number of reports taken on each day, by their ISO date, which sorts in order */
+	private final TreeMap<String, Long> dailyCounts;
+	/** The number of answers, then the number of correct answers, to each type of question */
+	private final EnumMap<QuestionType, long[]> typeCounts;
+	/** The number of reports that took each number of seconds */
+	private final TreeMap<Integer, Long> durationCounts;
+
+
+	//-----------Constructors-------------
+	/**
+	 * Creates empty aggregates that don't cover any reports
+	 * @param aggregatesPath The path the aggregates are saved to, or null to not save them
+	 */
+	public ScoreAggregates(Path aggregatesPath) {
+
+		super(aggregatesPath);
+		recentScores = new double[RECENT_SIZE];
+		distribution = new long[DISTRIBUTION_BUCKETS];
+		dailyCounts = new TreeMap<String, Long>();
+		durationCounts = new TreeMap<Integer, Long>();
+		typeCounts = new EnumMap<QuestionType, long[]>(QuestionType.class);
+		for (QuestionType type : QuestionType.values()) {
+			typeCounts.put(type, new long[2]);
+		}
+	}
+
+
+	//---------------Methods------------------
+	/**
+	 * Gets the aggregates shared by the program, loading them and catching up on the report store the first time
+	 * @return The shared ScoreAggregates
+	 * @throws IOException On error while reading the report store
+	 */
+	public static synchronized ScoreAggregates getAggregates() throws IOException {
+
+		if (sharedAggregates == null) {
+			ScoreAggregates aggregates = load(Paths.get(AGGREGATES_PATH));
+			aggregates.catchUp(ReportStore.getStore());
+			sharedAggregates = aggregates;
+		}
+		return sharedAggregates;
+	}
+
+
+	/**
+	 * Gets the aggregates shared by the program only if they have already been loaded, so
+	 * the window never waits for them to catch up on the report store
+	 * @return The shared ScoreAggregates, or null if they haven't been loaded yet
+	 */
+	public static ScoreAggregates getLoadedAggregates() {
+		return sharedAggregates;
+	}
+
+
+	/**
+	 * Loads the aggregates from their file. If the file doesn't exist or can't be read, the
+	 * aggregates start out empty, and are rebuilt from the report store once they are caught up.
+	 * @param aggregatesPath The path of the aggregates file, which the aggregates are saved back to
+	 * @return The aggregates
+	 */
+	public static ScoreAggregates load(Path aggregatesPath) {
+
+		ScoreAggregates aggregates = new ScoreAggregates(aggregatesPath);
+		aggregates.loadSaved();
+		return aggregates;
+	}
+
+
+	/**
+	 * Reads the aggregates from the JSONObject written by {@link #toJSON()}
+	 * @param saved The saved aggregates
+	 */
+	@Override
+	protected void read(JSONObject saved) {
+
+		totalScore = ((Number) saved.get("score")).longValue();
+		totalQuestions = ((Number) saved.get("questions")).longValue();
+
+		//the recent scores are saved oldest first, so adding them in order rebuilds the ring
+		for (Object score : (JSONArray) saved.get("recent")) {
+			addRecent(((Number) score).doubleValue());
+		}
+
+		JSONArray savedDistribution = (JSONArray) saved.get("distribution");
+		for (int i = 0; i < DISTRIBUTION_BUCKETS; i++) {
+			distribution[i] = ((Number) savedDistribution.get(i)).longValue();
+		}
+
+		JSONObject savedDays = (JSONObject) saved.get("days");
+		for (Object day : savedDays.keySet()) {
+			dailyCounts.put((String) day, ((Number) savedDays.get(day)).longValue());
+		}
+
+		JSONObject savedTypes = (JSONObject) saved.get("types");
+		for (QuestionType type : QuestionType.values()) {
+			JSONArray savedCounts = (JSONArray) savedTypes.get(type.getDatabaseKey());
+			if (savedCounts != null) {
+				typeCounts.get(type)[0] = ((Number) savedCounts.get(0)).longValue();
+				typeCounts.get(type)[1] = ((Number) savedCounts.get(1)).longValue();
+			}
+		}
+
+		JSONObject savedDurations = (JSONObject) saved.get("durations");
+		for (Object seconds : savedDurations.keySet()) {
+			durationCounts.put(Integer.valueOf((String) seconds), ((Number) savedDurations.get(seconds)).longValue());
+		}
+	}
+
+
+	/**
+	 * Empties the aggregates, so they can be rebuilt from every report
+	 */
+	@Override
+	protected void clear() {
+
+		totalScore = 0;
+		totalQuestions = 0;
+		recentCount = 0;
+		recentNext = 0;
+		Arrays.fill(distribution, 0);
+		dailyCounts.clear();
+		durationCounts.clear();
+		for (long[] counts : typeCounts.values()) {
+			counts[0] = 0;
+			counts[1] = 0;
+		}
+	}
+
+
+	/**
+	 * Adds a score report to the aggregates
+	 * @param report The JSONObject of the score report
+	 */
+	@Override
+	protected void record(JSONObject report) {
+
+		//the score and number of questions of a report are found the same way as in its summary
+		ReportSummary summary = new ReportSummary(0, report);
+		int score = summary.getScore();
+		int questionCount = summary.getQuestionCount();
+		totalScore += score;
+		totalQuestions += questionCount;
+
+		double percentage = questionCount == 0 ? 0 : 100.0 * score / questionCount;
+		addRecent(percentage);
+		distribution[Math.min(DISTRIBUTION_BUCKETS - 1, (int) (percentage / (100.0 / DISTRIBUTION_BUCKETS)))]++;
+
+		//the date is kept as it was written, so the day is the one the student took the quiz on
+		try {
+			String day = ZonedDateTime.parse((String) report.get("date"), DateTimeFormatter.RFC_1123_DATE_TIME)
+					.toLocalDate().toString();
+			dailyCounts.put(day, dailyCounts.containsKey(day) ? dailyCounts.get(day) + 1 : 1);
+		}
+		catch (DateTimeParseException | NullPointerException e) {
+			//a report without a readable date isn't counted towards any day
+		}
+
+		Number duration = (Number) report.get("time");
+		if (duration != null) {
+			int seconds = duration.intValue();
+			durationCounts.put(seconds, durationCounts.containsKey(seconds) ? durationCounts.get(seconds) + 1 : 1);
+		}
+
+		//questions from before they had IDs can't be matched to a type
+		JSONArray questions = (JSONArray) report.get("questions");
+		if (questions != null) {
+			for (Object entry : questions) {
+
+				JSONObject question = (JSONObject) entry;
+				String id = (String) question.get("id");
+				QuestionType type = id == null || id.indexOf('#') < 0 ? null
+						: QuestionType.fromDatabaseKey(id.substring(0, id.lastIndexOf('#')));
+				if (type != null) {
+					typeCounts.get(type)[0]++;
+					if ("true".equals(question.get("correct"))) {
+						typeCounts.get(type)[1]++;
+					}
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Adds a percentage score to the ring of recent scores, replacing the oldest once it is full
+	 * @param percentage The percentage score
+	 */
+	private void addRecent(double percentage) {
+
+		recentScores[recentNext] = percentage;
+		recentNext = (recentNext + 1) % RECENT_SIZE;
+		recentCount = Math.min(recentCount + 1, RECENT_SIZE);
+	}
+
+
+	/**
+	 * Gets the percentage of every question that was answered correctly, over every report
+	 * @return The overall percentage score, or NaN if there aren't any reports
+	 */
+	public synchronized double getOverallPercentage() {
+		return totalQuestions == 0 ? Double.NaN : 100.0 * totalScore / totalQuestions;
+	}
+
+
+	/**
+	 * Gets the average percentage score of the most recent reports
+	 * @param reports The number of recent reports to average, up to {@link #RECENT_SIZE}
+	 * @return The average percentage score, or NaN if there aren't any reports
+	 */
+	public synchronized double getRollingAverage(int reports) {
+
+		int count = Math.min(Math.min(reports, RECENT_SIZE), recentCount);
+		if (count <= 0) {
+			return Double.NaN;
+		}
+
+		double total = 0;
+		for (int i = 1; i <= count; i++) {
+			total += recentScores[(recentNext - i + RECENT_SIZE) % RECENT_SIZE];
+		}
+		return total / count;
+	}
+
+
+	/**
+	 * Gets how many reports had a percentage score in each tenth of the range
+	 * @return The number of reports in each range, from 0-10% up to 90-100%
+	 */
+	public synchronized long[] getDistribution() {
+		return distribution.clone();
+	}
+
+
+	/**
+	 * Gets the number of reports taken on each day that any were taken
+	 * @return A Map of each ISO date, such as 2021-03-14, to its number of reports, in order by date
+	 */
+	public synchronized Map<String, Long> getDailyCounts() {
+		return new TreeMap<String, Long>(dailyCounts);
+	}
+
+
+	/**
+	 * Gets the percentage of a type of question that was answered correctly
+	 * @param type The question type
+	 * @return The percentage, or NaN if no questions of the type have been answered
+	 */
+	public synchronized double getTypeAccuracy(QuestionType type) {
+		long[] counts = typeCounts.get(type);
+		return counts[0] == 0 ? Double.NaN : 100.0 * counts[1] / counts[0];
+	}
+
+
+	/**
+	 * Gets a percentile of the quizzes' durations, such as the median for the 50th
+	 * @param percentile The percentile, from 0 to 100
+	 * @return The duration in seconds that the given percent of quizzes took at most, or -1 if there aren't any reports
+	 */
+	public synchronized int getDurationPercentile(double percentile) {
+
+		long total = 0;
+		for (long count : durationCounts.values()) {
+			total += count;
+		}
+		if (total == 0) {
+			return -1;
+		}
+
+		//walk up the durations until the given share of the quizzes is reached
+		long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+		long seen = 0;
+		for (Map.Entry<Integer, Long> entry : durationCounts.entrySet()) {
+			seen += entry.getValue();
+			if (seen >= rank) {
+				return entry.getKey();
+			}
+		}
+		return durationCounts.lastKey();
+	}
+
+
+	/**
+	 * Creates a JSONObject of the aggregates, with the number of reports they cover
+	 * @return The JSONObject of the aggregates
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public synchronized JSONObject toJSON() {
+
+		JSONArray recent = new JSONArray();
+		for (int i = recentCount; i >= 1; i--) {
+			recent.add(recentScores[(recentNext - i + RECENT_SIZE) % RECENT_SIZE]);
+		}
+
+		JSONArray savedDistribution = new JSONArray();
+		for (long count : distribution) {
+			savedDistribution.add(count);
+		}
+
+		JSONObject savedDays = new JSONObject();
+		savedDays.putAll(dailyCounts);
+
+		JSONObject savedTypes = new JSONObject();
+		for (QuestionType type : QuestionType.values()) {
+			JSONArray savedCounts = new JSONArray();
+			savedCounts.add(typeCounts.get(type)[0]);
+			savedCounts.add(typeCounts.get(type)[1]);
+			savedTypes.put(type.getDatabaseKey(), savedCounts);
+		}
+
+		JSONObject savedDurations = new JSONObject();
+		for (Map.Entry<Integer, Long> entry : durationCounts.entrySet()) {
+			savedDurations.put(String.valueOf(entry.getKey()), entry.getValue());
+		}
+
+		JSONObject aggregates = new JSONObject();
+		aggregates.put("reports", getReportCount());
+		aggregates.put("score", totalScore);
+		aggregates.put("questions", totalQuestions);
+		aggregates.put("recent", recent);
+		aggregates.put("distribution", savedDistribution);
+		aggregates.put("days", savedDays);
+		aggregates.put("types", savedTypes);
+		aggregates.put("durations", savedDurations);
+		return aggregates;
+	}
+}
@@ -13,9 +13,9 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.time.ZonedDateTime;
@@ -41,11 +41,9 @@ import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
 import org.apache.pdfbox.pdmodel.font.PDFont;
-import org.apache.pdfbox.pdmodel.font.PDType0Font;
 import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
-import org.json.simple.parser.ParseException;
 
 
 
@@ -66,16 +64,25 @@ import org.json.simple.parser.ParseException;
  */
 public class ScoreReport {
 
+	/** The time it takes a FadingLabel or FadingButton to fade in, in milliseconds */
+	private static final long FADE_TIME = 80;
+	/** The lowest height on a PDF page that a question's report can start at, before moving to the next page */
+	private static final int MIN_QUESTION_Y = 170;
+	/** The height of the panel of question reports taken by each question, in pixels */
+	private static final int QUESTION_HEIGHT = 236;
+	
 	//-------------------Instance Variables---------------
 	/** An ArrayList of questionReports for each of the Quiz's questions */
 	private ArrayList<QuestionReport> questionReports;
-	/** An value between 0 and 5 that represents the number of questions answered correctly in the Quiz */
+	/** An value between 0 and the number of questions that represents the number of questions answered correctly in the Quiz */
 	private int score;
 	/** The amount of time taken on the quiz, measured from its start to its submission, in seconds. */
 	private int quizDuration;
 	/** The date and time of the completion of the quiz.
 	 * 	This is written in RFC-1123 date and time format. */
 	private String dateAndTime;
+	/** The date and time of the completion of the quiz, written as dd/MM/yyyy HH:mm:ss */
+	private String shortenedDate;
 	
 	
 	//---------------Constructors-------------------
@@ -84,29 +91,20 @@ public class ScoreReport {
 	 * @param quiz The Quiz for which to create a report
 	 */
 	public ScoreReport (Quiz quiz) {
+		this(quiz.getSession());
+	}
+	
 	
-		// gets and sets up the questions and their question reports
+	/**
+	 * Creates a ScoreReport object to represent the results of a quiz session
+	 * @param session The quiz session for which to create a report
+	 */
+	public ScoreReport(QuizSession session) {
+	
+		//create a question report for each of the quiz's questions
 		questionReports = new ArrayList<QuestionReport>();
-		ArrayList<Question> questions = quiz.getQuestions();
-		
-		for (int i = 0; i < questions.size(); i++) {
-			
-			//check which question type each question is and create the appropriate question report
-			if (questions.get(i) instanceof MCQ) {
-				questionReports.add(new QuestionReport((MCQ)(questions.get(i))));
-			}
-			else if (questions.get(i) instanceof MultipleSelect) {
-				questionReports.add(new QuestionReport((MultipleSelect)(questions.get(i))));
-			}
-			else if (questions.get(i) instanceof FillInBlank) {
-				questionReports.add(new QuestionReport((FillInBlank)(questions.get(i))));
-			}
-			else if (questions.get(i) instanceof Matching) {
-				questionReports.add(new QuestionReport((Matching)(questions.get(i))));
-			}
-			else{
-				questionReports.add(new QuestionReport((TrueOrFalse)(questions.get(i))));
-			}
+		for (QuizQuestion question : session.getQuestions()) {
+			questionReports.add(new QuestionReport(question));
 		}
 		
 		//record the number of correct questions
@@ -117,8 +115,10 @@ public class ScoreReport {
 			}
 		}
 		
-		quizDuration = quiz.getQuizDuration();
-		dateAndTime = ZonedDateTime.now().format(DateTimeFormatter.RFC_1123_DATE_TIME);
+		quizDuration = session.getQuizDuration();
+		ZonedDateTime completed = ZonedDateTime.now();
+		dateAndTime = completed.format(DateTimeFormatter.RFC_1123_DATE_TIME);
+		shortenedDate = completed.format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss"));
 		
 	}
 	
@@ -131,6 +131,7 @@ public class ScoreReport {
 	public ScoreReport(JSONObject DBscoreReport) {
 		
 		dateAndTime = (String) DBscoreReport.get("date");
+		shortenedDate = (String) DBscoreReport.get("shortened date");
 		score = (int) (long) DBscoreReport.get("score");
 		quizDuration = (int) (long) DBscoreReport.get("time");
 		
@@ -144,6 +145,30 @@ public class ScoreReport {
 	}
 	
 	
+	/**
+	 * Creates a ScoreReport object by reading it from a binary report archive
+	 * @param in The stream of the archive, positioned at the start of this score report
+	 * @param strings The archive's table of strings, which the question reports refer to
+	 * @param version The version of the archive, since archives before version 2 wrote
+	 * the score and number of questions as a single byte each, and the question reports
+	 * changed in version 3
+	 * @throws IOException On error while reading the archive
+	 */
+	public ScoreReport(DataInputStream in, ReportArchive.StringTable strings, int version) throws IOException {
+		
+		dateAndTime = in.readUTF();
+		shortenedDate = in.readUTF();
+		score = version < 2 ? in.readUnsignedByte() : in.readUnsignedShort();
+		quizDuration = in.readInt();
+		
+		int questionCount = version < 2 ? in.readUnsignedByte() : in.readUnsignedShort();
+		questionReports = new ArrayList<QuestionReport>(questionCount);
+		for (int i = 0; i < questionCount; i++) {
+			questionReports.add(new QuestionReport(in, strings, version));
+		}
+	}
+	
+	
 	//---------------Methods--------------
 	/**
 	 * Formats the quiz's duration into a readable String
@@ -193,28 +218,49 @@ public class ScoreReport {
 	}
 	
 	/**
-	 * Updates the score report JSON database with this score report by adding it
+	 * Gets the reports of each of the quiz's questions
+	 * @return The question reports, in the order they were asked
+	 */
+	public ArrayList<QuestionReport> getQuestionReports() {
+		return questionReports;
+	}
+	
+	
+	/**
+	 * Updates the score report database with this score report by appending it
+	 * to the report log. This is the only part of saving a report that can be tried
+	 * again, since trying it after it worked would save the report twice.
 	 * @throws IOException On input error or error when writing the desired files
 	 */
-	@SuppressWarnings("unchecked")
 	public void updateDB() throws IOException {
+		ReportStore.getStore().append(toJSON());
+	}
+	
+	
+	/**
+	 * Updates the stats of the questions and the score aggregates with the reports in the
+	 * database, after this report has been saved. A failed update is only printed, since
+	 * the report is already saved and both are caught up again the next time they are loaded.
+	 */
+	public void updateIndexes() {
 		
-		//retreive the current database from the file
-		JSONArray database;
 		try {
-			database = (JSONArray) QuizMenu.PARSER.parse(new FileReader("./JSONfiles/scoreReports.json"));
-		} 
-		//use the backup database if unavailable
-		catch (IOException | ParseException e) {
-			try {
-				database = (JSONArray) QuizMenu.PARSER.parse(new FileReader("./JSONfiles/backup/scoreReports.json"));
-			} 
-			//if backup database isn't available too, proceed as if the database were empty
-			catch (IOException | ParseException e1) {
-				database = new JSONArray();
-			}
+			ReportStore store = ReportStore.getStore();
+			QuestionStats.getStats().catchUp(store);
+			ScoreAggregates.getAggregates().catchUp(store);
 		}
-
+		catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+	
+	
+	/**
+	 * Creates a JSONObject to represent this score report in the database
+	 * @return The JSONObject of this score report
+	 */
+	@SuppressWarnings("unchecked")
+	public JSONObject toJSON() {
 		
 		//create a JSONArray to represent the question reports
 		JSONArray questionReportsArray = new JSONArray();
@@ -225,19 +271,33 @@ public class ScoreReport {
 		//create the JSONObject for this score report
 		JSONObject scoreReport = new JSONObject();
 		scoreReport.put("date", dateAndTime);
-		scoreReport.put("shortened date", (new SimpleDateFormat("dd/MM/yyyy HH:mm:ss")).format(new Date()));
+		scoreReport.put("shortened date", shortenedDate);
 		scoreReport.put("score", score);
+		scoreReport.put("total", questionReports.size());
 		scoreReport.put("time", quizDuration);
 		scoreReport.put("questions", questionReportsArray);
 		
-		//adds the score report JSONObject to the database
-		database.add(0, scoreReport);
+		return scoreReport;
+	}
+	
+	
+	/**
+	 * Writes this score report to a binary report archive
+	 * @param out The stream of the archive
+	 * @param strings The archive's table of strings, which the question reports' text is added to
+	 * @throws IOException On error while writing the archive
+	 */
+	public void write(DataOutputStream out, ReportArchive.StringTable strings) throws IOException {
+		
+		out.writeUTF(dateAndTime);
+		out.writeUTF(shortenedDate);
+		out.writeShort(score);
+		out.writeInt(quizDuration);
 		
-		//write the modified database onto the file
-		FileWriter scoreReportFile = new FileWriter("./JSONfiles/scoreReports.json");
-		scoreReportFile.write(database.toJSONString());
-		scoreReportFile.flush();
-		scoreReportFile.close();
+		out.writeShort(questionReports.size());
+		for (int i = 0; i < questionReports.size(); i++) {
+			questionReports.get(i).write(out, strings);
+		}
 	}
 	
 	
@@ -248,11 +308,34 @@ public class ScoreReport {
 	 */
 	public void createPDF(String pdfName) throws IOException {
 		
+		//save the PDF with the given name
+		PDDocument reportPDF = createPDFDocument();
+		try {
+			reportPDF.save("./Score Reports/" + pdfName + ".pdf");
+		}
+		finally {
+			reportPDF.close();
+		}
+	}
+	
+	
+	/**
+	 * Creates a printable PDF document from this score report, without saving it. Each
+	 * document is independent, so documents for different reports can be created at once
+	 * on different threads.
+	 * @return The PDF document, which must be closed by the caller
+	 * @throws IOException If there is an error while writing the document
+	 */
+	public PDDocument createPDFDocument() throws IOException {
+		
 		//creates the PDF document and a page within the PDF to write onto
 		PDDocument reportPDF = new PDDocument();
 		PDPage reportPage = new PDPage();
 		reportPDF.addPage(reportPage);
 		
+		//the fonts and icons are each only added to the PDF once
+		PDFResources resources = new PDFResources(reportPDF);
+		
 		PDPageContentStream contentStream = new PDPageContentStream(reportPDF, reportPage);
 		contentStream.beginText();
 		
@@ -260,7 +343,7 @@ public class ScoreReport {
 		contentStream.newLineAtOffset(50, 725);
 		
 		//writes the title
-		contentStream.setFont(PDType0Font.load(reportPDF, new File("./src/Fonts/TREBUCBD.ttf")), 32);
+		contentStream.setFont(resources.getFont(PDFResources.BOLD_FONT), 32);
 		contentStream.showText("FBLA Quiz Results");
 		contentStream.endText();
 		
@@ -278,27 +361,36 @@ public class ScoreReport {
 		
 		//writes the quiz's date and time
 		contentStream.newLineAtOffset(50, 690);
-		contentStream.setFont(PDType0Font.load(reportPDF, new File("./src/Fonts/MavenPro-Regular.ttf")), 16);
+		contentStream.setFont(resources.getFont(PDFResources.DATE_FONT), 16);
 		contentStream.showText("Taken on " + dateAndTime.substring(0, 16).trim() + " at " + get12hrTime(dateAndTime));
 		
 		//writes the quiz's score
 		contentStream.newLine();
-		contentStream.setFont(PDType0Font.load(reportPDF, new File("./src/Fonts/TREBUCBD.ttf")), 16);
+		contentStream.setFont(resources.getFont(PDFResources.BOLD_FONT), 16);
 		contentStream.showText("Score: ");
-		contentStream.setFont(PDType0Font.load(reportPDF, new File("./src/Fonts/TREBUC.ttf")), 16);
+		contentStream.setFont(resources.getFont(PDFResources.REGULAR_FONT), 16);
 		contentStream.showText(score + " / " + questionReports.size() + "                        ");
 		
 		//writes the quiz's duration
-		contentStream.setFont(PDType0Font.load(reportPDF, new File("./src/Fonts/TREBUCBD.ttf")), 16);
+		contentStream.setFont(resources.getFont(PDFResources.BOLD_FONT), 16);
 		contentStream.showText("Time Spent: ");
-		contentStream.setFont(PDType0Font.load(reportPDF, new File("./src/Fonts/TREBUC.ttf")), 16);
+		contentStream.setFont(resources.getFont(PDFResources.REGULAR_FONT), 16);
 		contentStream.showText(getFormattedDuration());
 		contentStream.endText();
 		
 		int questionYCord = 590;
 		
 		//For each of the quiz's questions, write its report
-		for (int i = 0; i < 5; i++) {
+		for (int i = 0; i < questionReports.size(); i++) {
+			
+			//start a new page once there isn't room left for another question on this one
+			if (questionYCord < MIN_QUESTION_Y) {
+				contentStream.close();
+				reportPage = new PDPage();
+				reportPDF.addPage(reportPage);
+				contentStream = new PDPageContentStream(reportPDF, reportPage);
+				questionYCord = 725;
+			}
 			
 			contentStream.beginText();
 			contentStream.newLineAtOffset(50, questionYCord);
@@ -306,7 +398,7 @@ public class ScoreReport {
 			//write the question, with the bounding box based off of the page's size
 		    float questionWidth = reportPage.getMediaBox().getWidth() - 2 * 80;
 			wrapText(contentStream, questionReports.get(i).getQuestionNumber() + ") " + questionReports.get(i).getQuestion(), 
-					PDType0Font.load(reportPDF, new File("./src/Fonts/TREBUCBD.ttf")), 13, questionWidth);
+					resources.getFont(PDFResources.BOLD_FONT), 13, questionWidth);
 			
 			contentStream.endText();
 			
@@ -314,12 +406,12 @@ public class ScoreReport {
 			//display the correct/incorrect icon
 			if (questionReports.get(i).isCorrect()) {
 				
-				PDImageXObject correctIcon = PDImageXObject.createFromFile("./Icons/Correct Icon Scaled.png", reportPDF);
+				PDImageXObject correctIcon = resources.getImage("Correct Icon Scaled.png");
 				contentStream.drawImage(correctIcon, 510, questionYCord - 26);
 			}
 			else {
 				
-				PDImageXObject correctIcon = PDImageXObject.createFromFile("./Icons/Incorrect Icon Scaled.png", reportPDF);
+				PDImageXObject correctIcon = resources.getImage("Incorrect Icon Scaled.png");
 				contentStream.drawImage(correctIcon, 510, questionYCord - 26);
 			}
 			
@@ -329,7 +421,7 @@ public class ScoreReport {
 			questionYCord -= questionReports.get(i).getQuestion().length() / 64 * 15 + 25;
 			contentStream.newLineAtOffset(60, questionYCord);
 			
-			contentStream.setFont(PDType0Font.load(reportPDF, new File("./src/Fonts/TREBUC.ttf")), (float) 12);
+			contentStream.setFont(resources.getFont(PDFResources.REGULAR_FONT), (float) 12);
 			contentStream.showText("User Answer:");
 			contentStream.newLine();
 			
@@ -344,7 +436,7 @@ public class ScoreReport {
 		    for (int c = 0; c < questionReports.get(i).getUserAnswer().size(); c++) {
 		    	
 		    	wrapText(contentStream, userAnswer, 
-						PDType0Font.load(reportPDF, new File("./src/Fonts/TREBUC.ttf")), (float) 11, 250);
+						resources.getFont(PDFResources.REGULAR_FONT), (float) 11, 250);
 		    	contentStream.setLeading(3);
 		    	contentStream.newLine();
 		    	
@@ -358,7 +450,7 @@ public class ScoreReport {
 		    contentStream.beginText();
 			contentStream.newLineAtOffset(335, questionYCord);
 			
-			contentStream.setFont(PDType0Font.load(reportPDF, new File("./src/Fonts/TREBUC.ttf")), (float) 12);
+			contentStream.setFont(resources.getFont(PDFResources.REGULAR_FONT), (float) 12);
 			contentStream.showText("Correct Answer:");
 			contentStream.setLeading(11.5*1.5);
 			contentStream.newLine();
@@ -370,7 +462,7 @@ public class ScoreReport {
 		    for (int c = 0; c < questionReports.get(i).getCorrectAnswer().size(); c++) {
 		    	
 		    	lineCount += wrapText(contentStream, questionReports.get(i).getCorrectAnswer().get(c), 
-						PDType0Font.load(reportPDF, new File("./src/Fonts/TREBUC.ttf")), (float) 11, 250);
+						resources.getFont(PDFResources.REGULAR_FONT), (float) 11, 250);
 		    	contentStream.setLeading(3);
 		    	contentStream.newLine();
 		    	
@@ -393,11 +485,9 @@ public class ScoreReport {
 		    questionYCord -= lineCount * 14 + 50;
 		}
 		
-		//close the content stream and save the PDF with the given name
+		//close the content stream and return the finished PDF
 		contentStream.close();
-		reportPDF.save("./Score Reports/" + pdfName + ".pdf");
-		reportPDF.close();
-		
+		return reportPDF;
 	}
 	
 	
@@ -582,9 +672,9 @@ public class ScoreReport {
 			
 			//sets up the exit button
 			exitButton = new FadingButton();
-			exitButton.setIcon(new ImageIcon("./Icons/Exit Icon Unselected.png"));
-			exitButton.setPressedIcon(new ImageIcon("./Icons/Exit Icon Selected.png"));
-			exitButton.setRolloverIcon(new ImageIcon("./Icons/Exit Icon Rollover.png"));
+			exitButton.setIcon(IconCache.get("Exit Icon Unselected.png"));
+			exitButton.setPressedIcon(IconCache.get("Exit Icon Selected.png"));
+			exitButton.setRolloverIcon(IconCache.get("Exit Icon Rollover.png"));
 			exitButton.setOpaque(false);
 			exitButton.setContentAreaFilled(false);
 			exitButton.setBorderPainted(false);
@@ -627,9 +717,9 @@ public class ScoreReport {
 			
 			//sets up the export button
 			exportButton = new FadingButton();
-			exportButton.setIcon(new ImageIcon("./Icons/Export Icon Unselected.png"));
-			exportButton.setPressedIcon(new ImageIcon("./Icons/Export Icon Selected.png"));
-			exportButton.setRolloverIcon(new ImageIcon("./Icons/Export Icon Rollover.png"));
+			exportButton.setIcon(IconCache.get("Export Icon Unselected.png"));
+			exportButton.setPressedIcon(IconCache.get("Export Icon Selected.png"));
+			exportButton.setRolloverIcon(IconCache.get("Export Icon Rollover.png"));
 			exportButton.setOpaque(false);
 			exportButton.setContentAreaFilled(false);
 			exportButton.setBorderPainted(false);
@@ -732,8 +822,8 @@ public class ScoreReport {
 			    @Override
 			    public Dimension getPreferredSize() {
 			    
-			    	//returns the average height of a questionsPanel with 5 questions
-			        return new Dimension((int) panelSize.getWidth(), 1180);
+			    	//returns the average height of a questionsPanel with this many questions
+			        return new Dimension((int) panelSize.getWidth(), QUESTION_HEIGHT * questionReports.size());
 			     }
 			};
 			questionsPanel.setOpaque(false);
@@ -812,9 +902,9 @@ public class ScoreReport {
 				//sets up the label for the correct indicator icon
 				FadingLabel isCorrect = new FadingLabel();
 				if (questionReports.get(i).isCorrect())
-					isCorrect.setIcon(new ImageIcon("./Icons/Correct Icon.png"));
+					isCorrect.setIcon(IconCache.get("Correct Icon.png"));
 				else
-					isCorrect.setIcon(new ImageIcon("./Icons/Incorrect Icon.png"));
+					isCorrect.setIcon(IconCache.get("Incorrect Icon.png"));
 				
 				
 				//adds all the labels to the ArrayList for them
@@ -1043,24 +1133,20 @@ public class ScoreReport {
 		 */
 		public void animateLine() {
 			
-			//triggers a chage in the line's position every 16 milliseconds
-			Timer animateLine = new Timer(30, new ActionListener() {
+			//grows the line by 50 pixels every 30 milliseconds
+			Animator.play(new Animator.Animation() {
 
 				@Override
-				public void actionPerformed(ActionEvent e) {
+				public boolean step(long elapsed) {
 					
-					//change the line's width by 50 pixels
-					lineWidth += 50;
+					//change the line's width, which can't take longer than a minute
+					lineWidth = (int) (Math.min(elapsed, 60000) / 30 * 50);
 					repaint();
 					
 					//if the line is the width of the window, stop changing its width
-					if (lineWidth >= ScorePanel.this.getWidth()) {
-						((Timer)(e.getSource())).stop();
-					}
+					return lineWidth < ScorePanel.this.getWidth();
 				}
 			});
-			animateLine.start();
-			animateLine.setCoalesce(true);
 			
 		}
 		
@@ -1117,25 +1203,18 @@ public class ScoreReport {
 		 */
 		public void fadeIn() {
 			
-			//fire an event to change the alpha every 16 milliseconds
-			Timer fadeTimer = new Timer(16, new ActionListener() {
+			//raise the alpha evenly over the length of the fade
+			Animator.play(new Animator.Animation() {
 
 				@Override
-				public void actionPerformed(ActionEvent e) {
-					
-					//increase the alpha value
-					setAlpha(alpha + .2f);
+				public boolean step(long elapsed) {
 					
-					//stop the Timer when the alpha equals 1
-					if (alpha >= 1f) {
-						setAlpha(1f);
-						((Timer)(e.getSource())).stop();
-					}
+					//stop the animation when the alpha equals 1
+					setAlpha(Math.min(1f, (float) elapsed / FADE_TIME));
+					return alpha < 1f;
 				}
 				
 			});
-			fadeTimer.start();
-			fadeTimer.setCoalesce(true);
 		}
 	}
 	
@@ -1189,25 +1268,18 @@ public class ScoreReport {
 		 */
 		public void fadeIn() {
 			
-			//fire an event to change the alpha every 16 milliseconds
-			Timer fadeTimer = new Timer(16, new ActionListener() {
+			//raise the alpha evenly over the length of the fade
+			Animator.play(new Animator.Animation() {
 
 				@Override
-				public void actionPerformed(ActionEvent e) {
+				public boolean step(long elapsed) {
 					
-					//increase the alpha value
-					setAlpha(alpha + .2f);
-					
-					//stop the Timer when the alpha equals 1
-					if (alpha >= 1f) {
-						setAlpha(1f);
-						((Timer)(e.getSource())).stop();
-					}
+					//stop the animation when the alpha equals 1
+					setAlpha(Math.min(1f, (float) elapsed / FADE_TIME));
+					return alpha < 1f;
 				}
 				
 			});
-			fadeTimer.start();
-			fadeTimer.setCoalesce(true);
 		}
 	}
 	
@@ -0,0 +1,313 @@
+package FBLAQuiz;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * <h1>Score Series Class</h1>
+ *
+ * The Score Series class holds the percentage score of every quiz in order of when
+ * it was taken, along with copies of the series at lower resolutions, so that any
+ * stretch of the history can be drawn with about as many points as there are pixels.
+ *
+ * Each level of the series has half as many buckets as the level below it, where
+ * the first level is the scores themselves. A bucket keeps the lowest, highest, and
+ * average score of the quizzes in it, along with their average time, so a graph of
+ * a long history still shows how far the scores spread and not only their average.
+ * The levels take about as much memory as the scores, and are built once, so finding
+ * the buckets of any stretch only takes time for the buckets that are returned.
+ *
+ * @author Varun Unnithan
+ *
+ */
+public class ScoreSeries {
+
+	//-----------Instance Variables-----------
+	/** The time each quiz was taken, in seconds since the epoch, in order */
+	private final long[] times;
+	/** The average time of the quizzes in each bucket, by level */
+	private final double[][] centers;
+	/** The lowest percentage score in each bucket, by level */
+	private final float[][] mins;
+	/** The highest percentage score in each bucket, by level */
+	private final float[][] maxes;
+	/** The average percentage score in each bucket, by level */
+	private final float[][] means;
+
+
+	//-----------Constructors-------------
+	/**
+	 * Creates a series from the scores of quizzes, building each of its levels
+	 * @param times The time each quiz was taken, in seconds since the epoch
+	 * @param scores The percentage score of each quiz
+	 * @param count The number of quizzes, which are the first in each array
+	 */
+	public ScoreSeries(long[] times, float[] scores, int count) {
+
+		//reports are saved in the order they were taken, unless the clock was changed in between
+		Integer[] order = null;
+		for (int i = 1; i < count && order == null; i++) {
+			if (times[i] < times[i - 1]) {
+				order = new Integer[count];
+				for (int j = 0; j < count; j++) {
+					order[j] = j;
+				}
+				final long[] unsorted = times;
+				Arrays.sort(order, new Comparator<Integer>() {
+					public int compare(Integer i1, Integer i2) {
+						return Long.compare(unsorted[i1], unsorted[i2]);
+					}
+				});
+			}
+		}
+
+		this.times = new long[count];
+		float[] sortedScores = new float[count];
+		double[] sortedTimes = new double[count];
+		for (int i = 0; i < count; i++) {
+			int from = order == null ? i : order[i];
+			this.times[i] = times[from];
+			sortedTimes[i] = times[from];
+			sortedScores[i] = scores[from];
+		}
+
+		//count the levels, halving until there is a single bucket
+		int levels = 1;
+		for (int size = count; size > 1; size = (size + 1) / 2) {
+			levels++;
+		}
+		centers = new double[levels][];
+		mins = new float[levels][];
+		maxes = new float[levels][];
+		means = new float[levels][];
+		centers[0] = sortedTimes;
+		mins[0] = sortedScores;
+		maxes[0] = sortedScores;
+		means[0] = sortedScores;
+
+		//each bucket joins two from the level below, weighted by how many quizzes are in each
+		for (int level = 1; level < levels; level++) {
+
+			int size = (means[level - 1].length + 1) / 2;
+			centers[level] = new double[size];
+			mins[level] = new float[size];
+			maxes[level] = new float[size];
+			means[level] = new float[size];
+
+			for (int b = 0; b < size; b++) {
+
+				int left = 2 * b;
+				int right = Math.min(left + 1, means[level - 1].length - 1);
+				double leftWeight = getBucketSize(level - 1, left);
+				double rightWeight = right == left ? 0 : getBucketSize(level - 1, right);
+				double weight = leftWeight + rightWeight;
+
+				centers[level][b] = (centers[level - 1][left] * leftWeight + centers[level - 1][right] * rightWeight) / weight;
+				mins[level][b] = Math.min(mins[level - 1][left], mins[level - 1][right]);
+				maxes[level][b] = Math.max(maxes[level - 1][left], maxes[level - 1][right]);
+				means[level][b] = (float) ((means[level - 1][left] * leftWeight + means[level - 1][right] * rightWeight) / weight);
+			}
+		}
+	}
+
+
+	//---------------Methods------------------
+	/**
+	 * Gets the number of quizzes in the series
+	 * @return The number of quizzes
+	 */
+	public int size() {
+		return times.length;
+	}
+
+
+	/**
+	 * Gets the time the first quiz was taken
+	 * @return The time in seconds since the epoch, which is 0 if there aren't any quizzes
+	 */
+	public long getFirstTime() {
+		return times.length == 0 ? 0 : times[0];
+	}
+
+
+	/**
+	 * Gets the time the last quiz was taken
+	 * @return The time in seconds since the epoch, which is 0 if there aren't any quizzes
+	 */
+	public long getLastTime() {
+		return times.length == 0 ? 0 : times[times.length - 1];
+	}
+
+
+	/**
+	 * Gets the number of quizzes in a bucket, which is the same for every bucket of a level except the last
+	 * @param level The level of the bucket
+	 * @param bucket The bucket's position within its level
+	 * @return The number of quizzes in the bucket
+	 */
+	private int getBucketSize(int level, int bucket) {
+		return (int) Math.min(1L << level, times.length - ((long) bucket << level));
+	}
+
+
+	/**
+	 * Finds the position of the first quiz taken at or after a time
+	 * @param time The time in seconds since the epoch
+	 * @return The position, which is the number of quizzes if every quiz was taken before the time
+	 */
+	private int search(double time) {
+
+		int low = 0;
+		int high = times.length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (times[middle] < time) {
+				low = middle + 1;
+			}
+			else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+
+	/**
+	 * Fills a set of buckets with a stretch of the series, at the finest level that has at most a given
+	 * number of buckets in the stretch. The bucket just before and just after the stretch are included
+	 * too, so a line drawn through the buckets continues off the ends of the stretch.
+	 * @param from The start of the stretch, in seconds since the epoch
+	 * @param to The end of the stretch, in seconds since the epoch
+	 * @param maxBuckets The most buckets to fill within the stretch, such as the width of a graph in pixels
+	 * @param buckets The buckets to fill, which only grow if they don't have room
+	 */
+	public void fill(double from, double to, int maxBuckets, Buckets buckets) {
+
+		buckets.count = 0;
+		if (times.length == 0) {
+			return;
+		}
+
+		int first = Math.max(0, search(from) - 1);
+		int last = Math.min(times.length - 1, search(to));
+
+		//each level halves the number of buckets in the stretch
+		int level = 0;
+		while (level < means.length - 1 && (last >> level) - (first >> level) + 1 > Math.max(1, maxBuckets) + 2) {
+			level++;
+		}
+		buckets.level = level;
+
+		int firstBucket = first >> level;
+		int lastBucket = last >> level;
+		buckets.ensureCapacity(lastBucket - firstBucket + 1);
+		for (int b = firstBucket; b <= lastBucket; b++) {
+			int i = buckets.count++;
+			buckets.times[i] = centers[level][b];
+			buckets.mins[i] = mins[level][b];
+			buckets.maxes[i] = maxes[level][b];
+			buckets.means[i] = means[level][b];
+		}
+	}
+
+
+	//-----------Inner Classes--------------
+	/**
+	 * <h1>Buckets Class</h1>
+	 *
+	 * The Buckets class holds the buckets of a stretch of a score series. The same
+	 * buckets can be filled again and again, such as once for each time a graph is
+	 * painted, and only make new arrays when a stretch needs more room than before.
+	 *
+	 * @author Varun Unnithan
+	 *
+	 */
+	public static class Buckets {
+
+		/** The average time of the quizzes in each bucket, in seconds since the epoch */
+		private double[] times = new double[0];
+		/** The lowest percentage score in each bucket */
+		private float[] mins = new float[0];
+		/** The highest percentage score in each bucket */
+		private float[] maxes = new float[0];
+		/** The average percentage score in each bucket */
+		private float[] means = new float[0];
+		/** The number of buckets that are filled */
+		private int count;
+		/** The level the buckets were filled from, where 0 means each bucket is a single quiz */
+		private int level;
+
+
+		/**
+		 * Makes sure there is room for a number of buckets
+		 * @param capacity The number of buckets to make room for
+		 */
+		private void ensureCapacity(int capacity) {
+
+			if (times.length < capacity) {
+				times = new double[capacity];
+				mins = new float[capacity];
+				maxes = new float[capacity];
+				means = new float[capacity];
+			}
+		}
+
+
+		/**
+		 * Gets the number of buckets that are filled
+		 * @return The number of buckets
+		 */
+		public int size() {
+			return count;
+		}
+
+
+		/**
+		 * Checks whether each bucket is a single quiz, rather than a group of them
+		 * @return {@code true} if the buckets are the quizzes themselves
+		 */
+		public boolean isSingleQuizzes() {
+			return level == 0;
+		}
+
+
+		/**
+		 * Gets the average time of the quizzes in a bucket
+		 * @param bucket The position of the bucket
+		 * @return The time in seconds since the epoch
+		 */
+		public double getTime(int bucket) {
+			return times[bucket];
+		}
+
+
+		/**
+		 * Gets the lowest percentage score in a bucket
+		 * @param bucket The position of the bucket
+		 * @return The lowest score
+		 */
+		public float getMin(int bucket) {
+			return mins[bucket];
+		}
+
+
+		/**
+		 * Gets the highest percentage score in a bucket
+		 * @param bucket The position of the bucket
+		 * @return The highest score
+		 */
+		public float getMax(int bucket) {
+			return maxes[bucket];
+		}
+
+
+		/**
+		 * Gets the average percentage score in a bucket
+		 * @param bucket The position of the bucket
+		 * @return The average score
+		 */
+		public float getMean(int bucket) {
+			return means[bucket];
+		}
+	}
+}
@@ -7,10 +7,6 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.io.FileNotFoundException;
-import java.io.FileReader;
-import java.io.IOException;
-import java.util.Random;
 
 import javax.swing.ButtonGroup;
 import javax.swing.ImageIcon;
@@ -21,10 +17,6 @@ import javax.swing.JToggleButton;
 import javax.swing.SpringLayout;
 import javax.swing.border.LineBorder;
 
-import org.json.simple.JSONArray;
-import org.json.simple.JSONObject;
-import org.json.simple.parser.ParseException;
-
 /**
  * <h1>True or False Question Class</h1>
  * 
@@ -38,18 +30,10 @@ public class TrueOrFalse extends MouseAdapter implements ActionListener, Questio
 		
 	//----------------Instance variables----------------
 	//Question variables
-	/** The true or false question as a JSONObject */
-	private JSONObject questionObject;
+	/** The question being asked, which holds the user's answer */
+	private QuizQuestion model;
 	/** The text of the question */
 	private String question;
-	/** The question's correct answer */
-	private String answer;
-	/** The user's answer to the question */
-	private String userAnswer;
-	/** Whether this question has been flagged for review or not */
-	private boolean flagged;
-	/** The question number of this question in the quiz */
-	private int quizQuestionNumber;
 		
 	//Buttons and scene objects
 	/** A container for components to represent a question */
@@ -66,32 +50,13 @@ public class TrueOrFalse extends MouseAdapter implements ActionListener, Questio
 	
 	//------------------Constructors------------------
 	/**
-	* Default constructor for creating a random question
-	* @throws IOException On input error
-	* @throws ParseException On error while parsing the database
-	* @throws FileNotFoundException On failure to find database file path
+	* Constructor for creating the view of a true or false question in a quiz
+	* @param model The true or false question to ask
 	*/
-	public TrueOrFalse() throws IOException, ParseException, FileNotFoundException{
-		
-		//read and store an array of all multiple choice questions
-		JSONObject database;
-		try {
-			database = (JSONObject)(QuizMenu.PARSER.parse(new FileReader("./JSONfiles/testQuestions.json")));
-		} 
-		catch (IOException | ParseException e) {
-			//Use backup database if exception occurs
-			database = (JSONObject)(QuizMenu.PARSER.parse(new FileReader("./JSONfiles/backup/testQuestions.json")));
-		}
-		JSONArray fillInArray = (JSONArray) database.get("True or False");
-		
-		//picks random question from multiple choice questions
-		questionObject = (JSONObject) fillInArray.get(new Random().nextInt(fillInArray.size()));
-		question = (String) questionObject.get("question");
-		answer = (String) questionObject.get("answer");
-		flagged = false;
+	public TrueOrFalse(QuizQuestion model) {
 		
-		userAnswer = "";
-	
+		this.model = model;
+		question = model.getQuestion();
 	}
 	
 	
@@ -110,7 +75,7 @@ public class TrueOrFalse extends MouseAdapter implements ActionListener, Questio
 	 * @return Boolean of if a question is flagged
 	 */
 	public boolean isFlagged() {
-		return flagged;
+		return model.isFlagged();
 	}
 	
 	
@@ -119,7 +84,16 @@ public class TrueOrFalse extends MouseAdapter implements ActionListener, Questio
 	 * @return The question number of this question in the quiz
 	 */
 	public int getQuizQuestionNumber() {
-		return quizQuestionNumber;
+		return model.getQuizNumber();
+	}
+	
+	
+	/**
+	 * Gets the ID of this question in the database
+	 * @return The question's ID
+	 */
+	public String getQuestionId() {
+		return model.getQuestionId();
 	}
 	
 	
@@ -128,7 +102,7 @@ public class TrueOrFalse extends MouseAdapter implements ActionListener, Questio
 	 * @return The answer as a String
 	 */
 	public String getAnswer() {
-		return answer;
+		return model.getAnswers().get(0);
 	}
 	
 	
@@ -137,7 +111,7 @@ public class TrueOrFalse extends MouseAdapter implements ActionListener, Questio
 	 * @return The user's answer as a String
 	 */
 	public String getUserAnswer() {
-		return userAnswer;
+		return model.getUserAnswerText();
 	}
 	
 	
@@ -146,7 +120,7 @@ public class TrueOrFalse extends MouseAdapter implements ActionListener, Questio
 	 * @return Boolean value of whether user has answered the question or not
 	 */
 	public boolean isAnswered() {
-		return !userAnswer.equals("");
+		return model.isAnswered();
 	}
 	
 	
@@ -155,7 +129,7 @@ public class TrueOrFalse extends MouseAdapter implements ActionListener, Questio
 	 * @return Boolean value of whether user was right or not
 	 */
 	public boolean isCorrect() {
-		return userAnswer.equals(answer);
+		return model.isCorrect();
 	}
 	
 	
@@ -187,9 +161,9 @@ public class TrueOrFalse extends MouseAdapter implements ActionListener, Questio
 		//sets up icon for flagTool button
 		flagTool = new JToggleButton();
 		
-		flagTool.setIcon(new ImageIcon("./Icons/Flag Icon Unselected.png"));
-		flagTool.setSelectedIcon(new ImageIcon("./Icons/Flag Icon Selected.png"));
-		flagTool.setRolloverIcon(new ImageIcon("./Icons/Flag Icon Rollover.png"));
+		flagTool.setIcon(IconCache.get("Flag Icon Unselected.png"));
+		flagTool.setSelectedIcon(IconCache.get("Flag Icon Selected.png"));
+		flagTool.setRolloverIcon(IconCache.get("Flag Icon Rollover.png"));
 		flagTool.setOpaque(false);
 		flagTool.setContentAreaFilled(false);
 		flagTool.setBorderPainted(false);
@@ -200,9 +174,8 @@ public class TrueOrFalse extends MouseAdapter implements ActionListener, Questio
 		
 		
 		//create a JLabel to display the question
-		quizQuestionNumber = questionNumber;
 		JLabel questionText = new JLabel();
-		questionText.setText("<html>" + quizQuestionNumber + ") " + question + "</html>");	//html tags for text wrapping
+		questionText.setText("<html>" + questionNumber + ") " + question + "</html>");	//html tags for text wrapping
 		questionText.setFont(new Font("Trebuchet MS", Font.BOLD, 35));
 		questionText.setForeground(Color.lightGray);
 	
@@ -213,9 +186,9 @@ public class TrueOrFalse extends MouseAdapter implements ActionListener, Questio
 		
 		//sets up the true button
 		trueButton = new JToggleButton();
-		trueButton.setIcon(new ImageIcon("./Icons/True.png"));
-		trueButton.setSelectedIcon(new ImageIcon("./Icons/True Selected.png"));
-		trueButton.setRolloverIcon(new ImageIcon("./Icons/True Rollover.png"));
+		trueButton.setIcon(IconCache.get("True.png"));
+		trueButton.setSelectedIcon(IconCache.get("True Selected.png"));
+		trueButton.setRolloverIcon(IconCache.get("True Rollover.png"));
 		trueButton.setOpaque(false);
 		trueButton.setContentAreaFilled(false);
 		trueButton.setBorderPainted(false);
@@ -225,9 +198,9 @@ public class TrueOrFalse extends MouseAdapter implements ActionListener, Questio
 		
 		//sets up the false button
 		falseButton = new JToggleButton();
-		falseButton.setIcon(new ImageIcon("./Icons/False.png"));
-		falseButton.setSelectedIcon(new ImageIcon("./Icons/False Selected.png"));
-		falseButton.setRolloverIcon(new ImageIcon("./Icons/False Rollover.png"));
+		falseButton.setIcon(IconCache.get("False.png"));
+		falseButton.setSelectedIcon(IconCache.get("False Selected.png"));
+		falseButton.setRolloverIcon(IconCache.get("False Rollover.png"));
 		falseButton.setOpaque(false);
 		falseButton.setContentAreaFilled(false);
 		falseButton.setBorderPainted(false);
@@ -312,6 +285,11 @@ public class TrueOrFalse extends MouseAdapter implements ActionListener, Questio
 		panelLayout.putConstraint(SpringLayout.WEST, userPanel, 0, SpringLayout.WEST, trueFalsePanel);
 		panelLayout.putConstraint(SpringLayout.SOUTH, userPanel, 0, SpringLayout.SOUTH, trueFalsePanel);
 		
+		//show any answer already given, since the panel may be created again after it was released
+		flagTool.setSelected(model.isFlagged());
+		trueButton.setSelected(model.getUserAnswerText().equals("true"));
+		falseButton.setSelected(model.getUserAnswerText().equals("false"));
+		
 		return trueFalsePanel;
 	}
 	
@@ -324,20 +302,15 @@ public class TrueOrFalse extends MouseAdapter implements ActionListener, Questio
 		
 		//sets user input to button that is clicked
 		if (e.getSource() == trueButton) {
-			userAnswer = "true";
+			model.submitAnswer("true");
 		}
 		if (e.getSource() == falseButton) {
-			userAnswer = "false";
+			model.submitAnswer("false");
 		}
 		
-		//sets boolean variable flagged when the flagTool button is clicked
+		//flags the question when the flagTool button is clicked
 		if (e.getSource() == flagTool) {
-			if(flagTool.isSelected()) {
-				flagged = true;
-			}
-			else {
-				flagged = false;
-			}
+			model.setFlagged(flagTool.isSelected());
 		}
 		
 	}